@@ -114,6 +114,11 @@ public class ConfigurationResolver {
             case ConfigKeys.REVIEW_RULE_GUIDANCE_ENABLED -> "true";
             case ConfigKeys.REVIEW_PLAN_PHASE_ENABLED -> "true";
             case ConfigKeys.REVIEW_PLAN_LINE_THRESHOLD -> "50";
+            case ConfigKeys.REVIEW_LLM_PARALLELISM -> "4";
+            case ConfigKeys.REVIEW_LLM_BATCHING_ENABLED -> "true";
+            case ConfigKeys.REVIEW_LLM_BATCH_MAX_FILES -> "8";
+            case ConfigKeys.REVIEW_INCREMENTAL_ENABLED -> "true";
+            case ConfigKeys.REVIEW_LLM_STREAMING_ENABLED -> "true";
             default -> null;
         };
     }
@@ -0,0 +1,10 @@
+package com.pullwise.api.application.service.graph;
+
+/**
+ * Evento publicado quando nós ou arestas do Code Graph de um projeto são
+ * gravados ou removidos. Consumidores que mantêm cópias do grafo (ex.: snapshots
+ * do blast-radius) devem tratá-lo após o commit da transação.
+ *
+ * @param projectId projeto cujo grafo mudou
+ */
+public record CodeGraphChangedEvent(Long projectId) {}
@@ -1,16 +1,25 @@
 package com.pullwise.api.application.service.graph;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.pullwise.api.application.service.graph.model.ClassInfo;
 import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.jgrapht.Graph;
 import org.jgrapht.alg.cycle.CycleDetector;
 import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
 import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -23,18 +32,53 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Calcular blast radius de mudanças
  * - Encontrar caminhos de dependência
  * - Calcular métricas de acoplamento
+ *
+ * <p>Os grafos ficam num cache endereçado pelo SHA-256 das entradas (repositório,
+ * paths e conteúdo dos arquivos): uma mudança em qualquer arquivo gera outro
+ * grafo em vez de devolver o antigo. O cache é limitado pelo tamanho retido
+ * estimado ({@code pullwise.graph.cache.dependency-graph-max-bytes}) e publica
+ * métricas como {@code cache.*{cache=dependency-graph}}. As consultas por
+ * repositório usam o último grafo construído para ele.
+ *
+ * <p>Quando o {@code repositoryId} é o id de um projeto, arquivos cujo conteúdo
+ * já foi indexado no Code Graph reaproveitam o resumo gravado em
+ * {@link ParseFingerprintStore} em vez de serem analisados de novo.
  */
 @Slf4j
 @Service
 public class DependencyGraphService {
 
     private final JavaParserService parserService;
+    private final ParseFingerprintStore fingerprintStore;
+
+    static final String CACHE_NAME = "dependency-graph";
 
-    // Cache de grafos por repositório
-    private final Map<String, Graph<String, DefaultEdge>> graphCache = new ConcurrentHashMap<>();
+    // Cache de grafos por hash das entradas
+    private final Cache<String, Graph<String, DefaultEdge>> graphCache;
+
+    // Último grafo construído por repositório (repositoryId -> chave no cache)
+    private final Map<String, String> latestGraphKey = new ConcurrentHashMap<>();
 
     public DependencyGraphService(JavaParserService parserService) {
+        this(parserService, 32L * 1024 * 1024, null, null);
+    }
+
+    @Autowired
+    public DependencyGraphService(JavaParserService parserService,
+                                  @Value("${pullwise.graph.cache.dependency-graph-max-bytes:33554432}") long cacheMaxBytes,
+                                  @Autowired(required = false) MeterRegistry meterRegistry,
+                                  @Autowired(required = false) ParseFingerprintStore fingerprintStore) {
         this.parserService = parserService;
+        this.fingerprintStore = fingerprintStore;
+        this.graphCache = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher((String key, Graph<String, DefaultEdge> graph) ->
+                        GraphCaches.toWeight(estimateRetainedBytes(graph)))
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            GraphCaches.monitor(meterRegistry, graphCache, CACHE_NAME);
+        }
     }
 
     /**
@@ -45,9 +89,13 @@ public class DependencyGraphService {
      * @return Grafo de dependências
      */
     public Graph<String, DefaultEdge> buildDependencyGraph(String repositoryId, List<Path> filePaths) {
-        if (graphCache.containsKey(repositoryId)) {
+        List<String> contentHashes = contentHashes(filePaths);
+        String inputsKey = inputsKey(repositoryId, filePaths, contentHashes);
+        Graph<String, DefaultEdge> cached = graphCache.getIfPresent(inputsKey);
+        if (cached != null) {
             log.debug("Returning cached graph for repository: {}", repositoryId);
-            return graphCache.get(repositoryId);
+            latestGraphKey.put(repositoryId, inputsKey);
+            return cached;
         }
 
         log.debug("Building dependency graph for repository: {}", repositoryId);
@@ -59,10 +107,18 @@ public class DependencyGraphService {
         Map<String, String> qualifiedToSimple = new HashMap<>();
         Map<String, String> simpleToQualified = new HashMap<>();
 
-        // Primeira passagem: registrar todas as classes
-        for (Path filePath : filePaths) {
+        // Primeira passagem: analisar cada arquivo uma vez (ou reaproveitar o
+        // resumo indexado do mesmo conteúdo) e registrar todas as classes
+        Map<String, CodeAnalysisResult> stored = storedSummaries(repositoryId, contentHashes);
+        List<CodeAnalysisResult> results = new ArrayList<>(filePaths.size());
+        for (int i = 0; i < filePaths.size(); i++) {
+            Path filePath = filePaths.get(i);
             try {
-                CodeAnalysisResult result = parserService.analyzeFile(filePath);
+                String contentHash = contentHashes.get(i);
+                CodeAnalysisResult result = contentHash != null && stored.containsKey(contentHash)
+                        ? stored.get(contentHash)
+                        : parserService.analyzeFile(filePath);
+                results.add(result);
 
                 for (ClassInfo classInfo : result.getClasses()) {
                     String qualified = classInfo.getQualifiedName();
@@ -79,16 +135,15 @@ public class DependencyGraphService {
         }
 
         // Segunda passagem: adicionar arestas de dependência
-        for (Path filePath : filePaths) {
+        for (CodeAnalysisResult result : results) {
             try {
-                CodeAnalysisResult result = parserService.analyzeFile(filePath);
-
                 for (ClassInfo classInfo : result.getClasses()) {
                     String fromClass = classInfo.getQualifiedName();
 
                     for (String dependency : classInfo.getDependencies()) {
                         // Tentar resolver o nome qualificado da dependência
-                        String toClass = resolveClassName(dependency, simpleToQualified);
+                        String toClass = resolveClassName(dependency, classInfo.getPackageName(),
+                                result.getImports(), simpleToQualified, graph);
 
                         if (toClass != null && graph.containsVertex(toClass)) {
                             graph.addEdge(fromClass, toClass);
@@ -96,28 +151,37 @@ public class DependencyGraphService {
                     }
                 }
             } catch (Exception e) {
-                log.debug("Failed to process dependencies for {}: {}", filePath, e.getMessage());
+                log.debug("Failed to process dependencies for {}: {}", result.getFilePath(), e.getMessage());
             }
         }
 
         // Cache do grafo
-        graphCache.put(repositoryId, graph);
+        graphCache.put(inputsKey, graph);
+        latestGraphKey.put(repositoryId, inputsKey);
 
-        log.debug("Built dependency graph: {} vertices, {} edges",
-                graph.vertexSet().size(), graph.edgeSet().size());
+        log.debug("Built dependency graph: {} vertices, {} edges ({} stored summaries reused)",
+                graph.vertexSet().size(), graph.edgeSet().size(), stored.size());
 
         return graph;
     }
 
     /**
-     * Resolve o nome qualificado de uma classe a partir de um nome simples.
+     * Resolve o nome qualificado de uma classe a partir de um nome simples:
+     * primeiro pelos imports e pacote do arquivo, depois pelo nome simples.
      */
-    private String resolveClassName(String className, Map<String, String> simpleToQualified) {
+    private String resolveClassName(String className, String packageName, List<String> imports,
+                                    Map<String, String> simpleToQualified, Graph<String, DefaultEdge> graph) {
         // Se já é qualificado, retorna
         if (className.contains(".")) {
             return className;
         }
 
+        // Import explícito, mesmo pacote ou wildcard, entre as classes do grafo
+        String imported = TypeNames.resolve(className, packageName, imports, Map.of(), graph::containsVertex);
+        if (imported != null) {
+            return imported;
+        }
+
         // Tenta resolver usando o mapa
         String qualified = simpleToQualified.get(className);
         if (qualified != null) {
@@ -156,7 +220,7 @@ public class DependencyGraphService {
      * @return Número de classes afetadas
      */
     public int calculateBlastRadius(String repositoryId, String className) {
-        Graph<String, DefaultEdge> graph = graphCache.get(repositoryId);
+        Graph<String, DefaultEdge> graph = graphFor(repositoryId);
         if (graph == null) {
             log.debug("No graph found for repository: {}", repositoryId);
             return 0;
@@ -211,7 +275,7 @@ public class DependencyGraphService {
      * @return Lista de classes afetadas
      */
     public List<String> getAffectedClasses(String repositoryId, String className) {
-        Graph<String, DefaultEdge> graph = graphCache.get(repositoryId);
+        Graph<String, DefaultEdge> graph = graphFor(repositoryId);
         if (graph == null) {
             return List.of();
         }
@@ -229,7 +293,7 @@ public class DependencyGraphService {
      * @return Lista de ciclos encontrados
      */
     public List<List<String>> detectCycles(String repositoryId) {
-        Graph<String, DefaultEdge> graph = graphCache.get(repositoryId);
+        Graph<String, DefaultEdge> graph = graphFor(repositoryId);
         if (graph == null) {
             return List.of();
         }
@@ -267,7 +331,7 @@ public class DependencyGraphService {
      * @return Caminho mais curto, ou lista vazia se não houver caminho
      */
     public List<String> findShortestPath(String repositoryId, String fromClass, String toClass) {
-        Graph<String, DefaultEdge> graph = graphCache.get(repositoryId);
+        Graph<String, DefaultEdge> graph = graphFor(repositoryId);
         if (graph == null) {
             return List.of();
         }
@@ -304,7 +368,7 @@ public class DependencyGraphService {
      * @return Métricas: [afferent, efferent, instability]
      */
     public double[] calculateCouplingMetrics(String repositoryId, String className) {
-        Graph<String, DefaultEdge> graph = graphCache.get(repositoryId);
+        Graph<String, DefaultEdge> graph = graphFor(repositoryId);
         if (graph == null || !graph.containsVertex(className)) {
             return new double[]{0, 0, 0};
         }
@@ -329,7 +393,7 @@ public class DependencyGraphService {
      * @return Lista de classes hub ordenadas por grau de acoplamento
      */
     public List<HubClass> findHubClasses(String repositoryId, int threshold) {
-        Graph<String, DefaultEdge> graph = graphCache.get(repositoryId);
+        Graph<String, DefaultEdge> graph = graphFor(repositoryId);
         if (graph == null) {
             return List.of();
         }
@@ -366,7 +430,8 @@ public class DependencyGraphService {
      * Limpa o cache de grafos.
      */
     public void clearCache() {
-        graphCache.clear();
+        graphCache.invalidateAll();
+        latestGraphKey.clear();
         log.debug("Dependency graph cache cleared");
     }
 
@@ -374,10 +439,89 @@ public class DependencyGraphService {
      * Limpa o cache para um repositório específico.
      */
     public void clearCacheForRepository(String repositoryId) {
-        graphCache.remove(repositoryId);
+        String inputsKey = latestGraphKey.remove(repositoryId);
+        if (inputsKey != null) {
+            graphCache.invalidate(inputsKey);
+        }
         log.debug("Dependency graph cache cleared for repository: {}", repositoryId);
     }
 
+    /**
+     * Último grafo construído para o repositório, se ainda estiver em cache.
+     */
+    private Graph<String, DefaultEdge> graphFor(String repositoryId) {
+        String inputsKey = latestGraphKey.get(repositoryId);
+        return inputsKey == null ? null : graphCache.getIfPresent(inputsKey);
+    }
+
+    /**
+     * SHA-256 do conteúdo de cada arquivo, como em {@link JavaParserService}
+     * (null para arquivos ilegíveis).
+     */
+    private static List<String> contentHashes(List<Path> filePaths) {
+        List<String> hashes = new ArrayList<>(filePaths.size());
+        for (Path filePath : filePaths) {
+            try {
+                hashes.add(GraphCaches.sha256Hex(new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                hashes.add(null);
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * SHA-256 das entradas do grafo: repositório e, para cada arquivo, path e
+     * hash do conteúdo.
+     */
+    private static String inputsKey(String repositoryId, List<Path> filePaths, List<String> contentHashes) {
+        MessageDigest digest = GraphCaches.sha256();
+        digest.update(String.valueOf(repositoryId).getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < filePaths.size(); i++) {
+            digest.update((byte) 0);
+            digest.update(filePaths.get(i).toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(contentHashes.get(i)).getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Resumos indexados dos conteúdos informados, se o repositório for um
+     * projeto com fingerprints gravados.
+     */
+    private Map<String, CodeAnalysisResult> storedSummaries(String repositoryId, List<String> contentHashes) {
+        if (fingerprintStore == null || repositoryId == null) {
+            return Map.of();
+        }
+        long projectId;
+        try {
+            projectId = Long.parseLong(repositoryId);
+        } catch (NumberFormatException e) {
+            return Map.of();
+        }
+        try {
+            return fingerprintStore.summariesByHash(projectId,
+                    contentHashes.stream().filter(Objects::nonNull).toList());
+        } catch (Exception e) {
+            log.debug("Stored parse summaries unavailable for repository {}: {}", repositoryId, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Estimativa do heap retido por um grafo JGraphT: vértice (String, entrada
+     * no mapa de vértices e conjuntos de arestas de entrada/saída) e aresta
+     * (objeto, entrada no mapa e referências nos dois vértices).
+     */
+    static long estimateRetainedBytes(Graph<String, DefaultEdge> graph) {
+        long bytes = 256;
+        for (String vertex : graph.vertexSet()) {
+            bytes += 200 + GraphCaches.stringBytes(vertex);
+        }
+        return bytes + 128L * graph.edgeSet().size();
+    }
+
     /**
      * Representa uma classe "hub" com alto acoplamento.
      */
@@ -0,0 +1,78 @@
+package com.pullwise.api.application.service.graph;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Dados de uma indexação compartilhados pelos {@link SourceExtractor}s: os
+ * arquivos do repositório (para resolver imports relativos), o type solver do
+ * snapshot (Java) e a leitura de arquivos que não são código (ex.:
+ * {@code go.mod}).
+ *
+ * <p>Índices derivados dos arquivos (ex.: módulos Python por nome) são
+ * calculados uma vez por indexação via {@link #memo}.
+ */
+public final class ExtractionContext {
+
+    private final String repositoryId;
+    private final Set<String> repositoryFiles;
+    private final ProjectTypeSolver typeSolver;
+    private final Function<String, String> fileReader;
+    private final Map<String, Object> memos = new ConcurrentHashMap<>();
+
+    /**
+     * Contexto sem acesso ao conteúdo de outros arquivos.
+     */
+    public ExtractionContext(String repositoryId, Set<String> repositoryFiles, ProjectTypeSolver typeSolver) {
+        this(repositoryId, repositoryFiles, typeSolver, path -> null);
+    }
+
+    /**
+     * @param repositoryId    identificador gravado nas análises
+     * @param repositoryFiles caminhos relativos dos arquivos do repositório
+     * @param typeSolver      type solver do snapshot (null = nomes Java como no AST)
+     * @param fileReader      conteúdo de um arquivo pelo caminho relativo (null se não existe)
+     */
+    public ExtractionContext(String repositoryId, Set<String> repositoryFiles, ProjectTypeSolver typeSolver,
+                             Function<String, String> fileReader) {
+        this.repositoryId = repositoryId;
+        this.repositoryFiles = Set.copyOf(repositoryFiles);
+        this.typeSolver = typeSolver;
+        this.fileReader = fileReader;
+    }
+
+    public String repositoryId() {
+        return repositoryId;
+    }
+
+    public Set<String> repositoryFiles() {
+        return repositoryFiles;
+    }
+
+    public ProjectTypeSolver typeSolver() {
+        return typeSolver;
+    }
+
+    /**
+     * Conteúdo de um arquivo do repositório, lido uma vez por indexação.
+     *
+     * @return conteúdo, ou null se o arquivo não existe ou não pode ser lido
+     */
+    public String readFile(String path) {
+        return this.<Optional<String>>memo("file:" + path, () -> Optional.ofNullable(fileReader.apply(path)))
+                .orElse(null);
+    }
+
+    /**
+     * Valor derivado dos arquivos do repositório, calculado na primeira chamada
+     * com a mesma chave.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T memo(String key, Supplier<T> supplier) {
+        return (T) memos.computeIfAbsent(key, k -> supplier.get());
+    }
+}
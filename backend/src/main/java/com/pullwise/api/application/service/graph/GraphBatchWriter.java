@@ -0,0 +1,275 @@
+package com.pullwise.api.application.service.graph;
+
+import com.pullwise.api.domain.enums.ConfidenceTier;
+import com.pullwise.api.domain.enums.EdgeKind;
+import com.pullwise.api.domain.enums.NodeKind;
+import com.pullwise.api.domain.enums.ProgrammingLanguage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+/**
+ * Escrita em lote de nós, arestas e fingerprints de parse do Code Graph v2
+ * com SQL set-based.
+ *
+ * <p>Em vez de um {@code find} + {@code save} por linha, cada statement grava
+ * até {@link #ROWS_PER_STATEMENT} linhas num único
+ * {@code INSERT ... VALUES (...), (...) ON CONFLICT DO UPDATE}, e os statements
+ * de mesmo tamanho seguem juntos num batch JDBC. As linhas são gravadas em
+ * ordem de chave para que indexações concorrentes do mesmo projeto travem as
+ * linhas sempre na mesma ordem.
+ *
+ * <p>Os conflitos seguem as unique constraints da V9, V13 e V14; linhas
+ * inalteradas não são reescritas. As linhas recebidas devem ser únicas por
+ * chave (o Postgres rejeita um statement que atualize a mesma linha duas vezes).
+ * As arestas referenciam origem e destino pelos ids de {@code code_graph_symbols},
+ * internados no mesmo lote.
+ *
+ * <p>Escreve direto via JDBC: entidades já carregadas no contexto de
+ * persistência da transação corrente não enxergam as alterações.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GraphBatchWriter {
+
+    /** Linhas por statement; mantém os binds bem abaixo do limite de 32767 do Postgres. */
+    static final int ROWS_PER_STATEMENT = 500;
+
+    private static final String NODE_INSERT = """
+            INSERT INTO code_graph_nodes (project_id, qualified_name, simple_name, kind, file_path,
+                                          language, line_start, line_end, is_test)
+            VALUES %s
+            ON CONFLICT (project_id, qualified_name) DO UPDATE SET
+                simple_name = EXCLUDED.simple_name,
+                kind = EXCLUDED.kind,
+                file_path = EXCLUDED.file_path,
+                language = EXCLUDED.language,
+                line_start = EXCLUDED.line_start,
+                line_end = EXCLUDED.line_end,
+                is_test = EXCLUDED.is_test,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE (code_graph_nodes.simple_name, code_graph_nodes.kind, code_graph_nodes.file_path,
+                   code_graph_nodes.language, code_graph_nodes.line_start, code_graph_nodes.line_end,
+                   code_graph_nodes.is_test)
+                IS DISTINCT FROM
+                  (EXCLUDED.simple_name, EXCLUDED.kind, EXCLUDED.file_path, EXCLUDED.language,
+                   EXCLUDED.line_start, EXCLUDED.line_end, EXCLUDED.is_test)
+            """;
+    private static final String NODE_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Tranca as linhas já existentes (WHERE FALSE não as reescreve) até o fim da
+    // transação, para o INSERT das arestas encontrar todos os símbolos do lote
+    private static final String SYMBOL_INSERT = """
+            INSERT INTO code_graph_symbols (project_id, qualified_name)
+            VALUES %s
+            ON CONFLICT (project_id, qualified_name) DO UPDATE SET
+                qualified_name = EXCLUDED.qualified_name
+            WHERE FALSE
+            """;
+    private static final String SYMBOL_VALUES = "(?, ?)";
+
+    // Mesma regra do upsert por linha: aresta existente só muda quando o tier muda
+    private static final String EDGE_INSERT = """
+            INSERT INTO code_graph_edges (project_id, source_id, target_id, kind,
+                                          confidence_tier, confidence_weight, source_file_path, source_line)
+            SELECT v.project_id, s.id, t.id, v.kind, v.tier, v.weight, v.file_path, v.line
+            FROM (VALUES %s) AS v(project_id, source, target, kind, tier, weight, file_path, line)
+            JOIN code_graph_symbols s ON s.project_id = v.project_id AND s.qualified_name = v.source
+            JOIN code_graph_symbols t ON t.project_id = v.project_id AND t.qualified_name = v.target
+            ORDER BY v.source, v.target, v.kind
+            ON CONFLICT (project_id, source_id, target_id, kind) DO UPDATE SET
+                confidence_tier = EXCLUDED.confidence_tier,
+                confidence_weight = EXCLUDED.confidence_weight,
+                source_file_path = EXCLUDED.source_file_path,
+                source_line = EXCLUDED.source_line,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE code_graph_edges.confidence_tier IS DISTINCT FROM EXCLUDED.confidence_tier
+            """;
+    // Tipos explícitos: numa lista VALUES só com NULL a coluna viraria text
+    private static final String EDGE_VALUES =
+            "(CAST(? AS BIGINT), ?, ?, ?, ?, CAST(? AS DOUBLE PRECISION), ?, CAST(? AS INTEGER))";
+
+    private static final String FINGERPRINT_INSERT = """
+            INSERT INTO code_parse_fingerprints (project_id, file_path, content_hash, parser_version,
+                                                 indexed_sha, summary)
+            VALUES %s
+            ON CONFLICT (project_id, file_path) DO UPDATE SET
+                content_hash = EXCLUDED.content_hash,
+                parser_version = EXCLUDED.parser_version,
+                indexed_sha = EXCLUDED.indexed_sha,
+                summary = EXCLUDED.summary,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE (code_parse_fingerprints.content_hash, code_parse_fingerprints.parser_version,
+                   code_parse_fingerprints.indexed_sha)
+                IS DISTINCT FROM (EXCLUDED.content_hash, EXCLUDED.parser_version, EXCLUDED.indexed_sha)
+            """;
+    private static final String FINGERPRINT_VALUES = "(?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Faz upsert dos nós do projeto.
+     *
+     * @return número de linhas inseridas ou alteradas
+     */
+    public int writeNodes(Long projectId, Collection<NodeRow> nodes) {
+        List<NodeRow> sorted = new ArrayList<>(nodes);
+        sorted.sort(Comparator.comparing(NodeRow::qualifiedName));
+        return write(NODE_INSERT, NODE_VALUES, sorted, (row, args) -> {
+            args.add(projectId);
+            args.add(row.qualifiedName());
+            args.add(row.simpleName());
+            args.add(row.kind().name());
+            args.add(row.filePath());
+            args.add(row.language().name());
+            args.add(row.lineStart());
+            args.add(row.lineEnd());
+            args.add(row.test());
+        });
+    }
+
+    /**
+     * Interna os nomes em {@code code_graph_symbols}. Os que já existem ficam
+     * travados até o fim da transação, para que nenhuma poda os remova antes
+     * de as arestas que os referenciam serem gravadas.
+     */
+    public void writeSymbols(Long projectId, Collection<String> qualifiedNames) {
+        write(SYMBOL_INSERT, SYMBOL_VALUES, new ArrayList<>(new TreeSet<>(qualifiedNames)), (name, args) -> {
+            args.add(projectId);
+            args.add(name);
+        });
+    }
+
+    /**
+     * Faz upsert das arestas do projeto, internando antes em
+     * {@code code_graph_symbols} os nomes de origem e destino.
+     *
+     * @return número de arestas inseridas ou alteradas
+     */
+    public int writeEdges(Long projectId, Collection<EdgeRow> edges) {
+        if (edges.isEmpty()) {
+            return 0;
+        }
+        Set<String> symbols = new TreeSet<>();
+        for (EdgeRow edge : edges) {
+            symbols.add(edge.source());
+            symbols.add(edge.target());
+        }
+        writeSymbols(projectId, symbols);
+
+        List<EdgeRow> sorted = new ArrayList<>(edges);
+        sorted.sort(Comparator.comparing(EdgeRow::source)
+                .thenComparing(EdgeRow::target)
+                .thenComparing(EdgeRow::kind));
+        return write(EDGE_INSERT, EDGE_VALUES, sorted, (row, args) -> {
+            args.add(projectId);
+            args.add(row.source());
+            args.add(row.target());
+            args.add(row.kind().name());
+            args.add(row.tier().name());
+            args.add(row.tier().getWeight());
+            args.add(row.sourceFilePath());
+            args.add(row.sourceLine());
+        });
+    }
+
+    /**
+     * Faz upsert dos fingerprints de parse do projeto. O resumo só é reescrito
+     * quando o hash do conteúdo, a versão do parse ou o commit mudam.
+     *
+     * @return número de linhas inseridas ou alteradas
+     */
+    public int writeFingerprints(Long projectId, Collection<FingerprintRow> fingerprints) {
+        List<FingerprintRow> sorted = new ArrayList<>(fingerprints);
+        sorted.sort(Comparator.comparing(FingerprintRow::filePath));
+        return write(FINGERPRINT_INSERT, FINGERPRINT_VALUES, sorted, (row, args) -> {
+            args.add(projectId);
+            args.add(row.filePath());
+            args.add(row.contentHash());
+            args.add(row.parserVersion());
+            args.add(row.indexedSha());
+            args.add(row.summary());
+        });
+    }
+
+    // ========== Private Methods ==========
+
+    private <T> int write(String template, String valuesGroup, List<T> rows,
+                          BiConsumer<T, List<Object>> binder) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // Statements cheios compartilham o mesmo SQL e vão num único batch JDBC;
+        // o resto (< ROWS_PER_STATEMENT) segue num statement próprio.
+        int fullChunks = rows.size() / ROWS_PER_STATEMENT;
+        int affected = 0;
+
+        if (fullChunks > 0) {
+            List<Object[]> batchArgs = new ArrayList<>(fullChunks);
+            for (int chunk = 0; chunk < fullChunks; chunk++) {
+                int from = chunk * ROWS_PER_STATEMENT;
+                batchArgs.add(bind(rows.subList(from, from + ROWS_PER_STATEMENT), binder));
+            }
+            for (int count : jdbcTemplate.batchUpdate(sql(template, valuesGroup, ROWS_PER_STATEMENT), batchArgs)) {
+                affected += Math.max(count, 0);
+            }
+        }
+
+        List<T> remainder = rows.subList(fullChunks * ROWS_PER_STATEMENT, rows.size());
+        if (!remainder.isEmpty()) {
+            affected += jdbcTemplate.update(sql(template, valuesGroup, remainder.size()), bind(remainder, binder));
+        }
+
+        log.debug("Graph batch write: {} rows, {} inserted/updated", rows.size(), affected);
+        return affected;
+    }
+
+    private static <T> Object[] bind(List<T> rows, BiConsumer<T, List<Object>> binder) {
+        List<Object> args = new ArrayList<>();
+        for (T row : rows) {
+            binder.accept(row, args);
+        }
+        return args.toArray();
+    }
+
+    private static String sql(String template, String valuesGroup, int rows) {
+        StringBuilder values = new StringBuilder(rows * (valuesGroup.length() + 2));
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                values.append(", ");
+            }
+            values.append(valuesGroup);
+        }
+        return template.formatted(values);
+    }
+
+    /** Nó do grafo a gravar. */
+    public record NodeRow(String qualifiedName, String simpleName, NodeKind kind, String filePath,
+                          ProgrammingLanguage language, Integer lineStart, Integer lineEnd, boolean test) {
+    }
+
+    /** Aresta do grafo a gravar. */
+    public record EdgeRow(String source, String target, EdgeKind kind, ConfidenceTier tier,
+                          String sourceFilePath, Integer sourceLine) {
+
+        String key() {
+            return source + "|" + target + "|" + kind;
+        }
+    }
+
+    /** Fingerprint de parse de um arquivo a gravar. */
+    public record FingerprintRow(String filePath, String contentHash, String parserVersion,
+                                 String indexedSha, String summary) {
+    }
+}
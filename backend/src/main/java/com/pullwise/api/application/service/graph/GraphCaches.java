@@ -0,0 +1,75 @@
+package com.pullwise.api.application.service.graph;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Utilitários dos caches em memória da análise de código (parse por arquivo e
+ * grafos de dependência): chaves por conteúdo, estimativa de tamanho retido e
+ * métricas.
+ */
+final class GraphCaches {
+
+    /** Tamanho de um SHA-256 em hexadecimal. */
+    static final int SHA256_HEX_LENGTH = 64;
+
+    private GraphCaches() {
+    }
+
+    /**
+     * Publica hits, misses, evictions e tamanho ({@code cache.*{cache=<name>}},
+     * via {@link CaffeineCacheMetrics}) e o gauge
+     * {@code pullwise.graph.cache.bytes{cache=<name>}} com o tamanho retido estimado.
+     * O cache deve ter sido criado com {@code recordStats()} e um weigher em bytes.
+     */
+    static void monitor(MeterRegistry meterRegistry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("pullwise.graph.cache.bytes", cache,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Estimated bytes retained by the code analysis cache")
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String sha256Hex(String content) {
+        return HexFormat.of().formatHex(sha256().digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Estimativa do heap retido por uma String (cabeçalho + array Latin-1). */
+    static long stringBytes(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    /** Estimativa do heap retido por uma lista de Strings. */
+    static long stringListBytes(List<String> values) {
+        if (values == null) {
+            return 0;
+        }
+        long bytes = 40;
+        for (String value : values) {
+            bytes += 8 + stringBytes(value);
+        }
+        return bytes;
+    }
+
+    static int toWeight(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, bytes));
+    }
+}
@@ -0,0 +1,202 @@
+package com.pullwise.api.application.service.graph;
+
+import com.pullwise.api.application.service.graph.GraphPersistenceService.PersistenceStats;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.application.service.integration.GitHubService;
+import com.pullwise.api.application.service.integration.GitHubService.FileDiff;
+import com.pullwise.api.domain.model.Project;
+import com.pullwise.api.domain.repository.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mantém o Code Graph v2 em dia com o branch padrão a cada push.
+ *
+ * <p>Compara o último commit indexado do projeto ({@code graph_indexed_sha})
+ * com o novo head: só os arquivos de código (linguagens com
+ * {@link SourceExtractor}) adicionados ou modificados são baixados e
+ * re-analisados, junto com os inalterados que dependem deles
+ * ({@link ParseFingerprintStore#reverseDependents}); os removidos saem do grafo
+ * e as arestas que apontavam para nós que deixaram de existir são descartadas
+ * ({@link GraphPersistenceService#applyDelta}). Assim o blast radius reflete o
+ * head do branch padrão sem reindexar o repositório.
+ *
+ * <p>Cai para a indexação completa ({@link RepositoryGraphIndexer#indexProject})
+ * quando não há commit indexado, quando o histórico divergiu (force-push) ou
+ * quando o delta é grande demais para valer o download arquivo a arquivo. Se
+ * um arquivo não puder ser baixado, o commit indexado não avança e o próximo
+ * push refaz o delta desde o mesmo ponto.
+ *
+ * <p>Sem checkout, a resolução de nomes Java usa só os imports e a JDK
+ * ({@link ProjectTypeSolver#JDK_ONLY}); tipos do mesmo pacote ficam para a
+ * heurística da gravação. Essas análises Java não gravam fingerprint: a
+ * próxima indexação completa as refaz com os fontes. Imports relativos das
+ * demais linguagens são resolvidos contra os arquivos já indexados
+ * ({@link ParseFingerprintStore}) mais os do delta.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GraphDeltaIndexer {
+
+    /** Tentativas quando outra indexação avança o commit durante o delta. */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final GitHubService gitHubService;
+    private final SourceExtractors sourceExtractors;
+    private final GraphPersistenceService persistenceService;
+    private final ParseFingerprintStore fingerprintStore;
+    private final RepositoryGraphIndexer repositoryIndexer;
+    private final ProjectRepository projectRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${pullwise.graph.delta.max-files:200}")
+    private int maxDeltaFiles;
+
+    @Value("${pullwise.graph.resolution.symbol-solver:true}")
+    private boolean symbolSolver;
+
+    /**
+     * Atualiza o grafo após um push no branch padrão, fora da thread do webhook.
+     *
+     * @param projectId      projeto do push
+     * @param headSha        novo head do branch padrão
+     * @param pushedRemovals arquivos removidos segundo o payload do push; os
+     *                       renames vêm também do {@code previous_filename} da
+     *                       compare API
+     */
+    @Async("integrationExecutor")
+    public void onPush(Long projectId, String headSha, Collection<String> pushedRemovals) {
+        try {
+            updateToCommit(projectId, headSha, pushedRemovals);
+        } catch (Exception e) {
+            record("failed");
+            log.warn("Failed to update code graph of project {} to {}: {}", projectId, headSha, e.getMessage());
+        }
+    }
+
+    /**
+     * Leva o grafo do projeto até {@code headSha}.
+     */
+    public void updateToCommit(Long projectId, String headSha, Collection<String> pushedRemovals) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Project project = projectRepository.findById(projectId).orElse(null);
+            if (project == null) {
+                return;
+            }
+            String baseSha = project.getGraphIndexedSha();
+            if (headSha.equals(baseSha)) {
+                record("up_to_date");
+                return;
+            }
+
+            List<FileDiff> diffs = baseSha == null ? null : gitHubService.fetchCompareDiffs(project, baseSha, headSha);
+            if (diffs == null || diffs.size() >= GitHubService.COMPARE_FILE_LIMIT) {
+                log.info("Full graph re-index of project {} ({})", projectId,
+                        baseSha == null ? "never indexed" : diffs == null ? "history diverged" : "delta too large");
+                repositoryIndexer.indexProject(project);
+                record("full");
+                return;
+            }
+
+            Set<String> replaced = new LinkedHashSet<>();
+            List<String> changed = new ArrayList<>();
+            for (FileDiff diff : diffs) {
+                // Rename: os nós do caminho antigo também saem do grafo
+                if (diff.previousFilename() != null && isSource(diff.previousFilename())) {
+                    replaced.add(diff.previousFilename());
+                }
+                if (!isSource(diff.filename())) {
+                    continue;
+                }
+                replaced.add(diff.filename());
+                if (!"removed".equals(diff.status())) {
+                    changed.add(diff.filename());
+                }
+            }
+            if (pushedRemovals != null) {
+                pushedRemovals.stream().filter(this::isSource).forEach(replaced::add);
+            }
+
+            // Arquivos inalterados cuja análise depende dos alterados são refeitos com eles
+            Set<String> indexedFiles = fingerprintStore.contentHashes(projectId).keySet();
+            Set<String> addedOrRemoved = new HashSet<>(replaced);
+            addedOrRemoved.removeAll(indexedFiles);
+            replaced.stream().filter(path -> !changed.contains(path)).forEach(addedOrRemoved::add);
+            Set<String> dependents = fingerprintStore.reverseDependents(projectId, replaced, addedOrRemoved,
+                    indexedFiles);
+            replaced.addAll(dependents);
+            changed.addAll(dependents);
+
+            if (changed.size() > maxDeltaFiles) {
+                log.info("Full graph re-index of project {} ({} changed source files)", projectId, changed.size());
+                repositoryIndexer.indexProject(project);
+                record("full");
+                return;
+            }
+
+            List<CodeAnalysisResult> results = new ArrayList<>(changed.size());
+            ExtractionContext context = extractionContext(project, headSha, indexedFiles, replaced, changed);
+            for (String path : changed) {
+                String source = gitHubService.fetchFileContent(project, path, headSha);
+                if (source == null) {
+                    log.warn("Graph delta of project {} to {} aborted: could not fetch {}", projectId, headSha, path);
+                    record("failed");
+                    return;
+                }
+                results.add(sourceExtractors.extract(path, source, context));
+            }
+
+            PersistenceStats stats = persistenceService.applyDelta(projectId, baseSha, headSha, replaced, results);
+            if (stats != null) {
+                log.info("Graph of project {} updated {} → {}: {} files replaced, {} nodes, {} edges",
+                        projectId, abbreviate(baseSha), abbreviate(headSha), replaced.size(),
+                        stats.nodesProcessed(), stats.edgesProcessed());
+                record("delta");
+                return;
+            }
+        }
+        log.warn("Gave up updating graph of project {} to {}: indexed commit kept moving", projectId, headSha);
+        record("failed");
+    }
+
+    // ========== Private Methods ==========
+
+    private void record(String outcome) {
+        meterRegistry.counter("pullwise.graph.delta", "outcome", outcome).increment();
+    }
+
+    private boolean isSource(String path) {
+        return sourceExtractors.supports(path);
+    }
+
+    /**
+     * Arquivos do grafo depois do delta: os indexados, menos os substituídos,
+     * mais os alterados. Os demais arquivos (ex.: {@code go.mod}) são baixados
+     * no {@code headSha} quando algum extrator pede.
+     */
+    private ExtractionContext extractionContext(Project project, String headSha, Set<String> indexedFiles,
+                                                Set<String> replaced, List<String> changed) {
+        Set<String> files = new HashSet<>(indexedFiles);
+        files.removeAll(replaced);
+        files.addAll(changed);
+        return new ExtractionContext(project.getId().toString(), files,
+                symbolSolver ? ProjectTypeSolver.JDK_ONLY : null,
+                path -> gitHubService.fetchFileContent(project, path, headSha));
+    }
+
+    private static String abbreviate(String sha) {
+        return sha != null && sha.length() > 7 ? sha.substring(0, 7) : sha;
+    }
+}
@@ -1,5 +1,7 @@
 package com.pullwise.api.application.service.graph;
 
+import com.pullwise.api.application.service.graph.GraphBatchWriter.EdgeRow;
+import com.pullwise.api.application.service.graph.GraphBatchWriter.NodeRow;
 import com.pullwise.api.application.service.graph.blast.EdgeConfidenceClassifier;
 import com.pullwise.api.application.service.graph.model.ClassInfo;
 import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
@@ -10,27 +12,44 @@ import com.pullwise.api.domain.enums.NodeKind;
 import com.pullwise.api.domain.enums.ProgrammingLanguage;
 import com.pullwise.api.domain.model.CodeGraphEdge;
 import com.pullwise.api.domain.model.CodeGraphNode;
+import com.pullwise.api.domain.model.CodeGraphSymbol;
 import com.pullwise.api.domain.model.Project;
 import com.pullwise.api.domain.repository.CodeGraphEdgeRepository;
 import com.pullwise.api.domain.repository.CodeGraphNodeRepository;
+import com.pullwise.api.domain.repository.CodeGraphSymbolRepository;
 import com.pullwise.api.domain.repository.ProjectRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Persiste resultados de análise de código como nós e arestas no Code Graph v2.
  *
  * <p>Idempotente: rodar duas vezes a mesma análise gera o mesmo grafo (upsert via
  * unique constraints (project_id, qualified_name) e (project_id, source, target, kind)).
+ * Indexações de muitos arquivos devem usar {@link #upsertBatch}, que grava o lote
+ * com SQL set-based em vez de um round-trip por nó/aresta. Toda gravação publica
+ * um {@link CodeGraphChangedEvent}.
+ *
+ * <p>Análises de qualquer {@link SourceExtractor} usam o mesmo modelo. Em Java
+ * os nomes são resolvidos aqui (heurística do pacote) e classificados pelo
+ * {@link EdgeConfidenceClassifier}; nas demais linguagens o extrator já emite
+ * só alvos resolvidos para arquivos do repositório, gravados como
+ * {@link ConfidenceTier#EXTRACTED}.
+ *
+ * <p>Os caminhos em lote ({@link #upsertBatch}, {@link #applyDelta},
+ * {@link #finishFullIndex}) mantêm na mesma transação os fingerprints de parse
+ * ({@link ParseFingerprintStore}) dos arquivos gravados ou removidos.
  */
 @Slf4j
 @Service
@@ -39,14 +58,18 @@ public class GraphPersistenceService {
 
     private final CodeGraphNodeRepository nodeRepository;
     private final CodeGraphEdgeRepository edgeRepository;
+    private final CodeGraphSymbolRepository symbolRepository;
     private final ProjectRepository projectRepository;
     private final EdgeConfidenceClassifier confidenceClassifier;
+    private final GraphBatchWriter batchWriter;
+    private final ParseFingerprintStore fingerprintStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Persiste o resultado de uma análise de arquivo no grafo.
      *
      * @param projectId  ID do projeto pullwise
-     * @param result     resultado de {@link com.pullwise.api.application.service.graph.JavaParserService}
+     * @param result     resultado de um {@link SourceExtractor}
      * @return contador de nós e arestas processados
      */
     @Transactional
@@ -58,15 +81,191 @@ public class GraphPersistenceService {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new IllegalArgumentException("Project not found: " + projectId));
 
+        PersistenceStats stats = collectRows(result,
+                node -> upsertNode(project, node),
+                edge -> upsertEdge(project, edge));
+        eventPublisher.publishEvent(new CodeGraphChangedEvent(projectId));
+
+        log.debug("Persisted graph for {}: {} nodes, {} edges",
+                result.getFilePath(), stats.nodesProcessed(), stats.edgesProcessed());
+        return stats;
+    }
+
+    /**
+     * Persiste de uma vez as análises de um lote de arquivos.
+     *
+     * <p>Produz o mesmo grafo que {@link #upsertFromAnalysis} chamado arquivo a
+     * arquivo, mas grava via {@link GraphBatchWriter} (INSERT multi-linha com
+     * ON CONFLICT) em vez de um find + save por nó/aresta. Linhas repetidas no
+     * lote são consolidadas antes da escrita; os contadores retornados seguem a
+     * mesma contagem do caminho por arquivo.
+     *
+     * @param projectId ID do projeto pullwise
+     * @param results   análises dos arquivos do lote
+     * @return contador de nós e arestas processados
+     */
+    @Transactional
+    public PersistenceStats upsertBatch(Long projectId, Collection<CodeAnalysisResult> results) {
+        return upsertBatch(projectId, results, null);
+    }
+
+    /**
+     * Como {@link #upsertBatch(Long, Collection)}, gravando também o fingerprint
+     * de parse de cada análise bem-sucedida (com {@code contentHash}).
+     *
+     * @param commitSha commit a que as análises correspondem (null se desconhecido)
+     */
+    @Transactional
+    public PersistenceStats upsertBatch(Long projectId, Collection<CodeAnalysisResult> results, String commitSha) {
+        if (results == null || results.isEmpty()) {
+            return PersistenceStats.empty();
+        }
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found: " + projectId);
+        }
+
+        Map<String, NodeRow> nodes = new LinkedHashMap<>();
+        Map<String, EdgeRow> edges = new LinkedHashMap<>();
+        int nodesProcessed = 0;
+        int edgesProcessed = 0;
+
+        for (CodeAnalysisResult result : results) {
+            if (result == null || result.getClasses() == null || result.getClasses().isEmpty()) {
+                continue;
+            }
+            PersistenceStats stats = collectRows(result,
+                    // Nó repetido: vale a última escrita, como no upsert sequencial
+                    node -> nodes.put(node.qualifiedName(), node),
+                    // Aresta repetida: só é substituída se o tier mudar, como em upsertEdge
+                    edge -> edges.merge(edge.key(), edge,
+                            (previous, current) -> previous.tier() != current.tier() ? current : previous));
+            nodesProcessed += stats.nodesProcessed();
+            edgesProcessed += stats.edgesProcessed();
+        }
+
+        batchWriter.writeNodes(projectId, nodes.values());
+        batchWriter.writeEdges(projectId, edges.values());
+        fingerprintStore.record(projectId, results, commitSha);
+        eventPublisher.publishEvent(new CodeGraphChangedEvent(projectId));
+
+        log.debug("Persisted graph batch of {} files: {} nodes ({} distinct), {} edges ({} distinct)",
+                results.size(), nodesProcessed, nodes.size(), edgesProcessed, edges.size());
+        return new PersistenceStats(nodesProcessed, edgesProcessed);
+    }
+
+    /**
+     * Aplica ao grafo um intervalo de commits do branch padrão: substitui os
+     * nós e arestas dos arquivos alterados ou removidos pelos da nova análise e
+     * avança o commit indexado do projeto de {@code baseSha} para {@code headSha}.
+     *
+     * <p>O avanço do commit é feito primeiro, como compare-and-set: se outra
+     * indexação já moveu o projeto para outro commit, nada é gravado e o
+     * retorno é {@code null} (o chamador deve recalcular o delta).
+     *
+     * @param projectId     ID do projeto pullwise
+     * @param baseSha       commit indexado esperado (null = nunca indexado)
+     * @param headSha       commit que passa a estar refletido no grafo
+     * @param replacedFiles arquivos cujo conteúdo no grafo é descartado
+     * @param results       análises dos arquivos no {@code headSha}
+     * @return contador de nós e arestas gravados, ou null se o commit base mudou
+     */
+    @Transactional
+    public PersistenceStats applyDelta(Long projectId, String baseSha, String headSha,
+                                       Collection<String> replacedFiles,
+                                       Collection<CodeAnalysisResult> results) {
+        if (projectRepository.advanceGraphIndexedSha(projectId, baseSha, headSha) == 0) {
+            log.debug("Graph of project {} is no longer at {}; delta to {} discarded", projectId, baseSha, headSha);
+            return null;
+        }
+        return replaceFiles(projectId, replacedFiles, results, headSha);
+    }
+
+    /**
+     * Conclui uma indexação completa: remove do grafo (e dos fingerprints) os
+     * arquivos que não existem mais no checkout indexado e registra o commit
+     * indexado no projeto e nos fingerprints.
+     *
+     * <p>Como em {@link #applyDelta}, o commit avança por compare-and-set: se um
+     * delta moveu o projeto durante a indexação, o commit dele é mantido e
+     * nada é removido (a lista de arquivos do checkout já está defasada).
+     *
+     * @param indexedFiles caminhos de todos os arquivos do checkout
+     * @param expectedSha  commit indexado quando a indexação começou (null = nunca indexado)
+     * @param commitSha    commit do checkout
+     * @return número de arquivos removidos do grafo, ou null se o commit indexado mudou
+     */
+    @Transactional
+    public Integer finishFullIndex(Long projectId, Collection<String> indexedFiles,
+                                   String expectedSha, String commitSha) {
+        if (projectRepository.advanceGraphIndexedSha(projectId, expectedSha, commitSha) == 0) {
+            log.info("Graph of project {} moved past {} during full index to {}; keeping the newer commit",
+                    projectId, expectedSha, commitSha);
+            return null;
+        }
+        Set<String> indexed = new HashSet<>(indexedFiles);
+        Set<String> known = new HashSet<>(nodeRepository.findFilePathsByProjectId(projectId));
+        known.addAll(fingerprintStore.contentHashes(projectId).keySet());
+        List<String> stale = known.stream()
+                .filter(path -> !indexed.contains(path))
+                .toList();
+        replaceFiles(projectId, stale, List.of(), commitSha);
+        fingerprintStore.markIndexed(projectId, commitSha);
+        return stale.size();
+    }
+
+    /**
+     * Descarta os nós, arestas e fingerprints de {@code filePaths}, grava
+     * {@code results} e remove as arestas que apontavam para nós descartados
+     * que não voltaram, e os símbolos que nenhuma aresta referencia mais.
+     */
+    private PersistenceStats replaceFiles(Long projectId, Collection<String> filePaths,
+                                          Collection<CodeAnalysisResult> results, String commitSha) {
+        List<String> paths = List.copyOf(new HashSet<>(filePaths));
+        Set<String> previous = new HashSet<>();
+        Set<Long> releasedSymbols = new HashSet<>();
+        if (!paths.isEmpty()) {
+            previous.addAll(nodeRepository.findQualifiedNamesByProjectIdAndFilePathIn(projectId, paths));
+            releasedSymbols.addAll(edgeRepository.findSymbolIdsBySourceFilePathIn(projectId,
+                    paths.toArray(String[]::new)));
+            edgeRepository.deleteByProjectIdAndSourceFilePathIn(projectId, paths);
+            nodeRepository.deleteByProjectIdAndFilePathIn(projectId, paths);
+            fingerprintStore.forget(projectId, paths);
+            eventPublisher.publishEvent(new CodeGraphChangedEvent(projectId));
+        }
+
+        PersistenceStats stats = upsertBatch(projectId, results, commitSha);
+
+        int dangling = 0;
+        if (!previous.isEmpty()) {
+            String[] targets = previous.toArray(String[]::new);
+            releasedSymbols.addAll(symbolRepository.findIdsByProjectIdAndQualifiedNames(projectId, targets));
+            dangling = edgeRepository.deleteDanglingByTargets(projectId, targets);
+        }
+        int pruned = releasedSymbols.isEmpty() ? 0
+                : symbolRepository.deleteUnreferenced(projectId, releasedSymbols.toArray(Long[]::new));
+        log.debug("Replaced {} files in graph of project {}: {} nodes, {} edges, {} dangling edges "
+                        + "and {} unused symbols removed",
+                paths.size(), projectId, stats.nodesProcessed(), stats.edgesProcessed(), dangling, pruned);
+        return stats;
+    }
+
+    /**
+     * Extrai os nós e arestas de um arquivo analisado, entregando cada um aos
+     * consumidores na ordem em que o upsert por arquivo os grava.
+     */
+    private PersistenceStats collectRows(CodeAnalysisResult result,
+                                         Consumer<NodeRow> nodeSink, Consumer<EdgeRow> edgeSink) {
         ProgrammingLanguage language = detectLanguage(result.getFilePath());
         String fileQualified = result.getFilePath();
+        // Fora de Java, o extrator só emite alvos já resolvidos para o repositório
+        boolean resolved = language != ProgrammingLanguage.JAVA;
 
         int nodes = 0;
         int edges = 0;
 
         // 1) Nó FILE
-        upsertNode(project, fileQualified, simpleFileName(result.getFilePath()),
-                NodeKind.FILE, result.getFilePath(), language, null, null, false);
+        nodeSink.accept(new NodeRow(fileQualified, simpleFileName(result.getFilePath()),
+                NodeKind.FILE, result.getFilePath(), language, null, null, false));
         nodes++;
 
         // 2) Para cada classe/interface/enum: nó + CONTAINS edge do FILE
@@ -74,30 +273,33 @@ public class GraphPersistenceService {
             NodeKind classKind = classKindOf(classInfo);
             String classQn = classInfo.getQualifiedName();
 
-            upsertNode(project, classQn, classInfo.getSimpleName(),
+            nodeSink.accept(new NodeRow(classQn, classInfo.getSimpleName(),
                     classKind, result.getFilePath(), language,
                     classInfo.getStartLine(), classInfo.getEndLine(),
-                    isTestClass(classInfo));
+                    isTestClass(classInfo)));
             nodes++;
 
-            upsertEdge(project, fileQualified, classQn, EdgeKind.CONTAINS,
-                    ConfidenceTier.EXTRACTED, result.getFilePath(), classInfo.getStartLine());
+            edgeSink.accept(new EdgeRow(fileQualified, classQn, EdgeKind.CONTAINS,
+                    ConfidenceTier.EXTRACTED, result.getFilePath(), classInfo.getStartLine()));
             edges++;
 
             // 3) INHERITS / IMPLEMENTS
             if (classInfo.getSuperClass() != null && !classInfo.getSuperClass().isBlank()) {
-                String targetQn = resolveQualified(classInfo.getSuperClass(), classInfo.getPackageName());
-                ConfidenceTier tier = confidenceClassifier.classify(classInfo.getSuperClass(), targetQn);
-                upsertEdge(project, classQn, targetQn, EdgeKind.INHERITS, tier,
-                        result.getFilePath(), classInfo.getStartLine());
+                String targetQn = resolved ? classInfo.getSuperClass()
+                        : resolveQualified(classInfo.getSuperClass(), classInfo.getPackageName());
+                ConfidenceTier tier = resolved ? ConfidenceTier.EXTRACTED
+                        : confidenceClassifier.classify(classInfo.getSuperClass(), targetQn);
+                edgeSink.accept(new EdgeRow(classQn, targetQn, EdgeKind.INHERITS, tier,
+                        result.getFilePath(), classInfo.getStartLine()));
                 edges++;
             }
             if (classInfo.getImplementedInterfaces() != null) {
                 for (String iface : classInfo.getImplementedInterfaces()) {
-                    String targetQn = resolveQualified(iface, classInfo.getPackageName());
-                    ConfidenceTier tier = confidenceClassifier.classify(iface, targetQn);
-                    upsertEdge(project, classQn, targetQn, EdgeKind.IMPLEMENTS, tier,
-                            result.getFilePath(), classInfo.getStartLine());
+                    String targetQn = resolved ? iface : resolveQualified(iface, classInfo.getPackageName());
+                    ConfidenceTier tier = resolved ? ConfidenceTier.EXTRACTED
+                            : confidenceClassifier.classify(iface, targetQn);
+                    edgeSink.accept(new EdgeRow(classQn, targetQn, EdgeKind.IMPLEMENTS, tier,
+                            result.getFilePath(), classInfo.getStartLine()));
                     edges++;
                 }
             }
@@ -106,11 +308,12 @@ public class GraphPersistenceService {
             Set<String> importTargets = new HashSet<>();
             if (classInfo.getDependencies() != null) {
                 for (String dep : classInfo.getDependencies()) {
-                    String targetQn = resolveQualified(dep, classInfo.getPackageName());
+                    String targetQn = resolved ? dep : resolveQualified(dep, classInfo.getPackageName());
                     if (importTargets.add(targetQn)) {
-                        ConfidenceTier tier = confidenceClassifier.classify(dep, targetQn);
-                        upsertEdge(project, classQn, targetQn, EdgeKind.IMPORTS_FROM, tier,
-                                result.getFilePath(), classInfo.getStartLine());
+                        ConfidenceTier tier = resolved ? ConfidenceTier.EXTRACTED
+                                : confidenceClassifier.classify(dep, targetQn);
+                        edgeSink.accept(new EdgeRow(classQn, targetQn, EdgeKind.IMPORTS_FROM, tier,
+                                result.getFilePath(), classInfo.getStartLine()));
                         edges++;
                     }
                 }
@@ -120,23 +323,25 @@ public class GraphPersistenceService {
             if (classInfo.getMethods() != null) {
                 for (MethodInfo method : classInfo.getMethods()) {
                     String methodQn = classQn + "#" + method.getName();
-                    upsertNode(project, methodQn, method.getName(),
+                    nodeSink.accept(new NodeRow(methodQn, method.getName(),
                             NodeKind.METHOD, result.getFilePath(), language,
-                            method.getStartLine(), method.getEndLine(), false);
+                            method.getStartLine(), method.getEndLine(), false));
                     nodes++;
 
-                    upsertEdge(project, classQn, methodQn, EdgeKind.CONTAINS,
-                            ConfidenceTier.EXTRACTED, result.getFilePath(), method.getStartLine());
+                    edgeSink.accept(new EdgeRow(classQn, methodQn, EdgeKind.CONTAINS,
+                            ConfidenceTier.EXTRACTED, result.getFilePath(), method.getStartLine()));
                     edges++;
 
                     if (method.getCalledClasses() != null) {
                         Set<String> seen = new HashSet<>();
                         for (String calledClass : method.getCalledClasses()) {
-                            String targetQn = resolveQualified(calledClass, classInfo.getPackageName());
+                            String targetQn = resolved ? calledClass
+                                    : resolveQualified(calledClass, classInfo.getPackageName());
                             if (seen.add(targetQn)) {
-                                ConfidenceTier tier = confidenceClassifier.classifyMethodCall(calledClass, targetQn);
-                                upsertEdge(project, methodQn, targetQn, EdgeKind.CALLS, tier,
-                                        result.getFilePath(), method.getStartLine());
+                                ConfidenceTier tier = resolved ? ConfidenceTier.EXTRACTED
+                                        : confidenceClassifier.classifyMethodCall(calledClass, targetQn);
+                                edgeSink.accept(new EdgeRow(methodQn, targetQn, EdgeKind.CALLS, tier,
+                                        result.getFilePath(), method.getStartLine()));
                                 edges++;
                             }
                         }
@@ -145,70 +350,75 @@ public class GraphPersistenceService {
             }
         }
 
-        log.debug("Persisted graph for {}: {} nodes, {} edges", result.getFilePath(), nodes, edges);
         return new PersistenceStats(nodes, edges);
     }
 
-    private void upsertNode(Project project, String qualifiedName, String simpleName,
-                            NodeKind kind, String filePath, ProgrammingLanguage language,
-                            Integer lineStart, Integer lineEnd, boolean isTest) {
+    private void upsertNode(Project project, NodeRow row) {
         CodeGraphNode existing = nodeRepository
-                .findByProjectIdAndQualifiedName(project.getId(), qualifiedName)
+                .findByProjectIdAndQualifiedName(project.getId(), row.qualifiedName())
                 .orElse(null);
 
         if (existing == null) {
             CodeGraphNode node = CodeGraphNode.builder()
                     .project(project)
-                    .qualifiedName(qualifiedName)
-                    .simpleName(simpleName)
-                    .kind(kind)
-                    .filePath(filePath)
-                    .language(language)
-                    .lineStart(lineStart)
-                    .lineEnd(lineEnd)
-                    .isTest(isTest)
+                    .qualifiedName(row.qualifiedName())
+                    .simpleName(row.simpleName())
+                    .kind(row.kind())
+                    .filePath(row.filePath())
+                    .language(row.language())
+                    .lineStart(row.lineStart())
+                    .lineEnd(row.lineEnd())
+                    .isTest(row.test())
                     .build();
             nodeRepository.save(node);
         } else {
-            existing.setSimpleName(simpleName);
-            existing.setKind(kind);
-            existing.setFilePath(filePath);
-            existing.setLanguage(language);
-            existing.setLineStart(lineStart);
-            existing.setLineEnd(lineEnd);
-            existing.setIsTest(isTest);
+            existing.setSimpleName(row.simpleName());
+            existing.setKind(row.kind());
+            existing.setFilePath(row.filePath());
+            existing.setLanguage(row.language());
+            existing.setLineStart(row.lineStart());
+            existing.setLineEnd(row.lineEnd());
+            existing.setIsTest(row.test());
             nodeRepository.save(existing);
         }
     }
 
-    private void upsertEdge(Project project, String source, String target, EdgeKind kind,
-                            ConfidenceTier tier, String sourceFilePath, Integer sourceLine) {
+    private void upsertEdge(Project project, EdgeRow row) {
+        ConfidenceTier tier = row.tier();
         CodeGraphEdge existing = edgeRepository
-                .findByProjectIdAndSourceQualifiedAndTargetQualifiedAndKind(
-                        project.getId(), source, target, kind)
+                .findByProjectIdAndSource_QualifiedNameAndTarget_QualifiedNameAndKind(
+                        project.getId(), row.source(), row.target(), row.kind())
                 .orElse(null);
 
         if (existing == null) {
+            // Mesmo INSERT ... ON CONFLICT do caminho em lote: find + save corre
+            // contra escritores concorrentes na unique constraint
+            batchWriter.writeSymbols(project.getId(), List.of(row.source(), row.target()));
             CodeGraphEdge edge = CodeGraphEdge.builder()
                     .project(project)
-                    .sourceQualified(source)
-                    .targetQualified(target)
-                    .kind(kind)
+                    .source(symbol(project, row.source()))
+                    .target(symbol(project, row.target()))
+                    .kind(row.kind())
                     .confidenceTier(tier)
                     .confidenceWeight(tier.getWeight())
-                    .sourceFilePath(sourceFilePath)
-                    .sourceLine(sourceLine)
+                    .sourceFilePath(row.sourceFilePath())
+                    .sourceLine(row.sourceLine())
                     .build();
             edgeRepository.save(edge);
         } else if (existing.getConfidenceTier() != tier) {
             existing.setConfidenceTier(tier);
             existing.setConfidenceWeight(tier.getWeight());
-            existing.setSourceFilePath(sourceFilePath);
-            existing.setSourceLine(sourceLine);
+            existing.setSourceFilePath(row.sourceFilePath());
+            existing.setSourceLine(row.sourceLine());
             edgeRepository.save(existing);
         }
     }
 
+    private CodeGraphSymbol symbol(Project project, String qualifiedName) {
+        return symbolRepository.findByProjectIdAndQualifiedName(project.getId(), qualifiedName)
+                .orElseThrow(() -> new IllegalStateException("Symbol not interned: " + qualifiedName));
+    }
+
     /**
      * Resolve um nome (simples ou já qualificado) para um qualified name canônico.
      * Heurística simples: se já contém '.', assume qualificado; senão prefixa com pacote.
@@ -1,13 +1,18 @@
 package com.pullwise.api.application.service.graph;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.Modifier;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.EnumDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
@@ -16,17 +21,19 @@ import com.pullwise.api.application.service.graph.model.ClassInfo;
 import com.pullwise.api.application.service.graph.model.ClassInfo.ClassInfoBuilder;
 import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
 import com.pullwise.api.application.service.graph.model.MethodInfo;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Serviço para análise de código Java usando JavaParser.
@@ -39,20 +46,54 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Cálculo de blast radius para mudanças
  *
  * <p>Usa JavaParser 3.25+ para análise AST.
+ *
+ * <p>O cache de análises é endereçado pelo SHA-256 do conteúdo do arquivo (mais
+ * path e repositório, gravados no resultado): um arquivo alterado em disco gera
+ * outra chave e nunca devolve análise obsoleta. É limitado pelo tamanho retido
+ * estimado ({@code pullwise.graph.cache.analysis-max-bytes}) e publica métricas
+ * como {@code cache.*{cache=javaparser-analysis}}.
+ *
+ * <p>Com um {@link ProjectTypeSolver} ({@link #parseSource(String, String, String, ProjectTypeSolver)}),
+ * dependências, herança e chamadas saem com o qualified name resolvido pelos
+ * imports do arquivo e pelo type solver do projeto, e tipos da JDK são
+ * descartados; nomes não resolvidos seguem como no AST. Sem solver, os nomes
+ * saem como no AST e são resolvidos por heurística ao gravar o grafo.
  */
 @Slf4j
 @Service
 public class JavaParserService {
 
-    private final JavaParser parser = new JavaParser();
+    // JavaParser não é thread-safe: uma instância por thread, para que o
+    // RepositoryGraphIndexer possa analisar arquivos em paralelo
+    private final ThreadLocal<JavaParser> parser = ThreadLocal.withInitial(JavaParser::new);
 
-    // Cache de análises por arquivo
-    private final Map<String, CodeAnalysisResult> analysisCache = new ConcurrentHashMap<>();
+    static final String CACHE_NAME = "javaparser-analysis";
+    static final long DEFAULT_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+
+    // Cache de análises por conteúdo: "<sha256>|<path absoluto>|<repositoryId>"
+    private final Cache<String, CodeAnalysisResult> analysisCache;
 
     // Hook opcional para persistir o grafo (Code Graph v2 / Blast-Radius).
     // Setter injection mantém compatibilidade com testes que instanciam direto.
     private GraphPersistenceService graphPersistenceService;
 
+    public JavaParserService() {
+        this(DEFAULT_CACHE_MAX_BYTES, null);
+    }
+
+    @Autowired
+    public JavaParserService(@Value("${pullwise.graph.cache.analysis-max-bytes:67108864}") long cacheMaxBytes,
+                             @Autowired(required = false) MeterRegistry meterRegistry) {
+        this.analysisCache = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher((String key, CodeAnalysisResult result) -> GraphCaches.toWeight(estimateRetainedBytes(result)))
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            GraphCaches.monitor(meterRegistry, analysisCache, CACHE_NAME);
+        }
+    }
+
     @Autowired(required = false)
     public void setGraphPersistenceService(GraphPersistenceService graphPersistenceService) {
         this.graphPersistenceService = graphPersistenceService;
@@ -93,16 +134,80 @@ public class JavaParserService {
      * @return Resultado da análise
      */
     public CodeAnalysisResult analyzeFile(File file, String repositoryId) {
-        String cacheKey = file.getAbsolutePath() + ":" + repositoryId;
-        if (analysisCache.containsKey(cacheKey)) {
+        String source;
+        try {
+            source = readSource(file);
+        } catch (IOException e) {
+            log.warn("Failed to read file {}: {}", file.getName(), e.getMessage());
+            return createEmptyResult(file.getAbsolutePath(), repositoryId);
+        }
+
+        String contentHash = GraphCaches.sha256Hex(source);
+        String cacheKey = contentHash + "|" + file.getAbsolutePath() + "|" + repositoryId;
+        CodeAnalysisResult cached = analysisCache.getIfPresent(cacheKey);
+        if (cached != null) {
             log.debug("Returning cached analysis for {}", file.getName());
-            return analysisCache.get(cacheKey);
+            return cached;
         }
 
-        log.debug("Analyzing Java file: {}", file.getAbsolutePath());
+        CodeAnalysisResult result = parseSource(file.getAbsolutePath(), source, contentHash, repositoryId, null);
+        if (!result.getClasses().isEmpty()) {
+            analysisCache.put(cacheKey, result);
+        }
+        return result;
+    }
 
+    /**
+     * Analisa um arquivo Java sem consultar nem popular o cache de análises.
+     * Seguro para chamadas concorrentes; usado na indexação de repositórios
+     * inteiros, em que cada arquivo é analisado uma única vez.
+     *
+     * @param file         Arquivo .java
+     * @param repositoryId ID do repositório (opcional)
+     * @return Resultado da análise (vazio se o arquivo não pôde ser analisado)
+     */
+    public CodeAnalysisResult parseFile(File file, String repositoryId) {
+        String source;
         try {
-            CompilationUnit cu = parser.parse(new FileInputStream(file)).getResult()
+            source = readSource(file);
+        } catch (IOException e) {
+            log.warn("Failed to read file {}: {}", file.getName(), e.getMessage());
+            return createEmptyResult(file.getAbsolutePath(), repositoryId);
+        }
+        return parseSource(file.getAbsolutePath(), source, repositoryId);
+    }
+
+    /**
+     * Analisa o conteúdo de um arquivo Java já em memória (ex.: obtido da API
+     * da plataforma para um commit), sem cache. Seguro para chamadas concorrentes.
+     *
+     * @param filePath     Caminho gravado no resultado
+     * @param source       Código-fonte do arquivo
+     * @param repositoryId ID do repositório (opcional)
+     * @return Resultado da análise (vazio se o código não pôde ser analisado),
+     *         com o SHA-256 do conteúdo em {@code contentHash} quando bem-sucedida
+     */
+    public CodeAnalysisResult parseSource(String filePath, String source, String repositoryId) {
+        return parseSource(filePath, source, GraphCaches.sha256Hex(source), repositoryId, null);
+    }
+
+    /**
+     * Como {@link #parseSource(String, String, String)}, resolvendo os nomes de
+     * tipo com os imports do arquivo e o type solver do snapshot do projeto.
+     *
+     * @param typeSolver solver compartilhado do snapshot (null = nomes como no AST)
+     */
+    public CodeAnalysisResult parseSource(String filePath, String source, String repositoryId,
+                                          ProjectTypeSolver typeSolver) {
+        return parseSource(filePath, source, GraphCaches.sha256Hex(source), repositoryId, typeSolver);
+    }
+
+    private CodeAnalysisResult parseSource(String filePath, String source, String contentHash,
+                                           String repositoryId, ProjectTypeSolver typeSolver) {
+        log.debug("Analyzing Java file: {}", filePath);
+
+        try {
+            CompilationUnit cu = parser.get().parse(source).getResult()
                     .orElseThrow(() -> new IOException("Failed to parse file"));
 
             // Extrair package
@@ -110,31 +215,43 @@ public class JavaParserService {
                     .map(pd -> pd.getNameAsString())
                     .orElse("");
 
+            List<String> imports = new ArrayList<>();
+            for (ImportDeclaration importDecl : cu.getImports()) {
+                if (!importDecl.isStatic()) {
+                    imports.add(importDecl.isAsterisk()
+                            ? importDecl.getNameAsString() + ".*"
+                            : importDecl.getNameAsString());
+                }
+            }
+            NameContext names = typeSolver == null ? null : new NameContext(cu, packageName, imports, typeSolver);
+
             // Analisar cada classe/interface/enum no arquivo
             List<ClassInfo> classes = new ArrayList<>();
             List<MethodInfo> allMethods = new ArrayList<>();
 
             cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classDecl -> {
-                ClassInfo classInfo = analyzeClass(classDecl, packageName);
+                ClassInfo classInfo = analyzeClass(classDecl, packageName, names);
                 classes.add(classInfo);
                 allMethods.addAll(classInfo.getMethods());
             });
 
             cu.findAll(EnumDeclaration.class).forEach(enumDecl -> {
-                ClassInfo enumInfo = analyzeEnum(enumDecl, packageName);
+                ClassInfo enumInfo = analyzeEnum(enumDecl, packageName, names);
                 classes.add(enumInfo);
                 allMethods.addAll(enumInfo.getMethods());
             });
 
             // Calcular linhas de código
-            int totalLines = countLines(file);
+            int totalLines = (int) source.lines().count();
             int linesOfCode = countLinesOfCode(cu.toString());
 
             // Criar resultado
             CodeAnalysisResult result = CodeAnalysisResult.builder()
-                    .filePath(file.getAbsolutePath())
+                    .filePath(filePath)
                     .repositoryId(repositoryId)
+                    .contentHash(contentHash)
                     .analyzedAt(LocalDateTime.now())
+                    .imports(imports)
                     .classes(classes)
                     .allMethods(allMethods)
                     .totalLines(totalLines)
@@ -152,51 +269,61 @@ public class JavaParserService {
             // Calcular complexidade
             calculateComplexityMetrics(result);
 
-            // Cache do resultado
-            analysisCache.put(cacheKey, result);
-
             log.debug("Analyzed {} classes with {} methods",
                     classes.size(), allMethods.size());
 
             return result;
 
         } catch (Exception e) {
-            log.warn("Failed to analyze file {}: {}", file.getName(), e.getMessage());
-            return createEmptyResult(file.getAbsolutePath(), repositoryId);
+            log.warn("Failed to analyze file {}: {}", filePath, e.getMessage());
+            return createEmptyResult(filePath, repositoryId);
         }
     }
 
     /**
      * Analisa uma classe/interface e extrai suas informações.
      */
-    private ClassInfo analyzeClass(ClassOrInterfaceDeclaration classDecl, String packageName) {
+    private ClassInfo analyzeClass(ClassOrInterfaceDeclaration classDecl, String packageName, NameContext names) {
         // Coletar dependências
         List<String> dependencies = new ArrayList<>();
 
         // Super classe
         String superClass = null;
         for (ClassOrInterfaceType extType : classDecl.getExtendedTypes()) {
-            superClass = extType.getNameAsString();
-            dependencies.add(superClass);
+            superClass = typeName(extType, names);
+            addDependency(dependencies, superClass, names);
         }
 
         // Interfaces implementadas
         List<String> interfaces = new ArrayList<>();
         for (ClassOrInterfaceType implType : classDecl.getImplementedTypes()) {
-            String implName = implType.getNameAsString();
+            String implName = typeName(implType, names);
             interfaces.add(implName);
-            dependencies.add(implName);
+            addDependency(dependencies, implName, names);
         }
 
         // Campos
         List<String> fields = new ArrayList<>();
+        Map<String, String> fieldTypes = new HashMap<>();
+        Set<String> typeParameters = new HashSet<>();
+        classDecl.getTypeParameters().forEach(tp -> typeParameters.add(tp.getNameAsString()));
         for (FieldDeclaration field : classDecl.getFields()) {
             for (VariableDeclarator var : field.getVariables()) {
                 fields.add(var.getNameAsString());
                 // Adicionar tipo do campo como dependência
                 String typeName = var.getTypeAsString();
-                if (isCustomType(typeName)) {
-                    dependencies.add(typeName);
+                if (names == null) {
+                    if (isCustomType(typeName)) {
+                        dependencies.add(typeName);
+                    }
+                    continue;
+                }
+                // Com resolução: o tipo e os argumentos de tipo, já qualificados
+                fieldTypes.put(var.getNameAsString(), TypeNames.baseName(typeName));
+                for (ClassOrInterfaceType type : var.getType().findAll(ClassOrInterfaceType.class)) {
+                    if (!typeParameters.contains(type.getNameAsString())) {
+                        addDependency(dependencies, typeName(type, names), names);
+                    }
                 }
             }
         }
@@ -204,7 +331,7 @@ public class JavaParserService {
         // Métodos
         List<MethodInfo> methods = new ArrayList<>();
         for (MethodDeclaration method : classDecl.getMethods()) {
-            MethodInfo methodInfo = analyzeMethod(method, dependencies);
+            MethodInfo methodInfo = analyzeMethod(method, dependencies, names, fieldTypes);
             methods.add(methodInfo);
         }
 
@@ -227,7 +354,7 @@ public class JavaParserService {
     /**
      * Analisa um enum e extrai suas informações.
      */
-    private ClassInfo analyzeEnum(EnumDeclaration enumDecl, String packageName) {
+    private ClassInfo analyzeEnum(EnumDeclaration enumDecl, String packageName, NameContext names) {
         // Coletar dependências
         List<String> dependencies = new ArrayList<>();
 
@@ -240,7 +367,7 @@ public class JavaParserService {
         // Métodos do enum
         List<MethodInfo> methods = new ArrayList<>();
         for (MethodDeclaration method : enumDecl.getMethods()) {
-            MethodInfo methodInfo = analyzeMethod(method, dependencies);
+            MethodInfo methodInfo = analyzeMethod(method, dependencies, names, Map.of());
             methods.add(methodInfo);
         }
 
@@ -260,10 +387,24 @@ public class JavaParserService {
     /**
      * Analisa um método e extrai suas informações.
      */
-    private MethodInfo analyzeMethod(MethodDeclaration method, List<String> classDependencies) {
+    private MethodInfo analyzeMethod(MethodDeclaration method, List<String> classDependencies,
+                                     NameContext names, Map<String, String> fieldTypes) {
         Set<String> calledMethods = new HashSet<>();
         Set<String> calledClasses = new HashSet<>();
 
+        // Tipos declarados das variáveis visíveis, para resolver o alvo de obj.metodo()
+        Map<String, String> variableTypes = new HashMap<>(fieldTypes);
+        if (names != null) {
+            method.getParameters().forEach(param ->
+                    variableTypes.put(param.getNameAsString(), TypeNames.baseName(param.getTypeAsString())));
+            method.findAll(VariableDeclarator.class).forEach(var -> {
+                String type = TypeNames.baseName(var.getTypeAsString());
+                if (!type.equals("var")) {
+                    variableTypes.put(var.getNameAsString(), type);
+                }
+            });
+        }
+
         // Visitor para encontrar chamadas de método
         method.accept(new VoidVisitorAdapter<Void>() {
             @Override
@@ -275,7 +416,10 @@ public class JavaParserService {
                 n.getScope().ifPresent(scope -> {
                     String scopeStr = scope.toString();
                     if (!scopeStr.equals("this") && !scopeStr.equals("super")) {
-                        calledClasses.add(scopeStr);
+                        String target = names == null ? scopeStr : scopeType(scope, variableTypes, names);
+                        if (target != null) {
+                            calledClasses.add(target);
+                        }
                     }
                 });
             }
@@ -283,8 +427,10 @@ public class JavaParserService {
             @Override
             public void visit(ObjectCreationExpr n, Void arg) {
                 super.visit(n, arg);
-                String typeName = n.getTypeAsString();
-                calledClasses.add(typeName);
+                String typeName = names == null ? n.getTypeAsString() : typeName(n.getType(), names);
+                if (names == null || !TypeNames.isJdk(typeName)) {
+                    calledClasses.add(typeName);
+                }
             }
         }, null);
 
@@ -303,6 +449,51 @@ public class JavaParserService {
                 .build();
     }
 
+    /**
+     * Nome do tipo: qualificado se houver resolução e ele for resolvido, senão
+     * como no AST (sem argumentos de tipo).
+     */
+    private String typeName(ClassOrInterfaceType type, NameContext names) {
+        return names == null ? type.getNameAsString() : names.qualify(type.getNameWithScope());
+    }
+
+    /**
+     * Adiciona uma dependência da classe; com resolução, ignora tipos da JDK e repetidos.
+     */
+    private void addDependency(List<String> dependencies, String typeName, NameContext names) {
+        if (names == null) {
+            dependencies.add(typeName);
+        } else if (!TypeNames.isJdk(typeName) && isCustomType(typeName) && !dependencies.contains(typeName)) {
+            dependencies.add(typeName);
+        }
+    }
+
+    /**
+     * Tipo alvo de {@code scope.metodo()}: o tipo declarado da variável, ou o
+     * próprio tipo numa chamada estática. Expressões mais complexas seguem como
+     * texto; tipos da JDK retornam null.
+     */
+    private String scopeType(Expression scope, Map<String, String> variableTypes, NameContext names) {
+        String variable = null;
+        if (scope.isNameExpr()) {
+            variable = scope.asNameExpr().getNameAsString();
+        } else if (scope.isFieldAccessExpr() && scope.asFieldAccessExpr().getScope().isThisExpr()) {
+            variable = scope.asFieldAccessExpr().getNameAsString();
+        }
+        if (variable == null) {
+            return scope.toString();
+        }
+        String type = variableTypes.get(variable);
+        if (type == null && Character.isUpperCase(variable.charAt(0))) {
+            type = variable;
+        }
+        if (type == null) {
+            return scope.toString();
+        }
+        String qualified = names.qualify(type);
+        return TypeNames.isJdk(qualified) ? null : qualified;
+    }
+
     /**
      * Extrai os tipos dos parâmetros de um método.
      */
@@ -469,17 +660,6 @@ public class JavaParserService {
         result.setAverageComplexity(averageComplexity);
     }
 
-    /**
-     * Conta o número total de linhas em um arquivo.
-     */
-    private int countLines(File file) {
-        try {
-            return (int) java.nio.file.Files.lines(file.toPath()).count();
-        } catch (IOException e) {
-            return 0;
-        }
-    }
-
     /**
      * Conta linhas de código efetivo (excluindo linhas em branco e comentários).
      */
@@ -529,6 +709,35 @@ public class JavaParserService {
         return true;
     }
 
+    /**
+     * Resolução de nomes do arquivo em análise: package, imports, tipos
+     * declarados no próprio arquivo e o type solver do projeto.
+     */
+    private static final class NameContext {
+
+        private final String packageName;
+        private final List<String> imports;
+        private final Map<String, String> localTypes = new HashMap<>();
+        private final ProjectTypeSolver typeSolver;
+
+        NameContext(CompilationUnit cu, String packageName, List<String> imports, ProjectTypeSolver typeSolver) {
+            this.packageName = packageName;
+            this.imports = imports;
+            this.typeSolver = typeSolver;
+            // Mesmo qualified name usado para os nós das classes do arquivo
+            for (TypeDeclaration<?> type : cu.findAll(TypeDeclaration.class)) {
+                String simpleName = type.getNameAsString();
+                localTypes.put(simpleName, packageName.isEmpty() ? simpleName : packageName + "." + simpleName);
+            }
+        }
+
+        /** Qualified name do tipo, ou o nome sem argumentos de tipo se não resolver. */
+        String qualify(String typeName) {
+            String resolved = TypeNames.resolve(typeName, packageName, imports, localTypes, typeSolver::exists);
+            return resolved != null ? resolved : TypeNames.baseName(typeName);
+        }
+    }
+
     /**
      * Cria um resultado vazio para arquivos que não puderam ser analisados.
      */
@@ -553,7 +762,7 @@ public class JavaParserService {
      * Limpa o cache de análises.
      */
     public void clearCache() {
-        analysisCache.clear();
+        analysisCache.invalidateAll();
         log.debug("Analysis cache cleared");
     }
 
@@ -561,14 +770,57 @@ public class JavaParserService {
      * Limpa o cache para um arquivo específico.
      */
     public void clearCacheForFile(String filePath) {
-        analysisCache.keySet().removeIf(key -> key.startsWith(filePath));
+        analysisCache.asMap().keySet()
+                .removeIf(key -> key.startsWith(filePath, GraphCaches.SHA256_HEX_LENGTH + 1));
         log.debug("Analysis cache cleared for file: {}", filePath);
     }
 
     /**
-     * Retorna o tamanho do cache de análises.
+     * Retorna o número (estimado) de análises em cache.
      */
     public int getCacheSize() {
-        return analysisCache.size();
+        return (int) analysisCache.estimatedSize();
+    }
+
+    private static String readSource(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Estimativa do heap retido por uma análise (objetos, Strings e listas),
+     * usada como peso no cache.
+     */
+    static long estimateRetainedBytes(CodeAnalysisResult result) {
+        long bytes = 128 + GraphCaches.stringBytes(result.getFilePath())
+                + GraphCaches.stringBytes(result.getRepositoryId())
+                + GraphCaches.stringBytes(result.getContentHash());
+        if (result.getClasses() != null) {
+            for (ClassInfo classInfo : result.getClasses()) {
+                bytes += 96
+                        + GraphCaches.stringBytes(classInfo.getQualifiedName())
+                        + GraphCaches.stringBytes(classInfo.getSimpleName())
+                        + GraphCaches.stringBytes(classInfo.getPackageName())
+                        + GraphCaches.stringBytes(classInfo.getSuperClass())
+                        + GraphCaches.stringListBytes(classInfo.getImplementedInterfaces())
+                        + GraphCaches.stringListBytes(classInfo.getDependencies())
+                        + GraphCaches.stringListBytes(classInfo.getDependents())
+                        + GraphCaches.stringListBytes(classInfo.getFields());
+                if (classInfo.getMethods() != null) {
+                    for (MethodInfo method : classInfo.getMethods()) {
+                        bytes += 72
+                                + GraphCaches.stringBytes(method.getName())
+                                + GraphCaches.stringBytes(method.getReturnType())
+                                + GraphCaches.stringListBytes(method.getParameterTypes())
+                                + GraphCaches.stringListBytes(method.getCalledMethods())
+                                + GraphCaches.stringListBytes(method.getCalledClasses());
+                    }
+                }
+            }
+        }
+        if (result.getAllMethods() != null) {
+            // Os métodos já foram contados nas classes: só a lista de referências
+            bytes += 40 + 8L * result.getAllMethods().size();
+        }
+        return bytes;
     }
 }
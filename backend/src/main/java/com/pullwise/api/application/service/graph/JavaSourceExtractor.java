@@ -0,0 +1,29 @@
+package com.pullwise.api.application.service.graph;
+
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.domain.enums.ProgrammingLanguage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Java via {@link JavaParserService}, com o type solver do snapshot quando a
+ * indexação tem um.
+ */
+@Component
+@RequiredArgsConstructor
+public class JavaSourceExtractor implements SourceExtractor {
+
+    private final JavaParserService javaParserService;
+
+    @Override
+    public Set<ProgrammingLanguage> languages() {
+        return Set.of(ProgrammingLanguage.JAVA);
+    }
+
+    @Override
+    public CodeAnalysisResult extract(String filePath, String source, ExtractionContext context) {
+        return javaParserService.parseSource(filePath, source, context.repositoryId(), context.typeSolver());
+    }
+}
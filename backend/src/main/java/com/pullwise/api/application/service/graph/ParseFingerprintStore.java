@@ -0,0 +1,232 @@
+package com.pullwise.api.application.service.graph;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pullwise.api.application.service.graph.GraphBatchWriter.FingerprintRow;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.domain.model.CodeParseFingerprint;
+import com.pullwise.api.domain.repository.CodeGraphEdgeRepository;
+import com.pullwise.api.domain.repository.CodeParseFingerprintRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fingerprints de parse persistidos ao lado do Code Graph (tabela
+ * {@code code_parse_fingerprints}): hash do conteúdo, último commit indexado e
+ * resumo da análise de cada arquivo gravado no grafo.
+ *
+ * <p>Um fingerprint existe só enquanto o grafo reflete aquele conteúdo: é
+ * gravado na mesma transação dos nós e arestas do arquivo
+ * ({@link GraphPersistenceService}) e removido junto com eles. Assim a
+ * reindexação pode pular arquivos cujo hash não mudou sem reescrever o grafo, e
+ * o {@link DependencyGraphService} reaproveita resumos em vez de reanalisar.
+ *
+ * <p>O hash sozinho não basta: o fingerprint guarda a versão do parse
+ * ({@link SourceExtractors#VERSION} e, em Java, o modo de resolução de nomes),
+ * e arquivos indexados por outra versão são reanalisados. A análise de um arquivo também depende dos outros (imports
+ * resolvidos pelos arquivos do repositório, nós que ele referencia), então
+ * quem depende de um arquivo alterado, adicionado ou removido é reanalisado
+ * com ele ({@link #reverseDependents}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParseFingerprintStore {
+
+    /** Hashes por consulta {@code IN}. */
+    private static final int LOOKUP_CHUNK = 1000;
+
+    /** Nomes por expressão regular na busca de imports. */
+    private static final int IMPORT_NAMES_CHUNK = 200;
+
+    private final CodeParseFingerprintRepository repository;
+    private final CodeGraphEdgeRepository edgeRepository;
+    private final GraphBatchWriter batchWriter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Hash do conteúdo indexado de cada arquivo do projeto.
+     *
+     * @return {@code file_path -> content_hash}
+     */
+    @Transactional(readOnly = true)
+    public Map<String, String> contentHashes(Long projectId) {
+        Map<String, String> hashes = new HashMap<>();
+        for (Object[] row : repository.findContentHashesByProjectId(projectId)) {
+            hashes.put((String) row[0], (String) row[1]);
+        }
+        return hashes;
+    }
+
+    /**
+     * Hash do conteúdo dos arquivos indexados por uma das versões de parse
+     * informadas; os de outra versão ficam de fora e devem ser reanalisados.
+     *
+     * @return {@code file_path -> content_hash}
+     */
+    @Transactional(readOnly = true)
+    public Map<String, String> contentHashes(Long projectId, Collection<String> parserVersions) {
+        Map<String, String> hashes = new HashMap<>();
+        for (Object[] row : repository.findContentHashesByProjectIdAndParserVersionIn(
+                projectId, List.copyOf(parserVersions))) {
+            hashes.put((String) row[0], (String) row[1]);
+        }
+        return hashes;
+    }
+
+    /**
+     * Arquivos indexados cuja análise pode mudar por causa de
+     * {@code changedFiles}, mesmo com o próprio conteúdo igual: os que têm
+     * arestas para nós desses arquivos e, para os arquivos que entraram ou
+     * saíram do repositório (a resolução de imports muda), os do mesmo
+     * diretório e os que importam algo com o nome do arquivo ou do diretório
+     * dele. Deve rodar antes de o grafo dos arquivos alterados ser substituído.
+     *
+     * @param changedFiles   arquivos com conteúdo novo ou removidos
+     * @param addedOrRemoved arquivos que entraram ou saíram do repositório
+     * @param indexedFiles   arquivos hoje no grafo
+     * @return dependentes, sem os próprios {@code changedFiles}
+     */
+    @Transactional(readOnly = true)
+    public Set<String> reverseDependents(Long projectId, Collection<String> changedFiles,
+                                         Collection<String> addedOrRemoved, Collection<String> indexedFiles) {
+        Set<String> dependents = new HashSet<>();
+        if (!changedFiles.isEmpty()) {
+            dependents.addAll(edgeRepository.findSourceFilesTargetingFiles(projectId,
+                    changedFiles.toArray(String[]::new)));
+        }
+
+        Set<String> directories = new HashSet<>();
+        Set<String> names = new LinkedHashSet<>();
+        for (String path : addedOrRemoved) {
+            int slash = path.lastIndexOf('/');
+            String directory = slash < 0 ? "" : path.substring(0, slash);
+            directories.add(directory);
+            String stem = path.substring(slash + 1).replaceFirst("\\.[^.]*$", "");
+            if (!stem.equals("__init__") && !stem.equals("index")) {
+                names.add(stem);
+            }
+            if (!directory.isEmpty()) {
+                names.add(directory.substring(directory.lastIndexOf('/') + 1));
+            }
+        }
+        for (String path : indexedFiles) {
+            int slash = path.lastIndexOf('/');
+            if (directories.contains(slash < 0 ? "" : path.substring(0, slash))) {
+                dependents.add(path);
+            }
+        }
+        List<String> nameList = List.copyOf(names);
+        for (int from = 0; from < nameList.size(); from += IMPORT_NAMES_CHUNK) {
+            List<String> chunk = nameList.subList(from, Math.min(nameList.size(), from + IMPORT_NAMES_CHUNK));
+            dependents.addAll(repository.findFilePathsImportingMatching(projectId, importPattern(chunk)));
+        }
+
+        dependents.removeAll(changedFiles);
+        dependents.removeAll(addedOrRemoved);
+        return dependents;
+    }
+
+    /**
+     * Resumos de análise já gravados pelas versões de parse atuais para os
+     * conteúdos informados. Cada chamada devolve instâncias novas, que o
+     * chamador pode alterar.
+     *
+     * @return {@code content_hash -> análise}, só para os hashes conhecidos
+     */
+    @Transactional(readOnly = true)
+    public Map<String, CodeAnalysisResult> summariesByHash(Long projectId, Collection<String> contentHashes) {
+        List<String> hashes = List.copyOf(new LinkedHashSet<>(contentHashes));
+        Map<String, CodeAnalysisResult> summaries = new HashMap<>();
+        for (int from = 0; from < hashes.size(); from += LOOKUP_CHUNK) {
+            List<String> chunk = hashes.subList(from, Math.min(hashes.size(), from + LOOKUP_CHUNK));
+            for (CodeParseFingerprint fingerprint : repository.findByProjectIdAndParserVersionInAndContentHashIn(
+                    projectId, SourceExtractors.parserVersions(), chunk)) {
+                if (summaries.containsKey(fingerprint.getContentHash())) {
+                    continue;
+                }
+                try {
+                    summaries.put(fingerprint.getContentHash(),
+                            objectMapper.readValue(fingerprint.getSummary(), CodeAnalysisResult.class));
+                } catch (JsonProcessingException e) {
+                    log.debug("Ignoring unreadable parse summary of {}: {}", fingerprint.getFilePath(), e.getMessage());
+                }
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Grava os fingerprints das análises bem-sucedidas (com {@code contentHash}
+     * e {@code parserVersion}).
+     * Deve rodar na transação que grava o grafo dos mesmos arquivos.
+     *
+     * @param commitSha commit indexado (null se desconhecido)
+     */
+    void record(Long projectId, Collection<CodeAnalysisResult> results, String commitSha) {
+        Map<String, FingerprintRow> rows = new LinkedHashMap<>();
+        for (CodeAnalysisResult result : results) {
+            // Sem versão: análise parcial (ex.: Java só com a JDK) ou de fora dos extratores
+            if (result == null || result.getContentHash() == null || result.getParserVersion() == null
+                    || result.getFilePath() == null) {
+                continue;
+            }
+            try {
+                rows.put(result.getFilePath(), new FingerprintRow(result.getFilePath(), result.getContentHash(),
+                        result.getParserVersion(), commitSha, objectMapper.writeValueAsString(result)));
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to serialize parse summary of {}: {}", result.getFilePath(), e.getMessage());
+            }
+        }
+        batchWriter.writeFingerprints(projectId, rows.values());
+    }
+
+    /**
+     * Remove os fingerprints dos arquivos cujo conteúdo saiu do grafo.
+     */
+    void forget(Long projectId, Collection<String> filePaths) {
+        if (!filePaths.isEmpty()) {
+            repository.deleteByProjectIdAndFilePathIn(projectId, new ArrayList<>(filePaths));
+        }
+    }
+
+    /**
+     * Registra que todos os fingerprints do projeto refletem {@code commitSha}
+     * (fim de uma indexação completa).
+     */
+    void markIndexed(Long projectId, String commitSha) {
+        repository.updateIndexedShaByProjectId(projectId, commitSha);
+    }
+
+    /**
+     * Import que cita um dos nomes como segmento inteiro ({@code a.b.nome},
+     * {@code ../nome}, {@code mod/nome}).
+     */
+    private static String importPattern(List<String> names) {
+        StringBuilder alternatives = new StringBuilder();
+        for (String name : names) {
+            if (!alternatives.isEmpty()) {
+                alternatives.append('|');
+            }
+            for (char c : name.toCharArray()) {
+                if (!Character.isLetterOrDigit(c) && c != '_') {
+                    alternatives.append('\\');
+                }
+                alternatives.append(c);
+            }
+        }
+        return "(^|[./])(" + alternatives + ")($|[./])";
+    }
+}
@@ -0,0 +1,127 @@
+package com.pullwise.api.application.service.graph;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link CombinedTypeSolver} de um snapshot de repositório (JDK + fontes do
+ * checkout), com as consultas memoizadas.
+ *
+ * <p>Compartilhado pelos workers que analisam o mesmo snapshot: o type solver
+ * do JavaParser não é thread-safe, então as consultas ao solver são
+ * serializadas, mas cada qualified name é consultado uma única vez.
+ *
+ * <p>O solver de um snapshot vive só durante a indexação, e a memoização não
+ * tem limite; o {@link #JDK_ONLY}, compartilhado pelo processo inteiro, guarda
+ * no máximo {@value #JDK_ONLY_MEMO_SIZE} consultas.
+ */
+@Slf4j
+public final class ProjectTypeSolver {
+
+    /** Diretórios de fonte por convenção Maven/Gradle. */
+    private static final List<String> SOURCE_ROOT_MARKERS = List.of("src/main/java/", "src/test/java/");
+
+    /** Arquivos mantidos parseados por source root do solver. */
+    private static final long PARSED_FILES_PER_ROOT = 1024;
+
+    /** Consultas memoizadas pelo {@link #JDK_ONLY}. */
+    private static final long JDK_ONLY_MEMO_SIZE = 10_000;
+
+    /** Só JDK: resolve imports e {@code java.lang} quando não há checkout. */
+    public static final ProjectTypeSolver JDK_ONLY = new ProjectTypeSolver(new ReflectionTypeSolver(true), List.of(),
+            Caffeine.newBuilder().maximumSize(JDK_ONLY_MEMO_SIZE).build());
+
+    private final TypeSolver typeSolver;
+    private final List<Path> sourceRoots;
+    private final Cache<String, Boolean> known;
+
+    private ProjectTypeSolver(TypeSolver typeSolver, List<Path> sourceRoots, Cache<String, Boolean> known) {
+        this.typeSolver = typeSolver;
+        this.sourceRoots = sourceRoots;
+        this.known = known;
+    }
+
+    /**
+     * Solver para o checkout em {@code root}. As source roots são deduzidas dos
+     * caminhos dos arquivos ({@code .../src/main/java/}, {@code .../src/test/java/});
+     * arquivos fora dessas convenções usam a própria raiz.
+     */
+    public static ProjectTypeSolver forCheckout(Path root, Collection<Path> javaFiles) {
+        List<Path> roots = sourceRoots(root, javaFiles);
+        CombinedTypeSolver combined = new CombinedTypeSolver(new ReflectionTypeSolver(true));
+        ParserConfiguration configuration = new ParserConfiguration();
+        for (Path sourceRoot : roots) {
+            combined.add(new JavaParserTypeSolver(sourceRoot, configuration, PARSED_FILES_PER_ROOT));
+        }
+        log.debug("Type solver for {} with {} source roots", root, roots.size());
+        return new ProjectTypeSolver(combined, roots, Caffeine.newBuilder().build());
+    }
+
+    /**
+     * Indica se o tipo existe no JDK ou nas fontes do snapshot.
+     */
+    public boolean exists(String qualifiedName) {
+        Boolean cached = known.getIfPresent(qualifiedName);
+        if (cached != null) {
+            return cached;
+        }
+        boolean solved;
+        synchronized (typeSolver) {
+            try {
+                solved = typeSolver.tryToSolveType(qualifiedName).isSolved();
+            } catch (RuntimeException e) {
+                // Fonte que não parseia ou nome inválido: trata como não resolvido
+                solved = false;
+            }
+        }
+        known.put(qualifiedName, solved);
+        return solved;
+    }
+
+    public List<Path> sourceRoots() {
+        return sourceRoots;
+    }
+
+    /** Qualified names já consultados. */
+    public int memoizedLookups() {
+        return (int) known.estimatedSize();
+    }
+
+    static List<Path> sourceRoots(Path root, Collection<Path> javaFiles) {
+        Set<Path> roots = new LinkedHashSet<>();
+        for (Path file : javaFiles) {
+            String relative = root.relativize(file).toString().replace('\\', '/');
+            Path sourceRoot = root;
+            for (String marker : SOURCE_ROOT_MARKERS) {
+                // Com a barra inicial, o índice encontrado é a posição do marcador em `relative`
+                int idx = ("/" + relative).indexOf("/" + marker);
+                if (idx >= 0) {
+                    sourceRoot = root.resolve(relative.substring(0, idx + marker.length()));
+                    break;
+                }
+            }
+            roots.add(sourceRoot);
+        }
+        List<Path> existing = new ArrayList<>();
+        for (Path sourceRoot : roots) {
+            if (Files.isDirectory(sourceRoot)) {
+                existing.add(sourceRoot);
+            }
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,405 @@
+package com.pullwise.api.application.service.graph;
+
+import com.pullwise.api.application.service.autofix.GitService;
+import com.pullwise.api.application.service.graph.GraphPersistenceService.PersistenceStats;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.domain.model.Project;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Indexa um repositório inteiro no Code Graph v2.
+ *
+ * <p>Percorre o checkout (ex.: de {@link GitService#cloneRepository}), analisa os
+ * arquivos de todas as linguagens com {@link SourceExtractor} (Java,
+ * TypeScript/JavaScript, Python, Go) em paralelo no {@code graphIndexExecutor}
+ * — cada worker com o seu {@code JavaParser} — e grava os resultados em lotes via
+ * {@link GraphPersistenceService#upsertBatch}. O parse do lote seguinte roda
+ * enquanto o lote atual é gravado, e no máximo dois lotes ficam em memória.
+ *
+ * <p>Os caminhos gravados são relativos à raiz do repositório, como nos diffs
+ * de PR usados pelo blast radius. Falha ao gravar um lote não interrompe a
+ * indexação: os arquivos do lote são contados como falhos.
+ *
+ * <p>Arquivos cujo conteúdo tem o mesmo hash do fingerprint gravado
+ * ({@link ParseFingerprintStore}) pela mesma versão de parse (em Java, com o
+ * mesmo {@code symbol-solver}) já estão refletidos no grafo: não são
+ * analisados nem regravados, e a reindexação custa proporcionalmente ao que
+ * mudou desde a última. A exceção são os dependentes de arquivos alterados,
+ * adicionados ou removidos, reanalisados com eles.
+ *
+ * <p>Com {@code pullwise.graph.resolution.symbol-solver} ativo, os nomes de tipo
+ * são resolvidos pelos imports e por um {@link ProjectTypeSolver} do snapshot
+ * ({@link TypeSolverCache}), compartilhado por todos os workers, e as arestas
+ * saem com o qualified name real.
+ *
+ * <p>Métricas: {@code pullwise.graph.index.files{outcome=indexed|unchanged|failed}},
+ * {@code pullwise.graph.index.nodes}, {@code pullwise.graph.index.edges} e
+ * {@code pullwise.graph.index.duration}; o progresso (arquivos/s, nós/s) é logado
+ * a cada lote.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RepositoryGraphIndexer {
+
+    /** Diretórios de build, dependências e metadados que não entram no grafo. */
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of(
+            ".git", ".idea", ".gradle", ".mvn", "target", "build", "out", "node_modules",
+            "dist", "coverage", ".next", "vendor", "__pycache__", ".venv", "venv", ".tox");
+
+    private final SourceExtractors sourceExtractors;
+    private final GraphPersistenceService persistenceService;
+    private final ParseFingerprintStore fingerprintStore;
+    private final TypeSolverCache typeSolverCache;
+    private final GitService gitService;
+    private final MeterRegistry meterRegistry;
+
+    @Qualifier("graphIndexExecutor")
+    private final Executor graphIndexExecutor;
+
+    @Value("${pullwise.graph.index.batch-files:200}")
+    private int batchFiles;
+
+    @Value("${pullwise.graph.resolution.symbol-solver:true}")
+    private boolean symbolSolver;
+
+    /**
+     * Clona o repositório do projeto, indexa o checkout e remove o clone.
+     *
+     * <p>Se todos os lotes foram gravados, o grafo passa a refletir exatamente o
+     * checkout: arquivos que não existem mais são removidos e o commit clonado
+     * fica registrado como indexado, base das atualizações incrementais. Isso
+     * só acontece se o commit indexado ainda for o do início da indexação.
+     */
+    public IndexResult indexProject(Project project) {
+        // Base do compare-and-set final: um delta concluído nesse meio tempo prevalece
+        String expectedSha = project.getGraphIndexedSha();
+        GitService.GitCloneResult clone = gitService.cloneRepository(project);
+        Path root = Path.of(clone.localPath());
+        try {
+            Set<String> indexedFiles = new HashSet<>();
+            IndexResult result = index(project.getId(), root, indexedFiles, clone.commitHash());
+            if (result.filesFailed() == 0) {
+                Integer removed = persistenceService.finishFullIndex(project.getId(), indexedFiles,
+                        expectedSha, clone.commitHash());
+                if (removed != null) {
+                    log.info("Project {} graph now at {} ({} stale files removed)",
+                            project.getId(), clone.commitHash(), removed);
+                }
+            }
+            return result;
+        } finally {
+            typeSolverCache.invalidate(project.getId(), clone.commitHash(), root);
+            gitService.cleanup(root);
+        }
+    }
+
+    /**
+     * Indexa todos os arquivos Java sob {@code root}.
+     *
+     * @param projectId projeto dono do grafo
+     * @param root      raiz do checkout
+     * @return totais e throughput da indexação
+     */
+    public IndexResult indexRepository(Long projectId, Path root) {
+        try {
+            return index(projectId, root, new HashSet<>(), null);
+        } finally {
+            // Sem commit, o conteúdo do diretório pode mudar até a próxima chamada
+            typeSolverCache.invalidate(projectId, null, root);
+        }
+    }
+
+    // ========== Private Methods ==========
+
+    private IndexResult index(Long projectId, Path root, Set<String> indexedFiles, String commitSha) {
+        long startNs = System.nanoTime();
+        List<Path> files = collectSourceFiles(root);
+        List<List<Path>> chunks = partition(files, Math.max(1, batchFiles));
+        ExtractionContext context = extractionContext(projectId, root, files, commitSha);
+        Map<String, String> knownHashes = knownHashes(projectId, root, files, context);
+        log.info("Indexing {} source files of project {} from {} in {} batches ({} fingerprints known)",
+                files.size(), projectId, root, chunks.size(), knownHashes.size());
+
+        Counter indexedCounter = meterRegistry.counter("pullwise.graph.index.files", "outcome", "indexed");
+        Counter unchangedCounter = meterRegistry.counter("pullwise.graph.index.files", "outcome", "unchanged");
+        Counter failedCounter = meterRegistry.counter("pullwise.graph.index.files", "outcome", "failed");
+        Counter nodesCounter = meterRegistry.counter("pullwise.graph.index.nodes");
+        Counter edgesCounter = meterRegistry.counter("pullwise.graph.index.edges");
+
+        int indexed = 0;
+        int unchanged = 0;
+        int failed = 0;
+        long nodes = 0;
+        long edges = 0;
+
+        CompletableFuture<List<ParsedFile>> pending = chunks.isEmpty()
+                ? null : parseChunk(root, chunks.get(0), knownHashes, context);
+
+        for (int i = 0; i < chunks.size(); i++) {
+            List<ParsedFile> parsed = pending.join();
+            // Parse do próximo lote em paralelo com a gravação deste
+            pending = i + 1 < chunks.size()
+                    ? parseChunk(root, chunks.get(i + 1), knownHashes, context) : null;
+
+            List<CodeAnalysisResult> changed = new ArrayList<>(parsed.size());
+            for (ParsedFile file : parsed) {
+                if (file.result() == null) {
+                    indexedFiles.add(file.filePath());
+                    unchanged++;
+                    unchangedCounter.increment();
+                } else {
+                    changed.add(file.result());
+                }
+            }
+
+            if (!changed.isEmpty()) {
+                try {
+                    PersistenceStats stats = persistenceService.upsertBatch(projectId, changed, commitSha);
+                    changed.forEach(r -> indexedFiles.add(r.getFilePath()));
+                    indexed += changed.size();
+                    nodes += stats.nodesProcessed();
+                    edges += stats.edgesProcessed();
+                    indexedCounter.increment(changed.size());
+                    nodesCounter.increment(stats.nodesProcessed());
+                    edgesCounter.increment(stats.edgesProcessed());
+                } catch (Exception e) {
+                    failed += changed.size();
+                    failedCounter.increment(changed.size());
+                    log.warn("Failed to persist graph batch {}/{} of project {}: {}",
+                            i + 1, chunks.size(), projectId, e.getMessage());
+                }
+            }
+
+            IndexResult progress = new IndexResult(indexed, unchanged, failed, nodes, edges,
+                    Duration.ofNanos(System.nanoTime() - startNs));
+            log.info("Indexed {}/{} files of project {} ({} unchanged; {} files/s, {} nodes/s)",
+                    indexed + unchanged + failed, files.size(), projectId, unchanged,
+                    Math.round(progress.filesPerSecond()), Math.round(progress.nodesPerSecond()));
+        }
+
+        IndexResult result = new IndexResult(indexed, unchanged, failed, nodes, edges,
+                Duration.ofNanos(System.nanoTime() - startNs));
+        Timer.builder("pullwise.graph.index.duration")
+                .description("Whole-repository code graph indexing time")
+                .register(meterRegistry)
+                .record(result.elapsed());
+        log.info("Indexed project {}: {} files ({} unchanged, {} failed), {} nodes, {} edges in {} ms",
+                projectId, indexed, unchanged, failed, nodes, edges, result.elapsed().toMillis());
+        return result;
+    }
+
+    /**
+     * Hashes dos arquivos que podem pular o parse: indexados pela versão atual
+     * (em Java, com a mesma resolução de nomes de {@code context}) e fora dos
+     * dependentes de arquivos alterados, adicionados ou removidos desde a
+     * última indexação.
+     */
+    private Map<String, String> knownHashes(Long projectId, Path root, List<Path> files,
+                                            ExtractionContext context) {
+        Map<String, String> knownHashes = new HashMap<>(fingerprintStore.contentHashes(projectId,
+                List.of(SourceExtractors.VERSION, SourceExtractors.javaParserVersion(context.typeSolver()))));
+        Map<String, String> indexedHashes = fingerprintStore.contentHashes(projectId);
+        if (knownHashes.isEmpty() || indexedHashes.isEmpty()) {
+            return knownHashes;
+        }
+
+        Set<String> changed = new HashSet<>();
+        Set<String> addedOrRemoved = new HashSet<>();
+        Set<String> removed = new HashSet<>(indexedHashes.keySet());
+        for (Path file : files) {
+            String relative = relativePath(root, file);
+            String indexedHash = removed.remove(relative) ? indexedHashes.get(relative) : null;
+            if (indexedHash == null) {
+                changed.add(relative);
+                addedOrRemoved.add(relative);
+                continue;
+            }
+            try {
+                String source = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                if (!GraphCaches.sha256Hex(source).equals(indexedHash)) {
+                    changed.add(relative);
+                }
+            } catch (IOException e) {
+                // O parse relê e conta a falha
+                changed.add(relative);
+            }
+        }
+        changed.addAll(removed);
+        addedOrRemoved.addAll(removed);
+        if (changed.isEmpty()) {
+            return knownHashes;
+        }
+
+        Set<String> dependents = fingerprintStore.reverseDependents(projectId, changed, addedOrRemoved,
+                indexedHashes.keySet());
+        knownHashes.keySet().removeAll(dependents);
+        log.debug("Project {}: {} changed source files, {} unchanged dependents re-parsed",
+                projectId, changed.size(), dependents.size());
+        return knownHashes;
+    }
+
+    private CompletableFuture<List<ParsedFile>> parseChunk(Path root, List<Path> chunk,
+                                                           Map<String, String> knownHashes,
+                                                           ExtractionContext context) {
+        List<CompletableFuture<ParsedFile>> futures = new ArrayList<>(chunk.size());
+        for (Path file : chunk) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> parse(root, file, knownHashes, context), graphIndexExecutor));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Contexto dos extratores: todos os arquivos do checkout, lidos do disco
+     * sob demanda, e, com {@code symbol-solver} ativo, o type solver do
+     * snapshot para os fontes Java.
+     */
+    private ExtractionContext extractionContext(Long projectId, Path root, List<Path> files, String commitSha) {
+        Set<String> relativePaths = new HashSet<>();
+        List<Path> javaFiles = new ArrayList<>();
+        for (Path file : files) {
+            relativePaths.add(relativePath(root, file));
+            if (file.getFileName().toString().endsWith(".java")) {
+                javaFiles.add(file);
+            }
+        }
+        ProjectTypeSolver typeSolver = symbolSolver && !javaFiles.isEmpty()
+                ? typeSolverCache.forSnapshot(projectId, commitSha, root, javaFiles) : null;
+        return new ExtractionContext(projectId.toString(), relativePaths, typeSolver, path -> {
+            Path file = root.resolve(path);
+            try {
+                return Files.isRegularFile(file) ? Files.readString(file, StandardCharsets.UTF_8) : null;
+            } catch (IOException e) {
+                log.debug("Failed to read {}: {}", file, e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    private ParsedFile parse(Path root, Path file, Map<String, String> knownHashes, ExtractionContext context) {
+        String relative = relativePath(root, file);
+        CodeAnalysisResult result;
+        try {
+            String source = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            if (GraphCaches.sha256Hex(source).equals(knownHashes.get(relative))) {
+                return new ParsedFile(relative, null);
+            }
+            result = sourceExtractors.extract(relative, source, context);
+        } catch (IOException e) {
+            log.warn("Failed to read {}: {}", file, e.getMessage());
+            // Sem contentHash: não grava fingerprint e o arquivo é relido na próxima indexação
+            result = CodeAnalysisResult.builder()
+                    .repositoryId(context.repositoryId())
+                    .classes(List.of())
+                    .allMethods(List.of())
+                    .build();
+        }
+        result.setFilePath(relative);
+        return new ParsedFile(relative, result);
+    }
+
+    private static String relativePath(Path root, Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
+    }
+
+    private List<Path> collectSourceFiles(Path root) {
+        List<Path> files = new ArrayList<>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    Path name = dir.getFileName();
+                    return !dir.equals(root) && name != null && SKIPPED_DIRECTORIES.contains(name.toString())
+                            ? FileVisitResult.SKIP_SUBTREE
+                            : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && sourceExtractors.supports(file.getFileName().toString())) {
+                        files.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    log.debug("Skipping unreadable path {}: {}", file, e.getMessage());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to walk repository " + root, e);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + size)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Arquivo do checkout: análise nova, ou null se o conteúdo é o do fingerprint.
+     */
+    private record ParsedFile(String filePath, CodeAnalysisResult result) {
+    }
+
+    /**
+     * Resultado de uma indexação.
+     *
+     * @param filesIndexed   arquivos analisados e gravados no grafo
+     * @param filesUnchanged arquivos pulados por terem o mesmo hash do fingerprint
+     * @param filesFailed    arquivos de lotes que falharam ao gravar
+     * @param nodes          nós processados
+     * @param edges          arestas processadas
+     * @param elapsed        duração total
+     */
+    public record IndexResult(int filesIndexed, int filesUnchanged, int filesFailed,
+                              long nodes, long edges, Duration elapsed) {
+
+        public double filesPerSecond() {
+            return perSecond(filesIndexed + filesUnchanged + filesFailed);
+        }
+
+        public double nodesPerSecond() {
+            return perSecond(nodes);
+        }
+
+        private double perSecond(long count) {
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            return seconds > 0 ? count / seconds : 0;
+        }
+    }
+}
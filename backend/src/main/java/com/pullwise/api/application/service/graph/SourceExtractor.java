@@ -0,0 +1,52 @@
+package com.pullwise.api.application.service.graph;
+
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.domain.enums.ProgrammingLanguage;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Extrator de estrutura de código de uma linguagem para o Code Graph v2.
+ *
+ * <p>Todo extrator produz o mesmo modelo ({@link CodeAnalysisResult},
+ * {@link com.pullwise.api.application.service.graph.model.ClassInfo},
+ * {@link com.pullwise.api.application.service.graph.model.MethodInfo}) gravado
+ * por {@link GraphPersistenceService}. Implementações são beans Spring
+ * descobertos por {@link SourceExtractors}, e devem ser thread-safe: a
+ * indexação chama {@link #extract} em paralelo.
+ *
+ * <p>Fora de Java, os nomes de dependências, heranças e chamadas já saem
+ * qualificados (só alvos resolvidos para arquivos do repositório) e são
+ * gravados como estão.
+ */
+public interface SourceExtractor {
+
+    /** Linguagens tratadas pelo extrator. */
+    Set<ProgrammingLanguage> languages();
+
+    /**
+     * Indica se o arquivo é de uma das linguagens do extrator, pela extensão.
+     */
+    default boolean supports(String filePath) {
+        String lower = filePath.toLowerCase(Locale.ROOT);
+        for (ProgrammingLanguage language : languages()) {
+            for (String extension : language.getExtensions()) {
+                if (lower.endsWith(extension)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Analisa um arquivo.
+     *
+     * @param filePath caminho relativo à raiz do repositório
+     * @param source   conteúdo do arquivo
+     * @param context  dados compartilhados pela indexação do repositório
+     * @return análise do arquivo (nunca null)
+     */
+    CodeAnalysisResult extract(String filePath, String source, ExtractionContext context);
+}
@@ -0,0 +1,98 @@
+package com.pullwise.api.application.service.graph;
+
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.domain.enums.ProgrammingLanguage;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Registro dos {@link SourceExtractor}s: escolhe o extrator de cada arquivo pela
+ * extensão. Arquivos sem extrator não entram no Code Graph.
+ */
+@Component
+public class SourceExtractors {
+
+    /**
+     * Versão da extração gravada nos fingerprints de parse (em Java, com o
+     * modo de resolução de nomes). Deve ser incrementada sempre que algum
+     * extrator passar a gravar outra coisa para o mesmo conteúdo:
+     * fingerprints de outra versão não pulam o reparse.
+     */
+    public static final String VERSION = "2";
+
+    /** Análises Java dependem também da resolução de nomes usada. */
+    private static final String JAVA_AST = VERSION + "+java-ast";
+    private static final String JAVA_SYMBOL_SOLVER = VERSION + "+java-symbol-solver";
+
+    private final List<SourceExtractor> extractors;
+
+    public SourceExtractors(List<SourceExtractor> extractors) {
+        this.extractors = List.copyOf(extractors);
+    }
+
+    /**
+     * Indica se algum extrator trata o arquivo.
+     */
+    public boolean supports(String filePath) {
+        return forPath(filePath) != null;
+    }
+
+    /**
+     * Extrator do arquivo, ou null se nenhum o trata.
+     */
+    public SourceExtractor forPath(String filePath) {
+        if (filePath == null) {
+            return null;
+        }
+        for (SourceExtractor extractor : extractors) {
+            if (extractor.supports(filePath)) {
+                return extractor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Analisa o arquivo com o extrator da sua linguagem.
+     *
+     * @return análise, ou null se nenhum extrator trata o arquivo
+     */
+    public CodeAnalysisResult extract(String filePath, String source, ExtractionContext context) {
+        SourceExtractor extractor = forPath(filePath);
+        if (extractor == null) {
+            return null;
+        }
+        CodeAnalysisResult result = extractor.extract(filePath, source, context);
+        result.setParserVersion(extractor.languages().contains(ProgrammingLanguage.JAVA)
+                ? javaParserVersion(context.typeSolver()) : VERSION);
+        return result;
+    }
+
+    /**
+     * Versão de parse de uma análise Java feita com {@code typeSolver}.
+     *
+     * @return null com {@link ProjectTypeSolver#JDK_ONLY}: a análise sem os
+     *         fontes do repositório não vira fingerprint
+     */
+    public static String javaParserVersion(ProjectTypeSolver typeSolver) {
+        if (typeSolver == ProjectTypeSolver.JDK_ONLY) {
+            return null;
+        }
+        return typeSolver == null ? JAVA_AST : JAVA_SYMBOL_SOLVER;
+    }
+
+    /**
+     * Versões de parse atuais, de todas as linguagens e modos de resolução.
+     */
+    public static List<String> parserVersions() {
+        return List.of(VERSION, JAVA_AST, JAVA_SYMBOL_SOLVER);
+    }
+
+    /**
+     * Hash do conteúdo gravado nas análises e nos fingerprints de parse.
+     */
+    public static String contentHash(String source) {
+        return GraphCaches.sha256Hex(source);
+    }
+}
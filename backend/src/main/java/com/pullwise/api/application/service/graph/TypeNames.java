@@ -0,0 +1,106 @@
+package com.pullwise.api.application.service.graph;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Resolução de nomes de tipo como o compilador Java: tipos declarados no
+ * próprio arquivo, imports explícitos, mesmo pacote, imports com wildcard e
+ * {@code java.lang}, nessa ordem.
+ *
+ * <p>A existência dos candidatos que não vêm de um import explícito é
+ * confirmada por um predicado — o {@link ProjectTypeSolver} na análise, ou o
+ * conjunto de classes conhecidas no {@link DependencyGraphService}.
+ */
+final class TypeNames {
+
+    private static final String JAVA_LANG = "java.lang.";
+
+    private TypeNames() {
+    }
+
+    /**
+     * Resolve {@code typeName} (simples, aninhado como {@code Outer.Inner} ou já
+     * qualificado) para o qualified name.
+     *
+     * @param packageName pacote do arquivo
+     * @param imports     imports não estáticos do arquivo ({@code a.b.C} ou {@code a.b.*})
+     * @param localTypes  tipos declarados no arquivo: nome simples → qualified name
+     * @param exists      confirma se um qualified name candidato existe
+     * @return qualified name, ou null se não foi possível resolver
+     */
+    static String resolve(String typeName, String packageName, List<String> imports,
+                          Map<String, String> localTypes, Predicate<String> exists) {
+        String name = baseName(typeName);
+        if (name.isEmpty()) {
+            return null;
+        }
+
+        int dot = name.indexOf('.');
+        String first = dot < 0 ? name : name.substring(0, dot);
+        String rest = dot < 0 ? "" : name.substring(dot);
+        if (dot > 0 && Character.isLowerCase(first.charAt(0))) {
+            // Começa por um pacote: já é qualificado
+            return name;
+        }
+
+        String local = localTypes.get(first);
+        if (local != null) {
+            return local + rest;
+        }
+        if (imports != null) {
+            for (String imported : imports) {
+                if (!imported.endsWith(".*") && imported.endsWith("." + first)) {
+                    return imported + rest;
+                }
+            }
+        }
+        if (packageName != null && !packageName.isBlank() && exists.test(packageName + "." + first)) {
+            return packageName + "." + first + rest;
+        }
+        if (imports != null) {
+            for (String imported : imports) {
+                if (imported.endsWith(".*")) {
+                    String candidate = imported.substring(0, imported.length() - 1) + first;
+                    if (exists.test(candidate)) {
+                        return candidate + rest;
+                    }
+                }
+            }
+        }
+        if (exists.test(JAVA_LANG + first)) {
+            return JAVA_LANG + first + rest;
+        }
+        return null;
+    }
+
+    /**
+     * Tipos da JDK nunca viram nós do grafo.
+     */
+    static boolean isJdk(String qualifiedName) {
+        return qualifiedName.startsWith("java.") || qualifiedName.startsWith("javax.");
+    }
+
+    /**
+     * Remove argumentos de tipo, arrays e varargs: {@code Map<K, V>[]} → {@code Map}.
+     */
+    static String baseName(String typeName) {
+        if (typeName == null) {
+            return "";
+        }
+        String name = typeName;
+        int generic = name.indexOf('<');
+        if (generic >= 0) {
+            name = name.substring(0, generic);
+        }
+        int array = name.indexOf('[');
+        if (array >= 0) {
+            name = name.substring(0, array);
+        }
+        if (name.endsWith("...")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return name.trim();
+    }
+}
@@ -0,0 +1,60 @@
+package com.pullwise.api.application.service.graph;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * {@link ProjectTypeSolver}s por snapshot de projeto (projeto, commit e
+ * diretório do checkout), compartilhados por todas as análises do mesmo
+ * snapshot.
+ *
+ * <p>Um snapshot deve ser invalidado quando o checkout é removido. Limitado a
+ * {@code pullwise.graph.resolution.max-snapshots}, com métricas em
+ * {@code cache.*{cache=type-solver}}.
+ */
+@Component
+public class TypeSolverCache {
+
+    private final Cache<String, ProjectTypeSolver> solvers;
+
+    public TypeSolverCache(@Value("${pullwise.graph.resolution.max-snapshots:8}") int maxSnapshots,
+                           @Value("${pullwise.graph.resolution.snapshot-ttl:30m}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        this.solvers = Caffeine.newBuilder()
+                .maximumSize(maxSnapshots)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, solvers, "type-solver");
+    }
+
+    /**
+     * Solver do snapshot, criado a partir do checkout na primeira chamada.
+     *
+     * @param snapshot  commit do checkout (null se desconhecido)
+     * @param root      raiz do checkout
+     * @param javaFiles arquivos Java do checkout, para deduzir as source roots
+     */
+    public ProjectTypeSolver forSnapshot(Long projectId, String snapshot, Path root, Collection<Path> javaFiles) {
+        return solvers.get(key(projectId, snapshot, root), k -> ProjectTypeSolver.forCheckout(root, javaFiles));
+    }
+
+    /**
+     * Descarta o solver do snapshot (ex.: checkout removido).
+     */
+    public void invalidate(Long projectId, String snapshot, Path root) {
+        solvers.invalidate(key(projectId, snapshot, root));
+    }
+
+    private static String key(Long projectId, String snapshot, Path root) {
+        return projectId + "@" + snapshot + "@" + root.toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,13 @@
+package com.pullwise.api.application.service.graph.blast;
+
+/**
+ * Sentido em que a BFS de blast-radius percorre as arestas {@code source → target}.
+ */
+public enum BlastDirection {
+    /** source → target: o que o código alterado chama, importa ou estende. */
+    DOWNSTREAM,
+    /** target → source: quem chama, importa ou estende o código alterado. */
+    UPSTREAM,
+    /** Os dois sentidos; cada nó fica com a menor profundidade e o maior peso. */
+    BOTH
+}
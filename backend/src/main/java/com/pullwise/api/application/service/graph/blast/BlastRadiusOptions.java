@@ -11,8 +11,9 @@ import java.util.Set;
  * @param maxDepth    profundidade máxima da BFS (1 a {@link #DEPTH_HARD_CAP})
  * @param maxNodes    limite de nós retornados (truncated=true se excedido)
  * @param kinds       tipos de aresta percorridos pela BFS
+ * @param direction   sentido da BFS (default {@link BlastDirection#DOWNSTREAM})
  */
-public record BlastRadiusOptions(int maxDepth, int maxNodes, Set<EdgeKind> kinds) {
+public record BlastRadiusOptions(int maxDepth, int maxNodes, Set<EdgeKind> kinds, BlastDirection direction) {
 
     public static final int DEFAULT_DEPTH = 2;
     public static final int DEFAULT_MAX_NODES = 500;
@@ -30,9 +31,21 @@ public record BlastRadiusOptions(int maxDepth, int maxNodes, Set<EdgeKind> kinds
         if (maxNodes < 1) maxNodes = 1;
         if (maxNodes > NODES_HARD_CAP) maxNodes = NODES_HARD_CAP;
         if (kinds == null || kinds.isEmpty()) kinds = DEFAULT_KINDS;
+        if (direction == null) direction = BlastDirection.DOWNSTREAM;
+    }
+
+    public BlastRadiusOptions(int maxDepth, int maxNodes, Set<EdgeKind> kinds) {
+        this(maxDepth, maxNodes, kinds, BlastDirection.DOWNSTREAM);
     }
 
     public static BlastRadiusOptions defaults() {
         return new BlastRadiusOptions(DEFAULT_DEPTH, DEFAULT_MAX_NODES, DEFAULT_KINDS);
     }
+
+    /**
+     * Opções padrão percorrendo as arestas ao contrário: quem depende do código alterado.
+     */
+    public static BlastRadiusOptions upstream() {
+        return new BlastRadiusOptions(DEFAULT_DEPTH, DEFAULT_MAX_NODES, DEFAULT_KINDS, BlastDirection.UPSTREAM);
+    }
 }
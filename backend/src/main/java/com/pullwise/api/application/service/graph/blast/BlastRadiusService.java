@@ -1,5 +1,6 @@
 package com.pullwise.api.application.service.graph.blast;
 
+import com.pullwise.api.application.service.graph.blast.GraphSnapshot.BfsHit;
 import com.pullwise.api.domain.enums.EdgeKind;
 import com.pullwise.api.domain.model.CodeGraphNode;
 import com.pullwise.api.domain.repository.CodeGraphEdgeRepository;
@@ -22,6 +23,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -29,13 +31,16 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
- * Calcula o blast-radius (forward BFS) a partir de arquivos alterados, com
- * risk scoring por nó atingido.
+ * Calcula o blast-radius (BFS) a partir de arquivos alterados, com risk scoring
+ * por nó atingido. A BFS segue o {@link BlastDirection} das opções: dependências
+ * do código alterado (downstream), quem depende dele (upstream) ou ambos.
  *
  * <p>Usa CTE recursiva no Postgres via {@link CodeGraphEdgeRepository#bfsForward}
- * para escalar em monorepos sem carregar o grafo inteiro em memória. Cacheia o
- * resultado em Redis por 10 min (cache "blast-radius") e expõe métricas via
- * Micrometer.
+ * e {@link CodeGraphEdgeRepository#bfsReverse} para escalar em monorepos sem
+ * carregar o grafo inteiro em memória. Quando o {@link GraphSnapshotCache} tem
+ * um snapshot atual do projeto, a BFS roda em memória sobre ele e a CTE fica
+ * como fallback. Cacheia o resultado em Redis por 10 min (cache "blast-radius")
+ * e expõe métricas via Micrometer.
  */
 @Slf4j
 @Service
@@ -48,6 +53,7 @@ public class BlastRadiusService {
     private final RiskScoringService riskScoringService;
     private final CacheManager cacheManager;
     private final MeterRegistry meterRegistry;
+    private final GraphSnapshotCache snapshotCache;
 
     private final Timer hitTimer;
     private final Timer missTimer;
@@ -60,12 +66,15 @@ public class BlastRadiusService {
                               @org.springframework.beans.factory.annotation.Autowired(required = false)
                               CacheManager cacheManager,
                               @org.springframework.beans.factory.annotation.Autowired(required = false)
-                              MeterRegistry meterRegistry) {
+                              MeterRegistry meterRegistry,
+                              @org.springframework.beans.factory.annotation.Autowired(required = false)
+                              GraphSnapshotCache snapshotCache) {
         this.nodeRepository = nodeRepository;
         this.edgeRepository = edgeRepository;
         this.riskScoringService = riskScoringService;
         this.cacheManager = cacheManager;
         this.meterRegistry = meterRegistry;
+        this.snapshotCache = snapshotCache;
 
         if (meterRegistry != null) {
             this.hitTimer = Timer.builder("pullwise.blast_radius.duration")
@@ -124,38 +133,27 @@ public class BlastRadiusService {
             return BlastRadiusResult.empty();
         }
 
-        // 2) BFS forward via CTE recursiva
-        String[] seedArray = seeds.toArray(String[]::new);
-        String[] kindArray = opts.kinds().stream().map(EdgeKind::name).toArray(String[]::new);
-
-        List<Object[]> rows = edgeRepository.bfsForward(
-                projectId, seedArray, kindArray, opts.maxDepth(), opts.maxNodes()
-        );
-        boolean truncated = rows.size() >= opts.maxNodes();
+        // 2) BFS no sentido pedido: snapshot em memória ou CTE recursiva
+        List<BfsHit> hits = traverse(projectId, seeds, opts);
+        boolean truncated = hits.size() >= opts.maxNodes();
 
         // 3) Filtra seeds (depth=0)
-        record RawHit(String qn, int depth, double weight) {}
-        List<RawHit> raw = new ArrayList<>(rows.size());
-        for (Object[] row : rows) {
-            int depth = ((Number) row[1]).intValue();
-            if (depth == 0) continue;
-            raw.add(new RawHit((String) row[0], depth, ((Number) row[2]).doubleValue()));
-        }
+        List<BfsHit> raw = hits.stream().filter(hit -> hit.depth() > 0).toList();
         if (raw.isEmpty()) {
             return new BlastRadiusResult(List.of(), Set.of(), truncated, seeds.size());
         }
 
         // 4) Lookup metadata + risk scoring
-        Map<String, CodeGraphNode> metadata = lookupMetadata(projectId, raw.stream().map(RawHit::qn).toList());
+        Map<String, CodeGraphNode> metadata = lookupMetadata(projectId, raw.stream().map(BfsHit::qualifiedName).toList());
 
         List<ImpactedNode> impacted = new ArrayList<>(raw.size());
         Set<String> impactedFiles = new LinkedHashSet<>();
-        for (RawHit hit : raw) {
-            CodeGraphNode node = metadata.get(hit.qn);
-            RiskScoringService.RiskScore risk = riskScoringService.score(node, hit.depth, hit.weight);
+        for (BfsHit hit : raw) {
+            CodeGraphNode node = metadata.get(hit.qualifiedName());
+            RiskScoringService.RiskScore risk = riskScoringService.score(node, hit.depth(), hit.weight());
             String filePath = node == null ? null : node.getFilePath();
             impacted.add(new ImpactedNode(
-                    hit.qn, filePath, hit.depth, hit.weight, risk.total(), risk.breakdown()
+                    hit.qualifiedName(), filePath, hit.depth(), hit.weight(), risk.total(), risk.breakdown()
             ));
             if (filePath != null && !filePath.isBlank()) impactedFiles.add(filePath);
         }
@@ -171,6 +169,59 @@ public class BlastRadiusService {
         return new BlastRadiusResult(impacted, impactedFiles, truncated, seeds.size());
     }
 
+    /**
+     * BFS no sentido de {@code opts.direction()}. Em {@link BlastDirection#BOTH}
+     * cada nó fica com a menor profundidade e o maior peso entre os dois sentidos,
+     * mantendo os {@code maxNodes} mais rasos.
+     */
+    private List<BfsHit> traverse(Long projectId, Set<String> seeds, BlastRadiusOptions opts) {
+        GraphSnapshot snapshot = snapshotCache == null ? null : snapshotCache.get(projectId);
+        return switch (opts.direction()) {
+            case DOWNSTREAM -> bfs(snapshot, projectId, seeds, opts, false);
+            case UPSTREAM -> bfs(snapshot, projectId, seeds, opts, true);
+            case BOTH -> merge(bfs(snapshot, projectId, seeds, opts, false),
+                    bfs(snapshot, projectId, seeds, opts, true), opts.maxNodes());
+        };
+    }
+
+    /**
+     * BFS sobre o snapshot do projeto quando disponível; senão, CTE recursiva.
+     * Cada hit: [qualified name, menor profundidade, maior peso propagado].
+     */
+    private List<BfsHit> bfs(GraphSnapshot snapshot, Long projectId, Set<String> seeds,
+                             BlastRadiusOptions opts, boolean reverse) {
+        if (snapshot != null) {
+            return reverse
+                    ? snapshot.bfsReverse(seeds, opts.kinds(), opts.maxDepth(), opts.maxNodes())
+                    : snapshot.bfsForward(seeds, opts.kinds(), opts.maxDepth(), opts.maxNodes());
+        }
+
+        String[] seedArray = seeds.toArray(String[]::new);
+        String[] kindArray = opts.kinds().stream().map(EdgeKind::name).toArray(String[]::new);
+        List<Object[]> rows = reverse
+                ? edgeRepository.bfsReverse(projectId, seedArray, kindArray, opts.maxDepth(), opts.maxNodes())
+                : edgeRepository.bfsForward(projectId, seedArray, kindArray, opts.maxDepth(), opts.maxNodes());
+        List<BfsHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            hits.add(new BfsHit((String) row[0], ((Number) row[1]).intValue(), ((Number) row[2]).doubleValue()));
+        }
+        return hits;
+    }
+
+    private static List<BfsHit> merge(List<BfsHit> downstream, List<BfsHit> upstream, int maxNodes) {
+        Map<String, BfsHit> merged = new LinkedHashMap<>();
+        for (List<BfsHit> hits : List.of(downstream, upstream)) {
+            for (BfsHit hit : hits) {
+                merged.merge(hit.qualifiedName(), hit, (a, b) -> new BfsHit(a.qualifiedName(),
+                        Math.min(a.depth(), b.depth()), Math.max(a.weight(), b.weight())));
+            }
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparingInt(BfsHit::depth))
+                .limit(maxNodes)
+                .toList();
+    }
+
     private Map<String, CodeGraphNode> lookupMetadata(Long projectId, List<String> qns) {
         if (qns.isEmpty()) return Map.of();
         Map<String, CodeGraphNode> out = new HashMap<>(qns.size());
@@ -186,13 +237,14 @@ public class BlastRadiusService {
 
     /**
      * Chave de cache determinística: SHA-256 de (projectId, sorted changed files,
-     * maxDepth, maxNodes, sorted kinds). Garante hit independentemente da ordem
-     * de entrada.
+     * maxDepth, maxNodes, sorted kinds, direction). Garante hit independentemente
+     * da ordem de entrada.
      */
     static String buildCacheKey(Long projectId, List<String> changedFiles, BlastRadiusOptions opts) {
         String filesPart = changedFiles.stream().sorted().collect(Collectors.joining(","));
         String kindsPart = opts.kinds().stream().map(EdgeKind::name).sorted().collect(Collectors.joining(","));
-        String raw = projectId + "|" + filesPart + "|" + opts.maxDepth() + "|" + opts.maxNodes() + "|" + kindsPart;
+        String raw = projectId + "|" + filesPart + "|" + opts.maxDepth() + "|" + opts.maxNodes() + "|" + kindsPart
+                + "|" + opts.direction();
         return sha256Hex(raw);
     }
 
@@ -37,7 +37,7 @@ public class EdgeConfidenceClassifier {
     /**
      * Classifica a aresta. {@code originalName} é o nome como aparecia no AST
      * (e.g. {@code "UserRepository"} ou {@code "com.example.UserRepository"});
-     * {@code resolvedQualifiedName} é o que foi gravado como {@code target_qualified}.
+     * {@code resolvedQualifiedName} é o nome gravado como destino da aresta.
      */
     public ConfidenceTier classify(String originalName, String resolvedQualifiedName) {
         if (originalName == null || originalName.isBlank()) {
@@ -80,13 +80,21 @@ public class EdgeConfidenceClassifier {
         if (calledClassExpression == null || calledClassExpression.isBlank()) {
             return ConfidenceTier.AMBIGUOUS;
         }
-        // expressões com ponto no meio sugerem field/method chaining → cross-binding
-        if (calledClassExpression.contains(".") && Character.isLowerCase(calledClassExpression.charAt(0))) {
+        // expressões com ponto no meio sugerem field/method chaining → cross-binding,
+        // exceto o tipo já resolvido para qualified name (com.example.UserService)
+        if (calledClassExpression.contains(".") && Character.isLowerCase(calledClassExpression.charAt(0))
+                && !looksQualifiedType(calledClassExpression)) {
             return ConfidenceTier.AMBIGUOUS;
         }
         return classify(calledClassExpression, resolvedQualifiedName);
     }
 
+    private boolean looksQualifiedType(String expression) {
+        if (expression.contains("(")) return false;
+        String lastSegment = expression.substring(expression.lastIndexOf('.') + 1);
+        return !lastSegment.isEmpty() && Character.isUpperCase(lastSegment.charAt(0));
+    }
+
     private boolean isExternalPackage(String qualifiedName) {
         for (String prefix : EXTERNAL_PACKAGE_PREFIXES) {
             if (qualifiedName.startsWith(prefix)) return true;
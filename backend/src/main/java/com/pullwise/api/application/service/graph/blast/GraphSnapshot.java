@@ -0,0 +1,317 @@
+package com.pullwise.api.application.service.graph.blast;
+
+import com.pullwise.api.domain.enums.EdgeKind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cópia imutável e compacta das arestas de um projeto para a BFS de blast-radius
+ * em memória.
+ *
+ * <p>Qualified names são internados em ids {@code int}; as arestas de cada
+ * {@link EdgeKind} ficam em CSR (offsets por nó de origem + array de destinos) e
+ * os pesos num {@code float[]} paralelo, com uma segunda cópia indexada pelo
+ * destino para a BFS reversa. A BFS percorre só arrays primitivos e
+ * usa buffers reaproveitados por thread, alocando apenas a lista de resultados.
+ *
+ * <p>Segue a semântica de {@link com.pullwise.api.domain.repository.CodeGraphEdgeRepository#bfsForward}
+ * e {@link com.pullwise.api.domain.repository.CodeGraphEdgeRepository#bfsReverse}:
+ * seeds na profundidade 0, menor profundidade e maior peso propagado por nó.
+ * Quando há mais de {@code maxNodes} nós alcançados, ficam os mais rasos.
+ */
+public final class GraphSnapshot {
+
+    private static final EdgeKind[] KINDS = EdgeKind.values();
+
+    private final String[] names;
+    private final Map<String, Integer> ids;
+    private final Adjacency forward;
+    private final Adjacency reverse;
+    private final int edgeCount;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private GraphSnapshot(String[] names, Map<String, Integer> ids,
+                          Adjacency forward, Adjacency reverse, int edgeCount) {
+        this.names = names;
+        this.ids = ids;
+        this.forward = forward;
+        this.reverse = reverse;
+        this.edgeCount = edgeCount;
+    }
+
+    public int nodeCount() {
+        return names.length;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * BFS forward (source → target) a partir dos seeds.
+     *
+     * @return nós alcançados (seeds incluídos, com depth 0), no máximo {@code maxNodes}
+     */
+    public List<BfsHit> bfsForward(Collection<String> seeds, Set<EdgeKind> kinds, int maxDepth, int maxNodes) {
+        return bfs(forward, seeds, kinds, maxDepth, maxNodes);
+    }
+
+    /**
+     * BFS reversa (target → source): quem chama, importa ou estende os seeds.
+     *
+     * @return nós alcançados (seeds incluídos, com depth 0), no máximo {@code maxNodes}
+     */
+    public List<BfsHit> bfsReverse(Collection<String> seeds, Set<EdgeKind> kinds, int maxDepth, int maxNodes) {
+        return bfs(reverse, seeds, kinds, maxDepth, maxNodes);
+    }
+
+    private List<BfsHit> bfs(Adjacency adjacency, Collection<String> seeds, Set<EdgeKind> kinds,
+                             int maxDepth, int maxNodes) {
+        Scratch s = SCRATCH.get();
+        s.ensureCapacity(names.length);
+
+        int[][] kindOffsets = new int[kinds.size()][];
+        int[][] kindTargets = new int[kinds.size()][];
+        float[][] kindWeights = new float[kinds.size()][];
+        int k = 0;
+        for (EdgeKind kind : kinds) {
+            kindOffsets[k] = adjacency.offsets()[kind.ordinal()];
+            kindTargets[k] = adjacency.targets()[kind.ordinal()];
+            kindWeights[k++] = adjacency.weights()[kind.ordinal()];
+        }
+
+        List<BfsHit> hits = new ArrayList<>();
+        try {
+            int frontierSize = 0;
+            for (String seed : seeds) {
+                Integer id = ids.get(seed);
+                if (id == null) {
+                    // Seed sem arestas: a CTE também o devolve na profundidade 0
+                    hits.add(new BfsHit(seed, 0, 1.0));
+                    continue;
+                }
+                if (s.depth[id] >= 0) continue;
+                s.visit(id, 0, 1.0f);
+                s.frontier[frontierSize] = id;
+                s.frontierWeight[frontierSize++] = 1.0f;
+            }
+
+            for (int level = 1; level <= maxDepth && frontierSize > 0
+                    && hits.size() + s.touchedSize < maxNodes; level++) {
+                int epoch = s.nextEpoch();
+                int nextSize = 0;
+                for (int i = 0; i < frontierSize; i++) {
+                    int u = s.frontier[i];
+                    float wu = s.frontierWeight[i];
+                    for (int kk = 0; kk < kindOffsets.length; kk++) {
+                        int[] off = kindOffsets[kk];
+                        int[] dst = kindTargets[kk];
+                        float[] w = kindWeights[kk];
+                        for (int e = off[u]; e < off[u + 1]; e++) {
+                            int v = dst[e];
+                            float wv = wu * w[e];
+                            if (s.depth[v] < 0) {
+                                s.visit(v, level, wv);
+                            } else if (wv > s.best[v]) {
+                                s.best[v] = wv;
+                            } else {
+                                continue;
+                            }
+                            if (s.mark[v] != epoch) {
+                                s.mark[v] = epoch;
+                                s.next[nextSize++] = v;
+                            }
+                        }
+                    }
+                }
+                // Peso de cada nó da próxima fronteira ao fim do nível (caminhos de até `level` arestas)
+                for (int i = 0; i < nextSize; i++) {
+                    s.nextWeight[i] = s.best[s.next[i]];
+                }
+                s.swapFrontier();
+                frontierSize = nextSize;
+            }
+
+            // touched está em ordem de descoberta, logo por profundidade crescente
+            for (int i = 0; i < s.touchedSize && hits.size() < maxNodes; i++) {
+                int v = s.touched[i];
+                hits.add(new BfsHit(names[v], s.depth[v], s.best[v]));
+            }
+            return hits;
+        } finally {
+            s.reset();
+        }
+    }
+
+    /**
+     * Monta o snapshot a partir das arestas do projeto.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Nó alcançado pela BFS.
+     */
+    public record BfsHit(String qualifiedName, int depth, double weight) {}
+
+    /**
+     * Acumula arestas (em qualquer ordem) e gera o CSR por tipo.
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private int[] sources = new int[1024];
+        private int[] destinations = new int[1024];
+        private byte[] kinds = new byte[1024];
+        private float[] edgeWeights = new float[1024];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder addEdge(String source, String target, EdgeKind kind, double weight) {
+            if (size == sources.length) {
+                int capacity = size * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                destinations = Arrays.copyOf(destinations, capacity);
+                kinds = Arrays.copyOf(kinds, capacity);
+                edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+            }
+            sources[size] = intern(source);
+            destinations[size] = intern(target);
+            kinds[size] = (byte) kind.ordinal();
+            edgeWeights[size] = (float) weight;
+            size++;
+            return this;
+        }
+
+        public GraphSnapshot build() {
+            int n = names.size();
+            return new GraphSnapshot(names.toArray(String[]::new), Map.copyOf(ids),
+                    csr(n, sources, destinations), csr(n, destinations, sources), size);
+        }
+
+        /**
+         * Agrupa as arestas por tipo e por nó de {@code from} (counting sort).
+         */
+        private Adjacency csr(int n, int[] from, int[] to) {
+            int[][] offsets = new int[KINDS.length][];
+            int[][] targets = new int[KINDS.length][];
+            float[][] weights = new float[KINDS.length][];
+
+            for (int kind = 0; kind < KINDS.length; kind++) {
+                int[] off = new int[n + 1];
+                int count = 0;
+                for (int e = 0; e < size; e++) {
+                    if (kinds[e] == kind) {
+                        off[from[e] + 1]++;
+                        count++;
+                    }
+                }
+                for (int v = 0; v < n; v++) {
+                    off[v + 1] += off[v];
+                }
+                int[] dst = new int[count];
+                float[] w = new float[count];
+                int[] cursor = Arrays.copyOf(off, n);
+                for (int e = 0; e < size; e++) {
+                    if (kinds[e] == kind) {
+                        int pos = cursor[from[e]]++;
+                        dst[pos] = to[e];
+                        w[pos] = edgeWeights[e];
+                    }
+                }
+                offsets[kind] = off;
+                targets[kind] = dst;
+                weights[kind] = w;
+            }
+            return new Adjacency(offsets, targets, weights);
+        }
+
+        private int intern(String name) {
+            Integer id = ids.get(name);
+            if (id == null) {
+                id = names.size();
+                ids.put(name, id);
+                names.add(name);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * CSR por {@link EdgeKind}: vizinhos de {@code v} em {@code targets[kind][offsets[kind][v]..offsets[kind][v+1])}.
+     */
+    private record Adjacency(int[][] offsets, int[][] targets, float[][] weights) {}
+
+    /**
+     * Buffers da BFS reaproveitados entre chamadas da mesma thread. Só as
+     * posições tocadas são limpas ao final.
+     */
+    private static final class Scratch {
+
+        int[] depth = new int[0];
+        float[] best = new float[0];
+        int[] mark = new int[0];
+        int[] touched = new int[0];
+        int[] frontier = new int[0];
+        float[] frontierWeight = new float[0];
+        int[] next = new int[0];
+        float[] nextWeight = new float[0];
+        int touchedSize;
+        int epoch;
+
+        void ensureCapacity(int n) {
+            if (depth.length >= n) return;
+            depth = new int[n];
+            Arrays.fill(depth, -1);
+            best = new float[n];
+            mark = new int[n];
+            touched = new int[n];
+            frontier = new int[n];
+            frontierWeight = new float[n];
+            next = new int[n];
+            nextWeight = new float[n];
+            epoch = 0;
+        }
+
+        void visit(int v, int level, float weight) {
+            depth[v] = level;
+            best[v] = weight;
+            touched[touchedSize++] = v;
+        }
+
+        int nextEpoch() {
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(mark, 0);
+                epoch = 1;
+            }
+            return epoch;
+        }
+
+        void swapFrontier() {
+            int[] ids = frontier;
+            frontier = next;
+            next = ids;
+            float[] w = frontierWeight;
+            frontierWeight = nextWeight;
+            nextWeight = w;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedSize; i++) {
+                depth[touched[i]] = -1;
+            }
+            touchedSize = 0;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.pullwise.api.application.service.graph.blast;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pullwise.api.application.service.graph.CodeGraphChangedEvent;
+import com.pullwise.api.domain.enums.EdgeKind;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshots em memória do grafo de cada projeto ({@link GraphSnapshot}) para a
+ * BFS de blast-radius sem a CTE recursiva.
+ *
+ * <p>Opcional ({@code pullwise.graph.snapshot.enabled}). Um miss devolve null —
+ * o chamador usa a CTE — e dispara a montagem do snapshot em background no
+ * {@code integrationExecutor}, lendo os símbolos e as arestas do projeto em
+ * dois SELECTs.
+ * Os snapshots são limitados pelo total de arestas em memória
+ * ({@code max-edges}), com despejo dos projetos menos usados.
+ *
+ * <p>Um snapshot fica obsoleto quando o grafo do projeto é gravado: o
+ * {@link CodeGraphChangedEvent} (após o commit) o descarta e invalida montagens
+ * em andamento. Gravações feitas por outras instâncias só são vistas após o
+ * {@code ttl}, o mesmo prazo do cache de resultados do blast-radius.
+ *
+ * <p>Métricas: {@code pullwise.graph.snapshot.lookups{result=hit|miss}},
+ * {@code pullwise.graph.snapshot.builds} e o gauge {@code pullwise.graph.snapshot.edges}.
+ */
+@Slf4j
+@Component
+public class GraphSnapshotCache {
+
+    private static final String SYMBOLS_QUERY = """
+            SELECT id, qualified_name
+            FROM code_graph_symbols
+            WHERE project_id = ?
+            """;
+
+    private static final String EDGES_QUERY = """
+            SELECT source_id, target_id, kind, confidence_weight
+            FROM code_graph_edges
+            WHERE project_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Cache<Long, GraphSnapshot> snapshots;
+
+    /** Geração por projeto: montagens iniciadas antes de uma gravação são descartadas. */
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> building = new ConcurrentHashMap<>();
+
+    public GraphSnapshotCache(JdbcTemplate jdbcTemplate,
+                              @Qualifier("integrationExecutor") Executor executor,
+                              MeterRegistry meterRegistry,
+                              @Value("${pullwise.graph.snapshot.enabled:true}") boolean enabled,
+                              @Value("${pullwise.graph.snapshot.max-edges:5000000}") long maxEdges,
+                              @Value("${pullwise.graph.snapshot.ttl:10m}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maxEdges)
+                .weigher((Long projectId, GraphSnapshot snapshot) -> Math.max(1, snapshot.edgeCount()))
+                .expireAfterWrite(ttl)
+                .build();
+
+        Gauge.builder("pullwise.graph.snapshot.edges", snapshots,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Code graph edges held by in-memory snapshots")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Snapshot atual do projeto, ou null (o chamador deve usar a CTE). Um miss
+     * agenda a montagem para as próximas consultas.
+     */
+    public GraphSnapshot get(Long projectId) {
+        if (!enabled) {
+            return null;
+        }
+        GraphSnapshot snapshot = snapshots.getIfPresent(projectId);
+        meterRegistry.counter("pullwise.graph.snapshot.lookups", "result", snapshot != null ? "hit" : "miss")
+                .increment();
+        if (snapshot == null) {
+            scheduleBuild(projectId);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Descarta o snapshot do projeto e as montagens em andamento.
+     */
+    public void invalidate(Long projectId) {
+        AtomicLong generation = generation(projectId);
+        synchronized (generation) {
+            generation.incrementAndGet();
+            snapshots.invalidate(projectId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGraphChanged(CodeGraphChangedEvent event) {
+        invalidate(event.projectId());
+    }
+
+    /**
+     * Lê as arestas do projeto e monta o snapshot. As arestas vêm só com os ids
+     * dos símbolos; os nomes são lidos uma vez, numa consulta à parte.
+     */
+    GraphSnapshot load(Long projectId) {
+        Map<Long, String> names = new HashMap<>();
+        jdbcTemplate.query(SYMBOLS_QUERY, rs -> {
+            names.put(rs.getLong(1), rs.getString(2));
+        }, projectId);
+
+        GraphSnapshot.Builder builder = GraphSnapshot.builder();
+        jdbcTemplate.query(EDGES_QUERY, rs -> {
+            String source = names.get(rs.getLong(1));
+            String target = names.get(rs.getLong(2));
+            // Símbolo gravado depois da leitura dos nomes: a aresta fica para o próximo snapshot
+            if (source != null && target != null) {
+                builder.addEdge(source, target, EdgeKind.valueOf(rs.getString(3)), rs.getDouble(4));
+            }
+        }, projectId);
+        return builder.build();
+    }
+
+    // ========== Private Methods ==========
+
+    private void scheduleBuild(Long projectId) {
+        if (building.putIfAbsent(projectId, Boolean.TRUE) != null) {
+            return;
+        }
+        long generation = generation(projectId).get();
+        try {
+            executor.execute(() -> build(projectId, generation));
+        } catch (RejectedExecutionException e) {
+            building.remove(projectId);
+            log.debug("Graph snapshot build for project {} rejected: {}", projectId, e.getMessage());
+        }
+    }
+
+    private void build(Long projectId, long generation) {
+        long startNs = System.nanoTime();
+        try {
+            GraphSnapshot snapshot = load(projectId);
+            // Só publica se o grafo não foi gravado durante a leitura
+            AtomicLong current = generation(projectId);
+            synchronized (current) {
+                if (current.get() == generation) {
+                    snapshots.put(projectId, snapshot);
+                }
+            }
+            meterRegistry.counter("pullwise.graph.snapshot.builds").increment();
+            log.debug("Graph snapshot of project {} built: {} nodes, {} edges in {} ms", projectId,
+                    snapshot.nodeCount(), snapshot.edgeCount(), (System.nanoTime() - startNs) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Failed to build graph snapshot of project {}: {}", projectId, e.getMessage());
+        } finally {
+            building.remove(projectId);
+        }
+    }
+
+    private AtomicLong generation(Long projectId) {
+        return generations.computeIfAbsent(projectId, id -> new AtomicLong());
+    }
+}
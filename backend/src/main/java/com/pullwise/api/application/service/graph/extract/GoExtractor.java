@@ -0,0 +1,244 @@
+package com.pullwise.api.application.service.graph.extract;
+
+import com.pullwise.api.application.service.graph.ExtractionContext;
+import com.pullwise.api.application.service.graph.SourceExtractor;
+import com.pullwise.api.application.service.graph.model.ClassInfo;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.application.service.graph.model.MethodInfo;
+import com.pullwise.api.domain.enums.ProgrammingLanguage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Go por varredura de linhas, sem AST.
+ *
+ * <p>Cada arquivo é o módulo {@code caminho/sem/extensao}; o pacote é o
+ * diretório. Só imports sob o {@code module} do {@code go.mod} mais próximo do
+ * arquivo são resolvidos, para o diretório correspondente abaixo do
+ * {@code go.mod}, e valem como dependência de todos os arquivos do pacote
+ * (exceto testes). A biblioteca padrão e os módulos de terceiros ficam de
+ * fora, mesmo com um pacote local homônimo. Funções e
+ * métodos ({@code Tipo.Metodo}) viram métodos do módulo; structs e interfaces
+ * viram classes.
+ */
+@Component
+public class GoExtractor implements SourceExtractor {
+
+    private static final String PACKAGE_INDEX = "go.packages";
+
+    private static final Pattern IMPORT_SINGLE = Pattern.compile("^\\s*import\\s+(?:([\\w.]+)\\s+)?\"([^\"]+)\"");
+    private static final Pattern IMPORT_BLOCK_START = Pattern.compile("^\\s*import\\s*\\(");
+    private static final Pattern IMPORT_SPEC = Pattern.compile("^\\s*(?:([\\w.]+)\\s+)?\"([^\"]+)\"");
+    private static final Pattern FUNC_DECL = Pattern.compile(
+            "^func\\s+(?:\\(\\s*(?:\\w+\\s+)?\\*?\\s*(\\w+)(?:\\[[^\\]]*])?\\s*\\)\\s*)?(\\w+)");
+    private static final Pattern TYPE_DECL = Pattern.compile(
+            "^type\\s+(\\w+)(?:\\[[^\\]]*])?\\s+(struct|interface)\\b");
+    private static final Pattern CALL = Pattern.compile("(?<![\\w.])(\\w+)\\.(\\w+)\\s*[({]");
+    private static final Pattern VERSION_SUFFIX = Pattern.compile("v\\d+");
+    private static final Pattern MODULE_DIRECTIVE = Pattern.compile("(?m)^\\s*module\\s+\"?([^\\s\"]+)\"?");
+    private static final Pattern BRANCHES = Pattern.compile("\\b(?:if|for|case)\\b|&&|\\|\\|");
+
+    @Override
+    public Set<ProgrammingLanguage> languages() {
+        return Set.of(ProgrammingLanguage.GO);
+    }
+
+    @Override
+    public CodeAnalysisResult extract(String filePath, String source, ExtractionContext context) {
+        SourceScanner.Lines lines = SourceScanner.scan(source, SourceScanner.Syntax.C_LIKE);
+        String directory = ModuleAnalysis.directory(filePath);
+        ModuleAnalysis analysis = new ModuleAnalysis(filePath, context.repositoryId(), source,
+                ModuleAnalysis.withoutExtension(filePath), directory);
+
+        PackageIndex index = context.memo(PACKAGE_INDEX, () -> PackageIndex.of(context.repositoryFiles()));
+        GoModule goModule = goModule(directory, context);
+        Map<String, List<String>> bindings = readImports(lines.code(), goModule, index, analysis);
+        readDeclarations(lines.blanked(), bindings, analysis);
+        return analysis.build(lines);
+    }
+
+    // ========== Índice de pacotes ==========
+
+    /**
+     * Arquivos (módulos) de cada diretório com código Go.
+     */
+    static final class PackageIndex {
+
+        private final Map<String, List<String>> modulesByDirectory = new HashMap<>();
+
+        static PackageIndex of(Set<String> files) {
+            PackageIndex index = new PackageIndex();
+            for (String file : files) {
+                if (file.endsWith(".go") && !file.endsWith("_test.go")) {
+                    index.modulesByDirectory
+                            .computeIfAbsent(ModuleAnalysis.directory(file), k -> new ArrayList<>())
+                            .add(ModuleAnalysis.withoutExtension(file));
+                }
+            }
+            index.modulesByDirectory.values().forEach(modules -> modules.sort(null));
+            return index;
+        }
+
+        /**
+         * Módulos do pacote importado como {@code importPath} de dentro de
+         * {@code goModule}, ou vazio se o pacote não é desse módulo ou não está
+         * no repositório.
+         */
+        List<String> resolve(String importPath, GoModule goModule) {
+            if (goModule == null) {
+                return List.of();
+            }
+            String directory;
+            if (importPath.equals(goModule.path())) {
+                directory = goModule.directory();
+            } else if (importPath.startsWith(goModule.path() + "/")) {
+                String rest = importPath.substring(goModule.path().length() + 1);
+                directory = goModule.directory().isEmpty() ? rest : goModule.directory() + "/" + rest;
+            } else {
+                return List.of();
+            }
+            return modulesByDirectory.getOrDefault(directory, List.of());
+        }
+    }
+
+    // ========== go.mod ==========
+
+    /** Módulo Go: o {@code module} do {@code go.mod} e o diretório dele. */
+    record GoModule(String path, String directory) {
+    }
+
+    /** {@code go.mod} mais próximo de {@code directory}, subindo até a raiz; null se não houver. */
+    private static GoModule goModule(String directory, ExtractionContext context) {
+        String current = directory;
+        while (true) {
+            String goMod = context.readFile(current.isEmpty() ? "go.mod" : current + "/go.mod");
+            if (goMod != null) {
+                Matcher m = MODULE_DIRECTIVE.matcher(goMod);
+                return m.find() ? new GoModule(m.group(1), current) : null;
+            }
+            if (current.isEmpty()) {
+                return null;
+            }
+            current = ModuleAnalysis.directory(current);
+        }
+    }
+
+    // ========== Imports ==========
+
+    /** Nome do pacote no arquivo → módulos do pacote importado. */
+    private Map<String, List<String>> readImports(List<String> code, GoModule goModule, PackageIndex index,
+                                                  ModuleAnalysis analysis) {
+        Map<String, List<String>> bindings = new HashMap<>();
+        boolean inBlock = false;
+        for (String line : code) {
+            Matcher m;
+            if (inBlock) {
+                if (line.trim().startsWith(")")) {
+                    inBlock = false;
+                    continue;
+                }
+                m = IMPORT_SPEC.matcher(line);
+            } else if (IMPORT_BLOCK_START.matcher(line).find()) {
+                inBlock = true;
+                continue;
+            } else {
+                m = IMPORT_SINGLE.matcher(line);
+            }
+            if (m.find()) {
+                bind(m.group(1), m.group(2), goModule, index, bindings, analysis);
+            }
+        }
+        return bindings;
+    }
+
+    private static void bind(String alias, String importPath, GoModule goModule, PackageIndex index,
+                             Map<String, List<String>> bindings, ModuleAnalysis analysis) {
+        analysis.addImport(importPath);
+        List<String> modules = index.resolve(importPath, goModule);
+        modules.forEach(analysis::dependsOn);
+        if (modules.isEmpty() || "_".equals(alias) || ".".equals(alias)) {
+            return;
+        }
+        bindings.put(alias != null ? alias : packageName(importPath), modules);
+    }
+
+    /** Nome usado no código: o último elemento do import path, ignorando {@code /vN}. */
+    private static String packageName(String importPath) {
+        String[] parts = importPath.split("/");
+        String last = parts[parts.length - 1];
+        return VERSION_SUFFIX.matcher(last).matches() && parts.length > 1 ? parts[parts.length - 2] : last;
+    }
+
+    // ========== Declarações e chamadas ==========
+
+    private void readDeclarations(List<String> blanked, Map<String, List<String>> bindings,
+                                  ModuleAnalysis analysis) {
+        int depth = 0;
+        MethodInfo function = null;
+        ClassInfo type = null;
+        // Assinaturas em várias linhas: o corpo só abre na linha do '{'
+        boolean opened = false;
+
+        for (int index = 0; index < blanked.size(); index++) {
+            String line = blanked.get(index);
+            int lineNo = index + 1;
+
+            if (depth == 0) {
+                Matcher m = FUNC_DECL.matcher(line);
+                if (m.find()) {
+                    String name = m.group(1) != null ? m.group(1) + "." + m.group(2) : m.group(2);
+                    function = analysis.addMethod(analysis.module(), name, lineNo);
+                } else if ((m = TYPE_DECL.matcher(line)).find()) {
+                    type = analysis.addClass(m.group(1), lineNo);
+                    type.setInterface(m.group(2).equals("interface"));
+                }
+            }
+            if (function != null) {
+                readCalls(line, function, bindings);
+            }
+
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '{') {
+                    depth++;
+                    opened = true;
+                } else if (c == '}') {
+                    depth = Math.max(0, depth - 1);
+                }
+            }
+            if (depth == 0 && opened) {
+                opened = false;
+                if (function != null) {
+                    ModuleAnalysis.close(function, lineNo, blanked, BRANCHES);
+                    function = null;
+                }
+                if (type != null) {
+                    type.setEndLine(lineNo);
+                    type = null;
+                }
+            }
+        }
+        if (function != null) {
+            ModuleAnalysis.close(function, blanked.size(), blanked, BRANCHES);
+        }
+    }
+
+    private void readCalls(String line, MethodInfo method, Map<String, List<String>> bindings) {
+        Matcher m = CALL.matcher(line);
+        while (m.find()) {
+            List<String> modules = bindings.get(m.group(1));
+            if (modules != null) {
+                for (String module : modules) {
+                    ModuleAnalysis.calls(method, module, m.group(2));
+                }
+            }
+        }
+    }
+}
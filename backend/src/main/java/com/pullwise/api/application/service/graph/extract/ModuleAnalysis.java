@@ -0,0 +1,224 @@
+package com.pullwise.api.application.service.graph.extract;
+
+import com.pullwise.api.application.service.graph.SourceExtractors;
+import com.pullwise.api.application.service.graph.model.ClassInfo;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.application.service.graph.model.MethodInfo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Monta a análise de um arquivo fora de Java no modelo do Code Graph.
+ *
+ * <p>O arquivo vira um módulo: um {@link ClassInfo} com o nome do módulo cujas
+ * dependências são os módulos importados e cujos métodos são as funções de
+ * topo. Classes declaradas no arquivo viram {@link ClassInfo}s próprios
+ * ({@code módulo.Classe}), com os seus métodos.
+ */
+final class ModuleAnalysis {
+
+    private final String filePath;
+    private final String repositoryId;
+    private final String source;
+    private final ClassInfo module;
+    private final List<ClassInfo> classes = new ArrayList<>();
+    private final Set<String> dependencies = new LinkedHashSet<>();
+    private final List<String> imports = new ArrayList<>();
+
+    /**
+     * @param moduleName  qualified name do módulo
+     * @param packageName módulo/diretório que contém o arquivo
+     */
+    ModuleAnalysis(String filePath, String repositoryId, String source, String moduleName, String packageName) {
+        this.filePath = filePath;
+        this.repositoryId = repositoryId;
+        this.source = source;
+        this.module = newClass(moduleName, simpleName(filePath), packageName, 1);
+        classes.add(module);
+    }
+
+    String moduleName() {
+        return module.getQualifiedName();
+    }
+
+    ClassInfo module() {
+        return module;
+    }
+
+    /**
+     * Registra uma classe (ou interface/enum) declarada no arquivo.
+     */
+    ClassInfo addClass(String simpleName, int line) {
+        ClassInfo classInfo = newClass(classQualifiedName(simpleName), simpleName, module.getQualifiedName(), line);
+        classes.add(classInfo);
+        return classInfo;
+    }
+
+    /** Indica se o arquivo já declarou a classe. */
+    boolean declares(String simpleName) {
+        return classes.stream().skip(1).anyMatch(c -> c.getSimpleName().equals(simpleName));
+    }
+
+    /** Qualified name de uma classe declarada neste módulo. */
+    String classQualifiedName(String simpleName) {
+        return module.getQualifiedName() + "." + simpleName;
+    }
+
+    /**
+     * Registra uma função/método de {@code owner} (o módulo para funções de topo).
+     */
+    MethodInfo addMethod(ClassInfo owner, String name, int line) {
+        MethodInfo method = MethodInfo.builder()
+                .name(name)
+                .parameterTypes(new ArrayList<>())
+                .startLine(line)
+                .endLine(line)
+                .isPublic(!name.startsWith("_"))
+                .calledMethods(new ArrayList<>())
+                .calledClasses(new ArrayList<>())
+                .complexity(1)
+                .build();
+        owner.getMethods().add(method);
+        return method;
+    }
+
+    /** Chamada de {@code method} a um símbolo de outro módulo. */
+    static void calls(MethodInfo method, String target, String methodName) {
+        if (!method.getCalledClasses().contains(target)) {
+            method.getCalledClasses().add(target);
+        }
+        if (methodName != null && !method.getCalledMethods().contains(methodName)) {
+            method.getCalledMethods().add(methodName);
+        }
+    }
+
+    /**
+     * Alvo de um símbolo importado de {@code module}: {@code módulo.Classe} para
+     * nomes com inicial maiúscula, senão a função {@code módulo#funcao}.
+     */
+    static String symbolTarget(String module, String symbol) {
+        return Character.isUpperCase(symbol.charAt(0)) ? module + "." + symbol : module + "#" + symbol;
+    }
+
+    /** Dependência do módulo (qualified name de outro módulo do repositório). */
+    void dependsOn(String moduleName) {
+        if (!moduleName.equals(module.getQualifiedName())) {
+            dependencies.add(moduleName);
+        }
+    }
+
+    /** Import como escrito no arquivo. */
+    void addImport(String specifier) {
+        imports.add(specifier);
+    }
+
+    /**
+     * Fecha o corpo de {@code method} e conta a complexidade ciclomática pelas
+     * palavras de desvio nas linhas do corpo.
+     */
+    static void close(MethodInfo method, int endLine, List<String> blanked, Pattern branches) {
+        method.setEndLine(Math.max(method.getStartLine(), endLine));
+        int complexity = 1;
+        for (int line = method.getStartLine(); line <= method.getEndLine() && line <= blanked.size(); line++) {
+            Matcher matcher = branches.matcher(blanked.get(line - 1));
+            while (matcher.find()) {
+                complexity++;
+            }
+        }
+        method.setComplexity(complexity);
+    }
+
+    CodeAnalysisResult build(SourceScanner.Lines lines) {
+        module.setDependencies(new ArrayList<>(dependencies));
+        module.setEndLine(lines.size());
+
+        List<MethodInfo> allMethods = new ArrayList<>();
+        classes.forEach(c -> allMethods.addAll(c.getMethods()));
+        int totalComplexity = allMethods.stream().mapToInt(MethodInfo::getComplexity).sum();
+        int fanOut = dependencies.size();
+
+        return CodeAnalysisResult.builder()
+                .filePath(filePath)
+                .repositoryId(repositoryId)
+                .contentHash(SourceExtractors.contentHash(source))
+                .analyzedAt(LocalDateTime.now())
+                .imports(imports)
+                .classes(classes)
+                .allMethods(allMethods)
+                .totalLines((int) source.lines().count())
+                .linesOfCode(lines.linesOfCode())
+                .fanIn(0)
+                .fanOut(fanOut)
+                .instability(fanOut > 0 ? 1 : 0)
+                .totalComplexity(totalComplexity)
+                .averageComplexity(allMethods.isEmpty() ? 0 : (double) totalComplexity / allMethods.size())
+                .build();
+    }
+
+    private static ClassInfo newClass(String qualifiedName, String simpleName, String packageName, int line) {
+        return ClassInfo.builder()
+                .qualifiedName(qualifiedName)
+                .simpleName(simpleName)
+                .packageName(packageName)
+                .implementedInterfaces(new ArrayList<>())
+                .dependencies(new ArrayList<>())
+                .dependents(new ArrayList<>())
+                .methods(new ArrayList<>())
+                .fields(new ArrayList<>())
+                .startLine(line)
+                .endLine(line)
+                .build();
+    }
+
+    private static String simpleName(String filePath) {
+        String name = filePath.substring(filePath.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    // ========== Caminhos ==========
+
+    /** Diretório do caminho relativo ("" na raiz). */
+    static String directory(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash < 0 ? "" : path.substring(0, slash);
+    }
+
+    /** Caminho sem a extensão do arquivo. */
+    static String withoutExtension(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') ? path.substring(0, dot) : path;
+    }
+
+    /**
+     * Junta e normaliza ({@code .} e {@code ..}) um caminho relativo a {@code directory}.
+     *
+     * @return caminho relativo à raiz, ou null se sair do repositório
+     */
+    static String join(String directory, String relative) {
+        List<String> parts = new ArrayList<>();
+        if (!directory.isEmpty()) {
+            parts.addAll(List.of(directory.split("/")));
+        }
+        for (String part : relative.split("/")) {
+            if (part.isEmpty() || part.equals(".")) {
+                continue;
+            }
+            if (part.equals("..")) {
+                if (parts.isEmpty()) {
+                    return null;
+                }
+                parts.remove(parts.size() - 1);
+            } else {
+                parts.add(part);
+            }
+        }
+        return String.join("/", parts);
+    }
+}
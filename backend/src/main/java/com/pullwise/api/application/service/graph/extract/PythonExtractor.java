@@ -0,0 +1,438 @@
+package com.pullwise.api.application.service.graph.extract;
+
+import com.pullwise.api.application.service.graph.ExtractionContext;
+import com.pullwise.api.application.service.graph.SourceExtractor;
+import com.pullwise.api.application.service.graph.model.ClassInfo;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.application.service.graph.model.MethodInfo;
+import com.pullwise.api.domain.enums.ProgrammingLanguage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Python por varredura de linhas, sem AST.
+ *
+ * <p>Cada arquivo é o módulo com o nome pontuado do seu caminho
+ * ({@code svc/app/models/user.py} → {@code svc.app.models.user}; o
+ * {@code __init__.py} é o pacote, e o da raiz do repositório, sem nome, fica
+ * de fora). Imports absolutos são resolvidos pelo nome completo a partir das
+ * raízes de código deduzidas sem ler {@code sys.path} — a raiz do
+ * repositório, {@code src/} e os diretórios que contêm pacotes de topo — ou,
+ * fora de pacotes, entre os módulos do mesmo diretório; imports relativos,
+ * pelo pacote do arquivo. Bibliotecas instaladas ficam de fora, mesmo com um
+ * módulo local homônimo em outro pacote. A estrutura vem da
+ * indentação: funções de topo e métodos de classes, com as chamadas a
+ * símbolos importados.
+ */
+@Component
+public class PythonExtractor implements SourceExtractor {
+
+    private static final String MODULE_INDEX = "python.modules";
+
+    private static final Pattern IMPORT = Pattern.compile("^\\s*import\\s+(.+)$");
+    private static final Pattern FROM_IMPORT = Pattern.compile("^\\s*from\\s+(\\.*[\\w.]*)\\s+import\\s+(.+)$");
+    private static final Pattern CLASS_DECL = Pattern.compile("^\\s*class\\s+(\\w+)\\s*(?:\\(([^)]*))?");
+    private static final Pattern DEF_DECL = Pattern.compile("^\\s*(?:async\\s+)?def\\s+(\\w+)\\s*\\(");
+    private static final Pattern CALL = Pattern.compile(
+            "(?<![\\w.])([A-Za-z_]\\w*(?:\\s*\\.\\s*[A-Za-z_]\\w*)*)\\s*\\(");
+    private static final Pattern BRANCHES = Pattern.compile("\\b(?:if|elif|for|while|except|and|or|case)\\b");
+
+    @Override
+    public Set<ProgrammingLanguage> languages() {
+        return Set.of(ProgrammingLanguage.PYTHON);
+    }
+
+    /** O {@code __init__.py} da raiz não é um módulo importável. */
+    @Override
+    public boolean supports(String filePath) {
+        return SourceExtractor.super.supports(filePath) && !filePath.equals("__init__.py");
+    }
+
+    @Override
+    public CodeAnalysisResult extract(String filePath, String source, ExtractionContext context) {
+        SourceScanner.Lines lines = SourceScanner.scan(source, SourceScanner.Syntax.PYTHON);
+        String module = moduleName(filePath);
+        boolean isPackage = filePath.endsWith("__init__.py");
+        String pkg = isPackage ? module : parent(module);
+        String directory = ModuleAnalysis.directory(filePath);
+        ModuleAnalysis analysis = new ModuleAnalysis(filePath, context.repositoryId(), source, module, pkg);
+
+        ModuleIndex index = context.memo(MODULE_INDEX, () -> ModuleIndex.of(context.repositoryFiles()));
+        List<Statement> statements = logicalLines(lines.blanked());
+
+        Map<String, Binding> bindings = new HashMap<>();
+        for (Statement statement : statements) {
+            readImport(statement.text(), module, pkg, directory, index, bindings, analysis);
+        }
+        readDeclarations(statements, lines.blanked(), bindings, analysis);
+        return analysis.build(lines);
+    }
+
+    /** {@code a/b/c.py} → {@code a.b.c}; {@code a/b/__init__.py} → {@code a.b}. */
+    static String moduleName(String filePath) {
+        String name = ModuleAnalysis.withoutExtension(filePath);
+        if (name.equals("__init__")) {
+            return "";
+        }
+        if (name.endsWith("/__init__")) {
+            name = name.substring(0, name.length() - "/__init__".length());
+        }
+        return name.replace('/', '.');
+    }
+
+    private static String parent(String module) {
+        int dot = module.lastIndexOf('.');
+        return dot < 0 ? "" : module.substring(0, dot);
+    }
+
+    // ========== Índice de módulos ==========
+
+    /**
+     * Módulos do repositório pelo nome com que são importados a partir de cada
+     * raiz de código.
+     */
+    static final class ModuleIndex {
+
+        private final Set<String> modules = new HashSet<>();
+        private final Set<String> packageDirectories = new HashSet<>();
+        private final Map<String, List<String>> byImportName = new HashMap<>();
+
+        static ModuleIndex of(Set<String> files) {
+            ModuleIndex index = new ModuleIndex();
+            for (String file : files) {
+                if (file.endsWith("/__init__.py")) {
+                    index.packageDirectories.add(ModuleAnalysis.directory(file));
+                }
+            }
+            Set<String> roots = new HashSet<>(List.of("", "src"));
+            for (String directory : index.packageDirectories) {
+                String parent = ModuleAnalysis.directory(directory);
+                if (!index.packageDirectories.contains(parent)) {
+                    roots.add(parent);
+                }
+            }
+
+            for (String file : files) {
+                if (!file.endsWith(".py")) {
+                    continue;
+                }
+                String module = moduleName(file);
+                if (module.isEmpty() || !index.modules.add(module)) {
+                    continue;
+                }
+                for (String root : roots) {
+                    if (!root.isEmpty() && !file.startsWith(root + "/")) {
+                        continue;
+                    }
+                    String name = moduleName(root.isEmpty() ? file : file.substring(root.length() + 1));
+                    if (!name.isEmpty()) {
+                        index.byImportName.computeIfAbsent(name, k -> new ArrayList<>()).add(module);
+                    }
+                }
+            }
+            return index;
+        }
+
+        boolean exists(String module) {
+            return modules.contains(module);
+        }
+
+        /**
+         * Módulo do repositório importado como {@code name} a partir de
+         * {@code fromModule}, em {@code fromDirectory}; entre homônimos, o que
+         * divide mais pacotes com ele.
+         */
+        String resolve(String name, String fromModule, String fromDirectory) {
+            List<String> candidates = byImportName.get(name);
+            if (candidates == null) {
+                // Script fora de pacote: o próprio diretório entra no sys.path
+                if (fromDirectory.isEmpty() || packageDirectories.contains(fromDirectory)) {
+                    return null;
+                }
+                String sibling = fromDirectory.replace('/', '.') + "." + name;
+                return modules.contains(sibling) ? sibling : null;
+            }
+            String best = null;
+            int bestShared = -1;
+            for (String candidate : candidates) {
+                int shared = sharedPrefix(candidate, fromModule);
+                if (shared > bestShared) {
+                    best = candidate;
+                    bestShared = shared;
+                }
+            }
+            return best;
+        }
+
+        private static int sharedPrefix(String a, String b) {
+            String[] left = a.split("\\.");
+            String[] right = b.split("\\.");
+            int shared = 0;
+            while (shared < left.length && shared < right.length && left[shared].equals(right[shared])) {
+                shared++;
+            }
+            return shared;
+        }
+    }
+
+    // ========== Imports ==========
+
+    /**
+     * Nome local → módulo do repositório, ou símbolo dele ({@code symbol} não nulo).
+     */
+    private record Binding(String module, String symbol) {
+    }
+
+    private void readImport(String statement, String module, String pkg, String directory, ModuleIndex index,
+                            Map<String, Binding> bindings, ModuleAnalysis analysis) {
+        Matcher m = IMPORT.matcher(statement);
+        if (m.find()) {
+            for (String part : m.group(1).split(",")) {
+                String[] names = alias(part);
+                if (names[0].isEmpty()) {
+                    continue;
+                }
+                analysis.addImport(names[0]);
+                String target = index.resolve(names[0], module, directory);
+                if (target != null) {
+                    analysis.dependsOn(target);
+                    bindings.put(names[1] != null ? names[1] : names[0], new Binding(target, null));
+                }
+            }
+            return;
+        }
+
+        m = FROM_IMPORT.matcher(statement);
+        if (!m.find()) {
+            return;
+        }
+        String from = m.group(1);
+        analysis.addImport(from);
+        String base = resolveFrom(from, module, pkg, directory, index);
+        if (base == null) {
+            return;
+        }
+        analysis.dependsOn(base);
+        for (String part : m.group(2).replace("(", "").replace(")", "").split(",")) {
+            String[] names = alias(part);
+            if (names[0].isEmpty() || names[0].equals("*")) {
+                continue;
+            }
+            String local = names[1] != null ? names[1] : names[0];
+            String submodule = base.isEmpty() ? names[0] : base + "." + names[0];
+            if (index.exists(submodule)) {
+                analysis.dependsOn(submodule);
+                bindings.put(local, new Binding(submodule, null));
+            } else {
+                bindings.put(local, new Binding(base, names[0]));
+            }
+        }
+    }
+
+    /** Módulo de {@code from X import ...}, relativo ou absoluto; null se externo. */
+    private static String resolveFrom(String from, String module, String pkg, String directory,
+                                      ModuleIndex index) {
+        if (!from.startsWith(".")) {
+            return index.resolve(from, module, directory);
+        }
+        int level = 0;
+        while (level < from.length() && from.charAt(level) == '.') {
+            level++;
+        }
+        String base = pkg;
+        for (int i = 1; i < level; i++) {
+            if (base.isEmpty()) {
+                return null;
+            }
+            base = parent(base);
+        }
+        String rest = from.substring(level);
+        String target = rest.isEmpty() ? base : base.isEmpty() ? rest : base + "." + rest;
+        return index.exists(target) ? target : null;
+    }
+
+    /** {@code nome as alias} → {nome, alias ou null}. */
+    private static String[] alias(String part) {
+        String[] tokens = part.trim().split("\\s+as\\s+");
+        return new String[]{tokens[0].trim(), tokens.length > 1 ? tokens[1].trim() : null};
+    }
+
+    /** Instrução lógica e as linhas físicas que ocupa. */
+    private record Statement(String text, int startLine, int endLine) {
+    }
+
+    /**
+     * Junta as linhas físicas em instruções lógicas (parênteses abertos e
+     * {@code \} no fim da linha).
+     */
+    private static List<Statement> logicalLines(List<String> blanked) {
+        List<Statement> statements = new ArrayList<>();
+        StringBuilder current = null;
+        int startLine = 0;
+        int open = 0;
+        for (int i = 0; i < blanked.size(); i++) {
+            String line = blanked.get(i);
+            if (current == null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                current = new StringBuilder();
+                startLine = i + 1;
+            } else {
+                current.append(' ');
+            }
+            boolean continued = line.stripTrailing().endsWith("\\");
+            current.append(continued ? line.stripTrailing().substring(0, line.stripTrailing().length() - 1) : line);
+            for (int c = 0; c < line.length(); c++) {
+                char ch = line.charAt(c);
+                if (ch == '(' || ch == '[' || ch == '{') {
+                    open++;
+                } else if (ch == ')' || ch == ']' || ch == '}') {
+                    open = Math.max(0, open - 1);
+                }
+            }
+            if (open == 0 && !continued) {
+                statements.add(new Statement(current.toString(), startLine, i + 1));
+                current = null;
+            }
+        }
+        if (current != null) {
+            statements.add(new Statement(current.toString(), startLine, blanked.size()));
+        }
+        return statements;
+    }
+
+    // ========== Declarações e chamadas ==========
+
+    private record Scope(int indent, ClassInfo classInfo, MethodInfo method) {
+    }
+
+    private void readDeclarations(List<Statement> statements, List<String> blanked,
+                                  Map<String, Binding> bindings, ModuleAnalysis analysis) {
+        Deque<Scope> scopes = new ArrayDeque<>();
+        int lastLine = 0;
+        for (Statement logical : statements) {
+            String statement = logical.text();
+            int line = logical.startLine();
+            int indent = indentOf(statement);
+            while (!scopes.isEmpty() && indent <= scopes.peek().indent()) {
+                close(scopes.pop(), lastLine, blanked);
+            }
+
+            Scope top = scopes.peek();
+            MethodInfo function = innermostFunction(scopes);
+            Matcher m;
+            if (function == null && (m = CLASS_DECL.matcher(statement)).find()) {
+                ClassInfo classInfo = analysis.addClass(m.group(1), line);
+                readBases(m.group(2), classInfo, bindings, analysis);
+                scopes.push(new Scope(indent, classInfo, null));
+            } else if (function == null && (top == null || top.classInfo() != null)
+                    && (m = DEF_DECL.matcher(statement)).find()) {
+                ClassInfo owner = top == null ? analysis.module() : top.classInfo();
+                MethodInfo method = analysis.addMethod(owner, m.group(1), line);
+                scopes.push(new Scope(indent, null, method));
+                // Corpo na mesma linha: def f(): return g()
+                readCalls(statement.substring(statement.indexOf(')') + 1), method, bindings);
+            } else if (function != null) {
+                readCalls(statement, function, bindings);
+            }
+            lastLine = logical.endLine();
+        }
+        while (!scopes.isEmpty()) {
+            close(scopes.pop(), lastLine, blanked);
+        }
+    }
+
+    private static MethodInfo innermostFunction(Deque<Scope> scopes) {
+        for (Scope scope : scopes) {
+            if (scope.method() != null) {
+                return scope.method();
+            }
+        }
+        return null;
+    }
+
+    private static int indentOf(String statement) {
+        int indent = 0;
+        while (indent < statement.length() && Character.isWhitespace(statement.charAt(indent))) {
+            indent++;
+        }
+        return indent;
+    }
+
+    private static void close(Scope scope, int endLine, List<String> blanked) {
+        if (scope.method() != null) {
+            ModuleAnalysis.close(scope.method(), endLine, blanked, BRANCHES);
+        } else {
+            scope.classInfo().setEndLine(Math.max(scope.classInfo().getStartLine(), endLine));
+        }
+    }
+
+    /** Primeira base resolvida vira a superclasse; as demais, dependências. */
+    private static void readBases(String bases, ClassInfo classInfo, Map<String, Binding> bindings,
+                                  ModuleAnalysis analysis) {
+        if (bases == null) {
+            return;
+        }
+        for (String base : bases.replaceAll("\\[[^\\]]*]", "").split(",")) {
+            String name = base.trim();
+            if (name.isEmpty() || name.contains("=")) {
+                continue;
+            }
+            String target = target(name, bindings);
+            if (target == null && analysis.declares(name)) {
+                target = analysis.classQualifiedName(name);
+            }
+            if (target == null) {
+                continue;
+            }
+            if (classInfo.getSuperClass() == null) {
+                classInfo.setSuperClass(target);
+            } else if (!classInfo.getDependencies().contains(target)) {
+                classInfo.getDependencies().add(target);
+            }
+        }
+    }
+
+    private void readCalls(String statement, MethodInfo method, Map<String, Binding> bindings) {
+        Matcher m = CALL.matcher(statement);
+        while (m.find()) {
+            String expression = m.group(1).replaceAll("\\s+", "");
+            String target = target(expression, bindings);
+            if (target != null) {
+                ModuleAnalysis.calls(method, target, expression.substring(expression.lastIndexOf('.') + 1));
+            }
+        }
+    }
+
+    /**
+     * Alvo de {@code a.b.c}: o maior prefixo ligado a um import, seguido do
+     * símbolo usado dele.
+     */
+    private static String target(String expression, Map<String, Binding> bindings) {
+        String[] parts = expression.split("\\.");
+        for (int length = parts.length; length > 0; length--) {
+            Binding binding = bindings.get(String.join(".", List.of(parts).subList(0, length)));
+            if (binding == null) {
+                continue;
+            }
+            if (binding.symbol() != null) {
+                return ModuleAnalysis.symbolTarget(binding.module(), binding.symbol());
+            }
+            return length < parts.length
+                    ? ModuleAnalysis.symbolTarget(binding.module(), parts[length])
+                    : binding.module();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,143 @@
+package com.pullwise.api.application.service.graph.extract;
+
+import java.util.List;
+
+/**
+ * Varredura léxica mínima, em uma passada, que separa código de comentários e
+ * strings sem montar AST.
+ *
+ * <p>Produz duas visões com as mesmas linhas do arquivo: {@code code}, sem
+ * comentários (para ler os caminhos dos imports), e {@code blanked}, também sem
+ * o conteúdo das strings (para procurar declarações e chamadas sem falsos
+ * positivos em texto).
+ */
+final class SourceScanner {
+
+    /** Sintaxe de comentários e strings. */
+    enum Syntax {
+        /** TypeScript/JavaScript e Go: comentários {@code //} e de bloco, strings {@code ' " `}. */
+        C_LIKE("//", true, false),
+        /** Python: {@code #}, strings {@code ' "} e as triplas. */
+        PYTHON("#", false, true);
+
+        private final String lineComment;
+        private final boolean blockComments;
+        private final boolean tripleQuotes;
+
+        Syntax(String lineComment, boolean blockComments, boolean tripleQuotes) {
+            this.lineComment = lineComment;
+            this.blockComments = blockComments;
+            this.tripleQuotes = tripleQuotes;
+        }
+
+        boolean isQuote(char c) {
+            return c == '\'' || c == '"' || (c == '`' && this == C_LIKE);
+        }
+    }
+
+    /**
+     * Linhas do arquivo (índice 0 = linha 1).
+     */
+    record Lines(List<String> code, List<String> blanked) {
+
+        int size() {
+            return code.size();
+        }
+
+        /** Linhas com algum código (sem comentário nem linha em branco). */
+        int linesOfCode() {
+            return (int) code.stream().filter(line -> !line.isBlank()).count();
+        }
+    }
+
+    private enum State { CODE, LINE_COMMENT, BLOCK_COMMENT, STRING }
+
+    private SourceScanner() {
+    }
+
+    static Lines scan(String source, Syntax syntax) {
+        StringBuilder code = new StringBuilder(source.length());
+        StringBuilder blanked = new StringBuilder(source.length());
+        State state = State.CODE;
+        char quote = 0;
+        boolean triple = false;
+
+        int i = 0;
+        int n = source.length();
+        while (i < n) {
+            char c = source.charAt(i);
+            switch (state) {
+                case CODE -> {
+                    if (source.startsWith(syntax.lineComment, i)) {
+                        state = State.LINE_COMMENT;
+                        i += syntax.lineComment.length();
+                    } else if (syntax.blockComments && source.startsWith("/*", i)) {
+                        state = State.BLOCK_COMMENT;
+                        i += 2;
+                    } else if (syntax.isQuote(c)) {
+                        quote = c;
+                        triple = syntax.tripleQuotes && source.startsWith(String.valueOf(c).repeat(3), i);
+                        int length = triple ? 3 : 1;
+                        code.append(source, i, i + length);
+                        blanked.append(source, i, i + length);
+                        state = State.STRING;
+                        i += length;
+                    } else {
+                        code.append(c);
+                        blanked.append(c);
+                        i++;
+                    }
+                }
+                case LINE_COMMENT -> {
+                    if (c == '\n') {
+                        code.append('\n');
+                        blanked.append('\n');
+                        state = State.CODE;
+                    }
+                    i++;
+                }
+                case BLOCK_COMMENT -> {
+                    if (source.startsWith("*/", i)) {
+                        state = State.CODE;
+                        i += 2;
+                    } else {
+                        if (c == '\n') {
+                            code.append('\n');
+                            blanked.append('\n');
+                        }
+                        i++;
+                    }
+                }
+                case STRING -> {
+                    if (c == '\\' && quote != '`' && i + 1 < n) {
+                        char escaped = source.charAt(i + 1);
+                        code.append(c).append(escaped);
+                        if (escaped == '\n') {
+                            blanked.append('\n');
+                        }
+                        i += 2;
+                    } else if (triple ? source.startsWith(String.valueOf(quote).repeat(3), i) : c == quote) {
+                        int length = triple ? 3 : 1;
+                        code.append(source, i, i + length);
+                        blanked.append(source, i, i + length);
+                        state = State.CODE;
+                        i += length;
+                    } else {
+                        if (c == '\n') {
+                            code.append('\n');
+                            blanked.append('\n');
+                            if (!triple && quote != '`') {
+                                // String não terminada na linha: volta ao código
+                                state = State.CODE;
+                            }
+                        } else {
+                            code.append(c);
+                        }
+                        i++;
+                    }
+                }
+            }
+        }
+        return new Lines(List.of(code.toString().split("\n", -1)), List.of(blanked.toString().split("\n", -1)));
+    }
+}
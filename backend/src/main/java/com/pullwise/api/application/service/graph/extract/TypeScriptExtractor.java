@@ -0,0 +1,393 @@
+package com.pullwise.api.application.service.graph.extract;
+
+import com.pullwise.api.application.service.graph.ExtractionContext;
+import com.pullwise.api.application.service.graph.SourceExtractor;
+import com.pullwise.api.application.service.graph.model.ClassInfo;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.application.service.graph.model.MethodInfo;
+import com.pullwise.api.domain.enums.ProgrammingLanguage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * TypeScript/JavaScript por varredura de linhas, sem AST.
+ *
+ * <p>Cada arquivo é o módulo {@code caminho/sem/extensao}. Imports relativos
+ * ({@code import ... from './x'}, {@code export ... from}, {@code require},
+ * {@code import()}) são resolvidos para arquivos do repositório; pacotes npm e
+ * aliases de path ficam de fora. Funções de topo e métodos de classes viram
+ * métodos, e as chamadas (inclusive uso de componentes em JSX) a símbolos
+ * importados viram chamadas para {@code módulo.Classe} ou
+ * {@code módulo#funcao}.
+ */
+@Component
+public class TypeScriptExtractor implements SourceExtractor {
+
+    private static final List<String> EXTENSIONS = List.of(".ts", ".tsx", ".js", ".jsx");
+
+    private static final Pattern IMPORT_FROM = Pattern.compile(
+            "\\bimport\\s+([\\w$*{}\\s,]+?)\\s+from\\s*['\"]([^'\"]+)['\"]");
+    private static final Pattern IMPORT_BARE = Pattern.compile("\\bimport\\s*['\"]([^'\"]+)['\"]");
+    private static final Pattern EXPORT_FROM = Pattern.compile(
+            "\\bexport\\s+(?:type\\s+)?(?:\\*(?:\\s+as\\s+[\\w$]+)?|\\{[^}]*})\\s*from\\s*['\"]([^'\"]+)['\"]");
+    private static final Pattern REQUIRE = Pattern.compile(
+            "(?:\\b(?:const|let|var)\\s+([\\w$]+|\\{[^}]*})\\s*=\\s*)?\\brequire\\s*\\(\\s*['\"]([^'\"]+)['\"]\\s*\\)");
+    private static final Pattern DYNAMIC_IMPORT = Pattern.compile("\\bimport\\s*\\(\\s*['\"]([^'\"]+)['\"]\\s*\\)");
+
+    private static final Pattern CLASS_DECL = Pattern.compile(
+            "^\\s*(?:export\\s+)?(?:default\\s+)?(?:declare\\s+)?(?:abstract\\s+)?class\\s+([\\w$]+)"
+                    + "(?:\\s*<[^{]*?>)?(?:\\s+extends\\s+([\\w$.]+)(?:\\s*<[^{]*?>)?)?"
+                    + "(?:\\s+implements\\s+([\\w$.,\\s]+))?");
+    private static final Pattern INTERFACE_DECL = Pattern.compile(
+            "^\\s*(?:export\\s+)?(?:declare\\s+)?interface\\s+([\\w$]+)"
+                    + "(?:\\s*<[^{]*?>)?(?:\\s+extends\\s+([\\w$.,\\s]+))?");
+    private static final Pattern ENUM_DECL = Pattern.compile(
+            "^\\s*(?:export\\s+)?(?:declare\\s+)?(?:const\\s+)?enum\\s+([\\w$]+)");
+    private static final Pattern FUNCTION_DECL = Pattern.compile(
+            "^\\s*(?:export\\s+)?(?:default\\s+)?(?:declare\\s+)?(?:async\\s+)?function\\s*\\*?\\s*([\\w$]+)");
+    private static final Pattern ARROW_DECL = Pattern.compile(
+            "^\\s*(?:export\\s+)?(?:const|let|var)\\s+([\\w$]+)\\s*(?::[^=]+)?=\\s*(?:async\\s+)?"
+                    + "(?:function\\b|(?:<[^>]*>\\s*)?\\([^)]*\\)\\s*(?::\\s*[^=]+?)?\\s*=>|[\\w$]+\\s*=>|\\(\\s*$)");
+    private static final Pattern METHOD_DECL = Pattern.compile(
+            "^\\s*(?:(?:public|private|protected|static|async|readonly|override|abstract|get|set)\\s+)*\\*?\\s*"
+                    + "(#?[\\w$]+)\\s*(?:<[^>]*>)?\\s*\\(");
+    private static final Pattern CALL = Pattern.compile(
+            "(?<![\\w$.])([A-Za-z_$][\\w$]*)((?:\\s*\\??\\.\\s*[A-Za-z_$][\\w$]*)*)\\s*(?:<[^<>()]*>)?\\s*\\(");
+    private static final Pattern JSX_ELEMENT = Pattern.compile("<([A-Z][\\w$]*)((?:\\.[A-Za-z_$][\\w$]*)*)[\\s/>]");
+    private static final Pattern BRANCHES = Pattern.compile("\\b(?:if|for|while|case|catch)\\b|&&|\\|\\|");
+
+    private static final Set<String> KEYWORDS = Set.of(
+            "if", "for", "while", "switch", "catch", "with", "return", "typeof", "new", "else", "do", "try",
+            "function", "await", "yield", "super", "import");
+
+    @Override
+    public Set<ProgrammingLanguage> languages() {
+        return Set.of(ProgrammingLanguage.TYPESCRIPT, ProgrammingLanguage.JAVASCRIPT);
+    }
+
+    @Override
+    public CodeAnalysisResult extract(String filePath, String source, ExtractionContext context) {
+        SourceScanner.Lines lines = SourceScanner.scan(source, SourceScanner.Syntax.C_LIKE);
+        ModuleAnalysis analysis = new ModuleAnalysis(filePath, context.repositoryId(), source,
+                ModuleAnalysis.withoutExtension(filePath), ModuleAnalysis.directory(filePath));
+
+        Map<String, Binding> bindings = readImports(filePath, String.join("\n", lines.code()),
+                context.repositoryFiles(), analysis);
+        readDeclarations(lines, bindings, analysis);
+        return analysis.build(lines);
+    }
+
+    // ========== Imports ==========
+
+    /**
+     * Nome local → símbolo importado de outro módulo do repositório.
+     *
+     * @param symbol    nome exportado (null = o módulo inteiro: default ou {@code * as})
+     * @param namespace {@code import * as ns}: {@code ns.x} é o símbolo {@code x}
+     */
+    private record Binding(String module, String symbol, boolean namespace) {
+    }
+
+    private Map<String, Binding> readImports(String filePath, String code, Set<String> files, ModuleAnalysis analysis) {
+        Map<String, Binding> bindings = new HashMap<>();
+
+        Matcher m = IMPORT_FROM.matcher(code);
+        while (m.find()) {
+            String module = importModule(filePath, m.group(2), files, analysis);
+            if (module != null) {
+                bindClause(m.group(1), module, bindings);
+            }
+        }
+        for (Pattern pattern : List.of(IMPORT_BARE, EXPORT_FROM, DYNAMIC_IMPORT)) {
+            m = pattern.matcher(code);
+            while (m.find()) {
+                importModule(filePath, m.group(1), files, analysis);
+            }
+        }
+        m = REQUIRE.matcher(code);
+        while (m.find()) {
+            String module = importModule(filePath, m.group(2), files, analysis);
+            if (module != null && m.group(1) != null) {
+                String target = m.group(1);
+                if (target.startsWith("{")) {
+                    bindNamed(target.substring(1, target.length() - 1), ":", module, bindings);
+                } else {
+                    bindings.put(target, new Binding(module, null, true));
+                }
+            }
+        }
+        return bindings;
+    }
+
+    /** Registra o import e devolve o módulo do repositório, ou null se externo. */
+    private String importModule(String filePath, String specifier, Set<String> files, ModuleAnalysis analysis) {
+        analysis.addImport(specifier);
+        String resolved = resolve(filePath, specifier, files);
+        if (resolved == null) {
+            return null;
+        }
+        String module = ModuleAnalysis.withoutExtension(resolved);
+        analysis.dependsOn(module);
+        return module;
+    }
+
+    /**
+     * Resolve um import relativo como o bundler: o arquivo com uma das
+     * extensões, {@code .js} apontando para o fonte {@code .ts}, ou o
+     * {@code index} do diretório.
+     */
+    static String resolve(String filePath, String specifier, Set<String> files) {
+        if (!specifier.startsWith("./") && !specifier.startsWith("../") && !specifier.equals(".")
+                && !specifier.equals("..")) {
+            return null;
+        }
+        String base = ModuleAnalysis.join(ModuleAnalysis.directory(filePath), specifier);
+        if (base == null) {
+            return null;
+        }
+        if (files.contains(base)) {
+            return base;
+        }
+        String stripped = ModuleAnalysis.withoutExtension(base);
+        for (String candidate : List.of(base, stripped, base + "/index")) {
+            for (String extension : EXTENSIONS) {
+                if (files.contains(candidate + extension)) {
+                    return candidate + extension;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** {@code Default, * as ns, { a, b as c, type d }}. */
+    private static void bindClause(String clause, String module, Map<String, Binding> bindings) {
+        int brace = clause.indexOf('{');
+        String head = brace < 0 ? clause : clause.substring(0, brace);
+        for (String part : head.split(",")) {
+            String name = stripType(part.trim());
+            if (name.startsWith("*")) {
+                String[] tokens = name.split("\\s+");
+                bindings.put(tokens[tokens.length - 1], new Binding(module, null, true));
+            } else if (!name.isEmpty()) {
+                bindings.put(name, new Binding(module, null, false));
+            }
+        }
+        if (brace >= 0) {
+            int close = clause.indexOf('}', brace);
+            bindNamed(clause.substring(brace + 1, close < 0 ? clause.length() : close), " as ", module, bindings);
+        }
+    }
+
+    private static void bindNamed(String names, String aliasSeparator, String module, Map<String, Binding> bindings) {
+        for (String part : names.split(",")) {
+            String name = stripType(part.trim());
+            if (name.isEmpty()) {
+                continue;
+            }
+            int alias = name.indexOf(aliasSeparator);
+            String symbol = alias < 0 ? name : name.substring(0, alias).trim();
+            String local = alias < 0 ? name : name.substring(alias + aliasSeparator.length()).trim();
+            bindings.put(local, symbol.equals("default")
+                    ? new Binding(module, null, false)
+                    : new Binding(module, symbol, false));
+        }
+    }
+
+    private static String stripType(String name) {
+        return name.startsWith("type ") ? name.substring(5).trim() : name;
+    }
+
+    // ========== Declarações e chamadas ==========
+
+    /** Corpo aberto por uma declaração; {@code openDepth} é a profundidade de chaves fora dele. */
+    private static final class Scope {
+        final int openDepth;
+        final ClassInfo classInfo;
+        final MethodInfo method;
+        boolean opened;
+
+        Scope(int openDepth, ClassInfo classInfo, MethodInfo method) {
+            this.openDepth = openDepth;
+            this.classInfo = classInfo;
+            this.method = method;
+        }
+    }
+
+    private void readDeclarations(SourceScanner.Lines lines, Map<String, Binding> bindings, ModuleAnalysis analysis) {
+        List<String> blanked = lines.blanked();
+        Deque<Scope> scopes = new ArrayDeque<>();
+        int depth = 0;
+
+        for (int index = 0; index < blanked.size(); index++) {
+            String line = blanked.get(index);
+            int lineNo = index + 1;
+            Scope top = scopes.peek();
+            Scope function = top != null && top.method != null ? top : null;
+
+            if (function == null) {
+                Scope declared = declare(line, lineNo, depth, top, bindings, analysis);
+                if (declared != null) {
+                    scopes.push(declared);
+                    if (declared.method != null) {
+                        function = declared;
+                    }
+                }
+            }
+            if (function != null) {
+                readCalls(line, function.method, bindings);
+            }
+
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '{') {
+                    depth++;
+                    Scope scope = scopes.peek();
+                    if (scope != null && !scope.opened && depth > scope.openDepth) {
+                        scope.opened = true;
+                    }
+                } else if (c == '}') {
+                    depth = Math.max(0, depth - 1);
+                    Scope scope = scopes.peek();
+                    if (scope != null && scope.opened && depth == scope.openDepth) {
+                        close(scopes.pop(), lineNo, blanked);
+                    }
+                }
+            }
+
+            Scope pending = scopes.peek();
+            if (pending != null && !pending.opened && endsWithoutBody(line)) {
+                close(scopes.pop(), lineNo, blanked);
+            }
+        }
+        while (!scopes.isEmpty()) {
+            close(scopes.pop(), blanked.size(), blanked);
+        }
+    }
+
+    /** Declaração de classe, interface, enum, função de topo ou método na linha. */
+    private Scope declare(String line, int lineNo, int depth, Scope top,
+                          Map<String, Binding> bindings, ModuleAnalysis analysis) {
+        Matcher m = CLASS_DECL.matcher(line);
+        if (m.find()) {
+            ClassInfo classInfo = analysis.addClass(m.group(1), lineNo);
+            classInfo.setSuperClass(typeTarget(m.group(2), bindings, analysis));
+            addTypeTargets(m.group(3), classInfo.getImplementedInterfaces(), bindings, analysis);
+            return new Scope(depth, classInfo, null);
+        }
+        m = INTERFACE_DECL.matcher(line);
+        if (m.find()) {
+            ClassInfo classInfo = analysis.addClass(m.group(1), lineNo);
+            classInfo.setInterface(true);
+            addTypeTargets(m.group(2), classInfo.getImplementedInterfaces(), bindings, analysis);
+            return new Scope(depth, classInfo, null);
+        }
+        m = ENUM_DECL.matcher(line);
+        if (m.find()) {
+            ClassInfo classInfo = analysis.addClass(m.group(1), lineNo);
+            classInfo.setEnum(true);
+            return new Scope(depth, classInfo, null);
+        }
+
+        if (top != null && top.classInfo != null && !top.classInfo.isInterface() && !top.classInfo.isEnum()
+                && top.opened && depth == top.openDepth + 1) {
+            m = METHOD_DECL.matcher(line);
+            if (m.find() && !KEYWORDS.contains(m.group(1)) && !line.trim().endsWith(";")) {
+                return new Scope(depth, null, analysis.addMethod(top.classInfo, m.group(1), lineNo));
+            }
+            return null;
+        }
+        if (depth == 0) {
+            m = FUNCTION_DECL.matcher(line);
+            if (!m.find()) {
+                m = ARROW_DECL.matcher(line);
+                if (!m.find()) {
+                    return null;
+                }
+            }
+            return new Scope(depth, null, analysis.addMethod(analysis.module(), m.group(1), lineNo));
+        }
+        return null;
+    }
+
+    /** Declaração sem corpo entre chaves: assinatura ({@code ;}) ou arrow de expressão. */
+    private static boolean endsWithoutBody(String line) {
+        String trimmed = line.trim();
+        if (trimmed.endsWith(";")) {
+            return true;
+        }
+        int arrow = trimmed.lastIndexOf("=>");
+        return arrow >= 0 && !trimmed.substring(arrow + 2).isBlank()
+                && !trimmed.substring(arrow + 2).trim().startsWith("{");
+    }
+
+    private static void close(Scope scope, int endLine, List<String> blanked) {
+        if (scope.method != null) {
+            ModuleAnalysis.close(scope.method, endLine, blanked, BRANCHES);
+        } else {
+            scope.classInfo.setEndLine(endLine);
+        }
+    }
+
+    private void readCalls(String line, MethodInfo method, Map<String, Binding> bindings) {
+        for (Pattern pattern : List.of(CALL, JSX_ELEMENT)) {
+            Matcher m = pattern.matcher(line);
+            while (m.find()) {
+                Binding binding = bindings.get(m.group(1));
+                if (binding == null) {
+                    continue;
+                }
+                String[] chain = m.group(2).replace("?", "").replaceAll("\\s+", "").split("\\.");
+                String member = chain.length > 1 ? chain[1] : null;
+                String target;
+                if (binding.symbol() != null) {
+                    target = ModuleAnalysis.symbolTarget(binding.module(), binding.symbol());
+                } else if (binding.namespace() && member != null) {
+                    target = ModuleAnalysis.symbolTarget(binding.module(), member);
+                } else {
+                    target = binding.module();
+                }
+                ModuleAnalysis.calls(method, target, chain.length > 1 ? chain[chain.length - 1] : m.group(1));
+            }
+        }
+    }
+
+    private static String typeTarget(String name, Map<String, Binding> bindings, ModuleAnalysis analysis) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        String[] parts = name.trim().split("\\.");
+        Binding binding = bindings.get(parts[0]);
+        if (binding == null) {
+            // Classe do próprio arquivo; globais e tipos externos ficam de fora
+            return parts.length == 1 && Character.isUpperCase(parts[0].charAt(0))
+                    && analysis.declares(parts[0]) ? analysis.classQualifiedName(parts[0]) : null;
+        }
+        if (binding.symbol() != null) {
+            return ModuleAnalysis.symbolTarget(binding.module(), binding.symbol());
+        }
+        return binding.namespace() && parts.length > 1
+                ? ModuleAnalysis.symbolTarget(binding.module(), parts[1])
+                : binding.module();
+    }
+
+    private static void addTypeTargets(String names, List<String> targets,
+                                       Map<String, Binding> bindings, ModuleAnalysis analysis) {
+        if (names == null) {
+            return;
+        }
+        for (String name : names.replaceAll("<[^>]*>", "").split(",")) {
+            String target = typeTarget(name, bindings, analysis);
+            if (target != null && !targets.contains(target)) {
+                targets.add(target);
+            }
+        }
+    }
+}
@@ -18,7 +18,10 @@ import java.util.List;
 public class CodeAnalysisResult {
     private String filePath;
     private String repositoryId;
+    private String contentHash;  // SHA-256 do código-fonte analisado (null se o parse falhou)
+    private String parserVersion;  // Versão do parse que gerou a análise (SourceExtractors#VERSION)
     private LocalDateTime analyzedAt;
+    private List<String> imports;  // Imports não estáticos ("a.b.C" ou "a.b.*")
 
     // Estrutura do código
     private List<ClassInfo> classes;
@@ -1,5 +1,6 @@
 package com.pullwise.api.application.service.integration;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pullwise.api.domain.model.Project;
 import com.pullwise.api.domain.model.PullRequest;
@@ -10,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
@@ -23,6 +25,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class GitHubService {
 
+    /**
+     * Máximo de arquivos listados pela compare API: um compare com esse tanto
+     * de arquivos pode estar truncado.
+     */
+    public static final int COMPARE_FILE_LIMIT = 300;
+
     @Value("${integrations.github.api-url:https://api.github.com}")
     private String githubApiUrl;
 
@@ -62,6 +70,112 @@ public class GitHubService {
         }
     }
 
+    /**
+     * Busca os diffs de um Pull Request junto com o head a que correspondem.
+     * O head é lido antes e depois da listagem de arquivos; se mudou no meio
+     * (push concorrente) ou não pôde ser lido, volta null, pois não se sabe
+     * a qual commit os diffs pertencem.
+     */
+    public PullRequestDiffs fetchPullRequestDiffsAtHead(Project project, int prNumber) {
+        String headBefore = fetchPullRequestHeadSha(project, prNumber);
+        List<FileDiff> files = fetchPullRequestDiffs(project, prNumber);
+        String headAfter = headBefore != null ? fetchPullRequestHeadSha(project, prNumber) : null;
+
+        if (headBefore == null || !headBefore.equals(headAfter)) {
+            log.info("Head of PR #{} unknown or moved while fetching files ({} -> {})",
+                    prNumber, headBefore, headAfter);
+            return new PullRequestDiffs(null, files);
+        }
+        return new PullRequestDiffs(headBefore, files);
+    }
+
+    /**
+     * Busca o SHA do commit head atual de um Pull Request.
+     *
+     * @return SHA do head, ou null se não puder ser obtido
+     */
+    public String fetchPullRequestHeadSha(Project project, int prNumber) {
+        String owner = extractOwner(project.getRepositoryUrl());
+        String repo = extractRepo(project.getRepositoryUrl());
+
+        String url = String.format("%s/repos/%s/%s/pulls/%d",
+                githubApiUrl, owner, repo, prNumber);
+
+        HttpHeaders headers = createHeaders(project);
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+        try {
+            PullRequestHead response = restTemplate.exchange(url, HttpMethod.GET, entity,
+                    PullRequestHead.class).getBody();
+            return response != null && response.head() != null ? response.head().sha() : null;
+        } catch (Exception e) {
+            log.warn("Failed to fetch head of {}/{} #{}: {}", owner, repo, prNumber, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Busca os arquivos alterados entre dois commits (compare API).
+     *
+     * @return diffs de {@code baseSha} até {@code headSha} (no máximo
+     *         {@link #COMPARE_FILE_LIMIT}), ou null se a comparação falhar ou o
+     *         histórico divergir (ex.: force-push)
+     */
+    public List<FileDiff> fetchCompareDiffs(Project project, String baseSha, String headSha) {
+        String owner = extractOwner(project.getRepositoryUrl());
+        String repo = extractRepo(project.getRepositoryUrl());
+
+        String url = String.format("%s/repos/%s/%s/compare/%s...%s",
+                githubApiUrl, owner, repo, baseSha, headSha);
+
+        HttpHeaders headers = createHeaders(project);
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+        try {
+            CompareResponse response = restTemplate.exchange(url, HttpMethod.GET, entity,
+                    CompareResponse.class).getBody();
+
+            if (response == null || !("ahead".equals(response.status()) || "identical".equals(response.status()))) {
+                log.info("Compare {}...{} for {}/{} is {}; incremental diff unavailable",
+                        baseSha, headSha, owner, repo, response != null ? response.status() : "empty");
+                return null;
+            }
+            return response.files() != null ? response.files() : List.of();
+
+        } catch (Exception e) {
+            log.warn("Failed to compare {}...{} for {}/{}: {}", baseSha, headSha, owner, repo, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Busca o conteúdo bruto de um arquivo num commit.
+     *
+     * @return conteúdo do arquivo, ou null se não existe no commit ou não
+     *         puder ser obtido
+     */
+    public String fetchFileContent(Project project, String path, String ref) {
+        String owner = extractOwner(project.getRepositoryUrl());
+        String repo = extractRepo(project.getRepositoryUrl());
+
+        String url = String.format("%s/repos/%s/%s/contents/%s?ref=%s",
+                githubApiUrl, owner, repo, path, ref);
+
+        HttpHeaders headers = createHeaders(project);
+        headers.set("Accept", "application/vnd.github.raw");
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, entity, String.class).getBody();
+        } catch (HttpClientErrorException.NotFound e) {
+            log.debug("No {} at {} for {}/{}", path, ref, owner, repo);
+            return null;
+        } catch (Exception e) {
+            log.warn("Failed to fetch {} at {} for {}/{}: {}", path, ref, owner, repo, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Posta um comentário em um Pull Request.
      */
@@ -193,10 +307,20 @@ public class GitHubService {
                 com.pullwise.api.domain.enums.Platform.GITHUB
         ).orElseThrow(() -> new IllegalArgumentException("Project not found"));
 
+        String headSha = payload.getPullRequest().getHead() != null
+                ? payload.getPullRequest().getHead().getSha()
+                : null;
+
         return pullRequestRepository.findByProjectIdAndPrNumber(
                 project.getId(),
                 payload.getPullRequest().getNumber()
-        ).orElseGet(() -> {
+        ).map(existing -> {
+            if (headSha != null && !headSha.equals(existing.getHeadSha())) {
+                existing.setHeadSha(headSha);
+                return pullRequestRepository.save(existing);
+            }
+            return existing;
+        }).orElseGet(() -> {
             com.pullwise.api.domain.model.PullRequest newPr = com.pullwise.api.domain.model.PullRequest.builder()
                     .project(project)
                     .platform(com.pullwise.api.domain.enums.Platform.GITHUB)
@@ -208,6 +332,7 @@ public class GitHubService {
                     .targetBranch(payload.getPullRequest().getBase().getRef())
                     .authorName(payload.getPullRequest().getUser().getLogin())
                     .reviewUrl(payload.getPullRequest().getHtmlUrl())
+                    .headSha(headSha)
                     .build();
 
             return pullRequestRepository.save(newPr);
@@ -260,14 +385,27 @@ public class GitHubService {
         return "ghp_" + installationId;
     }
 
+    /**
+     * Arquivo alterado de um diff. {@code previousFilename} só vem em renames
+     * ({@code status = "renamed"}) da API do GitHub.
+     */
     public record FileDiff(
             String filename,
             String status,
             int additions,
             int deletions,
-            String patch
-    ) {}
+            String patch,
+            @JsonProperty("previous_filename") String previousFilename
+    ) {
+        public FileDiff(String filename, String status, int additions, int deletions, String patch) {
+            this(filename, status, additions, deletions, patch, null);
+        }
+    }
 
+    public record PullRequestDiffs(String headSha, List<FileDiff> files) {}
+    public record PullRequestHead(CommitRef head) {}
+    public record CommitRef(String sha) {}
+    public record CompareResponse(String status, List<FileDiff> files) {}
     public record CommentRequest(String body) {}
     public record CommentResponse(Long id, String body) {}
     public record InlineComment(String path, int line, String body) {}
@@ -281,6 +419,10 @@ public class GitHubService {
         private Installation installation;
         private java.util.List<Repository> repositories;
         private String ref;
+        private String before;
+        private String after;
+        private boolean deleted;
+        private java.util.List<PushCommit> commits;
 
         public Repository getRepository() { return repository; }
         public void setRepository(Repository repository) { this.repository = repository; }
@@ -298,6 +440,14 @@ public class GitHubService {
         public void setRepositories(java.util.List<Repository> repositories) { this.repositories = repositories; }
         public String getRef() { return ref; }
         public void setRef(String ref) { this.ref = ref; }
+        public String getBefore() { return before; }
+        public void setBefore(String before) { this.before = before; }
+        public String getAfter() { return after; }
+        public void setAfter(String after) { this.after = after; }
+        public boolean isDeleted() { return deleted; }
+        public void setDeleted(boolean deleted) { this.deleted = deleted; }
+        public java.util.List<PushCommit> getCommits() { return commits; }
+        public void setCommits(java.util.List<PushCommit> commits) { this.commits = commits; }
 
         public static class Repository {
             private Long id;
@@ -315,6 +465,23 @@ public class GitHubService {
             public void setHtmlUrl(String htmlUrl) { this.htmlUrl = htmlUrl; }
         }
 
+        /** Commit de um evento push, com os arquivos que ele tocou. */
+        public static class PushCommit {
+            private String id;
+            private java.util.List<String> added;
+            private java.util.List<String> removed;
+            private java.util.List<String> modified;
+
+            public String getId() { return id; }
+            public void setId(String id) { this.id = id; }
+            public java.util.List<String> getAdded() { return added; }
+            public void setAdded(java.util.List<String> added) { this.added = added; }
+            public java.util.List<String> getRemoved() { return removed; }
+            public void setRemoved(java.util.List<String> removed) { this.removed = removed; }
+            public java.util.List<String> getModified() { return modified; }
+            public void setModified(java.util.List<String> modified) { this.modified = modified; }
+        }
+
         public static class Installation {
             private Long id;
             private Account account;
@@ -3,6 +3,7 @@ package com.pullwise.api.application.service.integration;
 import com.pullwise.api.application.service.config.ConfigurationResolver;
 import com.pullwise.api.application.service.review.PRDescriptionService;
 import com.pullwise.api.domain.constants.ConfigKeys;
+import com.pullwise.api.application.service.review.ReviewJobQueue;
 import com.pullwise.api.application.service.review.ReviewOrchestrator;
 import com.pullwise.api.application.service.integration.AzureDevOpsService;
 import com.pullwise.api.domain.enums.Platform;
@@ -41,6 +42,7 @@ public class SlashCommandService {
             "^\\s*/pullwise\\s+(\\w+)(?:\\s+(.*))?$", Pattern.MULTILINE);
 
     private final ReviewOrchestrator reviewOrchestrator;
+    private final ReviewJobQueue reviewJobQueue;
     private final ConfigurationResolver configurationResolver;
     private final PullRequestRepository pullRequestRepository;
     private final PRDescriptionService prDescriptionService;
@@ -114,7 +116,7 @@ public class SlashCommandService {
 
             Review review = reviewOrchestrator.createReview(
                     pr.getId(), sastEnabled, llmEnabled, ragEnabled);
-            reviewOrchestrator.startReview(review.getId());
+            reviewJobQueue.submit(review, true);
 
             return "> **Pullwise** — Review started. I'll post the results when it's complete.";
         } catch (Exception e) {
@@ -135,7 +137,7 @@ public class SlashCommandService {
 
             Review review = reviewOrchestrator.createReview(
                     pr.getId(), sastEnabled, llmEnabled, ragEnabled);
-            reviewOrchestrator.startReview(review.getId());
+            reviewJobQueue.submit(review, true);
 
             return "> **Pullwise** — Improvement analysis started. Auto-fix suggestions will be included in the review.";
         } catch (Exception e) {
@@ -0,0 +1,35 @@
+package com.pullwise.api.application.service.llm.client;
+
+import com.pullwise.api.application.service.review.CancellationToken;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Bloqueio cancelável das chamadas HTTP dos clientes LLM.
+ */
+final class CancellableCalls {
+
+    private CancellableCalls() {
+    }
+
+    /**
+     * Espera o resultado do {@code Mono}, abortando a requisição (a assinatura
+     * é cancelada e a conexão liberada) se o token for cancelado antes.
+     *
+     * @throws CancellationToken.CancelledException se o token foi cancelado
+     */
+    static <T> T block(Mono<T> call, CancellationToken token) {
+        token.throwIfCancelled();
+        if (token == CancellationToken.NONE) {
+            return call.block();
+        }
+
+        Sinks.One<Boolean> cancelled = Sinks.one();
+        T result;
+        try (CancellationToken.Registration ignored = token.onCancel(() -> cancelled.tryEmitValue(true))) {
+            result = call.takeUntilOther(cancelled.asMono()).block();
+        }
+        token.throwIfCancelled();
+        return result;
+    }
+}
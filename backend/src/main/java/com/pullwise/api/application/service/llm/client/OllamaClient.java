@@ -1,6 +1,7 @@
 package com.pullwise.api.application.service.llm.client;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pullwise.api.application.service.review.CancellationToken;
 import com.pullwise.api.domain.enums.LLMProvider;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +16,7 @@ import reactor.core.publisher.Mono;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Cliente para a API Ollama (modelos locais).
@@ -66,19 +68,28 @@ public class OllamaClient {
      * @return Resposta com o conteúdo gerado
      */
     public ChatResponse chat(ChatRequest request) {
+        return chat(request, CancellationToken.NONE);
+    }
+
+    /**
+     * Envia uma requisição de chat, abortando a chamada HTTP em andamento se o
+     * token for cancelado.
+     *
+     * @throws CancellationToken.CancelledException se o token foi cancelado
+     */
+    public ChatResponse chat(ChatRequest request, CancellationToken token) {
         WebClient client = webClientBuilder
                 .baseUrl(baseUrl)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
 
         try {
-            ChatResponse response = client.post()
+            ChatResponse response = CancellableCalls.block(client.post()
                     .uri("/api/chat")
                     .bodyValue(request)
                     .retrieve()
                     .bodyToMono(ChatResponse.class)
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
-                    .block();
+                    .timeout(Duration.ofSeconds(timeoutSeconds)), token);
 
             if (response != null && response.error != null) {
                 log.error("Ollama error: {}", response.error);
@@ -87,12 +98,79 @@ public class OllamaClient {
 
             return response;
 
+        } catch (CancellationToken.CancelledException e) {
+            log.debug("Ollama call aborted: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error calling Ollama API", e);
             throw new RuntimeException("Failed to call Ollama API: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Envia uma requisição de chat em modo streaming (NDJSON).
+     *
+     * <p>Cada trecho de conteúdo é entregue a {@code onDelta} assim que chega;
+     * o retorno é a resposta completa, montada a partir dos trechos. O timeout
+     * vale para o intervalo entre linhas, não para a resposta inteira.
+     *
+     * @throws CancellationToken.CancelledException se o token foi cancelado
+     */
+    public ChatResponse chatStream(ChatRequest request, Consumer<String> onDelta, CancellationToken token) {
+        request.setStream(true);
+
+        WebClient client = webClientBuilder
+                .baseUrl(baseUrl)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+
+        StringBuilder content = new StringBuilder();
+        ChatResponse response = new ChatResponse();
+
+        try {
+            CancellableCalls.block(client.post()
+                    .uri("/api/chat")
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToFlux(ChatResponse.class)
+                    .timeout(Duration.ofSeconds(timeoutSeconds))
+                    .doOnNext(chunk -> {
+                        if (chunk.error != null) {
+                            response.setError(chunk.error);
+                            return;
+                        }
+                        response.setModel(chunk.model);
+                        if (Boolean.TRUE.equals(chunk.done)) {
+                            response.setDone(true);
+                            response.setDoneReason(chunk.doneReason);
+                            response.setCreatedAt(chunk.createdAt);
+                        }
+                        String delta = chunk.getContent();
+                        if (delta != null && !delta.isEmpty()) {
+                            content.append(delta);
+                            onDelta.accept(delta);
+                        }
+                    })
+                    .then(), token);
+
+            if (response.error != null) {
+                log.error("Ollama error: {}", response.error);
+                throw new RuntimeException("Ollama error: " + response.error);
+            }
+
+            response.setMessage(new Message("assistant", content.toString()));
+            return response;
+
+        } catch (CancellationToken.CancelledException e) {
+            log.debug("Ollama stream aborted: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error streaming from Ollama API", e);
+            throw new RuntimeException("Failed to stream from Ollama API: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Gera um embedding para o texto informado.
      *
@@ -189,6 +267,7 @@ public class OllamaClient {
         private String createdAt;
         private Message message;
         private String doneReason;
+        private Boolean done;
         private String error;
 
         public String getContent() {
@@ -2,11 +2,15 @@ package com.pullwise.api.application.service.llm.client;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pullwise.api.application.service.review.CancellationToken;
 import com.pullwise.api.domain.enums.LLMProvider;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
@@ -16,6 +20,7 @@ import reactor.core.publisher.Mono;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Cliente para a API OpenRouter.
@@ -34,6 +39,7 @@ import java.util.List;
 public class OpenRouterClient {
 
     private final WebClient.Builder webClientBuilder;
+    private final ObjectMapper objectMapper;
 
     @Value("${integrations.openrouter.api-key:}")
     private String apiKey;
@@ -51,6 +57,16 @@ public class OpenRouterClient {
      * @return Resposta com o conteúdo gerado e metadata
      */
     public ChatCompletionResponse chatCompletion(ChatCompletionRequest request) {
+        return chatCompletion(request, CancellationToken.NONE);
+    }
+
+    /**
+     * Envia uma requisição de chat completion, abortando a chamada HTTP em
+     * andamento se o token for cancelado.
+     *
+     * @throws CancellationToken.CancelledException se o token foi cancelado
+     */
+    public ChatCompletionResponse chatCompletion(ChatCompletionRequest request, CancellationToken token) {
         if (apiKey == null || apiKey.isBlank()) {
             throw new IllegalStateException("OpenRouter API key not configured");
         }
@@ -64,13 +80,12 @@ public class OpenRouterClient {
                 .build();
 
         try {
-            ChatCompletionResponse response = client.post()
+            ChatCompletionResponse response = CancellableCalls.block(client.post()
                     .uri("/chat/completions")
                     .bodyValue(request)
                     .retrieve()
                     .bodyToMono(ChatCompletionResponse.class)
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
-                    .block();
+                    .timeout(Duration.ofSeconds(timeoutSeconds)), token);
 
             if (response != null && response.error != null) {
                 log.error("OpenRouter API error: {} - {}", response.error.type, response.error.message);
@@ -79,12 +94,73 @@ public class OpenRouterClient {
 
             return response;
 
+        } catch (CancellationToken.CancelledException e) {
+            log.debug("OpenRouter call aborted: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error calling OpenRouter API", e);
             throw new RuntimeException("Failed to call OpenRouter API: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Envia uma requisição de chat completion em modo streaming (SSE).
+     *
+     * <p>Cada trecho de conteúdo é entregue a {@code onDelta} assim que chega;
+     * o retorno é a resposta completa, montada a partir dos trechos. O timeout
+     * vale para o intervalo entre eventos, não para a resposta inteira.
+     *
+     * @throws CancellationToken.CancelledException se o token foi cancelado
+     */
+    public ChatCompletionResponse chatCompletionStream(ChatCompletionRequest request, Consumer<String> onDelta,
+                                                       CancellationToken token) {
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new IllegalStateException("OpenRouter API key not configured");
+        }
+        request.setStream(true);
+
+        WebClient client = webClientBuilder
+                .baseUrl(baseUrl)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader("HTTP-Referer", "https://pullwise.ai")
+                .defaultHeader("X-Title", "Pullwise.ai")
+                .build();
+
+        StringBuilder content = new StringBuilder();
+        ChatCompletionResponse response = new ChatCompletionResponse();
+
+        try {
+            CancellableCalls.block(client.post()
+                    .uri("/chat/completions")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                    .timeout(Duration.ofSeconds(timeoutSeconds))
+                    .doOnNext(event -> handleStreamEvent(event.data(), content, response, onDelta))
+                    .then(), token);
+
+            if (response.error != null) {
+                log.error("OpenRouter API error: {} - {}", response.error.type, response.error.message);
+                throw new RuntimeException("OpenRouter API error: " + response.error.message);
+            }
+
+            Choice choice = new Choice();
+            choice.setIndex(0);
+            choice.setMessage(new Message("assistant", content.toString()));
+            response.setChoices(List.of(choice));
+            return response;
+
+        } catch (CancellationToken.CancelledException e) {
+            log.debug("OpenRouter stream aborted: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Error streaming from OpenRouter API", e);
+            throw new RuntimeException("Failed to stream from OpenRouter API: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Retorna uma lista de modelos disponíveis no OpenRouter.
      */
@@ -110,6 +186,39 @@ public class OpenRouterClient {
         }
     }
 
+    /**
+     * Processa um evento SSE: acumula o delta, repassa ao consumidor e guarda
+     * metadados (id, modelo, uso, erro) na resposta final.
+     */
+    private void handleStreamEvent(String data, StringBuilder content, ChatCompletionResponse response,
+                                   Consumer<String> onDelta) {
+        if (data == null || data.isBlank() || "[DONE]".equals(data.strip())) {
+            return;
+        }
+        try {
+            StreamChunk chunk = objectMapper.readValue(data, StreamChunk.class);
+            if (chunk.getError() != null) {
+                response.setError(chunk.getError());
+                return;
+            }
+            if (response.getId() == null) {
+                response.setId(chunk.getId());
+                response.setModel(chunk.getModel());
+                response.setCreated(chunk.getCreated());
+            }
+            if (chunk.getUsage() != null) {
+                response.setUsage(chunk.getUsage());
+            }
+            String delta = chunk.getDeltaContent();
+            if (delta != null && !delta.isEmpty()) {
+                content.append(delta);
+                onDelta.accept(delta);
+            }
+        } catch (Exception e) {
+            log.debug("Ignoring unparseable OpenRouter stream event: {}", e.getMessage());
+        }
+    }
+
     // ========== Request/Response DTOs ==========
 
     @Data
@@ -183,6 +292,30 @@ public class OpenRouterClient {
         }
     }
 
+    @Data
+    public static class StreamChunk {
+        private String id;
+        private String model;
+        private Long created;
+        private List<StreamChoice> choices;
+        private Usage usage;
+        private ErrorResponse error;
+
+        public String getDeltaContent() {
+            if (choices == null || choices.isEmpty() || choices.get(0).delta == null) {
+                return null;
+            }
+            return choices.get(0).delta.content;
+        }
+    }
+
+    @Data
+    public static class StreamChoice {
+        private Integer index;
+        private Message delta;
+        private String finishReason;
+    }
+
     @Data
     public static class Choice {
         private Integer index;
@@ -6,6 +6,7 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.*;
 
 /**
@@ -17,6 +18,11 @@ import java.util.*;
  *   router:
  *     strategy: cost-optimized
  *     default-model: anthropic/claude-3.5-sonnet
+ *     max-concurrent-requests:
+ *       openrouter: 8
+ *     default-prompt-token-budget: 6000
+ *   response-cache:
+ *     ttl: 24h
  *   models:
  *     claude-3.5-sonnet:
  *       provider: openrouter
@@ -34,6 +40,7 @@ public class LLMModelConfig {
     private RouterConfig router = new RouterConfig();
     private Map<String, ModelConfig> models = new HashMap<>();
     private CostTrackingConfig costTracking = new CostTrackingConfig();
+    private ResponseCacheConfig responseCache = new ResponseCacheConfig();
 
     @Data
     public static class RouterConfig {
@@ -41,6 +48,15 @@ public class LLMModelConfig {
         private Strategy strategy = Strategy.COST_OPTIMIZED;
         private String defaultModel = "anthropic/claude-3.5-sonnet";
         private String fallbackModel = "google/gemma-3-4b-it:free";
+
+        /** Máximo de chamadas simultâneas por provider (todos os reviews do nó). */
+        private Map<LLMProvider, Integer> maxConcurrentRequests = new EnumMap<>(LLMProvider.class);
+
+        /** Limite usado para providers sem entrada em {@code maxConcurrentRequests}. */
+        private int defaultMaxConcurrentRequests = 8;
+
+        /** Orçamento de prompt usado quando nenhum modelo atende a tarefa. */
+        private int defaultPromptTokenBudget = 6000;
     }
 
     @Data
@@ -51,6 +67,12 @@ public class LLMModelConfig {
         private double costPer1kTokens = 0.001;
         private List<ReviewTaskType> useCases = new ArrayList<>();
 
+        /**
+         * Máximo de tokens de conteúdo (diffs, issues) por requisição ao
+         * empacotar vários arquivos num único prompt. Não inclui o system prompt.
+         */
+        private int promptTokenBudget = 6000;
+
         /**
          * Retorna true se este modelo é adequado para a tarefa especificada.
          */
@@ -84,6 +106,20 @@ public class LLMModelConfig {
         private double alertThreshold = 0.8;  // 80%
     }
 
+    @Data
+    public static class ResponseCacheConfig {
+        private boolean enabled = true;
+
+        /** Validade das respostas no L2 (Redis) e no L1 (Caffeine). */
+        private Duration ttl = Duration.ofHours(24);
+
+        /** Teto do L1 em bytes (soma do tamanho das respostas em memória). */
+        private long localMaxBytes = 64L * 1024 * 1024;
+
+        /** Respostas maiores que isso não são cacheadas. */
+        private int maxEntryBytes = 256 * 1024;
+    }
+
     public enum Strategy {
         /**
          * Prioriza menor custo, usa modelos locais quando possível.
@@ -119,6 +155,18 @@ public class LLMModelConfig {
                 .toList();
     }
 
+    /**
+     * Orçamento de tokens de conteúdo por requisição para uma tarefa. Como o
+     * router pode escolher qualquer modelo que atenda a tarefa (inclusive via
+     * fallback), usa o menor orçamento entre eles.
+     */
+    public int getPromptTokenBudget(ReviewTaskType taskType) {
+        return getModelsForTask(taskType).stream()
+                .mapToInt(ModelConfig::getPromptTokenBudget)
+                .min()
+                .orElse(router.getDefaultPromptTokenBudget());
+    }
+
     /**
      * Retorna o modelo padrão configurado.
      */
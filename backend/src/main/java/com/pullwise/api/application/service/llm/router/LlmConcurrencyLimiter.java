@@ -0,0 +1,90 @@
+package com.pullwise.api.application.service.llm.router;
+
+import com.pullwise.api.application.service.llm.model.LLMModelConfig;
+import com.pullwise.api.domain.enums.LLMProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limite global de chamadas simultâneas por provider LLM.
+ *
+ * <p>Um semáforo justo por {@link LLMProvider}, compartilhado por todos os
+ * reviews do nó, evita estourar rate limits (ex.: OpenRouter) quando várias
+ * passadas fazem fan-out por arquivo ao mesmo tempo. Os limites vêm de
+ * {@code llm.router.max-concurrent-requests}; providers sem entrada usam
+ * {@code llm.router.default-max-concurrent-requests}.
+ *
+ * <p>Expõe por provider os gauges {@code pullwise.llm.requests.in_flight} e
+ * {@code pullwise.llm.requests.queued}.
+ */
+@Slf4j
+@Component
+public class LlmConcurrencyLimiter {
+
+    private final Map<LLMProvider, Semaphore> permits = new EnumMap<>(LLMProvider.class);
+    private final Map<LLMProvider, AtomicInteger> inFlight = new EnumMap<>(LLMProvider.class);
+
+    public LlmConcurrencyLimiter(LLMModelConfig config, MeterRegistry meterRegistry) {
+        LLMModelConfig.RouterConfig router = config.getRouter();
+        for (LLMProvider provider : LLMProvider.values()) {
+            int limit = Math.max(1, router.getMaxConcurrentRequests()
+                    .getOrDefault(provider, router.getDefaultMaxConcurrentRequests()));
+
+            Semaphore semaphore = new Semaphore(limit, true);
+            AtomicInteger active = new AtomicInteger();
+            permits.put(provider, semaphore);
+            inFlight.put(provider, active);
+
+            Gauge.builder("pullwise.llm.requests.in_flight", active, AtomicInteger::get)
+                    .description("LLM requests currently executing")
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+            Gauge.builder("pullwise.llm.requests.queued", semaphore, Semaphore::getQueueLength)
+                    .description("LLM requests waiting for a provider permit")
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Executa a chamada ao provider assim que houver permissão livre.
+     *
+     * @throws IllegalStateException se a thread for interrompida enquanto espera
+     */
+    public <T> T call(LLMProvider provider, Supplier<T> call) {
+        Semaphore semaphore = permits.get(provider);
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + provider + " permit", e);
+        }
+
+        AtomicInteger active = inFlight.get(provider);
+        active.incrementAndGet();
+        try {
+            return call.get();
+        } finally {
+            active.decrementAndGet();
+            semaphore.release();
+        }
+    }
+
+    /** Chamadas em execução no provider. */
+    public int inFlight(LLMProvider provider) {
+        return inFlight.get(provider).get();
+    }
+
+    /** Chamadas aguardando permissão no provider. */
+    public int queued(LLMProvider provider) {
+        return permits.get(provider).getQueueLength();
+    }
+}
@@ -0,0 +1,175 @@
+package com.pullwise.api.application.service.llm.router;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pullwise.api.application.service.llm.model.LLMModelConfig;
+import com.pullwise.api.domain.enums.ReviewTaskType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Cache de respostas LLM endereçado por conteúdo.
+ *
+ * <p>A chave é o SHA-256 de (modelo, tarefa, system prompt, user prompt): um
+ * re-review após {@code synchronize} reenvia o mesmo prompt para arquivos não
+ * alterados e recebe a resposta anterior sem custo nem latência.
+ *
+ * <p>Dois níveis:
+ * <ul>
+ *   <li>L1 Caffeine no nó, limitado por bytes ({@code llm.response-cache.local-max-bytes})</li>
+ *   <li>L2 no cache {@value #CACHE_NAME} do {@link CacheManager} primário (Redis,
+ *       TTL configurado no {@code RedisConfig}), compartilhado entre nós</li>
+ * </ul>
+ * Respostas acima de {@code max-entry-bytes} não são cacheadas. Falhas do L2
+ * contam como miss e nunca interrompem a chamada ao LLM.
+ *
+ * <p>Métricas: {@code pullwise.llm.cache.hits{level=l1|l2}},
+ * {@code pullwise.llm.cache.misses}, {@code pullwise.llm.cache.bytes_served}
+ * e o gauge {@code pullwise.llm.cache.l1_bytes}.
+ */
+@Slf4j
+@Component
+public class LlmResponseCache {
+
+    public static final String CACHE_NAME = "llm-responses";
+
+    private final boolean enabled;
+    private final int maxEntryBytes;
+    private final Cache<String, String> local;
+    private final CacheManager cacheManager;
+
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+    private final Counter bytesServed;
+
+    public LlmResponseCache(LLMModelConfig config, CacheManager cacheManager, MeterRegistry meterRegistry) {
+        LLMModelConfig.ResponseCacheConfig cacheConfig = config.getResponseCache();
+        this.enabled = cacheConfig.isEnabled();
+        this.maxEntryBytes = cacheConfig.getMaxEntryBytes();
+        this.cacheManager = cacheManager;
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(cacheConfig.getLocalMaxBytes())
+                .weigher((String key, String value) -> utf8Length(value))
+                .expireAfterWrite(cacheConfig.getTtl())
+                .build();
+
+        this.l1Hits = Counter.builder("pullwise.llm.cache.hits")
+                .description("LLM responses served from cache")
+                .tag("level", "l1")
+                .register(meterRegistry);
+        this.l2Hits = Counter.builder("pullwise.llm.cache.hits")
+                .description("LLM responses served from cache")
+                .tag("level", "l2")
+                .register(meterRegistry);
+        this.misses = Counter.builder("pullwise.llm.cache.misses")
+                .description("LLM requests not found in cache")
+                .register(meterRegistry);
+        this.bytesServed = Counter.builder("pullwise.llm.cache.bytes_served")
+                .description("Response bytes served from cache instead of the provider")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("pullwise.llm.cache.l1_bytes", local,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Bytes held by the local LLM response cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Chave determinística da requisição.
+     */
+    public static String buildKey(String modelId, ReviewTaskType task, String systemPrompt, String userPrompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[]{modelId, task.name(), systemPrompt, userPrompt}) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Busca a resposta no L1 e depois no L2 (promovendo para o L1).
+     */
+    public Optional<String> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        String content = local.getIfPresent(key);
+        if (content != null) {
+            l1Hits.increment();
+            bytesServed.increment(utf8Length(content));
+            return Optional.of(content);
+        }
+
+        content = getRemote(key);
+        if (content != null) {
+            local.put(key, content);
+            l2Hits.increment();
+            bytesServed.increment(utf8Length(content));
+            return Optional.of(content);
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Grava a resposta nos dois níveis, se couber no limite por entrada.
+     */
+    public void put(String key, String content) {
+        if (!enabled || content == null || content.isBlank() || utf8Length(content) > maxEntryBytes) {
+            return;
+        }
+
+        local.put(key, content);
+        org.springframework.cache.Cache remote = remoteCache();
+        if (remote != null) {
+            try {
+                remote.put(key, content);
+            } catch (RuntimeException e) {
+                log.debug("LLM response cache L2 put failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private String getRemote(String key) {
+        org.springframework.cache.Cache remote = remoteCache();
+        if (remote == null) {
+            return null;
+        }
+        try {
+            return remote.get(key, String.class);
+        } catch (RuntimeException e) {
+            log.debug("LLM response cache L2 lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private org.springframework.cache.Cache remoteCache() {
+        return cacheManager == null ? null : cacheManager.getCache(CACHE_NAME);
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pullwise.api.application.service.llm.client.OllamaClient;
 import com.pullwise.api.application.service.llm.client.OpenRouterClient;
 import com.pullwise.api.application.service.llm.model.LLMModelConfig;
+import com.pullwise.api.application.service.review.CancellationToken;
 import com.pullwise.api.domain.model.LLMRoutingDecision;
 import com.pullwise.api.domain.model.Review;
 import com.pullwise.api.domain.repository.LLMRoutingDecisionRepository;
@@ -19,6 +20,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Router inteligente que seleciona o modelo LLM ideal para cada tipo de tarefa.
@@ -35,6 +38,12 @@ import java.util.Optional;
  * - Análise de latência
  * - Decisões de fallback em caso de erro
  * - Analytics de uso por modelo
+ * - Cache de respostas por conteúdo ({@link LlmResponseCache}) para chamadas
+ *   com prompts de sistema/usuário: prompts idênticos não voltam ao provider
+ * - Cancelamento: respeita o {@link CancellationToken} da thread corrente,
+ *   abortando a chamada HTTP em andamento e sem tentar fallback
+ * - Streaming ({@link #executeStreaming}): repassa o conteúdo conforme o
+ *   provider gera, para quem precisa reagir antes da resposta completa
  */
 @Slf4j
 @Service
@@ -44,6 +53,8 @@ public class MultiModelLLMRouter {
     private final LLMModelConfig config;
     private final OpenRouterClient openRouterClient;
     private final OllamaClient ollamaClient;
+    private final LlmConcurrencyLimiter concurrencyLimiter;
+    private final LlmResponseCache responseCache;
     private final LLMRoutingDecisionRepository decisionRepository;
     private final ObjectMapper objectMapper;
 
@@ -63,7 +74,28 @@ public class MultiModelLLMRouter {
      * Executa uma tarefa de LLM associando a um review específico.
      */
     public LLMResponse execute(ReviewTaskType task, String systemPrompt, String userPrompt, Review review) {
+        return execute(task, systemPrompt, userPrompt, review, null);
+    }
+
+    /**
+     * Executa uma tarefa de LLM em modo streaming: cada trecho gerado é
+     * entregue a {@code onDelta} assim que chega do provider. O retorno é a
+     * resposta completa, igual à de {@link #execute(ReviewTaskType, String, String)}.
+     *
+     * <p>Respostas em cache e de fallback são entregues em um único trecho. Se
+     * o stream falhar depois de já ter entregue conteúdo, não há fallback: a
+     * exceção é propagada.
+     */
+    public LLMResponse executeStreaming(ReviewTaskType task, String systemPrompt, String userPrompt,
+                                        Consumer<String> onDelta) {
+        return execute(task, systemPrompt, userPrompt, null, onDelta);
+    }
+
+    private LLMResponse execute(ReviewTaskType task, String systemPrompt, String userPrompt, Review review,
+                                Consumer<String> onDelta) {
         long startTime = System.currentTimeMillis();
+        CancellationToken token = CancellationToken.current();
+        token.throwIfCancelled();
 
         // Seleciona o modelo apropriado
         ModelSelection selection = selectModel(task);
@@ -71,16 +103,41 @@ public class MultiModelLLMRouter {
         log.debug("Selected model {} for task {} (strategy: {})",
                 selection.modelId(), task, config.getRouter().getStrategy());
 
+        // Prompt idêntico já respondido por este modelo: sem custo nem registro de decisão
+        String cacheKey = LlmResponseCache.buildKey(selection.modelId(), task, systemPrompt, userPrompt);
+        Optional<String> cached = responseCache.get(cacheKey);
+        if (cached.isPresent()) {
+            log.debug("LLM response cache hit for task {} with model {}", task, selection.modelId());
+            if (onDelta != null) {
+                onDelta.accept(cached.get());
+            }
+            return new LLMResponse(
+                    cached.get(),
+                    selection.modelId(),
+                    selection.provider(),
+                    System.currentTimeMillis() - startTime,
+                    BigDecimal.ZERO
+            );
+        }
+
         LLMRoutingDecision decision = recordDecisionStart(task, selection, review);
+        AtomicBoolean streamed = new AtomicBoolean();
+        Consumer<String> tracked = onDelta == null ? null : delta -> {
+            streamed.set(true);
+            onDelta.accept(delta);
+        };
 
         try {
             // Executa a chamada ao modelo
-            String content = invokeModel(selection, systemPrompt, userPrompt);
+            String content = invokeModel(selection, systemPrompt, userPrompt, token, tracked);
 
             // Finaliza o registro
             long latency = System.currentTimeMillis() - startTime;
             recordDecisionSuccess(decision, latency, content, selection);
 
+            // Respostas de fallback não são cacheadas: a chave é do modelo primário
+            responseCache.put(cacheKey, content);
+
             return new LLMResponse(
                     content,
                     selection.modelId(),
@@ -90,14 +147,24 @@ public class MultiModelLLMRouter {
             );
 
         } catch (Exception e) {
+            if (token.isCancelled()) {
+                throw new CancellationToken.CancelledException(token.getReason());
+            }
             log.error("Error executing LLM task {} with model {}", task, selection.modelId(), e);
 
             // Tenta fallback se disponível
             if (selection.isFallback()) {
                 throw new RuntimeException("Failed to execute LLM task and fallback also failed", e);
             }
+            if (streamed.get()) {
+                throw new RuntimeException("LLM stream failed after partial output", e);
+            }
 
-            return executeFallback(task, systemPrompt, userPrompt, review, startTime, decision, e);
+            LLMResponse fallback = executeFallback(task, systemPrompt, userPrompt, review, startTime, decision, e);
+            if (onDelta != null && fallback.content() != null) {
+                onDelta.accept(fallback.content());
+            }
+            return fallback;
         }
     }
 
@@ -113,13 +180,15 @@ public class MultiModelLLMRouter {
      */
     public LLMResponse execute(ReviewTaskType task, List<Message> messages, Review review) {
         long startTime = System.currentTimeMillis();
+        CancellationToken token = CancellationToken.current();
+        token.throwIfCancelled();
 
         ModelSelection selection = selectModel(task);
 
         LLMRoutingDecision decision = recordDecisionStart(task, selection, review);
 
         try {
-            String content = invokeModelWithMessages(selection, messages);
+            String content = invokeModelWithMessages(selection, messages, token);
 
             long latency = System.currentTimeMillis() - startTime;
             recordDecisionSuccess(decision, latency, content, selection);
@@ -133,6 +202,9 @@ public class MultiModelLLMRouter {
             );
 
         } catch (Exception e) {
+            if (token.isCancelled()) {
+                throw new CancellationToken.CancelledException(token.getReason());
+            }
             log.error("Error executing LLM task {} with model {}", task, selection.modelId(), e);
 
             if (selection.isFallback()) {
@@ -143,6 +215,14 @@ public class MultiModelLLMRouter {
         }
     }
 
+    /**
+     * Orçamento de tokens de conteúdo por requisição para a tarefa, usado por
+     * quem empacota vários arquivos num único prompt.
+     */
+    public int getPromptTokenBudget(ReviewTaskType task) {
+        return config.getPromptTokenBudget(task);
+    }
+
     // ========== Private Methods ==========
 
     /**
@@ -212,9 +292,28 @@ public class MultiModelLLMRouter {
     }
 
     /**
-     * Invoca o modelo selecionado.
+     * Invoca o modelo selecionado, respeitando o limite de concorrência do provider.
+     */
+    private String invokeModel(ModelSelection selection, String systemPrompt, String userPrompt,
+                               CancellationToken token) {
+        return invokeModel(selection, systemPrompt, userPrompt, token, null);
+    }
+
+    private String invokeModel(ModelSelection selection, String systemPrompt, String userPrompt,
+                               CancellationToken token, Consumer<String> onDelta) {
+        return concurrencyLimiter.call(selection.provider(), () -> {
+            // Pode ter sido cancelado enquanto esperava permissão do provider
+            token.throwIfCancelled();
+            return invokeProvider(selection, systemPrompt, userPrompt, token, onDelta);
+        });
+    }
+
+    /**
+     * Faz a chamada HTTP ao provider do modelo selecionado; em streaming quando
+     * há consumidor de deltas.
      */
-    private String invokeModel(ModelSelection selection, String systemPrompt, String userPrompt) {
+    private String invokeProvider(ModelSelection selection, String systemPrompt, String userPrompt,
+                                  CancellationToken token, Consumer<String> onDelta) {
         return switch (selection.provider()) {
             case OLLAMA -> {
                 OllamaClient.ChatRequest request = OllamaClient.ChatRequest.of(
@@ -222,13 +321,17 @@ public class MultiModelLLMRouter {
                         systemPrompt,
                         userPrompt
                 );
-                OllamaClient.ChatResponse response = ollamaClient.chat(request);
+                OllamaClient.ChatResponse response = onDelta != null
+                        ? ollamaClient.chatStream(request, onDelta, token)
+                        : ollamaClient.chat(request, token);
                 yield response.getContent();
             }
             case OPENROUTER, ANTHROPIC, OPENAI -> {
                 OpenRouterClient.ChatCompletionRequest request =
                         OpenRouterClient.ChatCompletionRequest.of(selection.modelId(), systemPrompt, userPrompt);
-                OpenRouterClient.ChatCompletionResponse response = openRouterClient.chatCompletion(request);
+                OpenRouterClient.ChatCompletionResponse response = onDelta != null
+                        ? openRouterClient.chatCompletionStream(request, onDelta, token)
+                        : openRouterClient.chatCompletion(request, token);
                 yield response.getContent();
             }
             default -> throw new IllegalArgumentException("Unsupported provider: " + selection.provider());
@@ -238,7 +341,8 @@ public class MultiModelLLMRouter {
     /**
      * Invoca o modelo com lista de mensagens.
      */
-    private String invokeModelWithMessages(ModelSelection selection, List<Message> messages) {
+    private String invokeModelWithMessages(ModelSelection selection, List<Message> messages,
+                                           CancellationToken token) {
         // Simplificado - converte mensagens para prompts
         if (messages.isEmpty()) {
             return "";
@@ -257,7 +361,8 @@ public class MultiModelLLMRouter {
 
         return invokeModel(selection,
                 systemPrompt.toString().trim(),
-                userPrompt.toString().trim());
+                userPrompt.toString().trim(),
+                token);
     }
 
     /**
@@ -315,7 +420,8 @@ public class MultiModelLLMRouter {
                     );
 
                     try {
-                        String content = invokeModel(fallbackSelection, systemPrompt, userPrompt);
+                        String content = invokeModel(fallbackSelection, systemPrompt, userPrompt,
+                                CancellationToken.current());
                         long latency = System.currentTimeMillis() - startTime;
 
                         // Atualiza a decisão original para registrar o fallback
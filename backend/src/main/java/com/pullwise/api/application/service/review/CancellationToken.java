@@ -0,0 +1,137 @@
+package com.pullwise.api.application.service.review;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Token de cancelamento cooperativo de um review.
+ *
+ * <p>O token fica associado à thread que executa o review ({@link #bind()}) e
+ * é repassado explicitamente nos pontos de fan-out (passadas, lotes do LLM).
+ * Código de longa duração consulta {@link #throwIfCancelled()} entre etapas;
+ * chamadas bloqueantes (HTTP ao LLM) registram um callback em
+ * {@link #onCancel(Runnable)} para serem abortadas assim que o review é
+ * cancelado.
+ */
+public final class CancellationToken {
+
+    /** Token que nunca é cancelado (execuções fora de um review). */
+    public static final CancellationToken NONE = new CancellationToken();
+
+    private static final ThreadLocal<CancellationToken> CURRENT = new ThreadLocal<>();
+
+    private final List<Runnable> callbacks = new CopyOnWriteArrayList<>();
+    private volatile String reason;
+
+    /**
+     * Token associado à thread corrente, ou {@link #NONE}.
+     */
+    public static CancellationToken current() {
+        CancellationToken token = CURRENT.get();
+        return token != null ? token : NONE;
+    }
+
+    /**
+     * Associa o token à thread corrente até o {@link Scope} ser fechado,
+     * restaurando o anterior.
+     */
+    public Scope bind() {
+        CancellationToken previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Cancela o token e dispara os callbacks registrados. Chamadas repetidas
+     * são ignoradas.
+     *
+     * @return true se este foi o primeiro cancelamento
+     */
+    public boolean cancel(String reason) {
+        if (this == NONE) {
+            return false;
+        }
+        synchronized (this) {
+            if (this.reason != null) {
+                return false;
+            }
+            this.reason = reason != null ? reason : "cancelled";
+        }
+        for (Runnable callback : callbacks) {
+            try {
+                callback.run();
+            } catch (RuntimeException ignored) {
+                // Um callback com erro não impede os demais de abortar
+            }
+        }
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return reason != null;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * @throws CancelledException se o token foi cancelado
+     */
+    public void throwIfCancelled() {
+        if (reason != null) {
+            throw new CancelledException(reason);
+        }
+    }
+
+    /**
+     * Registra um callback executado no cancelamento (imediatamente, se o
+     * token já estiver cancelado). O callback roda na thread que cancela.
+     *
+     * @return registro a ser fechado quando a operação terminar
+     */
+    public Registration onCancel(Runnable callback) {
+        if (this == NONE) {
+            return () -> { };
+        }
+        callbacks.add(callback);
+        if (isCancelled() && callbacks.remove(callback)) {
+            callback.run();
+        }
+        return () -> callbacks.remove(callback);
+    }
+
+    /**
+     * Escopo de {@link #bind()}; fechar restaura o token anterior da thread.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Registro de {@link #onCancel(Runnable)}; fechar remove o callback.
+     */
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Lançada quando o review em execução foi cancelado (ex.: substituído por
+     * um push mais novo no mesmo PR).
+     */
+    public static class CancelledException extends RuntimeException {
+        public CancelledException(String reason) {
+            super("Review cancelled: " + reason);
+        }
+    }
+}
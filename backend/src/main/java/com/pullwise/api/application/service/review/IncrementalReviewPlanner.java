@@ -0,0 +1,309 @@
+package com.pullwise.api.application.service.review;
+
+import com.pullwise.api.application.service.config.ConfigurationResolver;
+import com.pullwise.api.application.service.integration.GitHubService;
+import com.pullwise.api.domain.constants.ConfigKeys;
+import com.pullwise.api.domain.enums.Platform;
+import com.pullwise.api.domain.enums.ReviewStatus;
+import com.pullwise.api.domain.model.Issue;
+import com.pullwise.api.domain.model.PullRequest;
+import com.pullwise.api.domain.model.Review;
+import com.pullwise.api.domain.repository.IssueRepository;
+import com.pullwise.api.domain.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Planeja o re-review incremental de um PR.
+ *
+ * <p>Quando o PR já tem um review concluído em {@code lastReviewedSha}, busca
+ * apenas o compare entre esse commit e o head atual: os arquivos tocados são
+ * re-analisados e os achados do review anterior nos demais arquivos são
+ * reaproveitados. Achados em arquivos tocados também são mantidos quando as
+ * linhas deles não mudaram, com a posição remapeada pelo diff do compare.
+ *
+ * <p>Qualquer condição fora do caminho feliz (plataforma sem compare, histórico
+ * reescrito, sem review anterior, compare possivelmente truncado) cai no review
+ * completo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IncrementalReviewPlanner {
+
+    private static final Pattern HUNK_HEADER = Pattern.compile("^@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@");
+
+    /** Maior intervalo de linhas de uma issue que ainda vale remapear. */
+    private static final int MAX_REMAP_SPAN = 500;
+
+    private final ReviewRepository reviewRepository;
+    private final IssueRepository issueRepository;
+    private final GitHubService gitHubService;
+    private final ConfigurationResolver configurationResolver;
+
+    /**
+     * Decide o que analisar neste review.
+     *
+     * @param prDiffs diffs completos do PR (base do PR até o head)
+     * @return plano incremental, ou {@link IncrementalPlan#full} com a mesma lista
+     */
+    public IncrementalPlan plan(PullRequest pr, Review review, List<GitHubService.FileDiff> prDiffs) {
+        String baseSha = pr.getLastReviewedSha();
+        String headSha = review.getHeadSha();
+
+        if (pr.getPlatform() != Platform.GITHUB || baseSha == null || headSha == null
+                || baseSha.equals(headSha) || !isEnabled(pr)) {
+            return IncrementalPlan.full(prDiffs);
+        }
+
+        Optional<Review> previous = reviewRepository.findFirstByPullRequestIdAndHeadShaAndStatusOrderByIdDesc(
+                pr.getId(), baseSha, ReviewStatus.COMPLETED);
+        if (previous.isEmpty()) {
+            return IncrementalPlan.full(prDiffs);
+        }
+
+        List<GitHubService.FileDiff> compare = gitHubService.fetchCompareDiffs(pr.getProject(), baseSha, headSha);
+        if (compare == null) {
+            return IncrementalPlan.full(prDiffs);
+        }
+        if (compare.size() >= GitHubService.COMPARE_FILE_LIMIT) {
+            // A lista pode estar truncada: arquivos alterados pareceriam intocados
+            log.info("Compare {}...{} for PR #{} lists {} files; running a full review",
+                    shortSha(baseSha), shortSha(headSha), pr.getPrNumber(), compare.size());
+            return IncrementalPlan.full(prDiffs);
+        }
+
+        Map<String, GitHubService.FileDiff> touched = new HashMap<>();
+        for (GitHubService.FileDiff diff : compare) {
+            touched.put(diff.filename(), diff);
+        }
+        Set<String> prFiles = new HashSet<>();
+        for (GitHubService.FileDiff diff : prDiffs) {
+            prFiles.add(diff.filename());
+        }
+
+        List<GitHubService.FileDiff> toAnalyze = prDiffs.stream()
+                .filter(d -> touched.containsKey(d.filename()))
+                .toList();
+
+        List<Issue> carried = new ArrayList<>();
+        int dropped = 0;
+        for (Issue issue : issueRepository.findByReviewId(previous.get().getId())) {
+            if (Boolean.TRUE.equals(issue.getIsFalsePositive())) {
+                continue;
+            }
+            String file = issue.getFilePath();
+            if (file == null || !prFiles.contains(file)) {
+                dropped++;
+                continue;
+            }
+            GitHubService.FileDiff change = touched.get(file);
+            if (change == null) {
+                carried.add(carryOver(issue, review, issue.getLineStart(), issue.getLineEnd()));
+                continue;
+            }
+            Issue remapped = remap(issue, review, change.patch());
+            if (remapped != null) {
+                carried.add(remapped);
+            } else {
+                dropped++;
+            }
+        }
+
+        log.info("Incremental review for PR #{} ({}...{}): {}/{} files to analyse, {} issues carried, {} dropped",
+                pr.getPrNumber(), shortSha(baseSha), shortSha(headSha),
+                toAnalyze.size(), prDiffs.size(), carried.size(), dropped);
+
+        return new IncrementalPlan(baseSha, toAnalyze, carried);
+    }
+
+    /**
+     * Junta as issues novas com as reaproveitadas, descartando as reaproveitadas
+     * que a nova análise encontrou de novo (mesmo arquivo e título, ou mesma
+     * linha e regra).
+     */
+    public List<Issue> merge(List<Issue> newIssues, IncrementalPlan plan) {
+        if (!plan.isIncremental() || plan.carriedIssues().isEmpty()) {
+            return newIssues;
+        }
+
+        Set<String> seen = new HashSet<>();
+        for (Issue issue : newIssues) {
+            seen.add(titleKey(issue));
+            if (issue.getRuleId() != null) {
+                seen.add(ruleKey(issue));
+            }
+        }
+
+        List<Issue> merged = new ArrayList<>(newIssues);
+        for (Issue issue : plan.carriedIssues()) {
+            boolean duplicate = seen.contains(titleKey(issue))
+                    || (issue.getRuleId() != null && seen.contains(ruleKey(issue)));
+            if (!duplicate) {
+                merged.add(issue);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Converte uma linha do arquivo no commit base para a linha correspondente
+     * no head, segundo o patch unificado entre os dois.
+     *
+     * @return nova linha, ou null se a linha foi removida ou alterada
+     */
+    static Integer remapLine(String patch, int oldLine) {
+        if (patch == null) {
+            return null;
+        }
+
+        String[] lines = patch.split("\n", -1);
+        int offset = 0;
+        int i = 0;
+        while (i < lines.length) {
+            Matcher m = HUNK_HEADER.matcher(lines[i]);
+            if (!m.find()) {
+                i++;
+                continue;
+            }
+            int oldStart = Integer.parseInt(m.group(1));
+            int oldCount = m.group(2) != null ? Integer.parseInt(m.group(2)) : 1;
+            int newStart = Integer.parseInt(m.group(3));
+            int newCount = m.group(4) != null ? Integer.parseInt(m.group(4)) : 1;
+            i++;
+
+            // Hunk só de inserção ("-a,0") entra depois da linha a
+            int firstOld = oldCount == 0 ? oldStart + 1 : oldStart;
+            if (oldLine < firstOld) {
+                return oldLine + offset;
+            }
+            if (oldLine >= firstOld + oldCount) {
+                int firstNew = newCount == 0 ? newStart + 1 : newStart;
+                offset = (firstNew + newCount) - (firstOld + oldCount);
+                continue;
+            }
+
+            int oldCursor = oldStart;
+            int newCursor = newStart;
+            for (; i < lines.length && !lines[i].startsWith("@@"); i++) {
+                String line = lines[i];
+                if (line.startsWith("-")) {
+                    if (oldCursor == oldLine) {
+                        return null;
+                    }
+                    oldCursor++;
+                } else if (line.startsWith("+")) {
+                    newCursor++;
+                } else if (!line.startsWith("\\")) {
+                    if (oldCursor == oldLine) {
+                        return newCursor;
+                    }
+                    oldCursor++;
+                    newCursor++;
+                }
+            }
+            return null;
+        }
+        return oldLine + offset;
+    }
+
+    // ========== Private Methods ==========
+
+    private Issue remap(Issue issue, Review review, String patch) {
+        Integer start = issue.getLineStart();
+        if (start == null) {
+            // Achado no arquivo como um todo: a re-análise decide se continua valendo
+            return patch != null ? carryOver(issue, review, null, null) : null;
+        }
+        int end = issue.getLineEnd() != null ? Math.max(issue.getLineEnd(), start) : start;
+        if (end - start > MAX_REMAP_SPAN) {
+            return null;
+        }
+
+        Integer newStart = remapLine(patch, start);
+        if (newStart == null) {
+            return null;
+        }
+        for (int line = start + 1; line <= end; line++) {
+            Integer mapped = remapLine(patch, line);
+            if (mapped == null || mapped != newStart + (line - start)) {
+                return null;
+            }
+        }
+        return carryOver(issue, review, newStart, issue.getLineEnd() != null ? newStart + (end - start) : null);
+    }
+
+    private Issue carryOver(Issue issue, Review review, Integer lineStart, Integer lineEnd) {
+        return Issue.builder()
+                .review(review)
+                .severity(issue.getSeverity())
+                .type(issue.getType())
+                .source(issue.getSource())
+                .title(issue.getTitle())
+                .description(issue.getDescription())
+                .filePath(issue.getFilePath())
+                .lineStart(lineStart)
+                .lineEnd(lineEnd)
+                .ruleId(issue.getRuleId())
+                .suggestion(issue.getSuggestion())
+                .codeSnippet(issue.getCodeSnippet())
+                .fixedCode(issue.getFixedCode())
+                .commentId(issue.getCommentId())
+                .acknowledged(issue.getAcknowledged())
+                .carriedOver(true)
+                .build();
+    }
+
+    private boolean isEnabled(PullRequest pr) {
+        if (pr.getProject() == null) {
+            return false;
+        }
+        return Boolean.parseBoolean(configurationResolver.getConfig(
+                pr.getProject().getId(), ConfigKeys.REVIEW_INCREMENTAL_ENABLED));
+    }
+
+    private static String titleKey(Issue issue) {
+        String title = issue.getTitle() != null ? issue.getTitle().trim().toLowerCase() : "";
+        return issue.getFilePath() + "|" + title;
+    }
+
+    private static String ruleKey(Issue issue) {
+        return issue.getFilePath() + "|" + issue.getLineStart() + "|" + issue.getRuleId();
+    }
+
+    private static String shortSha(String sha) {
+        return sha.length() > 7 ? sha.substring(0, 7) : sha;
+    }
+
+    /**
+     * Resultado do planejamento.
+     *
+     * @param baseSha       head do review anterior, ou null se o review é completo
+     * @param diffsToAnalyze diffs (do PR) dos arquivos a re-analisar
+     * @param carriedIssues issues reaproveitadas do review anterior
+     */
+    public record IncrementalPlan(
+            String baseSha,
+            List<GitHubService.FileDiff> diffsToAnalyze,
+            List<Issue> carriedIssues
+    ) {
+        public static IncrementalPlan full(List<GitHubService.FileDiff> diffs) {
+            return new IncrementalPlan(null, diffs, List.of());
+        }
+
+        public boolean isIncremental() {
+            return baseSha != null;
+        }
+    }
+}
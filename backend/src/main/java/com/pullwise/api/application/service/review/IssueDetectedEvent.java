@@ -0,0 +1,14 @@
+package com.pullwise.api.application.service.review;
+
+import com.pullwise.api.domain.model.Issue;
+
+/**
+ * Evento publicado quando um achado fica disponível antes do fim do review
+ * (ex.: issue completo recebido no stream do LLM). O issue ainda não foi
+ * persistido, deduplicado nem filtrado: serve só para feedback antecipado
+ * (WebSocket, SSE).
+ *
+ * @param reviewId review em andamento
+ * @param issue    achado ainda não persistido ({@code id} nulo)
+ */
+public record IssueDetectedEvent(Long reviewId, Issue issue) {}
@@ -64,8 +64,10 @@ public class LLMReviewService {
                 .map(this::compressDiff)
                 .toList();
 
-        // Processar em chunks
+        // Processar em chunks (interrompe se o review for substituído)
+        CancellationToken token = CancellationToken.current();
         for (int i = 0; i < compressed.size(); i += chunkSize) {
+            token.throwIfCancelled();
             int end = Math.min(i + chunkSize, compressed.size());
             List<GitHubService.FileDiff> chunk = compressed.subList(i, end);
 
@@ -0,0 +1,60 @@
+package com.pullwise.api.application.service.review;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Relay dos eventos de review entre nós via Redis pub/sub.
+ *
+ * <p>Cada {@link ReviewEvent} publicado neste nó é enviado ao canal
+ * {@value #CHANNEL}; mensagens recebidas de outros nós voltam ao
+ * {@link ReviewEventBus} para entrega local. Assim um cliente SSE/WebSocket
+ * conectado a qualquer nó acompanha reviews processados em outro.
+ *
+ * <p>Falhas do Redis só são logadas: os assinantes locais continuam
+ * recebendo os eventos. Inativo em profile {@code test}, como o
+ * {@code RedisConfig}.
+ */
+@Slf4j
+@Component
+@Profile("!test")
+@RequiredArgsConstructor
+public class RedisReviewEventRelay implements MessageListener {
+
+    public static final String CHANNEL = "pullwise:review-events";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ReviewEventBus eventBus;
+
+    /**
+     * Repassa aos demais nós os eventos originados aqui.
+     */
+    @EventListener
+    public void onReviewEvent(ReviewEvent event) {
+        if (!eventBus.nodeId().equals(event.origin())) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            log.warn("Failed to relay {} for review {}: {}", event.type(), event.reviewId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            eventBus.deliverRemote(objectMapper.readValue(message.getBody(), ReviewEvent.class));
+        } catch (Exception e) {
+            log.warn("Discarding malformed review event from {}: {}", CHANNEL, e.getMessage());
+        }
+    }
+}
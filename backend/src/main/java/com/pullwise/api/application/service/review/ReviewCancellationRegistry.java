@@ -0,0 +1,85 @@
+package com.pullwise.api.application.service.review;
+
+import com.pullwise.api.domain.enums.ReviewStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens de cancelamento dos reviews em execução neste nó.
+ *
+ * <p>O {@link ReviewOrchestrator} registra o token antes de ler o status do
+ * review e o libera ao terminar; quem substitui um review (novo push no PR)
+ * chama {@link #cancel(Long, String)}. Reviews ainda na fila não têm token:
+ * eles percebem o status terminal ao começar.
+ *
+ * <p>O mapa de tokens é local à JVM: {@link #cancel(Long, String)} só alcança
+ * reviews rodando neste nó. Para os demais, o cancelamento chega pelo status
+ * publicado no {@link ReviewEventBus} (repassado entre nós pelo
+ * {@link RedisReviewEventRelay}, após o commit): um evento
+ * {@link ReviewStatus#SUPERSEDED} ou {@link ReviewStatus#CANCELLED} cancela o
+ * token local do review, se houver. Sem o relay (Redis fora), o nó que roda o
+ * review só nota a substituição ao reler o status no banco antes de postar.
+ */
+@Slf4j
+@Component
+public class ReviewCancellationRegistry {
+
+    private final Map<Long, CancellationToken> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * Cria o token do review em execução.
+     */
+    public CancellationToken register(Long reviewId) {
+        CancellationToken token = new CancellationToken();
+        tokens.put(reviewId, token);
+        return token;
+    }
+
+    /**
+     * Cancela o review, se estiver em execução neste nó.
+     *
+     * @return true se havia um review em execução para cancelar
+     */
+    public boolean cancel(Long reviewId, String reason) {
+        CancellationToken token = tokens.get(reviewId);
+        if (token == null) {
+            return false;
+        }
+        boolean cancelled = token.cancel(reason);
+        if (cancelled) {
+            log.info("Cancelling in-flight review {}: {}", reviewId, reason);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Cancela o review local quando outro nó (ou esta transação, após o
+     * commit) publica que ele foi substituído ou cancelado.
+     */
+    @EventListener
+    public void onReviewEvent(ReviewEvent event) {
+        if (!event.isTerminal() || event.data() == null) {
+            return;
+        }
+        Object status = event.data().get("status");
+        if (ReviewStatus.SUPERSEDED.name().equals(status) || ReviewStatus.CANCELLED.name().equals(status)) {
+            Object message = event.data().get("message");
+            cancel(event.reviewId(), message != null ? message.toString() : "Review " + status);
+        }
+    }
+
+    /**
+     * Remove o token do review (chamado ao fim do processamento).
+     */
+    public void release(Long reviewId, CancellationToken token) {
+        tokens.remove(reviewId, token);
+    }
+
+    public int inFlight() {
+        return tokens.size();
+    }
+}
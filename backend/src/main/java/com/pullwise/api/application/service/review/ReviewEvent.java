@@ -0,0 +1,31 @@
+package com.pullwise.api.application.service.review;
+
+import java.util.Map;
+
+/**
+ * Evento de andamento de um review, distribuído pelo {@link ReviewEventBus}
+ * aos assinantes locais (SSE, WebSocket) e, via relay, aos demais nós.
+ *
+ * <p>O payload é um mapa simples para atravessar o Redis como JSON sem
+ * depender das entidades JPA.
+ *
+ * @param reviewId review a que o evento se refere
+ * @param type     nome do evento, igual ao nome do evento SSE ({@code review.progress}, ...)
+ * @param data     payload enviado aos clientes
+ * @param origin   nó que publicou o evento
+ */
+public record ReviewEvent(Long reviewId, String type, Map<String, Object> data, String origin) {
+
+    public static final String STATUS = "review.status";
+    public static final String PROGRESS = "review.progress";
+    public static final String ISSUE_DETECTED = "issue.detected";
+    public static final String COMPLETED = "review.completed";
+    public static final String FAILED = "review.failed";
+
+    /**
+     * Último evento do review: os streams abertos são encerrados depois dele.
+     */
+    public boolean isTerminal() {
+        return COMPLETED.equals(type) || FAILED.equals(type);
+    }
+}
@@ -0,0 +1,151 @@
+package com.pullwise.api.application.service.review;
+
+import com.pullwise.api.domain.enums.ReviewStatus;
+import com.pullwise.api.domain.model.Issue;
+import com.pullwise.api.domain.model.Review;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Barramento de eventos de progresso de review.
+ *
+ * <p>As etapas do pipeline publicam aqui mudanças de status, progresso e
+ * achados; o barramento entrega cada {@link ReviewEvent} como evento Spring,
+ * consumido pelo {@code ReviewStreamController} (SSE) e pelo
+ * {@code WebSocketService}. Os eventos publicados neste nó levam o
+ * {@link #nodeId()} como origem, o que permite ao relay entre nós
+ * ({@link RedisReviewEventRelay}) repassar só os locais e descartar o eco.
+ *
+ * <p>Eventos terminais publicados dentro de uma transação só são entregues
+ * após o commit, para que o cliente que reconsultar o review já veja o
+ * status final.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReviewEventBus {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Identificador deste nó (origem dos eventos publicados aqui).
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Publica o status atual do review. Status terminais viram
+     * {@code review.completed} / {@code review.failed}.
+     */
+    public void statusChanged(Review review) {
+        publish(review.getId(), typeOf(review.getStatus()), statusData(review, null, null));
+    }
+
+    /**
+     * Publica o avanço de uma etapa do pipeline.
+     *
+     * @param stage   etapa em execução (ex.: {@code sast}, {@code llm})
+     * @param percent progresso estimado, de 0 a 100
+     */
+    public void progress(Review review, String stage, int percent) {
+        publish(review.getId(), ReviewEvent.PROGRESS, statusData(review, stage, percent));
+    }
+
+    /**
+     * Publica um achado ainda não persistido.
+     */
+    public void issueDetected(Long reviewId, Issue issue) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("reviewId", reviewId);
+        data.put("issueId", issue.getId());
+        data.put("severity", issue.getSeverity() != null ? issue.getSeverity().name() : null);
+        data.put("issueType", issue.getType() != null ? issue.getType().name() : null);
+        data.put("title", issue.getTitle());
+        data.put("filePath", issue.getFilePath());
+        data.put("lineStart", issue.getLineStart());
+        publish(reviewId, ReviewEvent.ISSUE_DETECTED, data);
+    }
+
+    /**
+     * Converte os achados antecipados das passadas em eventos do barramento.
+     */
+    @EventListener
+    public void onIssueDetected(IssueDetectedEvent event) {
+        issueDetected(event.reviewId(), event.issue());
+    }
+
+    /**
+     * Entrega localmente um evento recebido de outro nó. Ecos dos eventos
+     * publicados por este nó são ignorados.
+     */
+    public void deliverRemote(ReviewEvent event) {
+        if (event == null || event.reviewId() == null || nodeId.equals(event.origin())) {
+            return;
+        }
+        eventPublisher.publishEvent(event);
+    }
+
+    static String typeOf(ReviewStatus status) {
+        if (status == ReviewStatus.COMPLETED) {
+            return ReviewEvent.COMPLETED;
+        }
+        return status.isTerminal() ? ReviewEvent.FAILED : ReviewEvent.STATUS;
+    }
+
+    // ========== Private Methods ==========
+
+    private void publish(Long reviewId, String type, Map<String, Object> data) {
+        if (reviewId == null) {
+            return;
+        }
+        ReviewEvent event = new ReviewEvent(reviewId, type, data, nodeId);
+
+        if (event.isTerminal() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+            return;
+        }
+        dispatch(event);
+    }
+
+    private void dispatch(ReviewEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            // Falha de um assinante não pode interromper o review
+            log.warn("Failed to dispatch {} for review {}: {}", event.type(), event.reviewId(), e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> statusData(Review review, String stage, Integer percent) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("reviewId", review.getId());
+        data.put("status", review.getStatus() != null ? review.getStatus().name() : null);
+        if (stage != null) {
+            data.put("stage", stage);
+            data.put("progress", percent);
+        }
+        data.put("filesAnalyzed", review.getFilesAnalyzed() != null ? review.getFilesAnalyzed() : 0);
+        data.put("durationMs", review.getDurationMs() != null ? review.getDurationMs() : 0);
+        if (review.getErrorMessage() != null && review.getStatus() != null && review.getStatus().isTerminal()) {
+            data.put("message", review.getErrorMessage());
+        }
+        return data;
+    }
+}
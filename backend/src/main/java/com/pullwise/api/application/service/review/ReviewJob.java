@@ -0,0 +1,20 @@
+package com.pullwise.api.application.service.review;
+
+/**
+ * Mensagem da fila de reviews ({@code pullwise.review.queue}).
+ *
+ * @param reviewId      review a processar
+ * @param pullRequestId PR do review (chave de idempotência junto com o head)
+ * @param headSha       head do PR no momento do enfileiramento
+ * @param lane          faixa de prioridade
+ * @param attempt       tentativa atual, a partir de 1
+ */
+public record ReviewJob(Long reviewId, Long pullRequestId, String headSha, ReviewLane lane, int attempt) {
+
+    /**
+     * Mesma mensagem para a próxima tentativa.
+     */
+    public ReviewJob nextAttempt() {
+        return new ReviewJob(reviewId, pullRequestId, headSha, lane, attempt + 1);
+    }
+}
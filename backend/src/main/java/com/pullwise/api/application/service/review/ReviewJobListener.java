@@ -0,0 +1,53 @@
+package com.pullwise.api.application.service.review;
+
+import com.pullwise.api.config.ArtemisConfig;
+import com.pullwise.api.domain.enums.ReviewStatus;
+import com.pullwise.api.domain.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jms.annotation.JmsListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Worker da fila de reviews. A concorrência por nó vem de
+ * {@code pullwise.review-queue.concurrency}; mensagens de maior prioridade
+ * ({@link ReviewLane}) são entregues primeiro.
+ *
+ * <p>A sessão é transacionada: se o nó cair no meio do review, o broker
+ * reentrega o job e o {@link ReviewJobQueue#claim} o aceita quando a reserva
+ * anterior estiver órfã.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "pullwise.review-queue.enabled", havingValue = "true", matchIfMissing = true)
+public class ReviewJobListener {
+
+    private final ReviewOrchestrator reviewOrchestrator;
+    private final ReviewJobQueue reviewJobQueue;
+    private final ReviewRepository reviewRepository;
+
+    @Value("${pullwise.review-queue.max-attempts:3}")
+    private int maxAttempts;
+
+    @JmsListener(destination = ArtemisConfig.REVIEW_QUEUE, containerFactory = "reviewListenerFactory")
+    public void onReviewJob(ReviewJob job) {
+        if (!reviewJobQueue.claim(job)) {
+            return;
+        }
+
+        boolean lastAttempt = job.attempt() >= maxAttempts;
+        ReviewStatus status = reviewOrchestrator.runReview(job.reviewId(), lastAttempt);
+
+        if (status == ReviewStatus.PENDING) {
+            reviewJobQueue.retry(job);
+        } else if (status == ReviewStatus.FAILED) {
+            String error = reviewRepository.findById(job.reviewId())
+                    .map(r -> r.getErrorMessage())
+                    .orElse(null);
+            reviewJobQueue.deadLetter(job, error);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.pullwise.api.application.service.review;
+
+import com.pullwise.api.config.ArtemisConfig;
+import com.pullwise.api.domain.enums.ReviewStatus;
+import com.pullwise.api.domain.model.PullRequest;
+import com.pullwise.api.domain.model.Review;
+import com.pullwise.api.domain.repository.ReviewRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Message;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Fila durável de reviews no Artemis ({@link ArtemisConfig#REVIEW_QUEUE}).
+ *
+ * <p>Os reviews são enfileirados com a prioridade JMS da sua
+ * {@link ReviewLane} e consumidos pelo {@link ReviewJobListener}, que pode
+ * rodar em nós dedicados. Falhas antes de o review alterar o PR voltam para a
+ * fila com backoff exponencial; esgotadas as tentativas, o job vai para a
+ * {@link ArtemisConfig#DLQ}.
+ *
+ * <p>Com {@code pullwise.review-queue.enabled=false}, ou se o broker estiver
+ * fora do ar, o review roda no executor local ({@code reviewExecutor}) como
+ * antes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewJobQueue {
+
+    /** Reviews em andamento há mais que isso são considerados órfãos (worker caiu). */
+    private static final Duration STALE_CLAIM = Duration.ofMinutes(30);
+
+    private final JmsTemplate jmsTemplate;
+    private final ReviewOrchestrator reviewOrchestrator;
+    private final ReviewRepository reviewRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${pullwise.review-queue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pullwise.review-queue.backoff:30s}")
+    private Duration backoff;
+
+    /**
+     * Enfileira o processamento de um review recém-criado.
+     *
+     * @param manual true se o review foi pedido explicitamente por um usuário
+     */
+    public void submit(Review review, boolean manual) {
+        PullRequest pr = review.getPullRequest();
+        ReviewLane lane = ReviewLane.of(pr, manual);
+        ReviewJob job = new ReviewJob(review.getId(), pr.getId(), review.getHeadSha(), lane, 1);
+
+        if (!enabled) {
+            reviewOrchestrator.startReview(review.getId());
+            return;
+        }
+        try {
+            send(job, Duration.ZERO);
+            count(lane, "enqueued");
+            log.debug("Enqueued review {} in lane {}", review.getId(), lane);
+        } catch (JmsException e) {
+            log.warn("Review queue unavailable, running review {} locally: {}", review.getId(), e.getMessage());
+            count(lane, "local_fallback");
+            reviewOrchestrator.startReview(review.getId());
+        }
+    }
+
+    /**
+     * Reserva o review para este worker. Torna o consumo idempotente:
+     * reentregas de um job já reservado ou concluído são descartadas, e um
+     * job automático cujo PR+head já foi revisado não roda de novo.
+     *
+     * @return true se o job deve ser processado
+     */
+    @Transactional
+    public boolean claim(ReviewJob job) {
+        if (job.lane() != ReviewLane.MANUAL && job.headSha() != null) {
+            Optional<Review> done = reviewRepository.findFirstByPullRequestIdAndHeadShaAndStatusOrderByIdDesc(
+                    job.pullRequestId(), job.headSha(), ReviewStatus.COMPLETED);
+            if (done.isPresent() && !done.get().getId().equals(job.reviewId())) {
+                reviewRepository.findById(job.reviewId())
+                        .filter(r -> !r.getStatus().isTerminal())
+                        .ifPresent(r -> {
+                            r.supersede("Head already reviewed by review " + done.get().getId());
+                            reviewRepository.save(r);
+                        });
+                count(job.lane(), "duplicate");
+                return false;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = reviewRepository.claimForProcessing(job.reviewId(), ReviewStatus.PENDING,
+                ReviewStatus.IN_PROGRESS, now, now.minus(STALE_CLAIM));
+        if (claimed == 0) {
+            log.debug("Skipping job for review {}: already claimed or finished", job.reviewId());
+            count(job.lane(), "duplicate");
+        }
+        return claimed > 0;
+    }
+
+    /**
+     * Devolve o job à fila para a próxima tentativa, com backoff exponencial
+     * ({@code backoff * 2^(tentativa-1)}).
+     */
+    public void retry(ReviewJob job) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(job.attempt() - 1, 10));
+        try {
+            send(job.nextAttempt(), delay);
+            count(job.lane(), "retried");
+            log.info("Review {} will be retried in {}s (attempt {})",
+                    job.reviewId(), delay.toSeconds(), job.attempt() + 1);
+        } catch (JmsException e) {
+            log.error("Failed to requeue review {}", job.reviewId(), e);
+        }
+    }
+
+    /**
+     * Envia o job esgotado para a DLQ, com o erro da última tentativa.
+     */
+    public void deadLetter(ReviewJob job, String error) {
+        try {
+            jmsTemplate.convertAndSend(ArtemisConfig.DLQ, job, message -> {
+                message.setStringProperty("error", error != null ? error : "unknown");
+                return message;
+            });
+            count(job.lane(), "dead_lettered");
+            log.warn("Review {} sent to DLQ (attempt {}): {}", job.reviewId(), job.attempt(), error);
+        } catch (JmsException e) {
+            log.error("Failed to dead-letter review {}", job.reviewId(), e);
+        }
+    }
+
+    // ========== Private Methods ==========
+
+    private void send(ReviewJob job, Duration delay) {
+        jmsTemplate.execute(ArtemisConfig.REVIEW_QUEUE, (session, producer) -> {
+            Message message = jmsTemplate.getMessageConverter().toMessage(job, session);
+            producer.setDeliveryDelay(delay.toMillis());
+            // Sem expiração: um review na fila nunca deve sumir em silêncio
+            producer.send(message, DeliveryMode.PERSISTENT, job.lane().getPriority(), 0);
+            return null;
+        });
+    }
+
+    private void count(ReviewLane lane, String event) {
+        meterRegistry.counter("pullwise.review.queue.jobs", "lane", lane.name(), "event", event).increment();
+    }
+}
@@ -0,0 +1,54 @@
+package com.pullwise.api.application.service.review;
+
+import com.pullwise.api.domain.enums.PlanType;
+import com.pullwise.api.domain.model.Organization;
+import com.pullwise.api.domain.model.PullRequest;
+import lombok.Getter;
+
+/**
+ * Faixas de prioridade da fila de reviews. Cada faixa vira a prioridade JMS
+ * da mensagem (0-9, maior sai primeiro).
+ */
+@Getter
+public enum ReviewLane {
+
+    /** Re-execução pedida por um usuário (API, slash command): alguém está esperando. */
+    MANUAL(8),
+
+    /** Organização em plano pago. */
+    PAID(6),
+
+    /**
+     * Re-review incremental: o PR já tem um head revisado, então só os
+     * arquivos tocados desde ele são analisados (PR pequeno na prática).
+     */
+    INCREMENTAL(5),
+
+    /** Demais reviews automáticos. */
+    STANDARD(4);
+
+    private final int priority;
+
+    ReviewLane(int priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Escolhe a faixa do review do PR.
+     *
+     * @param manual true se o review foi pedido explicitamente por um usuário
+     */
+    public static ReviewLane of(PullRequest pr, boolean manual) {
+        if (manual) {
+            return MANUAL;
+        }
+        Organization org = pr.getProject() != null ? pr.getProject().getOrganization() : null;
+        if (org != null && org.getPlanType() != null && org.getPlanType() != PlanType.FREE) {
+            return PAID;
+        }
+        if (pr.getLastReviewedSha() != null) {
+            return INCREMENTAL;
+        }
+        return STANDARD;
+    }
+}
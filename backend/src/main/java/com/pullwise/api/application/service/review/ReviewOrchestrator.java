@@ -16,10 +16,13 @@ import com.pullwise.api.domain.model.*;
 import com.pullwise.api.domain.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +35,10 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ReviewOrchestrator {
 
+    private static final List<ReviewStatus> ACTIVE_STATUSES = Arrays.stream(ReviewStatus.values())
+            .filter(ReviewStatus::isActive)
+            .toList();
+
     private final ReviewRepository reviewRepository;
     private final IssueRepository issueRepository;
     private final PullRequestRepository pullRequestRepository;
@@ -50,21 +57,70 @@ public class ReviewOrchestrator {
     private final RiskAssessmentService riskAssessmentService;
     private final CoverageTrackingService coverageTrackingService;
     private final AttestationService attestationService;
+    private final IncrementalReviewPlanner incrementalReviewPlanner;
+    private final ReviewCancellationRegistry cancellationRegistry;
+    private final ReviewEventBus reviewEventBus;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Inicia um review de forma assíncrona.
+     * Inicia um review de forma assíncrona no executor local. Caminho usado
+     * quando a fila de reviews ({@link ReviewJobQueue}) está desligada ou
+     * indisponível; falhas não são re-tentadas.
      */
     @Async("reviewExecutor")
-    @Transactional
     public void startReview(Long reviewId) {
-        Review review = reviewRepository.findById(reviewId)
-                .orElseThrow(() -> new IllegalArgumentException("Review not found: " + reviewId));
+        runReview(reviewId, true);
+    }
 
-        log.info("Starting review {} for PR {}", reviewId, review.getPullRequest().getPrNumber());
+    /**
+     * Processa o review na thread corrente.
+     *
+     * <p>O processamento pode ser interrompido entre etapas (e nas chamadas ao
+     * LLM em andamento) se um push mais novo substituir o review; nesse caso
+     * ele termina como {@link ReviewStatus#SUPERSEDED}.
+     *
+     * <p>As análises rodam fora de transação; só as escritas (início, achados,
+     * conclusão ou falha) usam transações curtas. Assim a linha do review não
+     * fica travada durante o review, e uma substituição marca e cancela um
+     * review em andamento sem esperar que ele termine.
+     *
+     * @param lastAttempt se false, uma falha antes de o review alterar o PR
+     *                    devolve o review a {@link ReviewStatus#PENDING} para
+     *                    nova tentativa, em vez de marcá-lo como falho
+     * @return status do review ao final ({@code PENDING} = tentar de novo)
+     */
+    public ReviewStatus runReview(Long reviewId, boolean lastAttempt) {
+        try {
+            return processReview(reviewId, lastAttempt);
+        } catch (RetryableReviewFailure e) {
+            return transactionTemplate.execute(tx -> returnToPending(reviewId, e.getMessage()));
+        }
+    }
 
+    private ReviewStatus processReview(Long reviewId, boolean lastAttempt) {
+        // Registra antes de ler o status: um cancelamento entre a leitura e o
+        // registro acharia o review sem token e se perderia
+        CancellationToken token = cancellationRegistry.register(reviewId);
+        Review review;
         try {
-            review.start();
-            reviewRepository.save(review);
+            review = transactionTemplate.execute(tx -> claim(reviewId));
+        } catch (RuntimeException e) {
+            cancellationRegistry.release(reviewId, token);
+            throw e;
+        }
+
+        // Substituído enquanto esperava na fila
+        if (review.getStatus() != ReviewStatus.IN_PROGRESS) {
+            log.info("Skipping review {}: already {}", reviewId, review.getStatus());
+            cancellationRegistry.release(reviewId, token);
+            return review.getStatus();
+        }
+
+        log.info("Starting review {} for PR {}", reviewId, review.getPullRequest().getPrNumber());
+
+        boolean prModified = false;
+        try (CancellationToken.Scope ignored = token.bind()) {
+            reviewEventBus.statusChanged(review);
 
             // 1. Buscar diffs do PR (dispatch por plataforma)
             PullRequest pr = review.getPullRequest();
@@ -76,22 +132,38 @@ public class ReviewOrchestrator {
             } else if (pr.getPlatform() == Platform.AZURE_DEVOPS) {
                 diffs = azureDevOpsService.fetchPullRequestDiffs(pr.getProject(), pr.getPrNumber());
             } else {
-                diffs = gitHubService.fetchPullRequestDiffs(pr.getProject(), pr.getPrNumber());
+                GitHubService.PullRequestDiffs fetched = gitHubService.fetchPullRequestDiffsAtHead(
+                        pr.getProject(), pr.getPrNumber());
+                diffs = fetched.files();
+                // O review é do head efetivamente analisado, não do head de quando foi criado
+                review.setHeadSha(fetched.headSha());
             }
 
+            token.throwIfCancelled();
+
+            // 1b. Re-review incremental: só os arquivos tocados desde o último head revisado
+            IncrementalReviewPlanner.IncrementalPlan plan = incrementalReviewPlanner.plan(pr, review, diffs);
+            List<GitHubService.FileDiff> analyzedDiffs = plan.diffsToAnalyze();
+            review.setIncrementalBaseSha(plan.baseSha());
+
             // 2. Executar análise SAST (se habilitado)
+            reviewEventBus.progress(review, "sast", 25);
             List<Issue> sastIssues = List.of();
-            if (review.getSastEnabled()) {
-                sastIssues = sastAnalysisService.analyze(review, pr, diffs);
+            if (review.getSastEnabled() && !analyzedDiffs.isEmpty()) {
+                sastIssues = sastAnalysisService.analyze(review, pr, analyzedDiffs);
             }
 
             // 3. Executar análise LLM (se habilitado)
+            reviewEventBus.progress(review, "llm", 50);
             List<Issue> llmIssues = List.of();
-            if (review.getLlmEnabled()) {
-                llmIssues = llmReviewService.analyze(pr, diffs);
+            if (review.getLlmEnabled() && !analyzedDiffs.isEmpty()) {
+                llmIssues = llmReviewService.analyze(pr, analyzedDiffs);
             }
 
+            token.throwIfCancelled();
+
             // 4. Consolidar resultados
+            reviewEventBus.progress(review, "consolidation", 75);
             List<Issue> allIssues = consolidationService.consolidateIssues(sastIssues, llmIssues);
 
             // 4b. Aplicar severity gating (filtrar issues abaixo da severidade mínima)
@@ -109,42 +181,50 @@ public class ReviewOrchestrator {
                 }
             }
 
-            // 5. Salvar issues
-            for (Issue issue : allIssues) {
-                issue.setReview(review);
-                issueRepository.save(issue);
-            }
+            // 4c. Reaproveitar achados do review anterior ainda válidos
+            List<Issue> issues = incrementalReviewPlanner.merge(allIssues, plan);
 
-            // 5b. Atualizar cobertura de review
-            coverageTrackingService.updateCoverage(review, diffs, allIssues);
+            // 5. Salvar issues (último ponto de cancelamento: daqui em diante o PR é alterado)
+            token.throwIfCancelled();
+            ReviewStatus persisted = transactionTemplate.execute(tx -> saveIssues(review, issues, diffs));
+            if (persisted != ReviewStatus.IN_PROGRESS) {
+                log.info("Review {} became {} elsewhere; discarding its results", reviewId, persisted);
+                review.setStatus(persisted);
+                return persisted;
+            }
+            prModified = true;
 
             // 6. Atualizar métricas do review
-            review.setFilesAnalyzed(diffs.size());
-            review.setLinesAddedAnalyzed(diffs.stream().mapToInt(d -> d.additions()).sum());
-            review.setLinesRemovedAnalyzed(diffs.stream().mapToInt(d -> d.deletions()).sum());
+            review.setFilesAnalyzed(analyzedDiffs.size());
+            review.setLinesAddedAnalyzed(analyzedDiffs.stream().mapToInt(d -> d.additions()).sum());
+            review.setLinesRemovedAnalyzed(analyzedDiffs.stream().mapToInt(d -> d.deletions()).sum());
 
             // 7. Postar comentário resumo no PR
-            String commentId = postingService.postReviewComment(pr, allIssues);
+            reviewEventBus.progress(review, "posting", 90);
+            String commentId = postingService.postReviewComment(pr, issues);
             review.setReviewCommentId(commentId);
 
-            // 7b. Postar comentários inline (CRITICAL/HIGH em linhas específicas)
-            postingService.postInlineComments(pr, allIssues);
-
-            // 8. Marcar como completado
-            review.complete();
-            reviewRepository.save(review);
-
-            // 8b. Gerar attestation criptográfica
-            attestationService.createAttestation(review, allIssues);
-
-            // 9. Registrar uso
-            recordUsage(review);
+            // 7b. Postar comentários inline (CRITICAL/HIGH em linhas específicas);
+            // os reaproveitados já foram postados no review anterior
+            postingService.postInlineComments(pr, issues.stream()
+                    .filter(i -> !Boolean.TRUE.equals(i.getCarriedOver()))
+                    .toList());
+
+            // 8. Marcar como completado, com attestation criptográfica (8b) e registro de uso (9)
+            persisted = transactionTemplate.execute(tx -> completeReview(review, issues));
+            if (persisted != ReviewStatus.COMPLETED) {
+                // Substituído enquanto postava: os comentários ficam, o review não é concluído
+                log.info("Review {} became {} while posting; not marking it completed", reviewId, persisted);
+                review.setStatus(persisted);
+                return persisted;
+            }
+            reviewEventBus.statusChanged(review);
 
             // 10. Enviar notificações (Slack, Teams — assíncrono)
-            notificationService.notifyReviewCompleted(review, allIssues);
+            notificationService.notifyReviewCompleted(review, issues);
 
             // 11. Auto-approve se PR é de baixo risco (opt-in)
-            var riskAssessment = riskAssessmentService.assess(pr, diffs, allIssues);
+            var riskAssessment = riskAssessmentService.assess(pr, diffs, issues);
             log.info("PR #{} {}", pr.getPrNumber(), riskAssessment.getSummary());
             if (riskAssessmentService.shouldAutoApprove(pr, riskAssessment)) {
                 String approveBody = String.format(
@@ -156,13 +236,133 @@ public class ReviewOrchestrator {
                 }
             }
 
-            log.info("Review {} completed with {} issues", reviewId, allIssues.size());
+            log.info("Review {} completed with {} issues", reviewId, issues.size());
 
         } catch (Exception e) {
-            log.error("Error processing review {}", reviewId, e);
-            review.fail(e.getMessage());
-            reviewRepository.save(review);
+            if (token.isCancelled()) {
+                log.info("Review {} stopped: {}", reviewId, token.getReason());
+                return transactionTemplate.execute(tx -> finish(review, ReviewStatus.SUPERSEDED, token.getReason()));
+            } else if (!lastAttempt && !prModified) {
+                // Nada foi gravado nem postado: seguro repetir do zero
+                log.warn("Review {} failed, will be retried: {}", reviewId, e.getMessage());
+                throw new RetryableReviewFailure(e.getMessage());
+            } else {
+                log.error("Error processing review {}", reviewId, e);
+                return transactionTemplate.execute(tx -> finish(review, ReviewStatus.FAILED, e.getMessage()));
+            }
+        } finally {
+            cancellationRegistry.release(reviewId, token);
+        }
+        return review.getStatus();
+    }
+
+    /**
+     * Passa o review a {@link ReviewStatus#IN_PROGRESS} se ele ainda está
+     * ativo, carregando o PR, o projeto e a organização que as análises (fora
+     * de transação) usam.
+     *
+     * @return o review, com o status que o impede de rodar se não foi iniciado
+     */
+    private Review claim(Long reviewId) {
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new IllegalArgumentException("Review not found: " + reviewId));
+        if (review.getStatus().isTerminal()) {
+            return review;
+        }
+        if (reviewRepository.updateStatusIfIn(reviewId, ReviewStatus.IN_PROGRESS, ACTIVE_STATUSES) == 0) {
+            review.setStatus(reviewRepository.findStatusById(reviewId).orElse(ReviewStatus.SUPERSEDED));
+            return review;
+        }
+        review.start();
+        reviewRepository.saveAndFlush(review);
+        PullRequest pr = review.getPullRequest();
+        Hibernate.initialize(pr);
+        Hibernate.initialize(pr.getProject());
+        Hibernate.initialize(pr.getProject().getOrganization());
+        return review;
+    }
+
+    /**
+     * Grava os achados se ninguém substituiu ou cancelou o review — o token é
+     * local a este nó, então a confirmação é um UPDATE condicional no banco.
+     *
+     * @return {@code IN_PROGRESS} se gravou, senão o status atual do review
+     */
+    private ReviewStatus saveIssues(Review review, List<Issue> issues, List<GitHubService.FileDiff> diffs) {
+        if (reviewRepository.updateStatusIfIn(review.getId(), ReviewStatus.IN_PROGRESS, ACTIVE_STATUSES) == 0) {
+            return reviewRepository.findStatusById(review.getId()).orElse(ReviewStatus.SUPERSEDED);
+        }
+        for (Issue issue : issues) {
+            issue.setReview(review);
+            issueRepository.save(issue);
+        }
+
+        // 5b. Atualizar cobertura de review
+        coverageTrackingService.updateCoverage(review, diffs, issues);
+        return ReviewStatus.IN_PROGRESS;
+    }
+
+    /**
+     * Conclui o review se ele ainda está ativo: grava métricas e status, avança
+     * o último head revisado do PR, gera a attestation e registra o uso.
+     *
+     * @return {@code COMPLETED}, ou o status atual se o review foi substituído
+     */
+    private ReviewStatus completeReview(Review review, List<Issue> issues) {
+        if (reviewRepository.updateStatusIfIn(review.getId(), ReviewStatus.COMPLETED, ACTIVE_STATUSES) == 0) {
+            return reviewRepository.findStatusById(review.getId()).orElse(ReviewStatus.SUPERSEDED);
+        }
+        review.complete();
+        reviewRepository.save(review);
+        PullRequest pr = review.getPullRequest();
+        if (review.getHeadSha() != null
+                && pullRequestRepository.advanceLastReviewedSha(pr.getId(), review.getHeadSha()) == 0) {
+            log.debug("PR #{} moved past {}; last reviewed head unchanged", pr.getPrNumber(), review.getHeadSha());
+        }
+
+        // 8b. Gerar attestation criptográfica
+        attestationService.createAttestation(review, issues);
+
+        // 9. Registrar uso
+        recordUsage(review);
+        return ReviewStatus.COMPLETED;
+    }
+
+    /**
+     * Encerra o review como {@code SUPERSEDED} ou {@code FAILED}, se ninguém
+     * gravou antes um status final (talvez em outro nó).
+     */
+    private ReviewStatus finish(Review review, ReviewStatus status, String message) {
+        if (reviewRepository.updateStatusIfIn(review.getId(), status, ACTIVE_STATUSES) == 0) {
+            ReviewStatus persisted = reviewRepository.findStatusById(review.getId()).orElse(status);
+            review.setStatus(persisted);
+            return persisted;
         }
+        if (status == ReviewStatus.SUPERSEDED) {
+            review.supersede(message);
+        } else {
+            review.fail(message);
+        }
+        reviewRepository.save(review);
+        reviewEventBus.statusChanged(review);
+        return status;
+    }
+
+    /**
+     * Devolve o review a {@link ReviewStatus#PENDING} para nova tentativa, se
+     * ninguém o substituiu nesse meio tempo.
+     */
+    private ReviewStatus returnToPending(Long reviewId, String error) {
+        if (reviewRepository.updateStatusIfIn(reviewId, ReviewStatus.PENDING, ACTIVE_STATUSES) == 0) {
+            return reviewRepository.findStatusById(reviewId).orElse(ReviewStatus.FAILED);
+        }
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new IllegalArgumentException("Review not found: " + reviewId));
+        review.setStatus(ReviewStatus.PENDING);
+        review.setErrorMessage(error);
+        reviewRepository.save(review);
+        reviewEventBus.progress(review, "retrying", 0);
+        return ReviewStatus.PENDING;
     }
 
     /**
@@ -178,6 +378,49 @@ public class ReviewOrchestrator {
             throw new IllegalStateException("Review already in progress for this PR");
         }
 
+        return newReview(pr, sastEnabled, llmEnabled, ragEnabled);
+    }
+
+    /**
+     * Cria um novo review para o head atual do PR, substituindo os reviews
+     * ainda ativos de commits anteriores: eles são marcados como
+     * {@link ReviewStatus#SUPERSEDED} e, se estiverem rodando, cancelados.
+     * Usado nos webhooks de push, onde só o commit mais novo importa.
+     *
+     * @throws IllegalStateException se já houver review ativo para o mesmo head
+     */
+    @Transactional
+    public Review createSupersedingReview(Long pullRequestId, boolean sastEnabled, boolean llmEnabled,
+                                          boolean ragEnabled) {
+        PullRequest pr = pullRequestRepository.findById(pullRequestId)
+                .orElseThrow(() -> new IllegalArgumentException("PullRequest not found: " + pullRequestId));
+
+        List<Review> active = reviewRepository.findByPullRequestIdAndStatusIn(pr.getId(), ACTIVE_STATUSES);
+        String headSha = pr.getHeadSha();
+        if (headSha != null && active.stream().anyMatch(r -> headSha.equals(r.getHeadSha()))) {
+            throw new IllegalStateException("Review already in progress for head " + headSha);
+        }
+
+        for (Review stale : active) {
+            // Condicional: um review concluído em outro nó nesse meio tempo fica como está
+            if (reviewRepository.updateStatusIfIn(stale.getId(), ReviewStatus.SUPERSEDED, ACTIVE_STATUSES) == 0) {
+                log.info("Review {} for PR #{} finished before it could be superseded", stale.getId(), pr.getPrNumber());
+                continue;
+            }
+            String reason = headSha != null
+                    ? "Superseded by push " + headSha.substring(0, Math.min(7, headSha.length()))
+                    : "Superseded by a newer push";
+            stale.supersede(reason);
+            reviewRepository.save(stale);
+            reviewEventBus.statusChanged(stale);
+            cancellationRegistry.cancel(stale.getId(), reason);
+            log.info("Review {} for PR #{} superseded", stale.getId(), pr.getPrNumber());
+        }
+
+        return newReview(pr, sastEnabled, llmEnabled, ragEnabled);
+    }
+
+    private Review newReview(PullRequest pr, boolean sastEnabled, boolean llmEnabled, boolean ragEnabled) {
         // Verificar rate limit baseado no plano da organização
         if (pr.getProject() != null && pr.getProject().getOrganization() != null) {
             rateLimitingService.checkReviewLimit(pr.getProject().getOrganization().getId());
@@ -189,6 +432,7 @@ public class ReviewOrchestrator {
                 .sastEnabled(sastEnabled)
                 .llmEnabled(llmEnabled)
                 .ragEnabled(ragEnabled)
+                .headSha(pr.getHeadSha())
                 .build();
 
         return reviewRepository.save(review);
@@ -255,6 +499,7 @@ public class ReviewOrchestrator {
 
         review.setStatus(ReviewStatus.CANCELLED);
         reviewRepository.save(review);
+        reviewEventBus.statusChanged(review);
 
         log.info("Review {} cancelled", reviewId);
     }
@@ -279,6 +524,16 @@ public class ReviewOrchestrator {
                 });
     }
 
+    /**
+     * Falha antes de o review alterar o PR, a repetir: sinaliza ao
+     * {@link #runReview} que o devolva à fila.
+     */
+    private static final class RetryableReviewFailure extends RuntimeException {
+        RetryableReviewFailure(String message) {
+            super(message, null, false, false);
+        }
+    }
+
     public record ReviewStats(
             Long reviewId,
             ReviewStatus status,
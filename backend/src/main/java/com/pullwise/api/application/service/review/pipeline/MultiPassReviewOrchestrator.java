@@ -8,6 +8,9 @@ import com.pullwise.api.application.service.llm.router.MultiModelLLMRouter;
 import com.pullwise.api.application.service.graph.blast.BlastRadiusResult;
 import com.pullwise.api.application.service.review.pipeline.pass.*;
 import com.pullwise.api.application.service.config.ConfigurationResolver;
+import com.pullwise.api.application.service.review.CancellationToken;
+import com.pullwise.api.application.service.review.IncrementalReviewPlanner;
+import com.pullwise.api.application.service.review.ReviewEventBus;
 import com.pullwise.api.application.service.review.pipeline.synthesis.BlastRadiusConsolidator;
 import com.pullwise.api.application.service.review.pipeline.synthesis.CommentPositioner;
 import com.pullwise.api.application.service.review.pipeline.synthesis.IssuePrioritizer;
@@ -20,19 +23,27 @@ import com.pullwise.api.domain.model.PullRequest;
 import com.pullwise.api.domain.model.Review;
 import com.pullwise.api.domain.enums.*;
 import com.pullwise.api.domain.repository.IssueRepository;
+import com.pullwise.api.domain.repository.PullRequestRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -46,14 +57,22 @@ import java.util.stream.Collectors;
  *   <li><b>Passada 4 - Code Graph Impact</b>: Análise de impacto cross-file</li>
  * </ol>
  *
- * <p>As passadas 2-4 são executadas sequencialmente, cada uma usando o contexto
- * das passadas anteriores.
+ * <p>As passadas são agendadas pelo {@link PassScheduler} conforme as entradas
+ * que cada uma declara: LLM Primary e Security dependem apenas do SAST e rodam
+ * em paralelo entre si; Code Graph Impact não depende de nenhuma outra passada.
+ * A síntese espera todas terminarem. O início/fim de cada passada fica em
+ * {@link ReviewResult#getPassSpans()}.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MultiPassReviewOrchestrator {
 
+    static final String PASS_SAST = "sast";
+    static final String PASS_LLM = "llm";
+    static final String PASS_SECURITY = "security";
+    static final String PASS_IMPACT = "impact";
+
     private final SastAggregatorPass sastAggregatorPass;
     private final LlmPrimaryPass llmPrimaryPass;
     private final SecurityFocusedPass securityFocusedPass;
@@ -67,10 +86,16 @@ public class MultiPassReviewOrchestrator {
     private final ConfigurationResolver configurationResolver;
     private final MultiModelLLMRouter llmRouter;
     private final IssueRepository issueRepository;
+    private final PullRequestRepository pullRequestRepository;
     private final GitHubService gitHubService;
     private final BitBucketService bitBucketService;
     private final GitLabService gitLabService;
     private final AzureDevOpsService azureDevOpsService;
+    private final IncrementalReviewPlanner incrementalReviewPlanner;
+    private final ReviewEventBus reviewEventBus;
+
+    @Qualifier("passExecutor")
+    private final Executor passExecutor;
 
     /**
      * Executa o pipeline completo de múltiplas passadas.
@@ -89,6 +114,7 @@ public class MultiPassReviewOrchestrator {
         long startTime = System.currentTimeMillis();
         ReviewResult result = new ReviewResult();
         result.setReviewId(review.getId());
+        CancellationToken token = CancellationToken.current();
 
         try {
             // Buscar diffs do PR (dispatch por plataforma)
@@ -103,45 +129,46 @@ public class MultiPassReviewOrchestrator {
                 diffs = azureDevOpsService.fetchPullRequestDiffs(
                         pullRequest.getProject(), pullRequest.getPrNumber());
             } else {
-                diffs = gitHubService.fetchPullRequestDiffs(
+                GitHubService.PullRequestDiffs fetched = gitHubService.fetchPullRequestDiffsAtHead(
                         pullRequest.getProject(), pullRequest.getPrNumber());
+                diffs = fetched.files();
+                // O review é do head efetivamente analisado, não do head de quando foi criado
+                review.setHeadSha(fetched.headSha());
             }
             log.debug("Fetched {} file diffs for PR #{}", diffs.size(), pullRequest.getPrNumber());
 
-            // ============================================
-            // PASSADA 1: SAST (Paralelo)
-            // ============================================
-            log.debug("Pass 1/4: SAST Aggregation");
-            PassResult sastResult = executeSastPass(pullRequest, review, diffs);
-            result.setSastResult(sastResult);
+            // Re-review incremental: as passadas só veem os arquivos tocados
+            // desde o último head revisado; o resto vem do review anterior.
+            IncrementalReviewPlanner.IncrementalPlan plan = incrementalReviewPlanner.plan(pullRequest, review, diffs);
+            review.setIncrementalBaseSha(plan.baseSha());
+            diffs = plan.diffsToAnalyze();
 
             // ============================================
-            // PASSADA 2: LLM Primary
+            // PASSADAS 1-4: agendadas pelo grafo de dependências
             // ============================================
-            log.debug("Pass 2/4: LLM Primary Analysis");
-            PassResult llmResult = executeLlmPrimaryPass(pullRequest, review, sastResult, diffs);
-            result.setLlmResult(llmResult);
-
-            // ============================================
-            // PASSADA 3: Security Focus
-            // ============================================
-            log.debug("Pass 3/4: Security-Focused Analysis");
-            PassResult securityResult = executeSecurityPass(pullRequest, review, sastResult, llmResult, diffs);
-            result.setSecurityResult(securityResult);
-
-            // ============================================
-            // PASSADA 4: Code Graph Impact
-            // ============================================
-            log.debug("Pass 4/4: Code Graph Impact Analysis");
-            PassResult impactResult = executeImpactPass(pullRequest, review, sastResult, llmResult, diffs);
-            result.setImpactResult(impactResult);
+            // SAST → {LLM, Security} em paralelo; Impact não lê outras passadas
+            // e roda desde o início. A síntese abaixo espera todas terminarem.
+            reviewEventBus.progress(review, "passes", 20);
+            Map<String, PassScheduler.PassOutcome> outcomes = new PassScheduler(passExecutor)
+                    .run(buildPassGraph(pullRequest, review, diffs));
+
+            result.setSastResult(outcomes.get(PASS_SAST).result());
+            result.setLlmResult(outcomes.get(PASS_LLM).result());
+            result.setSecurityResult(outcomes.get(PASS_SECURITY).result());
+            result.setImpactResult(outcomes.get(PASS_IMPACT).result());
+            result.setPassSpans(outcomes.values().stream()
+                    .map(PassScheduler.PassOutcome::span)
+                    .toList());
+            log.debug("Passes finished; critical path: {}", result.getCriticalPath());
+            token.throwIfCancelled();
+            reviewEventBus.progress(review, "synthesis", 80);
 
             // ============================================
             // CONSOLIDAÇÃO (Blast-Radius v2)
             // ============================================
             // Promove a severity de issues SAST/LLM/Security cujo arquivo cai
             // no blast radius do PR (impacto downstream detectado pelo Pass 4).
-            BlastRadiusResult blast = extractBlastRadius(impactResult);
+            BlastRadiusResult blast = extractBlastRadius(result.getImpactResult());
             List<Issue> allIssues = result.collectAllIssues();
             int promoted = blastRadiusConsolidator.consolidate(allIssues, blast);
             if (promoted > 0) {
@@ -174,8 +201,10 @@ public class MultiPassReviewOrchestrator {
             // Reflexão: remove achados de LLM que o diff prova estarem errados.
             List<Issue> finalIssues = prioritized;
             if (isEnabled(projectId, ConfigKeys.REVIEW_REFLECTION_ENABLED)) {
-                finalIssues = reviewReflectionFilter.filter(prioritized, diffs);
+                finalIssues = reviewReflectionFilter.filter(prioritized, diffs,
+                        parseIntConfig(projectId, ConfigKeys.REVIEW_LLM_BATCH_MAX_FILES, 8));
             }
+            finalIssues = incrementalReviewPlanner.merge(finalIssues, plan);
             result.setDeduplicatedIssues(finalIssues);
 
             // Geração de executive summary
@@ -183,11 +212,16 @@ public class MultiPassReviewOrchestrator {
             result.setExecutiveSummary(executiveSummary);
 
             // Salvar issues no banco
+            token.throwIfCancelled();
             List<Issue> savedIssues = issueRepository.saveAll(finalIssues);
             result.setSavedIssues(savedIssues);
 
             // Atualizar review
             review.complete();
+            // Só avança a base do incremental se o review ainda for do head atual
+            if (review.getHeadSha() != null) {
+                pullRequestRepository.advanceLastReviewedSha(pullRequest.getId(), review.getHeadSha());
+            }
             // Nota: O summary é armazenado no ReviewResult, não na entidade Review
             // Para persistir o summary, precisaríamos adicionar campo na entidade
 
@@ -196,13 +230,20 @@ public class MultiPassReviewOrchestrator {
             result.setSuccess(true);
 
             log.info("Multi-pass pipeline completed in {}ms. Issues found: {}", duration, savedIssues.size());
+            reviewEventBus.statusChanged(review);
 
         } catch (Exception e) {
-            log.error("Error executing multi-pass pipeline", e);
             result.setSuccess(false);
             result.setErrorMessage(e.getMessage());
 
-            review.fail(e.getMessage());
+            if (token.isCancelled()) {
+                log.info("Multi-pass pipeline for review {} stopped: {}", review.getId(), token.getReason());
+                review.supersede(token.getReason());
+            } else {
+                log.error("Error executing multi-pass pipeline", e);
+                review.fail(e.getMessage());
+            }
+            reviewEventBus.statusChanged(review);
         }
 
         return result;
@@ -220,80 +261,35 @@ public class MultiPassReviewOrchestrator {
     // ========== Private Methods ==========
 
     /**
-     * Passada 1: SAST - executa em paralelo todas as ferramentas.
+     * Monta o grafo de passadas. Cada passada declara apenas as entradas que
+     * de fato consome; timeouts por passada são preservados (SAST sem limite,
+     * LLM 5 min, Security 3 min, Impact 2 min).
      */
-    private PassResult executeSastPass(PullRequest pullRequest, Review review,
-                                       List<GitHubService.FileDiff> diffs) {
-        try {
-            PassResult result = sastAggregatorPass.execute(pullRequest, review, diffs);
-            log.debug("SAST pass completed: {} issues found", result.getIssues().size());
-            return result;
-        } catch (Exception e) {
-            log.warn("SAST pass failed, continuing with degraded results", e);
-            return PassResult.empty("SAST pass failed: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Passada 2: LLM Primary - análise de lógica e código.
-     */
-    private PassResult executeLlmPrimaryPass(PullRequest pullRequest, Review review,
-                                             PassResult sastResult,
-                                             List<GitHubService.FileDiff> diffs) {
-        try {
-            return executeWithTimeout(() -> llmPrimaryPass.execute(pullRequest, review, sastResult, diffs),
-                    5, TimeUnit.MINUTES);
-        } catch (Exception e) {
-            log.warn("LLM Primary pass failed, using fallback", e);
-            return createFallbackResult("LLM Primary", sastResult);
-        }
-    }
-
-    /**
-     * Passada 3: Security Focus - análise focada em segurança.
-     */
-    private PassResult executeSecurityPass(PullRequest pullRequest, Review review,
-                                           PassResult sastResult, PassResult llmResult,
-                                           List<GitHubService.FileDiff> diffs) {
-        try {
-            return executeWithTimeout(() -> securityFocusedPass.execute(pullRequest, review, sastResult, llmResult, diffs),
-                    3, TimeUnit.MINUTES);
-        } catch (Exception e) {
-            log.warn("Security pass failed, continuing", e);
-            return PassResult.empty("Security pass failed: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Passada 4: Code Graph Impact - análise de impacto cross-file.
-     */
-    private PassResult executeImpactPass(PullRequest pullRequest, Review review,
-                                        PassResult sastResult, PassResult llmResult,
-                                        List<GitHubService.FileDiff> diffs) {
-        try {
-            return executeWithTimeout(() -> codeGraphImpactPass.execute(pullRequest, review, sastResult, llmResult, diffs),
-                    2, TimeUnit.MINUTES);
-        } catch (Exception e) {
-            log.warn("Impact pass failed, continuing", e);
-            return PassResult.empty("Impact pass failed: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Executa uma passada com timeout.
-     */
-    private PassResult executeWithTimeout(PassSupplier supplier, long timeout, TimeUnit unit) {
-        try {
-            return CompletableFuture.supplyAsync(() -> {
-                try {
-                    return supplier.get();
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            }).get(timeout, unit);
-        } catch (Exception e) {
-            throw new RuntimeException("Pass execution timeout", e);
-        }
+    private List<PassScheduler.PassNode> buildPassGraph(PullRequest pullRequest, Review review,
+                                                       List<GitHubService.FileDiff> diffs) {
+        return List.of(
+                new PassScheduler.PassNode(PASS_SAST, Set.of(), null,
+                        inputs -> {
+                            PassResult sast = sastAggregatorPass.execute(pullRequest, review, diffs);
+                            log.debug("SAST pass completed: {} issues found", sast.getIssues().size());
+                            return sast;
+                        },
+                        e -> PassResult.empty("SAST pass failed: " + e.getMessage())),
+
+                new PassScheduler.PassNode(PASS_LLM, Set.of(PASS_SAST), Duration.ofMinutes(5),
+                        inputs -> llmPrimaryPass.execute(pullRequest, review, inputs.get(PASS_SAST), diffs),
+                        e -> createFallbackResult("LLM Primary", null)),
+
+                // Security só precisa do contexto SAST; não espera o LLM primário.
+                new PassScheduler.PassNode(PASS_SECURITY, Set.of(PASS_SAST), Duration.ofMinutes(3),
+                        inputs -> securityFocusedPass.execute(pullRequest, review,
+                                inputs.get(PASS_SAST), null, diffs),
+                        e -> PassResult.empty("Security pass failed: " + e.getMessage())),
+
+                new PassScheduler.PassNode(PASS_IMPACT, Set.of(), Duration.ofMinutes(2),
+                        inputs -> codeGraphImpactPass.execute(pullRequest, review, null, null, diffs),
+                        e -> PassResult.empty("Impact pass failed: " + e.getMessage()))
+        );
     }
 
     /**
@@ -326,6 +322,18 @@ public class MultiPassReviewOrchestrator {
         return Boolean.parseBoolean(configurationResolver.getConfig(projectId, configKey));
     }
 
+    private int parseIntConfig(Long projectId, String configKey, int fallback) {
+        if (projectId == null) {
+            return fallback;
+        }
+        try {
+            String value = configurationResolver.getConfig(projectId, configKey);
+            return value != null ? Integer.parseInt(value.trim()) : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
     /**
      * Cria resultado fallback baseado em passadas anteriores.
      */
@@ -366,6 +374,33 @@ public class MultiPassReviewOrchestrator {
         private long durationMs;
         private boolean success = true;
         private String errorMessage;
+        private List<PassSpan> passSpans = new ArrayList<>();
+
+        /**
+         * Caminho crítico das passadas: partindo da passada que terminou por
+         * último, segue para trás sempre pela entrada que terminou mais tarde.
+         * Retorna os ids em ordem de execução.
+         */
+        public List<String> getCriticalPath() {
+            if (passSpans == null || passSpans.isEmpty()) {
+                return List.of();
+            }
+            Map<String, PassSpan> byId = passSpans.stream()
+                    .collect(Collectors.toMap(PassSpan::passId, Function.identity(), (a, b) -> a));
+            Comparator<PassSpan> byEnd = Comparator.comparing(PassSpan::endedAt);
+
+            LinkedList<String> path = new LinkedList<>();
+            PassSpan current = passSpans.stream().max(byEnd).orElse(null);
+            while (current != null) {
+                path.addFirst(current.passId());
+                current = current.inputs().stream()
+                        .map(byId::get)
+                        .filter(java.util.Objects::nonNull)
+                        .max(byEnd)
+                        .orElse(null);
+            }
+            return path;
+        }
 
         /**
          * Coleta todos os issues de todas as passadas.
@@ -400,6 +435,25 @@ public class MultiPassReviewOrchestrator {
         }
     }
 
+    /**
+     * Intervalo de execução de uma passada no grafo, para análise do caminho
+     * crítico. {@code error} é preenchido quando a passada falhou ou estourou
+     * o timeout (o resultado exposto é então o fallback).
+     */
+    public record PassSpan(
+            String passId,
+            List<String> inputs,
+            Instant startedAt,
+            Instant endedAt,
+            long durationMs,
+            Status status,
+            String error
+    ) {
+        public enum Status {
+            COMPLETED, FAILED, TIMED_OUT
+        }
+    }
+
     /**
      * Resultado de uma passada individual.
      */
@@ -419,9 +473,4 @@ public class MultiPassReviewOrchestrator {
             return result;
         }
     }
-
-    @FunctionalInterface
-    private interface PassSupplier {
-        PassResult get() throws Exception;
-    }
 }
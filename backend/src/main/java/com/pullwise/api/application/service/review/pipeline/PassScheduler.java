@@ -0,0 +1,256 @@
+package com.pullwise.api.application.service.review.pipeline;
+
+import com.pullwise.api.application.service.review.CancellationToken;
+import com.pullwise.api.application.service.review.pipeline.MultiPassReviewOrchestrator.PassResult;
+import com.pullwise.api.application.service.review.pipeline.MultiPassReviewOrchestrator.PassSpan;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Agendador das passadas do pipeline baseado em um grafo de dependências (DAG).
+ *
+ * <p>Cada {@link PassNode} declara de quais passadas depende ({@code inputs}).
+ * Uma passada é disparada assim que todas as suas entradas terminam, de modo
+ * que passadas independentes rodam em paralelo — ex.: SAST → {LLM, Security}
+ * enquanto o Impact, que não lê nenhuma outra passada, roda desde o início.
+ *
+ * <p>Falhas e timeouts nunca propagam: a passada é substituída pelo resultado
+ * de {@link PassNode#fallback()} e as dependentes seguem com ele. Uma passada
+ * que estoura o timeout tem sua tarefa cancelada (com interrupção), liberando
+ * a thread do executor. Para cada
+ * passada é registrado um {@link PassSpan} (início/fim/status), usado para
+ * enxergar o caminho crítico do review.
+ *
+ * <p>O {@link CancellationToken} da thread que chama {@link #run} é repassado
+ * às passadas: passadas ainda não iniciadas são puladas e as em execução são
+ * interrompidas quando o review é cancelado.
+ */
+@Slf4j
+public class PassScheduler {
+
+    private final Executor executor;
+
+    public PassScheduler(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Executa o grafo e bloqueia até que todas as passadas terminem.
+     *
+     * @param nodes passadas a executar (ordem irrelevante)
+     * @return resultado + span de cada passada, indexado pelo id, em ordem topológica
+     * @throws IllegalArgumentException se houver dependência desconhecida ou ciclo
+     */
+    public Map<String, PassOutcome> run(List<PassNode> nodes) {
+        List<PassNode> ordered = topologicalOrder(nodes);
+        CancellationToken token = CancellationToken.current();
+
+        Map<String, CompletableFuture<PassOutcome>> futures = new LinkedHashMap<>();
+        for (PassNode node : ordered) {
+            CompletableFuture<?>[] upstream = node.inputs().stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+
+            CompletableFuture<PassOutcome> future = CompletableFuture.allOf(upstream)
+                    .thenCompose(ignored -> launch(node, collectInputs(node, futures), token));
+            futures.put(node.id(), future);
+        }
+
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+
+        Map<String, PassOutcome> outcomes = new LinkedHashMap<>();
+        futures.forEach((id, future) -> outcomes.put(id, future.join()));
+        return outcomes;
+    }
+
+    // ========== Private Methods ==========
+
+    /**
+     * Dispara uma passada no executor, aplicando o timeout declarado e
+     * convertendo erro/timeout no resultado de fallback. No timeout a tarefa
+     * subjacente é cancelada: interrompida se já estiver rodando, ou descartada
+     * se ainda estiver na fila do executor.
+     */
+    private CompletableFuture<PassOutcome> launch(PassNode node, Map<String, PassResult> inputs,
+                                                  CancellationToken token) {
+        AtomicReference<Instant> startedAt = new AtomicReference<>();
+
+        FutureTask<PassResult> work = new FutureTask<>(() -> {
+            startedAt.set(Instant.now());
+            token.throwIfCancelled();
+            try (CancellationToken.Scope ignored = token.bind()) {
+                return node.task().execute(inputs);
+            }
+        });
+        CancellationToken.Registration abort = token.onCancel(() -> work.cancel(true));
+
+        CompletableFuture<PassResult> task = new CompletableFuture<>();
+        if (node.timeout() != null && !node.timeout().isZero()) {
+            task.orTimeout(node.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        try {
+            executor.execute(() -> {
+                work.run();
+                try {
+                    task.complete(work.get());
+                } catch (ExecutionException e) {
+                    task.completeExceptionally(e.getCause());
+                } catch (CancellationException | InterruptedException e) {
+                    task.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            task.completeExceptionally(e);
+        }
+
+        return task.handle((result, error) -> {
+            abort.close();
+            Instant endedAt = Instant.now();
+            Instant start = startedAt.get() != null ? startedAt.get() : endedAt;
+
+            if (error == null && result != null) {
+                return new PassOutcome(result, span(node, start, endedAt, PassSpan.Status.COMPLETED, null));
+            }
+
+            Throwable cause = error != null ? unwrap(error) : new IllegalStateException("Pass returned no result");
+            PassSpan.Status status = PassSpan.Status.FAILED;
+            if (cause instanceof TimeoutException) {
+                status = PassSpan.Status.TIMED_OUT;
+                work.cancel(true);
+            }
+            log.warn("Pass {} {} after {}ms, using fallback: {}", node.id(), status,
+                    Duration.between(start, endedAt).toMillis(), cause.getMessage());
+
+            return new PassOutcome(applyFallback(node, cause),
+                    span(node, start, endedAt, status, cause.getMessage()));
+        });
+    }
+
+    private PassResult applyFallback(PassNode node, Throwable cause) {
+        try {
+            PassResult fallback = node.fallback().apply(cause);
+            return fallback != null ? fallback : PassResult.empty(node.id() + " pass failed");
+        } catch (Exception e) {
+            return PassResult.empty(node.id() + " pass failed: " + cause.getMessage());
+        }
+    }
+
+    private Map<String, PassResult> collectInputs(PassNode node,
+                                                  Map<String, CompletableFuture<PassOutcome>> futures) {
+        Map<String, PassResult> inputs = new HashMap<>();
+        for (String input : node.inputs()) {
+            inputs.put(input, futures.get(input).join().result());
+        }
+        return inputs;
+    }
+
+    private static PassSpan span(PassNode node, Instant start, Instant end,
+                                 PassSpan.Status status, String error) {
+        return new PassSpan(node.id(), List.copyOf(node.inputs()), start, end,
+                Duration.between(start, end).toMillis(), status, error);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * Ordena as passadas de modo que cada uma venha depois de suas entradas
+     * (Kahn). Rejeita dependências desconhecidas e ciclos.
+     */
+    private static List<PassNode> topologicalOrder(List<PassNode> nodes) {
+        Map<String, PassNode> byId = new LinkedHashMap<>();
+        for (PassNode node : nodes) {
+            if (byId.put(node.id(), node) != null) {
+                throw new IllegalArgumentException("Duplicate pass id: " + node.id());
+            }
+        }
+
+        Map<String, Integer> pendingInputs = new HashMap<>();
+        for (PassNode node : nodes) {
+            for (String input : node.inputs()) {
+                if (!byId.containsKey(input)) {
+                    throw new IllegalArgumentException(
+                            "Pass " + node.id() + " depends on unknown pass " + input);
+                }
+            }
+            pendingInputs.put(node.id(), node.inputs().size());
+        }
+
+        Deque<PassNode> ready = new ArrayDeque<>();
+        byId.values().stream().filter(n -> n.inputs().isEmpty()).forEach(ready::add);
+
+        List<PassNode> ordered = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            PassNode node = ready.poll();
+            ordered.add(node);
+            for (PassNode candidate : byId.values()) {
+                if (candidate.inputs().contains(node.id())
+                        && pendingInputs.merge(candidate.id(), -1, Integer::sum) == 0) {
+                    ready.add(candidate);
+                }
+            }
+        }
+
+        if (ordered.size() != nodes.size()) {
+            throw new IllegalArgumentException("Pass dependency graph has a cycle");
+        }
+        return ordered;
+    }
+
+    // ========== DTOs ==========
+
+    /**
+     * Uma passada do pipeline e suas entradas declaradas.
+     *
+     * @param id       identificador único da passada no grafo
+     * @param inputs   ids das passadas cujo resultado esta passada consome
+     * @param timeout  tempo máximo de execução ({@code null} = sem limite)
+     * @param task     execução da passada, recebendo os resultados das entradas
+     * @param fallback resultado usado quando a passada falha ou estoura o timeout
+     */
+    public record PassNode(
+            String id,
+            Set<String> inputs,
+            Duration timeout,
+            PassTask task,
+            Function<Throwable, PassResult> fallback
+    ) {
+        public PassNode {
+            inputs = Collections.unmodifiableSet(new LinkedHashSet<>(inputs));
+        }
+    }
+
+    /**
+     * Execução de uma passada. O mapa contém exatamente as entradas declaradas.
+     */
+    @FunctionalInterface
+    public interface PassTask {
+        PassResult execute(Map<String, PassResult> inputs) throws Exception;
+    }
+
+    /**
+     * Resultado final de uma passada (real ou fallback) e seu span de execução.
+     */
+    public record PassOutcome(PassResult result, PassSpan span) {}
+}
@@ -0,0 +1,69 @@
+package com.pullwise.api.application.service.review.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Empacota itens de um review (tipicamente arquivos do diff) em lotes que cabem
+ * num orçamento de tokens, para que vários arquivos pequenos sigam numa única
+ * requisição LLM e o system prompt e o round-trip sejam pagos uma vez só.
+ *
+ * <p>First-fit na ordem de entrada: cada item vai para o primeiro lote com
+ * espaço, então dentro de um lote a ordem é a original. Itens que sozinhos
+ * atingem o orçamento ficam em lote próprio. Orçamento {@code <= 0} ou
+ * {@code maxItems <= 1} desliga o empacotamento (um item por lote).
+ */
+public final class PromptPacker {
+
+    private PromptPacker() {
+    }
+
+    /**
+     * Agrupa os itens em lotes de custo total até {@code budget} e no máximo
+     * {@code maxItems} itens cada.
+     */
+    public static <T> List<List<T>> pack(List<T> items, ToIntFunction<T> cost, int budget, int maxItems) {
+        List<List<T>> batches = new ArrayList<>();
+        if (budget <= 0 || maxItems <= 1) {
+            for (T item : items) {
+                batches.add(List.of(item));
+            }
+            return batches;
+        }
+
+        List<Integer> used = new ArrayList<>();
+        for (T item : items) {
+            int itemCost = Math.max(0, cost.applyAsInt(item));
+            int target = -1;
+            if (itemCost < budget) {
+                for (int i = 0; i < batches.size(); i++) {
+                    if (batches.get(i).size() < maxItems && used.get(i) <= budget - itemCost) {
+                        target = i;
+                        break;
+                    }
+                }
+            }
+
+            if (target < 0) {
+                List<T> batch = new ArrayList<>();
+                batch.add(item);
+                batches.add(batch);
+                used.add(itemCost);
+            } else {
+                batches.get(target).add(item);
+                used.set(target, used.get(target) + itemCost);
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * Estima o número de tokens (simplificado: ~4 caracteres por token, a mesma
+     * heurística do router).
+     */
+    public static int estimateTokens(String text) {
+        if (text == null) return 0;
+        return (text.length() / 4) + 1;
+    }
+}
@@ -0,0 +1,139 @@
+package com.pullwise.api.application.service.review.pipeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Consumer;
+
+/**
+ * Parser incremental do JSON de issues devolvido pelo LLM em streaming.
+ *
+ * <p>Recebe os trechos da resposta conforme chegam ({@link #accept(String)}) e
+ * entrega cada objeto do array {@code "issues"} assim que ele fecha, sem
+ * esperar o resto da resposta. Texto fora do JSON (markdown, cercas
+ * {@code ```json}) é ignorado. O parse final da resposta completa continua
+ * sendo a fonte de verdade; este parser só antecipa os achados.
+ */
+@Slf4j
+public class StreamingIssueParser implements Consumer<String> {
+
+    private static final String ISSUES_KEY = "\"issues\"";
+
+    private enum State { SEEK_KEY, SEEK_ARRAY, IN_ARRAY, DONE }
+
+    private final ObjectMapper objectMapper;
+    private final Consumer<JsonNode> onIssue;
+    private final StringBuilder buffer = new StringBuilder();
+
+    private State state = State.SEEK_KEY;
+    private int position;
+    private int depth;
+    private int objectStart = -1;
+    private boolean inString;
+    private boolean escaped;
+    private int emitted;
+
+    public StreamingIssueParser(ObjectMapper objectMapper, Consumer<JsonNode> onIssue) {
+        this.objectMapper = objectMapper;
+        this.onIssue = onIssue;
+    }
+
+    @Override
+    public synchronized void accept(String delta) {
+        if (delta == null || delta.isEmpty() || state == State.DONE) {
+            return;
+        }
+        buffer.append(delta);
+        scan();
+    }
+
+    /** Quantidade de issues entregues até agora. */
+    public synchronized int emitted() {
+        return emitted;
+    }
+
+    private void scan() {
+        if (state == State.SEEK_KEY) {
+            int key = buffer.indexOf(ISSUES_KEY, position);
+            if (key < 0) {
+                // Mantém o fim do buffer: a chave pode estar partida entre trechos
+                position = Math.max(position, buffer.length() - ISSUES_KEY.length());
+                return;
+            }
+            position = key + ISSUES_KEY.length();
+            state = State.SEEK_ARRAY;
+        }
+
+        if (state == State.SEEK_ARRAY) {
+            while (position < buffer.length()) {
+                char c = buffer.charAt(position++);
+                if (c == '[') {
+                    state = State.IN_ARRAY;
+                    break;
+                }
+                if (c != ':' && !Character.isWhitespace(c)) {
+                    // "issues" não era a chave do array; procura a próxima ocorrência
+                    state = State.SEEK_KEY;
+                    scan();
+                    return;
+                }
+            }
+        }
+
+        if (state == State.IN_ARRAY) {
+            scanArray();
+        }
+    }
+
+    private void scanArray() {
+        while (position < buffer.length()) {
+            char c = buffer.charAt(position);
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                if (depth == 0 && c == '{') {
+                    objectStart = position;
+                }
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (depth == 0 && c == ']') {
+                    state = State.DONE;
+                    return;
+                }
+                depth--;
+                if (depth == 0 && c == '}' && objectStart >= 0) {
+                    emit(buffer.substring(objectStart, position + 1));
+                    objectStart = -1;
+                }
+            }
+            position++;
+        }
+    }
+
+    private void emit(String json) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(json);
+        } catch (Exception e) {
+            log.debug("Skipping streamed issue that is not valid JSON: {}", e.getMessage());
+            return;
+        }
+        emitted++;
+        try {
+            onIssue.accept(node);
+        } catch (RuntimeException e) {
+            // O consumidor não pode derrubar o stream da resposta
+            log.warn("Streamed issue handler failed: {}", e.getMessage());
+        }
+    }
+}
@@ -24,8 +24,10 @@ import java.util.Map;
 /**
  * Passada 4: Code Graph Impact Analysis (Blast-Radius v2).
  *
- * <p>Calcula o blast-radius do PR via {@link BlastRadiusService} (BFS forward
- * em CALLS / IMPORTS_FROM / INHERITS, com confidence tiers e risk scoring).
+ * <p>Calcula o blast-radius do PR via {@link BlastRadiusService}: BFS upstream
+ * em CALLS / IMPORTS_FROM / INHERITS a partir dos símbolos alterados, ou seja,
+ * quem chama, importa ou estende o código do PR (com confidence tiers e risk
+ * scoring).
  * Gera um issue agregado por arquivo alterado quando há nós atingidos com
  * risk >= {@link #IMPACT_ISSUE_THRESHOLD}.
  *
@@ -86,7 +88,7 @@ public class CodeGraphImpactPass {
 
         try {
             BlastRadiusResult blast = blastRadiusService.computeBlastRadius(
-                    projectId, changedFiles, BlastRadiusOptions.defaults());
+                    projectId, changedFiles, BlastRadiusOptions.upstream());
 
             metadata.put(METADATA_BLAST_RADIUS, blast);
             metadata.put("filesAnalyzed", changedFiles.size());
@@ -157,9 +159,9 @@ public class CodeGraphImpactPass {
 
     private String buildDescription(BlastRadiusResult blast, List<ImpactedNode> highRisk) {
         StringBuilder sb = new StringBuilder();
-        sb.append("This change has potential downstream impact:\n\n");
+        sb.append("Code that calls, imports or extends this change may be affected:\n\n");
         sb.append("- **Seeds analysed**: ").append(blast.seedCount()).append("\n");
-        sb.append("- **Nodes reached**: ").append(blast.impactedNodes().size()).append("\n");
+        sb.append("- **Dependent symbols**: ").append(blast.impactedNodes().size()).append("\n");
         sb.append("- **Files affected**: ").append(blast.impactedFiles().size()).append("\n");
         if (blast.truncated()) {
             sb.append("- _Result was truncated; consider narrowing the change_\n");
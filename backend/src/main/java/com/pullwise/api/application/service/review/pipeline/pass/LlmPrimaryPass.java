@@ -1,23 +1,40 @@
 package com.pullwise.api.application.service.review.pipeline.pass;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pullwise.api.application.service.config.ConfigurationResolver;
 import com.pullwise.api.application.service.integration.GitHubService;
+import com.pullwise.api.application.service.review.CancellationToken;
+import com.pullwise.api.application.service.review.IssueDetectedEvent;
 import com.pullwise.api.domain.constants.ConfigKeys;
 import com.pullwise.api.application.service.llm.router.MultiModelLLMRouter;
+import com.pullwise.api.application.service.review.pipeline.PromptPacker;
+import com.pullwise.api.application.service.review.pipeline.StreamingIssueParser;
 import com.pullwise.api.application.service.review.pipeline.rules.ReviewRuleResolver;
 import com.pullwise.api.domain.model.Issue;
 import com.pullwise.api.domain.model.PullRequest;
 import com.pullwise.api.domain.model.Review;
 import com.pullwise.api.domain.enums.*;
 import com.pullwise.api.application.service.review.pipeline.MultiPassReviewOrchestrator.PassResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +49,19 @@ import java.util.stream.Collectors;
  *
  * <p>Esta passada enriquece os resultados do SAST com contexto e análises
  * que ferramentas estáticas não conseguem detectar.
+ *
+ * <p>Arquivos pequenos são empacotados numa mesma requisição até o orçamento
+ * de tokens do modelo ({@code review.llm_batching_enabled}); a resposta traz o
+ * campo {@code file} em cada issue e é demultiplexada de volta por arquivo.
+ * Arquivos que acionam a plan phase seguem sozinhos.
+ *
+ * <p>As requisições rodam em paralelo, até {@code review.llm_parallelism}
+ * por projeto (o teto global por provider fica no {@code LlmConcurrencyLimiter}).
+ * Os issues são sempre mesclados na ordem dos arquivos no diff.
+ *
+ * <p>Com {@code review.llm_streaming_enabled}, a resposta chega em streaming e
+ * cada issue é publicado como {@link IssueDetectedEvent} assim que termina de
+ * chegar, antes do fim da passada.
  */
 @Slf4j
 @Component
@@ -42,6 +72,27 @@ public class LlmPrimaryPass {
     private final ObjectMapper objectMapper;
     private final ConfigurationResolver configurationResolver;
     private final ReviewRuleResolver ruleResolver;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Qualifier("llmFanoutExecutor")
+    private final Executor llmFanoutExecutor;
+
+    /** Arquivos aguardando vaga no limite do projeto (todos os reviews). */
+    private final AtomicInteger filesQueued = new AtomicInteger();
+
+    /** Arquivos em análise no LLM (todos os reviews). */
+    private final AtomicInteger filesInFlight = new AtomicInteger();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("pullwise.review.llm_files.queued", filesQueued, AtomicInteger::get)
+                .description("Files waiting for a per-project LLM Primary slot")
+                .register(meterRegistry);
+        Gauge.builder("pullwise.review.llm_files.in_flight", filesInFlight, AtomicInteger::get)
+                .description("Files currently being analysed by LLM Primary")
+                .register(meterRegistry);
+    }
 
     /**
      * Executa a análise LLM primária.
@@ -69,14 +120,15 @@ public class LlmPrimaryPass {
             // Para cada arquivo alterado, fazer análise LLM
             Map<String, List<FileChange>> changesByFile = groupChangesByFile(diffs);
 
-            for (var entry : changesByFile.entrySet()) {
-                String filePath = entry.getKey();
-                List<FileChange> changes = entry.getValue();
+            Long projectId = pullRequest.getProject() != null ? pullRequest.getProject().getId() : null;
+            int parallelism = Math.max(1, parseIntConfig(projectId, ConfigKeys.REVIEW_LLM_PARALLELISM, 4));
 
-                // Análise LLM do arquivo
-                List<Issue> fileIssues = analyzeFileWithLLM(filePath, changes, sastContext, review);
-                issues.addAll(fileIssues);
-            }
+            List<List<String>> batches = packFiles(projectId, changesByFile);
+
+            List<List<Issue>> perBatchIssues = parallelism == 1 || batches.size() < 2
+                    ? analyzeSequentially(batches, changesByFile, sastContext, review)
+                    : analyzeInParallel(batches, changesByFile, sastContext, review, parallelism);
+            issues.addAll(inDiffOrder(changesByFile.keySet(), perBatchIssues));
 
             log.debug("LLM Primary pass completed: {} issues found", issues.size());
 
@@ -102,6 +154,142 @@ public class LlmPrimaryPass {
         return result;
     }
 
+    /**
+     * Agrupa os arquivos em lotes por requisição. Sem empacotamento, cada
+     * arquivo é um lote próprio.
+     */
+    private List<List<String>> packFiles(Long projectId, Map<String, List<FileChange>> changesByFile) {
+        List<String> files = new ArrayList<>(changesByFile.keySet());
+        if (files.size() < 2 || !isEnabled(projectId, ConfigKeys.REVIEW_LLM_BATCHING_ENABLED)) {
+            return files.stream().map(List::of).toList();
+        }
+
+        int budget = llmRouter.getPromptTokenBudget(ReviewTaskType.BUG_DETECTION);
+        int maxFiles = parseIntConfig(projectId, ConfigKeys.REVIEW_LLM_BATCH_MAX_FILES, 8);
+        boolean planPhase = isEnabled(projectId, ConfigKeys.REVIEW_PLAN_PHASE_ENABLED);
+        int planThreshold = parseIntConfig(projectId, ConfigKeys.REVIEW_PLAN_LINE_THRESHOLD, 50);
+
+        List<List<String>> batches = PromptPacker.pack(files, file -> {
+            List<FileChange> changes = changesByFile.get(file);
+            // Arquivos com plan phase precisam do mapa de risco próprio
+            if (planPhase && countChangedLines(changes) >= planThreshold) {
+                return Integer.MAX_VALUE;
+            }
+            int tokens = PromptPacker.estimateTokens(file);
+            for (FileChange change : changes) {
+                tokens += PromptPacker.estimateTokens(change.getDiff());
+            }
+            return tokens;
+        }, budget, maxFiles);
+
+        log.debug("LLM Primary packed {} files into {} requests (budget {} tokens)",
+                files.size(), batches.size(), budget);
+        return batches;
+    }
+
+    /**
+     * Reordena os issues dos lotes pela ordem dos arquivos no diff.
+     */
+    private List<Issue> inDiffOrder(Set<String> files, List<List<Issue>> perBatchIssues) {
+        Map<String, List<Issue>> byFile = new LinkedHashMap<>();
+        files.forEach(file -> byFile.put(file, new ArrayList<>()));
+        for (List<Issue> batchIssues : perBatchIssues) {
+            for (Issue issue : batchIssues) {
+                byFile.computeIfAbsent(issue.getFilePath(), k -> new ArrayList<>()).add(issue);
+            }
+        }
+
+        List<Issue> ordered = new ArrayList<>();
+        byFile.values().forEach(ordered::addAll);
+        return ordered;
+    }
+
+    /**
+     * Analisa os lotes um a um na thread corrente.
+     */
+    private List<List<Issue>> analyzeSequentially(List<List<String>> batches,
+                                                  Map<String, List<FileChange>> changesByFile,
+                                                  String sastContext, Review review) {
+        List<List<Issue>> results = new ArrayList<>(batches.size());
+        for (List<String> batch : batches) {
+            results.add(analyzeBatch(batch, changesByFile, sastContext, review));
+        }
+        return results;
+    }
+
+    /**
+     * Fan-out por lote no {@code llmFanoutExecutor}, com no máximo
+     * {@code parallelism} requisições em voo. A thread corrente só submete um
+     * novo lote quando há vaga, então o executor nunca acumula trabalho deste
+     * review além do limite. O resultado preserva a ordem dos lotes.
+     */
+    private List<List<Issue>> analyzeInParallel(List<List<String>> batches,
+                                                Map<String, List<FileChange>> changesByFile,
+                                                String sastContext, Review review, int parallelism) {
+        CancellationToken token = CancellationToken.current();
+        Semaphore slots = new Semaphore(parallelism);
+        List<FutureTask<List<Issue>>> futures = new ArrayList<>(batches.size());
+        filesQueued.addAndGet(changesByFile.size());
+        int submittedFiles = 0;
+
+        try {
+            for (List<String> batch : batches) {
+                slots.acquire();
+                if (token.isCancelled()) {
+                    slots.release();
+                    break;
+                }
+                filesQueued.addAndGet(-batch.size());
+                filesInFlight.addAndGet(batch.size());
+                submittedFiles += batch.size();
+
+                // FutureTask: cancel(true) interrompe o lote em andamento, não só os da fila
+                FutureTask<List<Issue>> task = new FutureTask<>(() -> {
+                    try (CancellationToken.Scope ignored = token.bind()) {
+                        return analyzeBatch(batch, changesByFile, sastContext, review);
+                    }
+                }) {
+                    @Override
+                    protected void done() {
+                        filesInFlight.addAndGet(-batch.size());
+                        slots.release();
+                    }
+                };
+                futures.add(task);
+                llmFanoutExecutor.execute(task);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(futures);
+            log.debug("LLM Primary fan-out interrupted after {} of {} files", submittedFiles, changesByFile.size());
+        } finally {
+            filesQueued.addAndGet(submittedFiles - changesByFile.size());
+        }
+
+        // Espera interrompível: se a passada for cancelada (timeout), devolve o
+        // que já terminou e cancela o resto, em vez de seguir gastando chamadas LLM.
+        List<List<Issue>> results = new ArrayList<>(futures.size());
+        for (FutureTask<List<Issue>> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll(futures);
+                break;
+            } catch (ExecutionException | CancellationException e) {
+                results.add(List.of());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Cancela os lotes ainda não concluídos, interrompendo os que estão rodando.
+     */
+    private static void cancelAll(List<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+
     /**
      * Constrói um contexto resumido dos resultados SAST.
      */
@@ -126,10 +314,11 @@ public class LlmPrimaryPass {
     }
 
     /**
-     * Agrupa mudanças por arquivo a partir dos diffs do GitHub.
+     * Agrupa mudanças por arquivo a partir dos diffs do GitHub, preservando a
+     * ordem dos arquivos no diff.
      */
     private Map<String, List<FileChange>> groupChangesByFile(List<GitHubService.FileDiff> diffs) {
-        Map<String, List<FileChange>> changesByFile = new HashMap<>();
+        Map<String, List<FileChange>> changesByFile = new LinkedHashMap<>();
 
         for (GitHubService.FileDiff diff : diffs) {
             if (diff.patch() == null || diff.patch().isBlank()) {
@@ -156,6 +345,56 @@ public class LlmPrimaryPass {
         return changesByFile;
     }
 
+    /**
+     * Analisa um lote: arquivo único segue o fluxo normal (com plan phase);
+     * vários arquivos vão numa só requisição.
+     */
+    private List<Issue> analyzeBatch(List<String> files, Map<String, List<FileChange>> changesByFile,
+                                     String sastContext, Review review) {
+        if (files.size() == 1) {
+            String filePath = files.get(0);
+            return analyzeFileWithLLM(filePath, changesByFile.get(filePath), sastContext, review);
+        }
+        return analyzeFilesTogether(files, changesByFile, sastContext, review);
+    }
+
+    /**
+     * Analisa vários arquivos numa única requisição e demultiplexa os issues
+     * pelo campo {@code file}. Se a resposta não puder ser separada por arquivo,
+     * cai para a análise individual.
+     */
+    private List<Issue> analyzeFilesTogether(List<String> files, Map<String, List<FileChange>> changesByFile,
+                                             String sastContext, Review review) {
+        try {
+            Long projectId = review.getPullRequest() != null && review.getPullRequest().getProject() != null
+                    ? review.getPullRequest().getProject().getId() : null;
+            String language = projectId != null
+                    ? configurationResolver.getConfig(projectId, ConfigKeys.REVIEW_LANGUAGE) : null;
+            boolean ruleGuidance = isEnabled(projectId, ConfigKeys.REVIEW_RULE_GUIDANCE_ENABLED);
+
+            String systemPrompt = buildSystemPrompt(language);
+            String userPrompt = buildBatchAnalysisPrompt(files, changesByFile, sastContext, ruleGuidance);
+
+            var response = executeAnalysis(systemPrompt, userPrompt, files, review);
+
+            List<Issue> issues = parseBatchResponse(response.content(), files, review);
+            if (issues != null) {
+                return issues;
+            }
+            log.debug("Batched LLM response for {} files could not be split per file; analysing individually",
+                    files.size());
+        } catch (Exception e) {
+            log.warn("Batched LLM analysis failed for {} files: {}", files.size(), e.getMessage());
+            return new ArrayList<>();
+        }
+
+        List<Issue> issues = new ArrayList<>();
+        for (String filePath : files) {
+            issues.addAll(analyzeFileWithLLM(filePath, changesByFile.get(filePath), sastContext, review));
+        }
+        return issues;
+    }
+
     /**
      * Analisa um arquivo específico usando LLM.
      */
@@ -183,11 +422,7 @@ public class LlmPrimaryPass {
             String userPrompt = buildAnalysisPrompt(filePath, changes, sastContext, rule, planGuidance);
 
             // Executar análise via LLM router
-            var response = llmRouter.execute(
-                    ReviewTaskType.BUG_DETECTION,
-                    systemPrompt,
-                    userPrompt
-            );
+            var response = executeAnalysis(systemPrompt, userPrompt, List.of(filePath), review);
 
             // Parse resposta e gerar issues
             issues = parseLLMResponse(response.content(), filePath, review);
@@ -285,6 +520,47 @@ public class LlmPrimaryPass {
         return sb.toString();
     }
 
+    /**
+     * Constrói o prompt de análise para vários arquivos. Checklists iguais
+     * (mesmo tipo de arquivo) aparecem uma vez só.
+     */
+    private String buildBatchAnalysisPrompt(List<String> files, Map<String, List<FileChange>> changesByFile,
+                                            String sastContext, boolean ruleGuidance) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Review the following code changes. They span ").append(files.size())
+                .append(" files; analyze each file on its own.\n\n");
+
+        Map<String, List<String>> filesByRule = new LinkedHashMap<>();
+        for (String filePath : files) {
+            sb.append("**File**: ").append(filePath).append("\n");
+            sb.append("```diff\n");
+            for (FileChange change : changesByFile.get(filePath)) {
+                sb.append(change.getDiff()).append("\n");
+            }
+            sb.append("```\n\n");
+
+            String rule = ruleGuidance ? ruleResolver.resolve(filePath) : "";
+            if (rule != null && !rule.isBlank()) {
+                filesByRule.computeIfAbsent(rule, k -> new ArrayList<>()).add(filePath);
+            }
+        }
+
+        sb.append("**SAST Context**:\n");
+        sb.append(sastContext).append("\n\n");
+
+        for (var entry : filesByRule.entrySet()) {
+            sb.append("**Review checklist for ").append(String.join(", ", entry.getValue()))
+                    .append("** (focus your analysis here):\n");
+            sb.append(entry.getKey()).append("\n\n");
+        }
+
+        sb.append("Every issue MUST include a \"file\" field with the exact path shown after **File**; ");
+        sb.append("\"line\" refers to that file.\n");
+        sb.append("Please analyze and return issues in the specified JSON format.");
+
+        return sb.toString();
+    }
+
     /**
      * Plan phase: para arquivos grandes (acima do threshold de linhas), pede ao
      * LLM um mapa de risco curto que será injetado na análise principal para
@@ -353,6 +629,38 @@ public class LlmPrimaryPass {
         return count;
     }
 
+    /**
+     * Chama o LLM de detecção de bugs. Com streaming habilitado, cada issue do
+     * JSON é publicado ({@link IssueDetectedEvent}) assim que o objeto fecha; o
+     * parse da resposta completa continua definindo o resultado da passada.
+     */
+    private MultiModelLLMRouter.LLMResponse executeAnalysis(String systemPrompt, String userPrompt,
+                                                            List<String> files, Review review) {
+        Long projectId = review.getPullRequest() != null && review.getPullRequest().getProject() != null
+                ? review.getPullRequest().getProject().getId() : null;
+        if (review.getId() == null || !isEnabled(projectId, ConfigKeys.REVIEW_LLM_STREAMING_ENABLED)) {
+            return llmRouter.execute(ReviewTaskType.BUG_DETECTION, systemPrompt, userPrompt);
+        }
+
+        StreamingIssueParser parser = new StreamingIssueParser(objectMapper,
+                node -> publishStreamedIssue(node, files, review));
+        return llmRouter.executeStreaming(ReviewTaskType.BUG_DETECTION, systemPrompt, userPrompt, parser);
+    }
+
+    private void publishStreamedIssue(JsonNode node, List<String> files, Review review) {
+        LlmIssue llmIssue;
+        try {
+            llmIssue = objectMapper.treeToValue(node, LlmIssue.class);
+        } catch (Exception e) {
+            log.debug("Ignoring streamed issue that does not match the schema: {}", e.getMessage());
+            return;
+        }
+        String filePath = files.size() == 1 ? files.get(0) : resolveBatchFile(llmIssue.file(), files);
+        if (filePath != null) {
+            eventPublisher.publishEvent(new IssueDetectedEvent(review.getId(), toIssue(llmIssue, filePath, review)));
+        }
+    }
+
     /** Resolve um flag booleano de configuração (default seguro: ligado). */
     private boolean isEnabled(Long projectId, String configKey) {
         if (projectId == null) {
@@ -388,46 +696,10 @@ public class LlmPrimaryPass {
                 return issues;
             }
 
-            // Tentar parse como objeto com campo "issues"
-            LlmIssueResponse parsed = null;
-            try {
-                parsed = objectMapper.readValue(jsonBlock, LlmIssueResponse.class);
-            } catch (Exception e) {
-                // Tentar parse como array direto
-                try {
-                    LlmIssue[] issueArray = objectMapper.readValue(jsonBlock, LlmIssue[].class);
-                    parsed = new LlmIssueResponse(List.of(issueArray));
-                } catch (Exception e2) {
-                    log.debug("JSON parse failed, falling back to generic issue: {}", e2.getMessage());
-                }
-            }
-
-            if (parsed != null && parsed.issues() != null) {
-                for (LlmIssue llmIssue : parsed.issues()) {
-                    Severity severity = parseSeverity(llmIssue.severity());
-                    IssueType type = parseIssueType(llmIssue.category());
-
-                    // Enrich description with reasoning if available
-                    String description = llmIssue.description() != null ? llmIssue.description() : "";
-                    if (llmIssue.reasoning() != null && !llmIssue.reasoning().isBlank()) {
-                        description += "\n\n**Reasoning:** " + llmIssue.reasoning();
-                    }
-
-                    issues.add(Issue.builder()
-                            .review(review)
-                            .type(type)
-                            .severity(severity)
-                            .title(llmIssue.title() != null ? llmIssue.title() : "Code Review Issue")
-                            .description(description)
-                            .suggestion(llmIssue.suggestion())
-                            .filePath(filePath)
-                            .lineStart(llmIssue.line() != null ? llmIssue.line() : 1)
-                            .lineEnd(llmIssue.line() != null ? llmIssue.line() : 1)
-                            .codeSnippet(llmIssue.existingCode())
-                            .ruleId("LLM_ANALYSIS")
-                            .source(IssueSource.LLM)
-                            .createdAt(LocalDateTime.now())
-                            .build());
+            List<LlmIssue> parsed = readIssues(jsonBlock);
+            if (parsed != null) {
+                for (LlmIssue llmIssue : parsed) {
+                    issues.add(toIssue(llmIssue, filePath, review));
                 }
             } else if (jsonBlock.length() > 50) {
                 issues.add(createGenericIssue(jsonBlock, filePath, review));
@@ -440,6 +712,101 @@ public class LlmPrimaryPass {
         return issues;
     }
 
+    /**
+     * Parse da resposta de um lote. Issues cujo {@code file} não corresponde a
+     * nenhum arquivo do lote são descartados.
+     *
+     * @return issues por arquivo, ou null se a resposta não for JSON de issues
+     */
+    private List<Issue> parseBatchResponse(String response, List<String> files, Review review) {
+        if (response == null) {
+            return null;
+        }
+        List<LlmIssue> parsed = readIssues(extractJsonBlock(response));
+        if (parsed == null) {
+            return null;
+        }
+
+        List<Issue> issues = new ArrayList<>();
+        for (LlmIssue llmIssue : parsed) {
+            String filePath = resolveBatchFile(llmIssue.file(), files);
+            if (filePath == null) {
+                log.debug("Dropping batched LLM issue '{}' with unknown file '{}'", llmIssue.title(), llmIssue.file());
+                continue;
+            }
+            issues.add(toIssue(llmIssue, filePath, review));
+        }
+        return issues;
+    }
+
+    /**
+     * Casa o caminho devolvido pelo LLM com um arquivo do lote: exato, sem
+     * prefixo {@code ./} ou {@code /}, ou por sufixo único.
+     */
+    private String resolveBatchFile(String reported, List<String> files) {
+        if (reported == null || reported.isBlank()) {
+            return null;
+        }
+        String normalized = reported.strip().replaceFirst("^\\./", "").replaceFirst("^/", "");
+        if (files.contains(normalized)) {
+            return normalized;
+        }
+        List<String> candidates = files.stream()
+                .filter(f -> f.endsWith("/" + normalized) || normalized.endsWith("/" + f))
+                .toList();
+        return candidates.size() == 1 ? candidates.get(0) : null;
+    }
+
+    /**
+     * Lê o JSON de issues (objeto com campo "issues" ou array direto).
+     *
+     * @return issues, ou null se o bloco não for nenhum dos dois formatos
+     */
+    private List<LlmIssue> readIssues(String jsonBlock) {
+        if (jsonBlock == null || jsonBlock.isBlank()) {
+            return null;
+        }
+        // Tentar parse como objeto com campo "issues"
+        try {
+            LlmIssueResponse parsed = objectMapper.readValue(jsonBlock, LlmIssueResponse.class);
+            if (parsed.issues() != null) {
+                return parsed.issues();
+            }
+        } catch (Exception e) {
+            // Tentar parse como array direto
+            try {
+                return List.of(objectMapper.readValue(jsonBlock, LlmIssue[].class));
+            } catch (Exception e2) {
+                log.debug("JSON parse failed, falling back to generic issue: {}", e2.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private Issue toIssue(LlmIssue llmIssue, String filePath, Review review) {
+        // Enrich description with reasoning if available
+        String description = llmIssue.description() != null ? llmIssue.description() : "";
+        if (llmIssue.reasoning() != null && !llmIssue.reasoning().isBlank()) {
+            description += "\n\n**Reasoning:** " + llmIssue.reasoning();
+        }
+
+        return Issue.builder()
+                .review(review)
+                .type(parseIssueType(llmIssue.category()))
+                .severity(parseSeverity(llmIssue.severity()))
+                .title(llmIssue.title() != null ? llmIssue.title() : "Code Review Issue")
+                .description(description)
+                .suggestion(llmIssue.suggestion())
+                .filePath(filePath)
+                .lineStart(llmIssue.line() != null ? llmIssue.line() : 1)
+                .lineEnd(llmIssue.line() != null ? llmIssue.line() : 1)
+                .codeSnippet(llmIssue.existingCode())
+                .ruleId("LLM_ANALYSIS")
+                .source(IssueSource.LLM)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
     private Severity parseSeverity(String severity) {
         if (severity == null) return Severity.MEDIUM;
         try {
@@ -468,7 +835,7 @@ public class LlmPrimaryPass {
     private record LlmIssue(String title, String description, String reasoning,
                              String severity, Integer line,
                              @JsonProperty("existing_code") String existingCode,
-                             String category, String suggestion) {}
+                             String category, String suggestion, String file) {}
 
     /**
      * Extrai o bloco JSON de uma resposta markdown.
@@ -9,12 +9,16 @@ import com.pullwise.api.domain.enums.*;
 import com.pullwise.api.application.service.review.pipeline.MultiPassReviewOrchestrator.PassResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +46,10 @@ public class SastAggregatorPass {
 
     private final SonarQubeService sonarQubeService;
     private final SastToolExecutor toolExecutor;
+    private final SastToolRegistry toolRegistry;
+
+    @Qualifier("sastExecutor")
+    private final Executor sastExecutor;
 
     /**
      * Executa todas as ferramentas SAST em paralelo.
@@ -64,33 +72,54 @@ public class SastAggregatorPass {
         Set<ProgrammingLanguage> languages = detectLanguages(diffs);
         log.debug("Detected languages: {}", languages);
 
-        // Selecionar ferramentas apropriadas
-        List<SastTool> tools = selectTools(languages);
-        log.debug("Selected {} tools for analysis", tools.size());
-
-        // Executar ferramentas em paralelo
-        Map<SastTool, CompletableFuture<List<ToolIssue>>> futures = new ConcurrentHashMap<>();
-
-        for (SastTool tool : tools) {
-            CompletableFuture<List<ToolIssue>> future = CompletableFuture.supplyAsync(
-                    () -> executeTool(tool, pullRequest, review, diffs)
-            );
-            futures.put(tool, future);
+        // Selecionar ferramentas apropriadas (só as instaladas)
+        List<SastTool> candidates = getToolsForLanguages(languages);
+        List<SastTool> tools = selectTools(candidates);
+        List<String> skipped = candidates.stream()
+                .filter(tool -> !tools.contains(tool))
+                .map(SastTool::getName)
+                .toList();
+        log.debug("Selected {} tools for analysis, skipped {}", tools.size(), skipped);
+
+        // Executar ferramentas em paralelo sobre um único workspace; cada ferramenta
+        // segura a sua referência, então o workspace sobrevive a uma espera interrompida
+        Map<SastTool, FutureTask<List<ToolIssue>>> futures = new LinkedHashMap<>();
+
+        try (SastWorkspaces.Lease workspace = toolExecutor.prepareWorkspace(pullRequest, diffs)) {
+            for (SastTool tool : tools) {
+                SastWorkspaces.Lease toolWorkspace = workspace.retain();
+                try {
+                    FutureTask<List<ToolIssue>> future = toolTask(tool, pullRequest, review, diffs, toolWorkspace);
+                    futures.put(tool, future);
+                    sastExecutor.execute(future);
+                } catch (RuntimeException e) {
+                    toolWorkspace.close();
+                    cancelAll(futures.values());
+                    throw e;
+                }
+            }
         }
 
-        // Aguardar todos os resultados
+        // Aguardar todos os resultados; se a passada for interrompida (timeout),
+        // cancela as ferramentas restantes em vez de deixá-las rodando
         Map<SastTool, List<ToolIssue>> toolResults = new ConcurrentHashMap<>();
-        futures.forEach((tool, future) -> {
+        for (Map.Entry<SastTool, FutureTask<List<ToolIssue>>> entry : futures.entrySet()) {
+            SastTool tool = entry.getKey();
             try {
-                List<ToolIssue> issues = future.get();
+                List<ToolIssue> issues = entry.getValue().get();
                 if (!issues.isEmpty()) {
                     toolResults.put(tool, issues);
                     log.debug("{} found {} issues", tool.getName(), issues.size());
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll(futures.values());
+                log.debug("SAST aggregation interrupted, cancelled outstanding tools");
+                break;
             } catch (Exception e) {
                 log.warn("Tool {} failed: {}", tool.getName(), e.getMessage());
             }
-        });
+        }
 
         // Converter ToolIssues para Issues do domínio
         List<Issue> issues = convertToDomainIssues(toolResults, review);
@@ -107,6 +136,7 @@ public class SastAggregatorPass {
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("languages", languages.stream().map(Enum::name).toList());
         metadata.put("toolsExecuted", tools.size());
+        metadata.put("toolsSkipped", skipped);
         metadata.put("toolsWithIssues", toolResults.size());
         metadata.put("totalIssues", issues.size());
 
@@ -171,16 +201,28 @@ public class SastAggregatorPass {
     }
 
     /**
-     * Seleciona as ferramentas apropriadas para as linguagens detectadas.
+     * Ferramentas das linguagens detectadas, sem repetição.
      */
-    private List<SastTool> selectTools(Set<ProgrammingLanguage> languages) {
-        List<SastTool> tools = new ArrayList<>();
+    private List<SastTool> getToolsForLanguages(Set<ProgrammingLanguage> languages) {
+        Set<SastTool> tools = new LinkedHashSet<>();
 
         for (ProgrammingLanguage language : languages) {
             tools.addAll(getToolsForLanguage(language));
         }
 
-        return tools;
+        return new ArrayList<>(tools);
+    }
+
+    /**
+     * Seleciona, entre as candidatas, as ferramentas que podem rodar: com
+     * execução implementada e instaladas segundo o {@link SastToolRegistry}.
+     * As demais nem chegam a ocupar o executor SAST.
+     */
+    List<SastTool> selectTools(List<SastTool> candidates) {
+        return candidates.stream()
+                .filter(toolExecutor::supports)
+                .filter(toolRegistry::isAvailable)
+                .toList();
     }
 
     /**
@@ -228,13 +270,45 @@ public class SastAggregatorPass {
         };
     }
 
+    /**
+     * Tarefa de uma ferramenta, dona da referência {@code toolWorkspace}. Com
+     * {@code cancel(true)} a execução em andamento é interrompida (o executor
+     * mata o processo); se a tarefa é cancelada antes de começar, o
+     * {@code done()} devolve a referência.
+     */
+    private FutureTask<List<ToolIssue>> toolTask(SastTool tool, PullRequest pullRequest, Review review,
+                                                 List<GitHubService.FileDiff> diffs,
+                                                 SastWorkspaces.Lease toolWorkspace) {
+        // Quem marcar primeiro (a execução ou o cancelamento) fecha a referência
+        AtomicBoolean claimed = new AtomicBoolean();
+        return new FutureTask<>(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return List.of();
+            }
+            try (toolWorkspace) {
+                return executeTool(tool, pullRequest, review, diffs, toolWorkspace);
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (isCancelled() && claimed.compareAndSet(false, true)) {
+                    toolWorkspace.close();
+                }
+            }
+        };
+    }
+
+    private static void cancelAll(Collection<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+
     /**
      * Executa uma ferramenta específica.
      */
     private List<ToolIssue> executeTool(SastTool tool, PullRequest pullRequest, Review review,
-                                         List<GitHubService.FileDiff> diffs) {
+                                         List<GitHubService.FileDiff> diffs, SastWorkspaces.Lease workspace) {
         try {
-            return toolExecutor.execute(tool, pullRequest, review, diffs);
+            return toolExecutor.execute(tool, pullRequest, review, diffs, workspace);
         } catch (Exception e) {
             log.warn("Error executing {}: {}", tool.getName(), e.getMessage());
             return List.of();
@@ -373,6 +447,8 @@ public class SastAggregatorPass {
      */
     @lombok.Data
     @lombok.Builder
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
     public static class ToolIssue {
         private String filePath;
         private Integer line;
@@ -0,0 +1,240 @@
+package com.pullwise.api.application.service.review.pipeline.pass;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pullwise.api.application.service.review.pipeline.pass.SastAggregatorPass.SastTool;
+import com.pullwise.api.application.service.review.pipeline.pass.SastAggregatorPass.ToolIssue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache dos achados de uma ferramenta SAST por arquivo.
+ *
+ * <p>A chave é o SHA-256 de (ferramenta, versão + regras da ferramenta,
+ * caminho, hash do conteúdo): o mesmo arquivo em outro push, num re-review ou
+ * em outro PR a partir da mesma base não volta a ser analisado. O caminho
+ * entra na chave porque há regras que dependem dele (ex.: nome do arquivo ×
+ * nome da classe no Checkstyle).
+ *
+ * <p>Dois níveis, como o {@code LlmResponseCache}:
+ * <ul>
+ *   <li>L1 Caffeine no nó, limitado por bytes ({@code pullwise.sast.result-cache.local-max-bytes})</li>
+ *   <li>L2 no cache {@value #CACHE_NAME} do {@link CacheManager} primário (Redis,
+ *       TTL configurado no {@code RedisConfig}), compartilhado entre nós</li>
+ * </ul>
+ * Falhas do L2 contam como miss. Só devem ser gravados resultados de execuções
+ * bem-sucedidas — inclusive listas vazias, o caso mais comum.
+ *
+ * <p>Métricas: {@code pullwise.sast.cache.hits{tool,level=l1|l2}},
+ * {@code pullwise.sast.cache.misses{tool}} e o gauge
+ * {@code pullwise.sast.cache.hit_ratio{tool}}.
+ */
+@Slf4j
+@Component
+public class SastResultCache {
+
+    public static final String CACHE_NAME = "sast-results";
+
+    /** Incrementar quando o parse da saída das ferramentas mudar: invalida o que já está no cache. */
+    static final int FORMAT_VERSION = 1;
+
+    private static final TypeReference<List<ToolIssue>> ISSUES = new TypeReference<>() {};
+
+    private final boolean enabled;
+    private final int maxEntryBytes;
+    private final Cache<String, String> local;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<SastTool, ToolMeters> meters = new EnumMap<>(SastTool.class);
+
+    public SastResultCache(CacheManager cacheManager,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${pullwise.sast.result-cache.enabled:true}") boolean enabled,
+                           @Value("${pullwise.sast.result-cache.ttl:7d}") Duration ttl,
+                           @Value("${pullwise.sast.result-cache.local-max-bytes:33554432}") long localMaxBytes,
+                           @Value("${pullwise.sast.result-cache.max-entry-bytes:262144}") int maxEntryBytes) {
+        this.enabled = enabled;
+        this.maxEntryBytes = maxEntryBytes;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(localMaxBytes)
+                .weigher((String key, String value) -> key.length() + value.length())
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Chave determinística dos achados de um arquivo.
+     *
+     * @param toolFingerprint versão e configuração de regras da ferramenta
+     * @param contentHash     hash do conteúdo analisado
+     */
+    public static String buildKey(SastTool tool, String toolFingerprint, String path, String contentHash) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[]{String.valueOf(FORMAT_VERSION), tool.name(), toolFingerprint,
+                    path, contentHash}) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Achados em cache no L1 e depois no L2 (promovendo para o L1). Cada
+     * chamada devolve cópias novas.
+     */
+    public Optional<List<ToolIssue>> get(SastTool tool, String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        ToolMeters toolMeters = meters(tool);
+
+        String json = local.getIfPresent(key);
+        if (json != null) {
+            Optional<List<ToolIssue>> issues = decode(key, json);
+            if (issues.isPresent()) {
+                toolMeters.l1Hits.increment();
+                return issues;
+            }
+        }
+
+        json = getRemote(key);
+        if (json != null) {
+            Optional<List<ToolIssue>> issues = decode(key, json);
+            if (issues.isPresent()) {
+                local.put(key, json);
+                toolMeters.l2Hits.increment();
+                return issues;
+            }
+        }
+
+        toolMeters.misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Grava os achados (possivelmente nenhum) de uma execução bem-sucedida.
+     */
+    public void put(SastTool tool, String key, List<ToolIssue> issues) {
+        if (!enabled) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(issues);
+        } catch (JsonProcessingException e) {
+            log.debug("Could not serialize {} results for cache: {}", tool.getName(), e.getMessage());
+            return;
+        }
+        if (json.getBytes(StandardCharsets.UTF_8).length > maxEntryBytes) {
+            return;
+        }
+
+        local.put(key, json);
+        org.springframework.cache.Cache remote = remoteCache();
+        if (remote != null) {
+            try {
+                remote.put(key, json);
+            } catch (RuntimeException e) {
+                log.debug("SAST result cache L2 put failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Optional<List<ToolIssue>> decode(String key, String json) {
+        try {
+            return Optional.of(objectMapper.readValue(json, ISSUES));
+        } catch (JsonProcessingException e) {
+            // Entrada ilegível (ex.: formato antigo) vira miss e é sobrescrita
+            log.debug("Discarding unreadable SAST cache entry {}: {}", key, e.getMessage());
+            local.invalidate(key);
+            return Optional.empty();
+        }
+    }
+
+    private String getRemote(String key) {
+        org.springframework.cache.Cache remote = remoteCache();
+        if (remote == null) {
+            return null;
+        }
+        try {
+            return remote.get(key, String.class);
+        } catch (RuntimeException e) {
+            log.debug("SAST result cache L2 lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private org.springframework.cache.Cache remoteCache() {
+        return cacheManager == null ? null : cacheManager.getCache(CACHE_NAME);
+    }
+
+    private synchronized ToolMeters meters(SastTool tool) {
+        return meters.computeIfAbsent(tool, t -> new ToolMeters(t, meterRegistry));
+    }
+
+    // ========== Métricas por ferramenta ==========
+
+    private static final class ToolMeters {
+
+        private final Counter l1Hits;
+        private final Counter l2Hits;
+        private final Counter misses;
+
+        private ToolMeters(SastTool tool, MeterRegistry meterRegistry) {
+            String tag = tool.name().toLowerCase();
+            this.l1Hits = Counter.builder("pullwise.sast.cache.hits")
+                    .description("Per-file SAST results served from cache")
+                    .tags("tool", tag, "level", "l1")
+                    .register(meterRegistry);
+            this.l2Hits = Counter.builder("pullwise.sast.cache.hits")
+                    .description("Per-file SAST results served from cache")
+                    .tags("tool", tag, "level", "l2")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("pullwise.sast.cache.misses")
+                    .description("Files that had to be analyzed by the SAST tool")
+                    .tag("tool", tag)
+                    .register(meterRegistry);
+            Gauge.builder("pullwise.sast.cache.hit_ratio", this, ToolMeters::hitRatio)
+                    .description("Share of per-file SAST lookups served from cache")
+                    .tag("tool", tag)
+                    .register(meterRegistry);
+        }
+
+        private double hitRatio() {
+            double hits = l1Hits.count() + l2Hits.count();
+            double total = hits + misses.count();
+            return total == 0 ? 0 : hits / total;
+        }
+    }
+}
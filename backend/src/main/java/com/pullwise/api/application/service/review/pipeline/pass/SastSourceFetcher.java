@@ -0,0 +1,106 @@
+package com.pullwise.api.application.service.review.pipeline.pass;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pullwise.api.application.service.integration.GitHubService;
+import com.pullwise.api.domain.enums.Platform;
+import com.pullwise.api.domain.model.Project;
+import com.pullwise.api.domain.model.PullRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Conteúdo real dos arquivos alterados no head do PR, para que as ferramentas
+ * SAST analisem arquivos completos em vez da reconstrução a partir do patch
+ * (que não compila e gera ruído de parse).
+ *
+ * <p>Os blobs são buscados em paralelo pela API da plataforma (hoje só GitHub)
+ * e guardados num cache por (projeto, commit, caminho) — o conteúdo de um
+ * commit não muda, então re-reviews e reviews simultâneos do mesmo head não
+ * buscam de novo. Limitado a {@code pullwise.sast.full-files.cache-max-bytes},
+ * com métricas em {@code cache.*{cache=sast-blob}}.
+ */
+@Slf4j
+@Component
+public class SastSourceFetcher {
+
+    private final GitHubService gitHubService;
+    private final Executor integrationExecutor;
+    private final boolean enabled;
+    private final Cache<String, String> blobs;
+
+    public SastSourceFetcher(GitHubService gitHubService,
+                             @Qualifier("integrationExecutor") Executor integrationExecutor,
+                             @Value("${pullwise.sast.full-files.enabled:false}") boolean enabled,
+                             @Value("${pullwise.sast.full-files.cache-max-bytes:33554432}") long cacheMaxBytes,
+                             MeterRegistry meterRegistry) {
+        this.gitHubService = gitHubService;
+        this.integrationExecutor = integrationExecutor;
+        this.enabled = enabled;
+        this.blobs = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher((String key, String content) -> key.length() + content.length())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, blobs, "sast-blob");
+    }
+
+    /**
+     * Conteúdo no head do PR de cada caminho. Caminhos que não puderam ser
+     * buscados (modo desligado, plataforma sem suporte, head desconhecido ou
+     * falha na API) ficam de fora do mapa.
+     */
+    public Map<String, String> fetchHead(PullRequest pullRequest, Collection<String> paths) {
+        Project project = pullRequest.getProject();
+        String headSha = pullRequest.getHeadSha();
+        if (!enabled || paths.isEmpty() || project == null || headSha == null
+                || project.getPlatform() != Platform.GITHUB) {
+            return Map.of();
+        }
+
+        Map<String, CompletableFuture<String>> pending = new LinkedHashMap<>();
+        for (String path : paths) {
+            String key = project.getId() + "@" + headSha + ":" + path;
+            String cached = blobs.getIfPresent(key);
+            pending.put(path, cached != null
+                    ? CompletableFuture.completedFuture(cached)
+                    : CompletableFuture.supplyAsync(() -> fetch(project, path, headSha, key), integrationExecutor));
+        }
+
+        Map<String, String> contents = new HashMap<>();
+        pending.forEach((path, future) -> {
+            try {
+                String content = future.join();
+                if (content != null) {
+                    contents.put(path, content);
+                }
+            } catch (Exception e) {
+                log.debug("Could not fetch {} at {} for SAST: {}", path, headSha, e.getMessage());
+            }
+        });
+        if (contents.size() < paths.size()) {
+            log.debug("SAST falling back to patch content for {} of {} files of PR {}",
+                    paths.size() - contents.size(), paths.size(), pullRequest.getPrNumber());
+        }
+        return contents;
+    }
+
+    private String fetch(Project project, String path, String headSha, String key) {
+        String content = gitHubService.fetchFileContent(project, path, headSha);
+        if (content != null) {
+            blobs.put(key, content);
+        }
+        return content;
+    }
+}
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pullwise.api.application.service.integration.GitHubService;
 import com.pullwise.api.application.service.integration.SonarQubeService;
 import com.pullwise.api.application.dto.SonarQubeResponse;
+import com.pullwise.api.application.service.review.pipeline.pass.worker.SastWorkerPool;
+import com.pullwise.api.application.service.review.pipeline.synthesis.UnifiedDiffParser;
 import com.pullwise.api.domain.model.PullRequest;
 import com.pullwise.api.domain.model.Review;
 import com.pullwise.api.domain.enums.Severity;
@@ -14,8 +16,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -25,8 +30,23 @@ import java.util.stream.Collectors;
  * Executor de ferramentas SAST.
  *
  * <p>Executa ferramentas de análise estática via CLI ou API e parse os resultados.
- * Cada ferramenta recebe os diffs do PR, escreve os patches em arquivos temporários,
- * executa a ferramenta e faz parse da saída (JSON/XML).
+ * Os arquivos alterados ficam num {@link SastWorkspaces workspace} gravado uma vez
+ * por review e compartilhado por todas as ferramentas; cada uma recebe só os seus
+ * arquivos, executa e faz parse da saída (JSON/XML).
+ *
+ * <p>Com {@code pullwise.sast.full-files.enabled} os arquivos são os do head do PR
+ * ({@link SastSourceFetcher}) e os achados são restritos às linhas adicionadas;
+ * sem isso (ou quando o arquivo não pôde ser buscado) o conteúdo é reconstruído
+ * a partir do patch.
+ *
+ * <p>Checkstyle, PMD e SpotBugs podem rodar em workers JVM aquecidos
+ * ({@link SastWorkerPool}) em vez de um processo novo por execução. Se uma
+ * ferramenta está instalada, e qual a sua versão, vem do {@link SastToolRegistry}.
+ *
+ * <p>As ferramentas que analisam cada arquivo isoladamente guardam os achados
+ * por arquivo no {@link SastResultCache}: só os arquivos sem resultado em cache
+ * para a versão e as regras atuais da ferramenta são analisados. Uma execução
+ * que falha não é cacheada.
  *
  * <p>Ferramentas suportadas:
  * <ul>
@@ -43,36 +63,264 @@ public class SastToolExecutor {
 
     private final SonarQubeService sonarQubeService;
     private final ObjectMapper objectMapper;
+    private final SastWorkspaces workspaces;
+    private final SastSourceFetcher sourceFetcher;
+    private final SastWorkerPool workerPool;
+    private final SastResultCache resultCache;
+    private final SastToolRegistry toolRegistry;
 
     @Value("${pullwise.sast.timeout-seconds:120}")
     private int timeoutSeconds;
 
+    private static final List<String> JS_EXTENSIONS = List.of(".js", ".jsx", ".ts", ".tsx", ".mjs", ".cjs");
+    private static final List<String> PY_EXTENSIONS = List.of(".py", ".pyi");
+
+    // Regras e formato de saída de cada ferramenta (entram na chave do cache de resultados)
+    private static final List<String> CHECKSTYLE_OPTIONS = List.of("-c", "/google_checks.xml", "-f", "xml");
+    private static final List<String> PMD_OPTIONS = List.of(
+            "-R", "rulesets/java/quickstart.xml", "-f", "json", "--no-cache");
+    private static final List<String> ESLINT_OPTIONS = List.of("--format", "json", "--no-eslintrc");
+    private static final List<String> BIOME_OPTIONS = List.of("lint", "--reporter", "json");
+    private static final List<String> RUFF_OPTIONS = List.of("check", "--output-format", "json", "--no-cache");
+    // Skip missing docstrings for partial files
+    private static final List<String> PYLINT_OPTIONS = List.of(
+            "--output-format", "json", "--disable=C0114,C0115,C0116");
+
+    /**
+     * Ferramentas cujos achados de um arquivo dependem só dele: analisáveis
+     * arquivo a arquivo e, portanto, com cache por arquivo. SpotBugs analisa o
+     * workspace inteiro e SonarQube o repositório no servidor.
+     */
+    private static final Map<SastAggregatorPass.SastTool, List<String>> CACHED_TOOL_EXTENSIONS = Map.of(
+            SastAggregatorPass.SastTool.CHECKSTYLE, List.of(".java"),
+            SastAggregatorPass.SastTool.PMD, List.of(".java"),
+            SastAggregatorPass.SastTool.ESLINT, JS_EXTENSIONS,
+            SastAggregatorPass.SastTool.BIOME, JS_EXTENSIONS,
+            SastAggregatorPass.SastTool.RUFF, PY_EXTENSIONS,
+            SastAggregatorPass.SastTool.PYLINT, PY_EXTENSIONS);
+
+    private static final Map<SastAggregatorPass.SastTool, List<String>> TOOL_OPTIONS = Map.of(
+            SastAggregatorPass.SastTool.CHECKSTYLE, CHECKSTYLE_OPTIONS,
+            SastAggregatorPass.SastTool.PMD, PMD_OPTIONS,
+            SastAggregatorPass.SastTool.ESLINT, ESLINT_OPTIONS,
+            SastAggregatorPass.SastTool.BIOME, BIOME_OPTIONS,
+            SastAggregatorPass.SastTool.RUFF, RUFF_OPTIONS,
+            SastAggregatorPass.SastTool.PYLINT, PYLINT_OPTIONS);
+
+    /** Ferramentas com execução implementada (ver {@link #runTool}); as demais não têm o que agendar. */
+    private static final Set<SastAggregatorPass.SastTool> SUPPORTED_TOOLS = EnumSet.of(
+            SastAggregatorPass.SastTool.CHECKSTYLE,
+            SastAggregatorPass.SastTool.PMD,
+            SastAggregatorPass.SastTool.SPOTBUGS,
+            SastAggregatorPass.SastTool.SONARQUBE,
+            SastAggregatorPass.SastTool.ESLINT,
+            SastAggregatorPass.SastTool.BIOME,
+            SastAggregatorPass.SastTool.RUFF,
+            SastAggregatorPass.SastTool.PYLINT);
+
     /** Regex to extract added lines from unified diff patches. */
     private static final Pattern HUNK_HEADER = Pattern.compile("^@@\\s+-\\d+(?:,\\d+)?\\s+\\+(\\d+)(?:,(\\d+))?\\s+@@");
 
     /**
-     * Executa uma ferramenta SAST específica.
+     * Se a ferramenta tem execução implementada aqui.
+     */
+    public boolean supports(SastAggregatorPass.SastTool tool) {
+        return SUPPORTED_TOOLS.contains(tool);
+    }
+
+    /**
+     * Executa uma ferramenta SAST específica num workspace próprio.
      */
     public List<SastAggregatorPass.ToolIssue> execute(SastAggregatorPass.SastTool tool,
                                                        PullRequest pullRequest,
                                                        Review review,
                                                        List<GitHubService.FileDiff> diffs) {
+        try (SastWorkspaces.Lease workspace = prepareWorkspace(pullRequest, diffs)) {
+            return execute(tool, pullRequest, review, diffs, workspace);
+        }
+    }
+
+    /**
+     * Executa uma ferramenta SAST específica sobre o workspace do review
+     * (ver {@link #prepareWorkspace}). O lease continua com o chamador.
+     */
+    public List<SastAggregatorPass.ToolIssue> execute(SastAggregatorPass.SastTool tool,
+                                                       PullRequest pullRequest,
+                                                       Review review,
+                                                       List<GitHubService.FileDiff> diffs,
+                                                       SastWorkspaces.Lease workspace) {
+        if (tool == SastAggregatorPass.SastTool.SONARQUBE) {
+            // SonarQube analisa o repositório no servidor, não o workspace
+            return executeSonarQube(pullRequest, review);
+        }
+
+        List<SastAggregatorPass.ToolIssue> issues;
+        try {
+            issues = resultCache.isEnabled() && CACHED_TOOL_EXTENSIONS.containsKey(tool)
+                    ? executeCached(tool, pullRequest, review, diffs, workspace)
+                    : runTool(tool, pullRequest, review, diffs, workspace).orElse(List.of());
+        } catch (Exception e) {
+            log.warn("{} execution failed: {}", tool.getName(), e.getMessage());
+            return List.of();
+        }
+        return onChangedLines(issues, diffs, workspace);
+    }
+
+    /**
+     * Executa a ferramenta só nos arquivos sem resultado no
+     * {@link SastResultCache} e junta os achados em cache. Os resultados dos
+     * arquivos analisados — inclusive os sem achados — vão para o cache, exceto
+     * quando a ferramenta não rodou (não instalada, sem implementação) ou um
+     * achado não pôde ser atribuído com certeza a um arquivo: aí os arquivos
+     * que ele pode ser ficam de fora. Sem versão conhecida da ferramenta,
+     * executa sem cache.
+     */
+    private List<SastAggregatorPass.ToolIssue> executeCached(SastAggregatorPass.SastTool tool,
+                                                               PullRequest pullRequest,
+                                                               Review review,
+                                                               List<GitHubService.FileDiff> diffs,
+                                                               SastWorkspaces.Lease workspace) throws Exception {
+        String fingerprint = toolFingerprint(tool);
+        if (fingerprint == null) {
+            return runTool(tool, pullRequest, review, diffs, workspace).orElse(List.of());
+        }
+
+        List<SastAggregatorPass.ToolIssue> issues = new ArrayList<>();
+        List<GitHubService.FileDiff> misses = new ArrayList<>();
+        Map<String, String> missKeys = new HashMap<>();
+        for (GitHubService.FileDiff diff : filterByExtensions(diffs, CACHED_TOOL_EXTENSIONS.get(tool))) {
+            String contentHash = workspace.contentHash(diff.filename());
+            if (contentHash == null) continue; // fora do workspace: a ferramenta também não o analisa
+
+            String key = SastResultCache.buildKey(tool, fingerprint, diff.filename(), contentHash);
+            Optional<List<SastAggregatorPass.ToolIssue>> cached = resultCache.get(tool, key);
+            if (cached.isPresent()) {
+                issues.addAll(cached.get());
+            } else {
+                misses.add(diff);
+                missKeys.put(diff.filename(), key);
+            }
+        }
+        if (misses.isEmpty()) return issues;
+
+        Optional<List<SastAggregatorPass.ToolIssue>> analyzed = runTool(tool, pullRequest, review, misses, workspace);
+        if (analyzed.isEmpty()) return issues;
+
+        Map<String, List<SastAggregatorPass.ToolIssue>> byFile = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        for (SastAggregatorPass.ToolIssue issue : analyzed.get()) {
+            if (missKeys.containsKey(issue.getFilePath())) {
+                byFile.computeIfAbsent(issue.getFilePath(), p -> new ArrayList<>()).add(issue);
+            } else {
+                ambiguous.addAll(candidateFiles(issue.getFilePath(), missKeys.keySet()));
+            }
+        }
+        missKeys.forEach((path, key) -> {
+            if (!ambiguous.contains(path)) {
+                resultCache.put(tool, key, byFile.getOrDefault(path, List.of()));
+            }
+        });
+        issues.addAll(analyzed.get());
+        return issues;
+    }
+
+    /**
+     * Arquivos a que pode pertencer um achado não atribuído: os de mesmo nome,
+     * ou todos se o achado não tem arquivo.
+     */
+    private static Set<String> candidateFiles(String toolPath, Set<String> files) {
+        if (toolPath == null) return files;
+        String basename = OriginalPaths.basename(toolPath);
+        return files.stream()
+                .filter(file -> OriginalPaths.basename(file).equals(basename))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Versão (do {@link SastToolRegistry}) e regras da ferramenta, para a chave
+     * do cache de resultados; null se a versão é desconhecida.
+     */
+    String toolFingerprint(SastAggregatorPass.SastTool tool) {
+        return toolRegistry.version(tool)
+                .map(version -> version + "|" + String.join(" ", TOOL_OPTIONS.get(tool)))
+                .orElse(null);
+    }
+
+    /**
+     * Executa a ferramenta nos arquivos informados; vazio se ela não rodou (não
+     * instalada, sem implementação ou sem arquivos para analisar) — resultado
+     * que não pode ir para o cache como "sem achados".
+     */
+    private Optional<List<SastAggregatorPass.ToolIssue>> runTool(SastAggregatorPass.SastTool tool,
+                                                                  PullRequest pullRequest,
+                                                                  Review review,
+                                                                  List<GitHubService.FileDiff> diffs,
+                                                                  SastWorkspaces.Lease workspace) throws Exception {
         return switch (tool) {
-            case SONARQUBE -> executeSonarQube(pullRequest, review);
-            case CHECKSTYLE -> executeCheckstyle(pullRequest, review, diffs);
-            case PMD -> executePMD(pullRequest, review, diffs);
-            case SPOTBUGS -> executeSpotBugs(pullRequest, review, diffs);
-            case ESLINT -> executeEslint(pullRequest, review, diffs);
-            case BIOME -> executeBiome(pullRequest, review, diffs);
-            case RUFF -> executeRuff(pullRequest, review, diffs);
-            case PYLINT -> executePylint(pullRequest, review, diffs);
+            case CHECKSTYLE -> executeCheckstyle(pullRequest, review, diffs, workspace);
+            case PMD -> executePMD(pullRequest, review, diffs, workspace);
+            case SPOTBUGS -> executeSpotBugs(pullRequest, review, diffs, workspace);
+            case ESLINT -> executeEslint(pullRequest, review, diffs, workspace);
+            case BIOME -> executeBiome(pullRequest, review, diffs, workspace);
+            case RUFF -> executeRuff(pullRequest, review, diffs, workspace);
+            case PYLINT -> executePylint(pullRequest, review, diffs, workspace);
             default -> {
                 log.debug("Tool {} not implemented, returning empty results", tool.getName());
-                yield List.of();
+                yield Optional.empty();
             }
         };
     }
 
+    /**
+     * Workspace com os arquivos alterados no PR (arquivos removidos e sem patch
+     * ficam de fora): o conteúdo do head quando disponível, senão a reconstrução
+     * do patch. Só é gravado em disco quando alguma ferramenta o usa; reviews com
+     * o mesmo conteúdo compartilham o mesmo diretório.
+     */
+    public SastWorkspaces.Lease prepareWorkspace(PullRequest pullRequest, List<GitHubService.FileDiff> diffs) {
+        List<GitHubService.FileDiff> changed = diffs.stream()
+                .filter(d -> !"removed".equals(d.status()))
+                .filter(d -> d.patch() != null && !d.patch().isBlank())
+                .collect(Collectors.toList());
+        Map<String, String> head = sourceFetcher.fetchHead(pullRequest, filenames(changed));
+
+        Map<String, String> files = new LinkedHashMap<>();
+        for (GitHubService.FileDiff diff : changed) {
+            String content = head.get(diff.filename());
+            files.put(diff.filename(), content != null ? content : extractContentFromPatch(diff.patch()));
+        }
+        return workspaces.acquire(files, head.keySet());
+    }
+
+    /**
+     * Restringe os achados em arquivos completos às linhas adicionadas do diff:
+     * fica o achado cujo intervalo (line..endLine) toca alguma linha adicionada.
+     * Achados sem linha ou em arquivos reconstruídos do patch são mantidos.
+     */
+    List<SastAggregatorPass.ToolIssue> onChangedLines(List<SastAggregatorPass.ToolIssue> issues,
+                                                      List<GitHubService.FileDiff> diffs,
+                                                      SastWorkspaces.Lease workspace) {
+        if (issues.isEmpty()) return issues;
+
+        Map<String, NavigableSet<Integer>> addedLines = new HashMap<>();
+        for (GitHubService.FileDiff diff : diffs) {
+            if (workspace.isComplete(diff.filename())) {
+                addedLines.put(diff.filename(), UnifiedDiffParser.parseAdded(diff.patch()).stream()
+                        .map(UnifiedDiffParser.LocatedLine::lineNumber)
+                        .collect(Collectors.toCollection(TreeSet::new)));
+            }
+        }
+        if (addedLines.isEmpty()) return issues;
+
+        return issues.stream().filter(issue -> {
+            NavigableSet<Integer> lines = addedLines.get(issue.getFilePath());
+            if (lines == null || issue.getLine() == null) return true;
+            int end = issue.getEndLine() != null ? Math.max(issue.getEndLine(), issue.getLine()) : issue.getLine();
+            Integer first = lines.ceiling(issue.getLine());
+            return first != null && first <= end;
+        }).collect(Collectors.toList());
+    }
+
     // ========== SonarQube (REST API) ==========
 
     /**
@@ -125,69 +373,64 @@ public class SastToolExecutor {
      * Executa Checkstyle via CLI: java -jar checkstyle.jar -c /google_checks.xml -f xml files/
      * Parse do XML de saída para extrair violations.
      */
-    private List<SastAggregatorPass.ToolIssue> executeCheckstyle(PullRequest pullRequest,
-                                                                   Review review,
-                                                                   List<GitHubService.FileDiff> diffs) {
+    private Optional<List<SastAggregatorPass.ToolIssue>> executeCheckstyle(PullRequest pullRequest,
+                                                                            Review review,
+                                                                            List<GitHubService.FileDiff> diffs,
+                                                                            SastWorkspaces.Lease workspace) throws Exception {
         List<GitHubService.FileDiff> javaFiles = filterByExtension(diffs, ".java");
-        if (javaFiles.isEmpty()) return List.of();
+        if (javaFiles.isEmpty()) return Optional.empty();
 
-        Path tempDir = null;
-        try {
-            tempDir = prepareTempFiles(javaFiles);
-            if (!isToolAvailable("checkstyle")) {
-                log.debug("Checkstyle not available on PATH, skipping");
-                return List.of();
-            }
-
-            String[] cmd = {"checkstyle", "-c", "/google_checks.xml", "-f", "xml", tempDir.toString()};
-            String output = executeCommand(cmd, tempDir.toFile());
+        if (!toolRegistry.isAvailable(SastAggregatorPass.SastTool.CHECKSTYLE)) {
+            log.debug("Checkstyle not available, skipping");
+            return Optional.empty();
+        }
+        List<String> files = workspace.paths(filenames(javaFiles));
+        if (files.isEmpty()) return Optional.empty();
 
-            return parseCheckstyleXml(output, javaFiles);
+        List<String> cmd = new ArrayList<>(List.of("checkstyle"));
+        cmd.addAll(CHECKSTYLE_OPTIONS);
+        cmd.addAll(files);
+        String output = executeJvmTool(SastAggregatorPass.SastTool.CHECKSTYLE, cmd.subList(1, cmd.size()),
+                cmd.toArray(new String[0]), workspace.root().toFile());
 
-        } catch (Exception e) {
-            log.warn("Checkstyle execution failed: {}", e.getMessage());
-            return List.of();
-        } finally {
-            cleanupTempDir(tempDir);
-        }
+        return Optional.of(parseCheckstyleXml(output, javaFiles, workspace.root()));
     }
 
     private List<SastAggregatorPass.ToolIssue> parseCheckstyleXml(String xml,
-                                                                    List<GitHubService.FileDiff> diffs) {
+                                                                    List<GitHubService.FileDiff> diffs,
+                                                                    Path workspaceRoot)
+            throws IOException {
+        if (!xml.contains("<checkstyle")) throw new IOException("Unexpected Checkstyle output");
         List<SastAggregatorPass.ToolIssue> issues = new ArrayList<>();
-        Map<String, String> tempToOriginal = buildTempToOriginalMap(diffs);
-
-        try {
-            // Simple XML parsing — Checkstyle XML format:
-            // <file name="path"><error line="10" column="5" severity="warning" message="..." source="..."/></file>
-            Pattern filePattern = Pattern.compile("<file\\s+name=\"([^\"]+)\"");
-            Pattern errorPattern = Pattern.compile(
-                    "<error\\s+line=\"(\\d+)\"(?:\\s+column=\"(\\d+)\")?\\s+severity=\"(\\w+)\"\\s+message=\"([^\"]+)\"(?:\\s+source=\"([^\"]+)\")?"
-            );
-
-            String currentFile = null;
-            for (String line : xml.split("\n")) {
-                Matcher fileMatcher = filePattern.matcher(line);
-                if (fileMatcher.find()) {
-                    currentFile = fileMatcher.group(1);
-                }
+        OriginalPaths originalPaths = new OriginalPaths(diffs, workspaceRoot);
+
+        // Simple XML parsing — Checkstyle XML format:
+        // <file name="path"><error line="10" column="5" severity="warning" message="..." source="..."/></file>
+        Pattern filePattern = Pattern.compile("<file\\s+name=\"([^\"]+)\"");
+        Pattern errorPattern = Pattern.compile(
+                "<error\\s+line=\"(\\d+)\"(?:\\s+column=\"(\\d+)\")?\\s+severity=\"(\\w+)\"\\s+message=\"([^\"]+)\"(?:\\s+source=\"([^\"]+)\")?"
+        );
+
+        String currentFile = null;
+        for (String line : xml.split("\n")) {
+            Matcher fileMatcher = filePattern.matcher(line);
+            if (fileMatcher.find()) {
+                currentFile = fileMatcher.group(1);
+            }
 
-                Matcher errorMatcher = errorPattern.matcher(line);
-                if (errorMatcher.find() && currentFile != null) {
-                    String originalPath = resolveOriginalPath(currentFile, tempToOriginal);
-                    issues.add(SastAggregatorPass.ToolIssue.builder()
-                            .filePath(originalPath)
-                            .line(Integer.parseInt(errorMatcher.group(1)))
-                            .severity(mapCheckstyleSeverity(errorMatcher.group(3)))
-                            .title(unescapeXml(errorMatcher.group(4)))
-                            .description(unescapeXml(errorMatcher.group(4)))
-                            .rule(errorMatcher.group(5))
-                            .category("style")
-                            .build());
-                }
+            Matcher errorMatcher = errorPattern.matcher(line);
+            if (errorMatcher.find() && currentFile != null) {
+                String originalPath = originalPaths.resolve(currentFile);
+                issues.add(SastAggregatorPass.ToolIssue.builder()
+                        .filePath(originalPath)
+                        .line(Integer.parseInt(errorMatcher.group(1)))
+                        .severity(mapCheckstyleSeverity(errorMatcher.group(3)))
+                        .title(unescapeXml(errorMatcher.group(4)))
+                        .description(unescapeXml(errorMatcher.group(4)))
+                        .rule(errorMatcher.group(5))
+                        .category("style")
+                        .build());
             }
-        } catch (Exception e) {
-            log.warn("Error parsing Checkstyle XML output: {}", e.getMessage());
         }
 
         return issues;
@@ -199,67 +442,60 @@ public class SastToolExecutor {
      * Executa PMD via CLI: pmd check -d path -R rulesets/java/quickstart.xml -f json
      * Parse do JSON de saída.
      */
-    private List<SastAggregatorPass.ToolIssue> executePMD(PullRequest pullRequest,
-                                                            Review review,
-                                                            List<GitHubService.FileDiff> diffs) {
+    private Optional<List<SastAggregatorPass.ToolIssue>> executePMD(PullRequest pullRequest,
+                                                                     Review review,
+                                                                     List<GitHubService.FileDiff> diffs,
+                                                                     SastWorkspaces.Lease workspace) throws Exception {
         List<GitHubService.FileDiff> javaFiles = filterByExtension(diffs, ".java");
-        if (javaFiles.isEmpty()) return List.of();
-
-        Path tempDir = null;
-        try {
-            tempDir = prepareTempFiles(javaFiles);
-            if (!isToolAvailable("pmd")) {
-                log.debug("PMD not available on PATH, skipping");
-                return List.of();
-            }
+        if (javaFiles.isEmpty()) return Optional.empty();
 
-            String[] cmd = {"pmd", "check", "-d", tempDir.toString(),
-                    "-R", "rulesets/java/quickstart.xml", "-f", "json", "--no-cache"};
-            String output = executeCommand(cmd, tempDir.toFile());
+        if (!toolRegistry.isAvailable(SastAggregatorPass.SastTool.PMD)) {
+            log.debug("PMD not available, skipping");
+            return Optional.empty();
+        }
+        List<String> files = workspace.paths(filenames(javaFiles));
+        if (files.isEmpty()) return Optional.empty();
 
-            return parsePmdJson(output, diffs);
+        List<String> cmdList = new ArrayList<>(List.of("pmd", "check", "-d", String.join(",", files)));
+        cmdList.addAll(PMD_OPTIONS);
+        String[] cmd = cmdList.toArray(new String[0]);
+        String output = executeJvmTool(SastAggregatorPass.SastTool.PMD, Arrays.asList(cmd).subList(1, cmd.length),
+                cmd, workspace.root().toFile());
 
-        } catch (Exception e) {
-            log.warn("PMD execution failed: {}", e.getMessage());
-            return List.of();
-        } finally {
-            cleanupTempDir(tempDir);
-        }
+        return Optional.of(parsePmdJson(output, diffs, workspace.root()));
     }
 
     private List<SastAggregatorPass.ToolIssue> parsePmdJson(String json,
-                                                              List<GitHubService.FileDiff> diffs) {
+                                                              List<GitHubService.FileDiff> diffs,
+                                                              Path workspaceRoot)
+            throws IOException {
         List<SastAggregatorPass.ToolIssue> issues = new ArrayList<>();
-        Map<String, String> tempToOriginal = buildTempToOriginalMap(diffs);
+        OriginalPaths originalPaths = new OriginalPaths(diffs, workspaceRoot);
 
-        try {
-            // PMD JSON format: { "files": [{ "filename": "...", "violations": [{ "beginline", "endline", "description", "rule", "ruleset", "priority" }] }] }
-            JsonNode root = objectMapper.readTree(json);
-            JsonNode filesNode = root.get("files");
-            if (filesNode == null || !filesNode.isArray()) return issues;
-
-            for (JsonNode fileNode : filesNode) {
-                String filename = fileNode.has("filename") ? fileNode.get("filename").asText() : null;
-                String originalPath = resolveOriginalPath(filename, tempToOriginal);
-
-                JsonNode violations = fileNode.get("violations");
-                if (violations == null || !violations.isArray()) continue;
-
-                for (JsonNode v : violations) {
-                    issues.add(SastAggregatorPass.ToolIssue.builder()
-                            .filePath(originalPath)
-                            .line(v.has("beginline") ? v.get("beginline").asInt() : null)
-                            .endLine(v.has("endline") ? v.get("endline").asInt() : null)
-                            .severity(mapPmdPriority(v.has("priority") ? v.get("priority").asInt() : 3))
-                            .title(v.has("description") ? v.get("description").asText() : "PMD violation")
-                            .description(v.has("description") ? v.get("description").asText() : "")
-                            .rule(v.has("rule") ? v.get("rule").asText() : null)
-                            .category("quality")
-                            .build());
-                }
+        // PMD JSON format: { "files": [{ "filename": "...", "violations": [{ "beginline", "endline", "description", "rule", "ruleset", "priority" }] }] }
+        JsonNode root = objectMapper.readTree(json);
+        JsonNode filesNode = root.get("files");
+        if (filesNode == null || !filesNode.isArray()) throw new IOException("Unexpected PMD output");
+
+        for (JsonNode fileNode : filesNode) {
+            String filename = fileNode.has("filename") ? fileNode.get("filename").asText() : null;
+            String originalPath = originalPaths.resolve(filename);
+
+            JsonNode violations = fileNode.get("violations");
+            if (violations == null || !violations.isArray()) continue;
+
+            for (JsonNode v : violations) {
+                issues.add(SastAggregatorPass.ToolIssue.builder()
+                        .filePath(originalPath)
+                        .line(v.has("beginline") ? v.get("beginline").asInt() : null)
+                        .endLine(v.has("endline") ? v.get("endline").asInt() : null)
+                        .severity(mapPmdPriority(v.has("priority") ? v.get("priority").asInt() : 3))
+                        .title(v.has("description") ? v.get("description").asText() : "PMD violation")
+                        .description(v.has("description") ? v.get("description").asText() : "")
+                        .rule(v.has("rule") ? v.get("rule").asText() : null)
+                        .category("quality")
+                        .build());
             }
-        } catch (Exception e) {
-            log.warn("Error parsing PMD JSON output: {}", e.getMessage());
         }
 
         return issues;
@@ -271,44 +507,46 @@ public class SastToolExecutor {
      * Executa SpotBugs via CLI: spotbugs -textui -xml -output report.xml path
      * Parse do XML de saída.
      */
-    private List<SastAggregatorPass.ToolIssue> executeSpotBugs(PullRequest pullRequest,
-                                                                 Review review,
-                                                                 List<GitHubService.FileDiff> diffs) {
+    private Optional<List<SastAggregatorPass.ToolIssue>> executeSpotBugs(PullRequest pullRequest,
+                                                                          Review review,
+                                                                          List<GitHubService.FileDiff> diffs,
+                                                                          SastWorkspaces.Lease workspace) throws Exception {
         List<GitHubService.FileDiff> javaFiles = filterByExtension(diffs, ".java");
-        if (javaFiles.isEmpty()) return List.of();
+        if (javaFiles.isEmpty()) return Optional.empty();
 
-        Path tempDir = null;
+        Path reportFile = null;
         try {
-            tempDir = prepareTempFiles(javaFiles);
-            if (!isToolAvailable("spotbugs")) {
-                log.debug("SpotBugs not available on PATH, skipping");
-                return List.of();
+            if (!toolRegistry.isAvailable(SastAggregatorPass.SastTool.SPOTBUGS)) {
+                log.debug("SpotBugs not available, skipping");
+                return Optional.empty();
             }
+            if (workspace.paths(filenames(javaFiles)).isEmpty()) return Optional.empty();
 
-            Path reportFile = tempDir.resolve("spotbugs-report.xml");
+            // O relatório fica fora do workspace, que é somente leitura e compartilhado
+            Path root = workspace.root();
+            reportFile = Files.createTempFile("pullwise-spotbugs-", ".xml");
             String[] cmd = {"spotbugs", "-textui", "-xml", "-output", reportFile.toString(),
-                    tempDir.toString()};
-            executeCommand(cmd, tempDir.toFile());
+                    root.toString()};
+            // -textui é do script de lançamento; o worker chama a CLI texto direto
+            executeJvmTool(SastAggregatorPass.SastTool.SPOTBUGS, Arrays.asList(cmd).subList(2, cmd.length),
+                    cmd, root.toFile());
 
-            if (Files.exists(reportFile)) {
+            if (Files.size(reportFile) > 0) {
                 String output = Files.readString(reportFile);
-                return parseSpotBugsXml(output, diffs);
+                return Optional.of(parseSpotBugsXml(output, diffs, root));
             }
 
-            return List.of();
-
-        } catch (Exception e) {
-            log.warn("SpotBugs execution failed: {}", e.getMessage());
-            return List.of();
+            return Optional.of(List.of());
         } finally {
-            cleanupTempDir(tempDir);
+            deleteQuietly(reportFile);
         }
     }
 
     private List<SastAggregatorPass.ToolIssue> parseSpotBugsXml(String xml,
-                                                                   List<GitHubService.FileDiff> diffs) {
+                                                                   List<GitHubService.FileDiff> diffs,
+                                                                   Path workspaceRoot) {
         List<SastAggregatorPass.ToolIssue> issues = new ArrayList<>();
-        Map<String, String> tempToOriginal = buildTempToOriginalMap(diffs);
+        OriginalPaths originalPaths = new OriginalPaths(diffs, workspaceRoot);
 
         try {
             // SpotBugs XML: <BugInstance type="..." priority="..." category="...">
@@ -345,7 +583,7 @@ public class SastToolExecutor {
                 Matcher msgMatcher = messagePattern.matcher(block);
                 String message = msgMatcher.find() ? msgMatcher.group(1) : type;
 
-                String originalPath = resolveOriginalPath(sourcePath, tempToOriginal);
+                String originalPath = originalPaths.resolve(sourcePath);
 
                 issues.add(SastAggregatorPass.ToolIssue.builder()
                         .filePath(originalPath)
@@ -371,74 +609,65 @@ public class SastToolExecutor {
      * Executa ESLint via CLI: npx eslint --format json path
      * Parse do JSON: [{ filePath, messages: [{ severity, message, ruleId, line }] }]
      */
-    private List<SastAggregatorPass.ToolIssue> executeEslint(PullRequest pullRequest,
-                                                               Review review,
-                                                               List<GitHubService.FileDiff> diffs) {
-        List<GitHubService.FileDiff> jsFiles = filterByExtensions(diffs, List.of(
-                ".js", ".jsx", ".ts", ".tsx", ".mjs", ".cjs"));
-        if (jsFiles.isEmpty()) return List.of();
-
-        Path tempDir = null;
-        try {
-            tempDir = prepareTempFiles(jsFiles);
-            if (!isToolAvailable("eslint") && !isToolAvailable("npx")) {
-                log.debug("ESLint not available on PATH, skipping");
-                return List.of();
-            }
-
-            String tool = isToolAvailable("eslint") ? "eslint" : "npx";
-            String[] cmd;
-            if ("npx".equals(tool)) {
-                cmd = new String[]{"npx", "eslint", "--format", "json", "--no-eslintrc", tempDir.toString()};
-            } else {
-                cmd = new String[]{"eslint", "--format", "json", "--no-eslintrc", tempDir.toString()};
-            }
-            String output = executeCommand(cmd, tempDir.toFile());
-
-            return parseEslintJson(output, diffs);
+    private Optional<List<SastAggregatorPass.ToolIssue>> executeEslint(PullRequest pullRequest,
+                                                                        Review review,
+                                                                        List<GitHubService.FileDiff> diffs,
+                                                                        SastWorkspaces.Lease workspace) throws Exception {
+        List<GitHubService.FileDiff> jsFiles = filterByExtensions(diffs, JS_EXTENSIONS);
+        if (jsFiles.isEmpty()) return Optional.empty();
+
+        SastToolRegistry.ToolStatus eslint = toolRegistry.status(SastAggregatorPass.SastTool.ESLINT);
+        if (!eslint.available()) {
+            log.debug("ESLint not available, skipping");
+            return Optional.empty();
+        }
+        List<String> files = workspace.paths(filenames(jsFiles));
+        if (files.isEmpty()) return Optional.empty();
 
-        } catch (Exception e) {
-            log.warn("ESLint execution failed: {}", e.getMessage());
-            return List.of();
-        } finally {
-            cleanupTempDir(tempDir);
+        List<String> cmd = new ArrayList<>();
+        if (eslint.source() == SastToolRegistry.Source.NPX) {
+            cmd.add("npx");
         }
+        cmd.add("eslint");
+        cmd.addAll(ESLINT_OPTIONS);
+        cmd.addAll(files);
+        String output = executeCommand(cmd.toArray(new String[0]), workspace.root().toFile());
+
+        return Optional.of(parseEslintJson(output, diffs, workspace.root()));
     }
 
     private List<SastAggregatorPass.ToolIssue> parseEslintJson(String json,
-                                                                 List<GitHubService.FileDiff> diffs) {
+                                                                 List<GitHubService.FileDiff> diffs,
+                                                                 Path workspaceRoot)
+            throws IOException {
         List<SastAggregatorPass.ToolIssue> issues = new ArrayList<>();
-        Map<String, String> tempToOriginal = buildTempToOriginalMap(diffs);
+        OriginalPaths originalPaths = new OriginalPaths(diffs, workspaceRoot);
 
-        try {
-            // ESLint JSON: [{ "filePath": "...", "messages": [{ "ruleId", "severity", "message", "line", "endLine" }] }]
-            JsonNode root = objectMapper.readTree(json);
-            if (!root.isArray()) return issues;
-
-            for (JsonNode fileNode : root) {
-                String filePath = fileNode.has("filePath") ? fileNode.get("filePath").asText() : null;
-                String originalPath = resolveOriginalPath(filePath, tempToOriginal);
-
-                JsonNode messages = fileNode.get("messages");
-                if (messages == null || !messages.isArray()) continue;
-
-                for (JsonNode msg : messages) {
-                    int severity = msg.has("severity") ? msg.get("severity").asInt() : 1;
-                    issues.add(SastAggregatorPass.ToolIssue.builder()
-                            .filePath(originalPath)
-                            .line(msg.has("line") ? msg.get("line").asInt() : null)
-                            .endLine(msg.has("endLine") ? msg.get("endLine").asInt() : null)
-                            .severity(mapEslintSeverity(severity))
-                            .title(msg.has("message") ? msg.get("message").asText() : "ESLint violation")
-                            .description(msg.has("message") ? msg.get("message").asText() : "")
-                            .rule(msg.has("ruleId") && !msg.get("ruleId").isNull()
-                                    ? msg.get("ruleId").asText() : null)
-                            .category("style")
-                            .build());
-                }
+        // ESLint JSON: [{ "filePath": "...", "messages": [{ "ruleId", "severity", "message", "line", "endLine" }] }]
+        JsonNode root = objectMapper.readTree(json);
+        if (!root.isArray()) throw new IOException("Unexpected ESLint output");
+
+        for (JsonNode fileNode : root) {
+            String filePath = fileNode.has("filePath") ? fileNode.get("filePath").asText() : null;
+            String originalPath = originalPaths.resolve(filePath);
+
+            JsonNode messages = fileNode.get("messages");
+            if (messages == null || !messages.isArray()) continue;
+
+            for (JsonNode msg : messages) {
+                int severity = msg.has("severity") ? msg.get("severity").asInt() : 1;
+                issues.add(SastAggregatorPass.ToolIssue.builder()
+                        .filePath(originalPath)
+                        .line(msg.has("line") ? msg.get("line").asInt() : null)
+                        .endLine(msg.has("endLine") ? msg.get("endLine").asInt() : null)
+                        .severity(mapEslintSeverity(severity))
+                        .title(msg.has("message") ? msg.get("message").asText() : "ESLint violation")
+                        .description(msg.has("message") ? msg.get("message").asText() : "")
+                        .rule(msg.has("ruleId") && !msg.get("ruleId").isNull()
+                                ? msg.get("ruleId").asText() : null)
+                        .category("style")
+                        .build());
             }
-        } catch (Exception e) {
-            log.warn("Error parsing ESLint JSON output: {}", e.getMessage());
         }
 
         return issues;
@@ -450,80 +679,72 @@ public class SastToolExecutor {
      * Executa Biome via CLI: biome lint --reporter json path
      * Parse do JSON diagnostics.
      */
-    private List<SastAggregatorPass.ToolIssue> executeBiome(PullRequest pullRequest,
-                                                              Review review,
-                                                              List<GitHubService.FileDiff> diffs) {
-        List<GitHubService.FileDiff> jsFiles = filterByExtensions(diffs, List.of(
-                ".js", ".jsx", ".ts", ".tsx", ".mjs", ".cjs"));
-        if (jsFiles.isEmpty()) return List.of();
-
-        Path tempDir = null;
-        try {
-            tempDir = prepareTempFiles(jsFiles);
-            if (!isToolAvailable("biome")) {
-                log.debug("Biome not available on PATH, skipping");
-                return List.of();
-            }
-
-            String[] cmd = {"biome", "lint", "--reporter", "json", tempDir.toString()};
-            String output = executeCommand(cmd, tempDir.toFile());
+    private Optional<List<SastAggregatorPass.ToolIssue>> executeBiome(PullRequest pullRequest,
+                                                                       Review review,
+                                                                       List<GitHubService.FileDiff> diffs,
+                                                                       SastWorkspaces.Lease workspace) throws Exception {
+        List<GitHubService.FileDiff> jsFiles = filterByExtensions(diffs, JS_EXTENSIONS);
+        if (jsFiles.isEmpty()) return Optional.empty();
+
+        if (!toolRegistry.isAvailable(SastAggregatorPass.SastTool.BIOME)) {
+            log.debug("Biome not available, skipping");
+            return Optional.empty();
+        }
+        List<String> files = workspace.paths(filenames(jsFiles));
+        if (files.isEmpty()) return Optional.empty();
 
-            return parseBiomeJson(output, diffs);
+        List<String> cmd = new ArrayList<>(List.of("biome"));
+        cmd.addAll(BIOME_OPTIONS);
+        cmd.addAll(files);
+        String output = executeCommand(cmd.toArray(new String[0]), workspace.root().toFile());
 
-        } catch (Exception e) {
-            log.warn("Biome execution failed: {}", e.getMessage());
-            return List.of();
-        } finally {
-            cleanupTempDir(tempDir);
-        }
+        return Optional.of(parseBiomeJson(output, diffs, workspace.root()));
     }
 
     private List<SastAggregatorPass.ToolIssue> parseBiomeJson(String json,
-                                                                List<GitHubService.FileDiff> diffs) {
+                                                                List<GitHubService.FileDiff> diffs,
+                                                                Path workspaceRoot)
+            throws IOException {
         List<SastAggregatorPass.ToolIssue> issues = new ArrayList<>();
-        Map<String, String> tempToOriginal = buildTempToOriginalMap(diffs);
-
-        try {
-            // Biome JSON: { "diagnostics": [{ "category": "...", "severity": "...", "description": "...",
-            //   "location": { "path": { "file": "..." }, "span": { "start": N, "end": N } } }] }
-            JsonNode root = objectMapper.readTree(json);
-            JsonNode diagnostics = root.get("diagnostics");
-            if (diagnostics == null || !diagnostics.isArray()) return issues;
-
-            for (JsonNode diag : diagnostics) {
-                String filePath = null;
-                Integer line = null;
-
-                JsonNode location = diag.get("location");
-                if (location != null) {
-                    JsonNode pathNode = location.get("path");
-                    if (pathNode != null && pathNode.has("file")) {
-                        filePath = pathNode.get("file").asText();
-                    }
-                }
-
-                String originalPath = resolveOriginalPath(filePath, tempToOriginal);
-                String category = diag.has("category") ? diag.get("category").asText() : "lint";
-                String severityStr = diag.has("severity") ? diag.get("severity").asText() : "warning";
-                String description = diag.has("description") ? diag.get("description").asText() : "";
-                // Biome may use a nested message object
-                if (description.isEmpty() && diag.has("message")) {
-                    JsonNode msgNode = diag.get("message");
-                    description = msgNode.isTextual() ? msgNode.asText() : msgNode.toString();
+        OriginalPaths originalPaths = new OriginalPaths(diffs, workspaceRoot);
+
+        // Biome JSON: { "diagnostics": [{ "category": "...", "severity": "...", "description": "...",
+        //   "location": { "path": { "file": "..." }, "span": { "start": N, "end": N } } }] }
+        JsonNode root = objectMapper.readTree(json);
+        JsonNode diagnostics = root.get("diagnostics");
+        if (diagnostics == null || !diagnostics.isArray()) throw new IOException("Unexpected Biome output");
+
+        for (JsonNode diag : diagnostics) {
+            String filePath = null;
+            Integer line = null;
+
+            JsonNode location = diag.get("location");
+            if (location != null) {
+                JsonNode pathNode = location.get("path");
+                if (pathNode != null && pathNode.has("file")) {
+                    filePath = pathNode.get("file").asText();
                 }
+            }
 
-                issues.add(SastAggregatorPass.ToolIssue.builder()
-                        .filePath(originalPath)
-                        .line(line)
-                        .severity(mapBiomeSeverity(severityStr))
-                        .title(description.length() > 120 ? description.substring(0, 120) + "..." : description)
-                        .description(description)
-                        .rule(category)
-                        .category("style")
-                        .build());
+            String originalPath = originalPaths.resolve(filePath);
+            String category = diag.has("category") ? diag.get("category").asText() : "lint";
+            String severityStr = diag.has("severity") ? diag.get("severity").asText() : "warning";
+            String description = diag.has("description") ? diag.get("description").asText() : "";
+            // Biome may use a nested message object
+            if (description.isEmpty() && diag.has("message")) {
+                JsonNode msgNode = diag.get("message");
+                description = msgNode.isTextual() ? msgNode.asText() : msgNode.toString();
             }
-        } catch (Exception e) {
-            log.warn("Error parsing Biome JSON output: {}", e.getMessage());
+
+            issues.add(SastAggregatorPass.ToolIssue.builder()
+                    .filePath(originalPath)
+                    .line(line)
+                    .severity(mapBiomeSeverity(severityStr))
+                    .title(description.length() > 120 ? description.substring(0, 120) + "..." : description)
+                    .description(description)
+                    .rule(category)
+                    .category("style")
+                    .build());
         }
 
         return issues;
@@ -535,75 +756,68 @@ public class SastToolExecutor {
      * Executa Ruff via CLI: ruff check --output-format json path
      * Parse do JSON: [{ "code", "message", "filename", "location": { "row", "column" } }]
      */
-    private List<SastAggregatorPass.ToolIssue> executeRuff(PullRequest pullRequest,
-                                                             Review review,
-                                                             List<GitHubService.FileDiff> diffs) {
-        List<GitHubService.FileDiff> pyFiles = filterByExtensions(diffs, List.of(".py", ".pyi"));
-        if (pyFiles.isEmpty()) return List.of();
-
-        Path tempDir = null;
-        try {
-            tempDir = prepareTempFiles(pyFiles);
-            if (!isToolAvailable("ruff")) {
-                log.debug("Ruff not available on PATH, skipping");
-                return List.of();
-            }
-
-            String[] cmd = {"ruff", "check", "--output-format", "json", "--no-cache", tempDir.toString()};
-            String output = executeCommand(cmd, tempDir.toFile());
+    private Optional<List<SastAggregatorPass.ToolIssue>> executeRuff(PullRequest pullRequest,
+                                                                      Review review,
+                                                                      List<GitHubService.FileDiff> diffs,
+                                                                      SastWorkspaces.Lease workspace) throws Exception {
+        List<GitHubService.FileDiff> pyFiles = filterByExtensions(diffs, PY_EXTENSIONS);
+        if (pyFiles.isEmpty()) return Optional.empty();
+
+        if (!toolRegistry.isAvailable(SastAggregatorPass.SastTool.RUFF)) {
+            log.debug("Ruff not available, skipping");
+            return Optional.empty();
+        }
+        List<String> files = workspace.paths(filenames(pyFiles));
+        if (files.isEmpty()) return Optional.empty();
 
-            return parseRuffJson(output, diffs);
+        List<String> cmd = new ArrayList<>(List.of("ruff"));
+        cmd.addAll(RUFF_OPTIONS);
+        cmd.addAll(files);
+        String output = executeCommand(cmd.toArray(new String[0]), workspace.root().toFile());
 
-        } catch (Exception e) {
-            log.warn("Ruff execution failed: {}", e.getMessage());
-            return List.of();
-        } finally {
-            cleanupTempDir(tempDir);
-        }
+        return Optional.of(parseRuffJson(output, diffs, workspace.root()));
     }
 
     private List<SastAggregatorPass.ToolIssue> parseRuffJson(String json,
-                                                               List<GitHubService.FileDiff> diffs) {
+                                                               List<GitHubService.FileDiff> diffs,
+                                                               Path workspaceRoot)
+            throws IOException {
         List<SastAggregatorPass.ToolIssue> issues = new ArrayList<>();
-        Map<String, String> tempToOriginal = buildTempToOriginalMap(diffs);
-
-        try {
-            // Ruff JSON: [{ "code": "E501", "message": "...", "filename": "...",
-            //   "location": { "row": 10, "column": 5 }, "end_location": { "row": 10, "column": 80 } }]
-            JsonNode root = objectMapper.readTree(json);
-            if (!root.isArray()) return issues;
-
-            for (JsonNode item : root) {
-                String filename = item.has("filename") ? item.get("filename").asText() : null;
-                String originalPath = resolveOriginalPath(filename, tempToOriginal);
-
-                Integer row = null;
-                Integer endRow = null;
-                if (item.has("location")) {
-                    JsonNode loc = item.get("location");
-                    row = loc.has("row") ? loc.get("row").asInt() : null;
-                }
-                if (item.has("end_location")) {
-                    JsonNode endLoc = item.get("end_location");
-                    endRow = endLoc.has("row") ? endLoc.get("row").asInt() : null;
-                }
-
-                String code = item.has("code") ? item.get("code").asText() : null;
-                String message = item.has("message") ? item.get("message").asText() : "Ruff violation";
-
-                issues.add(SastAggregatorPass.ToolIssue.builder()
-                        .filePath(originalPath)
-                        .line(row)
-                        .endLine(endRow)
-                        .severity(mapRuffCode(code))
-                        .title(message)
-                        .description(code + ": " + message)
-                        .rule(code)
-                        .category("style")
-                        .build());
+        OriginalPaths originalPaths = new OriginalPaths(diffs, workspaceRoot);
+
+        // Ruff JSON: [{ "code": "E501", "message": "...", "filename": "...",
+        //   "location": { "row": 10, "column": 5 }, "end_location": { "row": 10, "column": 80 } }]
+        JsonNode root = objectMapper.readTree(json);
+        if (!root.isArray()) throw new IOException("Unexpected Ruff output");
+
+        for (JsonNode item : root) {
+            String filename = item.has("filename") ? item.get("filename").asText() : null;
+            String originalPath = originalPaths.resolve(filename);
+
+            Integer row = null;
+            Integer endRow = null;
+            if (item.has("location")) {
+                JsonNode loc = item.get("location");
+                row = loc.has("row") ? loc.get("row").asInt() : null;
             }
-        } catch (Exception e) {
-            log.warn("Error parsing Ruff JSON output: {}", e.getMessage());
+            if (item.has("end_location")) {
+                JsonNode endLoc = item.get("end_location");
+                endRow = endLoc.has("row") ? endLoc.get("row").asInt() : null;
+            }
+
+            String code = item.has("code") ? item.get("code").asText() : null;
+            String message = item.has("message") ? item.get("message").asText() : "Ruff violation";
+
+            issues.add(SastAggregatorPass.ToolIssue.builder()
+                    .filePath(originalPath)
+                    .line(row)
+                    .endLine(endRow)
+                    .severity(mapRuffCode(code))
+                    .title(message)
+                    .description(code + ": " + message)
+                    .rule(code)
+                    .category("style")
+                    .build());
         }
 
         return issues;
@@ -615,82 +829,69 @@ public class SastToolExecutor {
      * Executa Pylint via CLI: pylint --output-format json path
      * Parse do JSON: [{ "type", "module", "obj", "line", "column", "message", "message-id" }]
      */
-    private List<SastAggregatorPass.ToolIssue> executePylint(PullRequest pullRequest,
-                                                               Review review,
-                                                               List<GitHubService.FileDiff> diffs) {
-        List<GitHubService.FileDiff> pyFiles = filterByExtensions(diffs, List.of(".py", ".pyi"));
-        if (pyFiles.isEmpty()) return List.of();
-
-        Path tempDir = null;
-        try {
-            tempDir = prepareTempFiles(pyFiles);
-            if (!isToolAvailable("pylint")) {
-                log.debug("Pylint not available on PATH, skipping");
-                return List.of();
-            }
-
-            // Collect all .py files in temp dir
-            List<String> pyPaths = new ArrayList<>();
-            Files.walk(tempDir).filter(p -> p.toString().endsWith(".py"))
-                    .forEach(p -> pyPaths.add(p.toString()));
+    private Optional<List<SastAggregatorPass.ToolIssue>> executePylint(PullRequest pullRequest,
+                                                                        Review review,
+                                                                        List<GitHubService.FileDiff> diffs,
+                                                                        SastWorkspaces.Lease workspace) throws Exception {
+        List<GitHubService.FileDiff> pyFiles = filterByExtensions(diffs, PY_EXTENSIONS);
+        if (pyFiles.isEmpty()) return Optional.empty();
+
+        if (!toolRegistry.isAvailable(SastAggregatorPass.SastTool.PYLINT)) {
+            log.debug("Pylint not available, skipping");
+            return Optional.empty();
+        }
 
-            if (pyPaths.isEmpty()) return List.of();
+        // Only .py files (pylint ignores stubs)
+        List<String> pyPaths = workspace.paths(filenames(pyFiles)).stream()
+                .filter(p -> p.endsWith(".py"))
+                .collect(Collectors.toList());
 
-            List<String> cmdList = new ArrayList<>();
-            cmdList.add("pylint");
-            cmdList.add("--output-format");
-            cmdList.add("json");
-            cmdList.add("--disable=C0114,C0115,C0116"); // Skip missing docstrings for partial files
-            cmdList.addAll(pyPaths);
+        if (pyPaths.isEmpty()) return Optional.empty();
 
-            String output = executeCommand(cmdList.toArray(new String[0]), tempDir.toFile());
+        List<String> cmdList = new ArrayList<>();
+        cmdList.add("pylint");
+        cmdList.addAll(PYLINT_OPTIONS);
+        cmdList.addAll(pyPaths);
 
-            return parsePylintJson(output, diffs);
+        String output = executeCommand(cmdList.toArray(new String[0]), workspace.root().toFile());
 
-        } catch (Exception e) {
-            log.warn("Pylint execution failed: {}", e.getMessage());
-            return List.of();
-        } finally {
-            cleanupTempDir(tempDir);
-        }
+        return Optional.of(parsePylintJson(output, diffs, workspace.root()));
     }
 
     private List<SastAggregatorPass.ToolIssue> parsePylintJson(String json,
-                                                                 List<GitHubService.FileDiff> diffs) {
+                                                                 List<GitHubService.FileDiff> diffs,
+                                                                 Path workspaceRoot)
+            throws IOException {
         List<SastAggregatorPass.ToolIssue> issues = new ArrayList<>();
-        Map<String, String> tempToOriginal = buildTempToOriginalMap(diffs);
-
-        try {
-            // Pylint JSON: [{ "type": "convention|refactor|warning|error|fatal",
-            //   "module": "...", "obj": "...", "line": 10, "column": 0,
-            //   "message": "...", "message-id": "C0301", "symbol": "line-too-long" }]
-            JsonNode root = objectMapper.readTree(json);
-            if (!root.isArray()) return issues;
-
-            for (JsonNode item : root) {
-                String path = item.has("path") ? item.get("path").asText() : null;
-                String originalPath = resolveOriginalPath(path, tempToOriginal);
-
-                String type = item.has("type") ? item.get("type").asText() : "convention";
-                String messageId = item.has("message-id") ? item.get("message-id").asText() : null;
-                String symbol = item.has("symbol") ? item.get("symbol").asText() : null;
-                String message = item.has("message") ? item.get("message").asText() : "Pylint violation";
-                Integer line = item.has("line") ? item.get("line").asInt() : null;
-
-                String rule = messageId != null ? messageId : symbol;
-
-                issues.add(SastAggregatorPass.ToolIssue.builder()
-                        .filePath(originalPath)
-                        .line(line)
-                        .severity(mapPylintType(type))
-                        .title(message)
-                        .description((symbol != null ? symbol + ": " : "") + message)
-                        .rule(rule)
-                        .category("quality")
-                        .build());
-            }
-        } catch (Exception e) {
-            log.warn("Error parsing Pylint JSON output: {}", e.getMessage());
+        OriginalPaths originalPaths = new OriginalPaths(diffs, workspaceRoot);
+
+        // Pylint JSON: [{ "type": "convention|refactor|warning|error|fatal",
+        //   "module": "...", "obj": "...", "line": 10, "column": 0,
+        //   "message": "...", "message-id": "C0301", "symbol": "line-too-long" }]
+        JsonNode root = objectMapper.readTree(json);
+        if (!root.isArray()) throw new IOException("Unexpected Pylint output");
+
+        for (JsonNode item : root) {
+            String path = item.has("path") ? item.get("path").asText() : null;
+            String originalPath = originalPaths.resolve(path);
+
+            String type = item.has("type") ? item.get("type").asText() : "convention";
+            String messageId = item.has("message-id") ? item.get("message-id").asText() : null;
+            String symbol = item.has("symbol") ? item.get("symbol").asText() : null;
+            String message = item.has("message") ? item.get("message").asText() : "Pylint violation";
+            Integer line = item.has("line") ? item.get("line").asInt() : null;
+
+            String rule = messageId != null ? messageId : symbol;
+
+            issues.add(SastAggregatorPass.ToolIssue.builder()
+                    .filePath(originalPath)
+                    .line(line)
+                    .severity(mapPylintType(type))
+                    .title(message)
+                    .description((symbol != null ? symbol + ": " : "") + message)
+                    .rule(rule)
+                    .category("quality")
+                    .build());
         }
 
         return issues;
@@ -698,29 +899,6 @@ public class SastToolExecutor {
 
     // ========== Utility Methods ==========
 
-    /**
-     * Prepara arquivos temporários a partir dos diffs.
-     * Extrai as linhas adicionadas de cada patch e grava em arquivos no temp dir,
-     * preservando a estrutura de diretórios original.
-     */
-    private Path prepareTempFiles(List<GitHubService.FileDiff> diffs) throws IOException {
-        Path tempDir = Files.createTempDirectory("pullwise-sast-");
-
-        for (GitHubService.FileDiff diff : diffs) {
-            if (diff.patch() == null || diff.patch().isBlank()) continue;
-
-            // Preservar estrutura de diretórios
-            Path filePath = tempDir.resolve(diff.filename());
-            Files.createDirectories(filePath.getParent());
-
-            // Extrair conteúdo reconstruído do patch (linhas adicionadas + contexto)
-            String content = extractContentFromPatch(diff.patch());
-            Files.writeString(filePath, content);
-        }
-
-        return tempDir;
-    }
-
     /**
      * Extrai conteúdo aproximado do arquivo a partir do unified diff patch.
      * Usa linhas de contexto e linhas adicionadas para reconstruir o conteúdo.
@@ -749,73 +927,79 @@ public class SastToolExecutor {
     }
 
     /**
-     * Verifica se uma ferramenta está disponível no PATH.
+     * Executa uma ferramenta em Java num worker aquecido ({@link SastWorkerPool})
+     * ou, sem worker disponível, num processo novo ({@code cmd}).
+     *
+     * @param workerArgs argumentos da CLI da ferramenta, sem o executável
      */
-    private boolean isToolAvailable(String tool) {
-        try {
-            String[] cmd = System.getProperty("os.name").toLowerCase().contains("win")
-                    ? new String[]{"where", tool}
-                    : new String[]{"which", tool};
-            Process process = new ProcessBuilder(cmd)
-                    .redirectErrorStream(true)
-                    .start();
-            int exitCode = process.waitFor();
-            return exitCode == 0;
-        } catch (Exception e) {
-            return false;
-        }
+    private String executeJvmTool(SastAggregatorPass.SastTool tool, List<String> workerArgs,
+                                  String[] cmd, File workingDir) throws Exception {
+        Optional<String> output = workerPool.run(tool, workerArgs, Duration.ofSeconds(timeoutSeconds));
+        return output.isPresent() ? output.get() : executeCommand(cmd, workingDir);
     }
 
     /**
      * Executa um comando CLI e retorna o output.
+     *
+     * <p>A saída vai para um arquivo temporário (fora do diretório analisado),
+     * de modo que o timeout e a interrupção da thread (passada cancelada) são
+     * observados enquanto o processo roda; em ambos os casos o processo é morto.
      */
     private String executeCommand(String[] cmd, File workingDir) throws Exception {
+        Path outputFile = Files.createTempFile("pullwise-sast-out-", ".log");
         ProcessBuilder pb = new ProcessBuilder(cmd);
         pb.directory(workingDir);
         pb.redirectErrorStream(true);
+        pb.redirectOutput(outputFile.toFile());
 
         Process process = pb.start();
-
-        StringBuilder output = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
+        try {
+            boolean finished;
+            try {
+                finished = process.waitFor(timeoutSeconds, java.util.concurrent.TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+            if (!finished) {
+                process.destroyForcibly();
+                throw new RuntimeException("Command timed out after " + timeoutSeconds + "s");
             }
-        }
 
-        boolean finished = process.waitFor(timeoutSeconds, java.util.concurrent.TimeUnit.SECONDS);
-        if (!finished) {
-            process.destroyForcibly();
-            throw new RuntimeException("Command timed out after " + timeoutSeconds + "s");
-        }
+            String output = new String(Files.readAllBytes(outputFile), StandardCharsets.UTF_8);
+            int exitCode = process.exitValue();
+            // Exit code 1 is normal for linters (issues found)
+            if (exitCode != 0 && exitCode != 1 && exitCode != 2) {
+                log.debug("Command {} exited with code {} — output: {}", cmd[0], exitCode,
+                        output.length() > 500 ? output.substring(0, 500) : output);
+            }
 
-        int exitCode = process.exitValue();
-        // Exit code 1 is normal for linters (issues found)
-        if (exitCode != 0 && exitCode != 1 && exitCode != 2) {
-            log.debug("Command {} exited with code {} — output: {}", cmd[0], exitCode,
-                    output.length() > 500 ? output.substring(0, 500) : output);
+            return output;
+        } finally {
+            Files.deleteIfExists(outputFile);
         }
-
-        return output.toString();
     }
 
     /**
-     * Limpa o diretório temporário.
+     * Remove um arquivo temporário, ignorando falhas.
      */
-    private void cleanupTempDir(Path tempDir) {
-        if (tempDir == null) return;
+    private void deleteQuietly(Path file) {
+        if (file == null) return;
         try {
-            Files.walk(tempDir)
-                    .sorted(Comparator.reverseOrder())
-                    .forEach(path -> {
-                        try { Files.deleteIfExists(path); } catch (IOException e) { log.trace("Failed to delete temp file: {}", path); }
-                    });
+            Files.deleteIfExists(file);
         } catch (IOException e) {
-            log.debug("Failed to cleanup temp dir: {}", tempDir);
+            log.trace("Failed to delete temp file: {}", file);
         }
     }
 
+    /**
+     * Caminhos (relativos ao repositório) dos diffs.
+     */
+    private List<String> filenames(List<GitHubService.FileDiff> diffs) {
+        return diffs.stream().map(GitHubService.FileDiff::filename).collect(Collectors.toList());
+    }
+
     /**
      * Filtra diffs por extensão de arquivo.
      */
@@ -841,42 +1025,70 @@ public class SastToolExecutor {
     }
 
     /**
-     * Constrói mapa de caminhos temporários para caminhos originais.
+     * Caminhos originais (relativos ao repositório) dos caminhos reportados
+     * pelas ferramentas, que rodam no workspace e reportam o caminho absoluto,
+     * o relativo à raiz do workspace ou, como o SpotBugs, o relativo ao
+     * diretório de fontes. Um caminho que não identifica um único arquivo do
+     * diff — ex.: só o nome {@code Foo.java} com dois arquivos {@code Foo.java}
+     * alterados — fica como a ferramenta o reportou.
      */
-    private Map<String, String> buildTempToOriginalMap(List<GitHubService.FileDiff> diffs) {
-        Map<String, String> map = new HashMap<>();
-        for (GitHubService.FileDiff diff : diffs) {
-            // O nome do arquivo no temp dir terá o mesmo path relativo
-            String basename = Path.of(diff.filename()).getFileName().toString();
-            map.put(basename, diff.filename());
-            map.put(diff.filename(), diff.filename());
+    static final class OriginalPaths {
+
+        private final Set<String> filenames = new HashSet<>();
+        private final List<Path> roots = new ArrayList<>();
+
+        OriginalPaths(List<GitHubService.FileDiff> diffs, Path workspaceRoot) {
+            diffs.forEach(diff -> filenames.add(diff.filename()));
+            Path root = workspaceRoot.toAbsolutePath().normalize();
+            roots.add(root);
+            try {
+                // Ex.: /tmp -> /private/tmp no macOS
+                Path real = root.toRealPath();
+                if (!real.equals(root)) roots.add(real);
+            } catch (IOException e) {
+                log.trace("Could not resolve the real path of {}", root);
+            }
         }
-        return map;
-    }
 
-    /**
-     * Resolve o caminho original do arquivo a partir do caminho temporário.
-     */
-    private String resolveOriginalPath(String tempPath, Map<String, String> tempToOriginal) {
-        if (tempPath == null) return null;
-
-        // Tentar match direto
-        String original = tempToOriginal.get(tempPath);
-        if (original != null) return original;
-
-        // Tentar pelo basename
-        String basename = Path.of(tempPath).getFileName().toString();
-        original = tempToOriginal.get(basename);
-        if (original != null) return original;
-
-        // Tentar match por sufixo
-        for (Map.Entry<String, String> entry : tempToOriginal.entrySet()) {
-            if (tempPath.endsWith(entry.getKey()) || tempPath.endsWith(entry.getValue())) {
-                return entry.getValue();
+        String resolve(String toolPath) {
+            if (toolPath == null) return null;
+            if (filenames.contains(toolPath)) return toolPath;
+
+            String relative = relativize(toolPath);
+            if (relative == null) return toolPath;
+            if (filenames.contains(relative)) return relative;
+
+            // Caminho relativo a um diretório de fontes (ou absoluto fora do workspace): só se for único
+            List<String> matches = filenames.stream()
+                    .filter(f -> f.endsWith("/" + relative) || relative.endsWith("/" + f))
+                    .limit(2)
+                    .collect(Collectors.toList());
+            return matches.size() == 1 ? matches.get(0) : toolPath;
+        }
+
+        /** Caminho relativo à raiz do workspace, com {@code /}; null se inválido. */
+        private String relativize(String toolPath) {
+            Path path;
+            try {
+                path = Path.of(toolPath).normalize();
+            } catch (InvalidPathException e) {
+                return null;
             }
+            if (path.isAbsolute()) {
+                for (Path root : roots) {
+                    if (path.startsWith(root)) {
+                        path = root.relativize(path);
+                        break;
+                    }
+                }
+            }
+            return path.toString().replace(File.separatorChar, '/');
         }
 
-        return tempPath; // Fallback: retorna o path do temp
+        static String basename(String path) {
+            int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+            return path.substring(slash + 1);
+        }
     }
 
     // ========== SonarQube helpers ==========
@@ -0,0 +1,387 @@
+package com.pullwise.api.application.service.review.pipeline.pass;
+
+import com.pullwise.api.application.service.integration.SonarQubeService;
+import com.pullwise.api.application.service.review.pipeline.pass.SastAggregatorPass.SastTool;
+import com.pullwise.api.application.service.review.pipeline.pass.worker.SastWorkerPool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro das ferramentas SAST instaladas: disponibilidade, caminho resolvido
+ * e versão de cada {@link SastTool}.
+ *
+ * <p>Descoberto na partida e atualizado a cada
+ * {@code pullwise.sast.tools.refresh-interval}, em vez de um {@code which} ou
+ * {@code --version} por execução e por review. O executável é procurado nos
+ * diretórios do {@code PATH} sem criar processos; o {@code --version} só roda
+ * quando o executável resolvido mudou (caminho, tamanho ou data) desde a
+ * última verificação.
+ *
+ * <p>Origens:
+ * <ul>
+ *   <li><b>WORKER:</b> ferramenta com pool de workers ({@link SastWorkerPool});
+ *       versão = digest do classpath</li>
+ *   <li><b>PATH:</b> executável encontrado no {@code PATH}</li>
+ *   <li><b>NPX:</b> ESLint sem executável próprio, via {@code npx}; sem versão
+ *       conhecida (o npx pode baixar qualquer uma), portanto sem cache de resultados</li>
+ *   <li><b>SERVER:</b> SonarQube, disponível quando configurado</li>
+ * </ul>
+ *
+ * <p>Exposto no endpoint Actuator {@code sasttools} ({@link SastToolsEndpoint})
+ * e no gauge {@code pullwise.sast.tool.available{tool}}.
+ */
+@Slf4j
+@Component
+public class SastToolRegistry {
+
+    /** Executável de cada ferramenta; as ausentes não têm CLI (plugins de compilador/MSBuild). */
+    private static final Map<SastTool, String> DEFAULT_COMMANDS = defaultCommands();
+
+    /** Argumento de versão diferente de {@code --version}. */
+    private static final Map<SastTool, String> VERSION_ARGS = Map.of(SastTool.SPOTBUGS, "-version");
+
+    private static final Duration VERSION_PROBE_TIMEOUT = Duration.ofSeconds(10);
+    private static final int MAX_VERSION_LENGTH = 200;
+
+    /** De onde a ferramenta é executada. */
+    public enum Source { WORKER, PATH, NPX, SERVER, NONE }
+
+    /**
+     * Estado de uma ferramenta na última verificação.
+     *
+     * @param path    executável resolvido (null se não encontrado)
+     * @param version versão reportada pela ferramenta (null se desconhecida)
+     */
+    public record ToolStatus(SastTool tool, boolean available, Source source, String path, String version,
+                             Instant checkedAt) {}
+
+    /** Identifica um executável para saber se a versão precisa ser consultada de novo. */
+    private record Stamp(String path, long size, long modified) {}
+
+    private final SastWorkerPool workerPool;
+    private final SonarQubeService sonarQubeService;
+    private final Map<SastTool, String> commands;
+    private final List<Path> searchPath;
+    private final Duration refreshInterval;
+    private final Map<SastTool, Stamp> stamps = new EnumMap<>(SastTool.class);
+    private volatile Map<SastTool, ToolStatus> statuses;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public SastToolRegistry(SastWorkerPool workerPool,
+                            SonarQubeService sonarQubeService,
+                            MeterRegistry meterRegistry,
+                            @Value("${pullwise.sast.tools.refresh-interval:10m}") Duration refreshInterval,
+                            @Value("${rust-tools.biome.path:biome}") String biomePath,
+                            @Value("${rust-tools.ruff.path:ruff}") String ruffPath) {
+        this(workerPool, sonarQubeService, meterRegistry, refreshInterval,
+                withOverrides(Map.of(SastTool.BIOME, biomePath, SastTool.RUFF, ruffPath)),
+                System.getenv("PATH"));
+    }
+
+    SastToolRegistry(SastWorkerPool workerPool, SonarQubeService sonarQubeService, MeterRegistry meterRegistry,
+                     Duration refreshInterval, Map<SastTool, String> commands, String searchPath) {
+        this.workerPool = workerPool;
+        this.sonarQubeService = sonarQubeService;
+        this.refreshInterval = refreshInterval;
+        this.commands = commands;
+        this.searchPath = parseSearchPath(searchPath);
+        for (SastTool tool : SastTool.values()) {
+            // Lê o último estado sem forçar uma verificação durante a coleta de métricas
+            Gauge.builder("pullwise.sast.tool.available", this, registry -> registry.lastAvailable(tool) ? 1 : 0)
+                    .description("Whether the SAST tool is installed and can be scheduled")
+                    .tag("tool", tool.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Primeira verificação em segundo plano (a partida não espera os
+     * {@code --version}) e, com intervalo positivo, as atualizações periódicas.
+     */
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sast-tool-registry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(this::refreshQuietly);
+        if (!refreshInterval.isZero() && !refreshInterval.isNegative()) {
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, refreshInterval.toMillis(),
+                    refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isAvailable(SastTool tool) {
+        return status(tool).available();
+    }
+
+    /**
+     * Versão da ferramenta, se conhecida.
+     */
+    public Optional<String> version(SastTool tool) {
+        return Optional.ofNullable(status(tool).version());
+    }
+
+    public ToolStatus status(SastTool tool) {
+        return snapshot().get(tool);
+    }
+
+    /**
+     * Estado de todas as ferramentas; antes da primeira verificação terminar,
+     * espera por ela.
+     */
+    public Map<SastTool, ToolStatus> snapshot() {
+        Map<SastTool, ToolStatus> current = statuses;
+        if (current == null) {
+            synchronized (this) {
+                current = statuses;
+                if (current == null) {
+                    current = refresh();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Verifica todas as ferramentas agora.
+     */
+    public synchronized Map<SastTool, ToolStatus> refresh() {
+        Map<SastTool, ToolStatus> previous = statuses;
+        Map<SastTool, ToolStatus> next = new EnumMap<>(SastTool.class);
+        for (SastTool tool : SastTool.values()) {
+            ToolStatus status = probe(tool, previous != null ? previous.get(tool) : null);
+            next.put(tool, status);
+            if (previous != null && previous.get(tool).available() != status.available()) {
+                log.info("SAST tool {} is now {}", tool.getName(), status.available() ? "available" : "unavailable");
+            }
+        }
+        statuses = Collections.unmodifiableMap(next);
+        if (previous == null) {
+            log.info("SAST tools available: {}", next.values().stream()
+                    .filter(ToolStatus::available)
+                    .map(status -> status.tool().getName())
+                    .toList());
+        }
+        return statuses;
+    }
+
+    private boolean lastAvailable(SastTool tool) {
+        Map<SastTool, ToolStatus> current = statuses;
+        return current != null && current.get(tool).available();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("SAST tool registry refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private ToolStatus probe(SastTool tool, ToolStatus previous) {
+        Instant now = Instant.now();
+        if (tool == SastTool.SONARQUBE) {
+            return new ToolStatus(tool, sonarQubeService.isConfigured(), Source.SERVER, null, null, now);
+        }
+
+        Path executable = resolve(commands.get(tool));
+        String path = executable != null ? executable.toString() : null;
+        if (workerPool.handles(tool)) {
+            // Sem worker livre o executor faz o fork do executável, se houver
+            return new ToolStatus(tool, true, Source.WORKER, path, workerPool.version(tool).orElse(null), now);
+        }
+        if (executable != null) {
+            return new ToolStatus(tool, true, Source.PATH, path, version(tool, executable, previous), now);
+        }
+        if (tool == SastTool.ESLINT) {
+            Path npx = resolve("npx");
+            if (npx != null) {
+                return new ToolStatus(tool, true, Source.NPX, npx.toString(), null, now);
+            }
+        }
+        stamps.remove(tool);
+        return new ToolStatus(tool, false, Source.NONE, null, null, now);
+    }
+
+    /**
+     * Versão do executável: a anterior se ele não mudou, senão a saída de
+     * {@code --version} (null se falhar).
+     */
+    private String version(SastTool tool, Path executable, ToolStatus previous) {
+        Stamp stamp;
+        try {
+            stamp = new Stamp(executable.toString(), Files.size(executable),
+                    Files.getLastModifiedTime(executable).toMillis());
+        } catch (IOException e) {
+            stamp = null;
+        }
+        if (stamp != null && stamp.equals(stamps.get(tool)) && previous != null && previous.version() != null) {
+            return previous.version();
+        }
+
+        String version = runVersion(executable, VERSION_ARGS.getOrDefault(tool, "--version"));
+        if (stamp != null && version != null) {
+            stamps.put(tool, stamp);
+        } else {
+            stamps.remove(tool);
+        }
+        return version;
+    }
+
+    private String runVersion(Path executable, String versionArg) {
+        try {
+            Process process = new ProcessBuilder(executable.toString(), versionArg)
+                    .redirectErrorStream(true)
+                    .start();
+            process.getOutputStream().close();
+            if (!process.waitFor(VERSION_PROBE_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (process.exitValue() != 0) {
+                return null;
+            }
+            // Primeira linha não vazia (há ferramentas que listam dependências depois)
+            return output.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .findFirst()
+                    .map(line -> line.length() > MAX_VERSION_LENGTH ? line.substring(0, MAX_VERSION_LENGTH) : line)
+                    .orElse(null);
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Executável do comando: o próprio caminho, se contém separador, senão o
+     * primeiro encontrado nos diretórios do {@code PATH}.
+     */
+    private Path resolve(String command) {
+        if (command == null || command.isBlank()) {
+            return null;
+        }
+        try {
+            if (command.contains("/") || command.contains(File.separator)) {
+                Path path = Path.of(command).toAbsolutePath();
+                return isExecutable(path) ? path : null;
+            }
+            for (Path dir : searchPath) {
+                for (String name : executableNames(command)) {
+                    Path candidate = dir.resolve(name);
+                    if (isExecutable(candidate)) {
+                        return candidate.toAbsolutePath();
+                    }
+                }
+            }
+        } catch (InvalidPathException e) {
+            log.debug("Invalid SAST tool command {}: {}", command, e.getMessage());
+        }
+        return null;
+    }
+
+    private static boolean isExecutable(Path path) {
+        return Files.isRegularFile(path) && Files.isExecutable(path);
+    }
+
+    private static List<String> executableNames(String command) {
+        if (!System.getProperty("os.name").toLowerCase().contains("win")) {
+            return List.of(command);
+        }
+        List<String> names = new ArrayList<>(List.of(command));
+        String pathExt = Optional.ofNullable(System.getenv("PATHEXT")).orElse(".COM;.EXE;.BAT;.CMD");
+        for (String ext : pathExt.split(";")) {
+            if (!ext.isBlank()) {
+                names.add(command + ext.toLowerCase());
+            }
+        }
+        return names;
+    }
+
+    private static List<Path> parseSearchPath(String searchPath) {
+        List<Path> dirs = new ArrayList<>();
+        if (searchPath == null) {
+            return dirs;
+        }
+        for (String entry : searchPath.split(File.pathSeparator)) {
+            if (entry.isBlank()) continue;
+            try {
+                dirs.add(Path.of(entry));
+            } catch (InvalidPathException e) {
+                log.debug("Ignoring invalid PATH entry {}", entry);
+            }
+        }
+        return dirs;
+    }
+
+    private static Map<SastTool, String> defaultCommands() {
+        Map<SastTool, String> commands = new EnumMap<>(SastTool.class);
+        commands.put(SastTool.CHECKSTYLE, "checkstyle");
+        commands.put(SastTool.PMD, "pmd");
+        commands.put(SastTool.SPOTBUGS, "spotbugs");
+        commands.put(SastTool.ESLINT, "eslint");
+        commands.put(SastTool.BIOME, "biome");
+        commands.put(SastTool.TSLINT, "tslint");
+        commands.put(SastTool.RUFF, "ruff");
+        commands.put(SastTool.PYLINT, "pylint");
+        commands.put(SastTool.FLAKE8, "flake8");
+        commands.put(SastTool.MYPY, "mypy");
+        commands.put(SastTool.GOLINT, "golint");
+        commands.put(SastTool.GOFMT, "gofmt");
+        commands.put(SastTool.STATICCHECK, "staticcheck");
+        commands.put(SastTool.RUBOCOP, "rubocop");
+        commands.put(SastTool.BRAKEMAN, "brakeman");
+        commands.put(SastTool.PHPSTAN, "phpstan");
+        commands.put(SastTool.PSALM, "psalm");
+        commands.put(SastTool.PHPCSFIXER, "php-cs-fixer");
+        return Collections.unmodifiableMap(commands);
+    }
+
+    static Map<SastTool, String> withOverrides(Map<SastTool, String> overrides) {
+        Map<SastTool, String> commands = new EnumMap<>(DEFAULT_COMMANDS);
+        overrides.forEach((tool, command) -> {
+            if (command != null && !command.isBlank()) {
+                commands.put(tool, command);
+            }
+        });
+        return commands;
+    }
+}
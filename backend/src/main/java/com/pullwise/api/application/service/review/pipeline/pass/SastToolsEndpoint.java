@@ -0,0 +1,45 @@
+package com.pullwise.api.application.service.review.pipeline.pass;
+
+import com.pullwise.api.application.service.review.pipeline.pass.SastAggregatorPass.SastTool;
+import com.pullwise.api.application.service.review.pipeline.pass.SastToolRegistry.ToolStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint Actuator {@code /actuator/sasttools}: estado de cada ferramenta SAST
+ * no {@link SastToolRegistry}. Um POST força a verificação (ex.: logo após
+ * instalar uma ferramenta), sem esperar a próxima atualização periódica.
+ */
+@Component
+@Endpoint(id = "sasttools")
+@RequiredArgsConstructor
+public class SastToolsEndpoint {
+
+    private final SastToolRegistry toolRegistry;
+
+    @ReadOperation
+    public Map<SastTool, ToolStatus> tools() {
+        return toolRegistry.snapshot();
+    }
+
+    @ReadOperation
+    public ToolStatus tool(@Selector String name) {
+        try {
+            return toolRegistry.status(SastTool.valueOf(name.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            // Ferramenta desconhecida: o Actuator responde 404
+            return null;
+        }
+    }
+
+    @WriteOperation
+    public Map<SastTool, ToolStatus> refresh() {
+        return toolRegistry.refresh();
+    }
+}
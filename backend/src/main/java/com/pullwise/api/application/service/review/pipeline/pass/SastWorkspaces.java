@@ -0,0 +1,327 @@
+package com.pullwise.api.application.service.review.pipeline.pass;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Workspaces das ferramentas SAST: os arquivos de um review (completos ou
+ * reconstruídos dos patches) são gravados em disco uma única vez e
+ * compartilhados, somente leitura, por todas as ferramentas.
+ *
+ * <p>Cada workspace é identificado pelo SHA-256 do conteúdo (caminhos e
+ * arquivos), de modo que reviews simultâneos do mesmo commit reutilizam o
+ * mesmo diretório. O diretório só é materializado quando a primeira ferramenta
+ * pede a raiz e é removido quando o último {@link Lease} é fechado.
+ *
+ * <p>Com {@code pullwise.sast.workspace.base-dir} apontando para um tmpfs (ex.:
+ * {@code /dev/shm}) os arquivos nem chegam ao disco. Métricas:
+ * {@code pullwise.sast.workspace{outcome=materialized|reused}} e o gauge
+ * {@code pullwise.sast.workspace.active}.
+ */
+@Slf4j
+@Component
+public class SastWorkspaces {
+
+    private final Path baseDir;
+    private final Map<String, Workspace> workspaces = new ConcurrentHashMap<>();
+    private final Counter materializedCounter;
+    private final Counter reusedCounter;
+
+    public SastWorkspaces(@Value("${pullwise.sast.workspace.base-dir:}") String baseDir,
+                          MeterRegistry meterRegistry) {
+        this.baseDir = resolveBaseDir(baseDir);
+        this.materializedCounter = meterRegistry.counter("pullwise.sast.workspace", "outcome", "materialized");
+        this.reusedCounter = meterRegistry.counter("pullwise.sast.workspace", "outcome", "reused");
+        Gauge.builder("pullwise.sast.workspace.active", workspaces, Map::size)
+                .description("SAST workspaces currently held by reviews")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Obtém (ou cria) o workspace com estes arquivos, todos reconstruídos dos
+     * patches.
+     *
+     * @param files caminho relativo → conteúdo
+     * @see #acquire(Map, Set)
+     */
+    public Lease acquire(Map<String, String> files) {
+        return acquire(files, Set.of());
+    }
+
+    /**
+     * Obtém (ou cria) o workspace com estes arquivos. O chamador deve fechar o
+     * lease; arquivos vazios e caminhos que sairiam do workspace ficam de fora.
+     *
+     * @param files         caminho relativo → conteúdo
+     * @param completeFiles arquivos com o conteúdo real (não reconstruído do patch)
+     */
+    public Lease acquire(Map<String, String> files, Set<String> completeFiles) {
+        SortedMap<String, String> contents = new TreeMap<>();
+        files.forEach((path, content) -> {
+            if (content != null && !content.isEmpty() && isRelative(path)) {
+                contents.put(path, content);
+            }
+        });
+        Set<String> complete = new HashSet<>(completeFiles);
+        complete.retainAll(contents.keySet());
+        String key = contentHash(contents, complete);
+        Workspace workspace = workspaces.compute(key, (k, existing) -> {
+            if (existing != null) {
+                existing.refs++;
+                reusedCounter.increment();
+                return existing;
+            }
+            Workspace created = new Workspace(k, contents, complete);
+            created.refs = 1;
+            return created;
+        });
+        return new Lease(workspace);
+    }
+
+    /** Workspaces referenciados por algum lease (para testes e métricas). */
+    int activeCount() {
+        return workspaces.size();
+    }
+
+    private void release(Workspace workspace) {
+        boolean[] last = new boolean[1];
+        workspaces.computeIfPresent(workspace.key, (k, current) -> {
+            if (current != workspace) {
+                return current;
+            }
+            last[0] = --current.refs == 0;
+            return last[0] ? null : current;
+        });
+        if (last[0]) {
+            // O diretório é único por instância: um novo workspace com a mesma
+            // chave não colide com a remoção deste
+            workspace.delete();
+        }
+    }
+
+    private static boolean isRelative(String path) {
+        Path normalized;
+        try {
+            normalized = Path.of(path).normalize();
+        } catch (InvalidPathException e) {
+            return false;
+        }
+        return !normalized.isAbsolute() && !normalized.startsWith("..") && !normalized.toString().isEmpty();
+    }
+
+    private static Path resolveBaseDir(String configured) {
+        Path tmp = Path.of(System.getProperty("java.io.tmpdir"));
+        if (configured == null || configured.isBlank()) {
+            return tmp;
+        }
+        Path dir = Path.of(configured);
+        if (Files.isDirectory(dir) && Files.isWritable(dir)) {
+            return dir;
+        }
+        log.warn("SAST workspace base dir {} is not a writable directory, using {}", dir, tmp);
+        return tmp;
+    }
+
+    static String contentHash(SortedMap<String, String> contents, Set<String> complete) {
+        MessageDigest digest = sha256();
+        for (Map.Entry<String, String> entry : contents.entrySet()) {
+            // Separadores impedem que caminho e conteúdo de arquivos vizinhos se confundam
+            digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(entry.getValue().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update((byte) (complete.contains(entry.getKey()) ? 1 : 0));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // ========== Workspace ==========
+
+    private final class Workspace {
+
+        private final String key;
+        private final SortedMap<String, String> contents;
+        private final Set<String> complete;
+        private final Map<String, String> fileHashes = new ConcurrentHashMap<>();
+        /** Protegido pelo lock do mapa ({@code compute}). */
+        private int refs;
+        private Path root;
+
+        private Workspace(String key, SortedMap<String, String> contents, Set<String> complete) {
+            this.key = key;
+            this.contents = contents;
+            this.complete = complete;
+        }
+
+        synchronized Path root() throws IOException {
+            if (root == null) {
+                root = materialize();
+            }
+            return root;
+        }
+
+        synchronized List<String> paths(Collection<String> relativePaths) throws IOException {
+            Path dir = root();
+            List<String> paths = new ArrayList<>();
+            for (String relative : relativePaths) {
+                if (contents.containsKey(relative)) {
+                    paths.add(dir.resolve(relative).toString());
+                }
+            }
+            return paths;
+        }
+
+        String fileHash(String relativePath) {
+            String content = contents.get(relativePath);
+            if (content == null) {
+                return null;
+            }
+            return fileHashes.computeIfAbsent(relativePath,
+                    p -> HexFormat.of().formatHex(sha256().digest(content.getBytes(StandardCharsets.UTF_8))));
+        }
+
+        private Path materialize() throws IOException {
+            Path dir = Files.createTempDirectory(baseDir, "pullwise-sast-" + key.substring(0, 12) + "-");
+            try {
+                for (Map.Entry<String, String> entry : contents.entrySet()) {
+                    Path file = dir.resolve(entry.getKey());
+                    Files.createDirectories(file.getParent());
+                    Files.writeString(file, entry.getValue());
+                    file.toFile().setReadOnly();
+                }
+            } catch (IOException | RuntimeException e) {
+                deleteRecursively(dir);
+                throw e;
+            }
+            materializedCounter.increment();
+            log.debug("Materialized SAST workspace {} with {} files", dir, contents.size());
+            return dir;
+        }
+
+        synchronized void delete() {
+            if (root != null) {
+                deleteRecursively(root);
+                root = null;
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    path.toFile().setWritable(true);
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.trace("Failed to delete SAST workspace file: {}", path);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Failed to cleanup SAST workspace: {}", dir);
+        }
+    }
+
+    // ========== Lease ==========
+
+    /**
+     * Referência a um workspace. Cada ferramenta que roda em outra thread deve
+     * receber o seu via {@link #retain()}; fechar mais de uma vez não tem efeito.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Workspace workspace;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease(Workspace workspace) {
+            this.workspace = workspace;
+        }
+
+        /** Nova referência ao mesmo workspace, com ciclo de vida próprio. */
+        public Lease retain() {
+            workspaces.compute(workspace.key, (k, current) -> {
+                if (current != workspace || closed.get()) {
+                    throw new IllegalStateException("SAST workspace already released");
+                }
+                current.refs++;
+                return current;
+            });
+            return new Lease(workspace);
+        }
+
+        /** Raiz do workspace, materializada na primeira chamada. */
+        public Path root() throws IOException {
+            if (closed.get()) {
+                throw new IllegalStateException("SAST workspace lease is closed");
+            }
+            return workspace.root();
+        }
+
+        /**
+         * Caminhos absolutos, dentro do workspace, dos arquivos informados que
+         * foram gravados (arquivos vazios ou ausentes ficam de fora).
+         */
+        public List<String> paths(Collection<String> relativePaths) throws IOException {
+            if (closed.get()) {
+                throw new IllegalStateException("SAST workspace lease is closed");
+            }
+            return workspace.paths(relativePaths);
+        }
+
+        /**
+         * Se o arquivo está no workspace com o conteúdo real — e os achados das
+         * ferramentas nele precisam ser restritos às linhas alteradas.
+         */
+        public boolean isComplete(String relativePath) {
+            return workspace.complete.contains(relativePath);
+        }
+
+        /**
+         * SHA-256 do conteúdo gravado para o arquivo, ou null se ele não está
+         * no workspace.
+         */
+        public String contentHash(String relativePath) {
+            return workspace.fileHash(relativePath);
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(workspace);
+            }
+        }
+    }
+}
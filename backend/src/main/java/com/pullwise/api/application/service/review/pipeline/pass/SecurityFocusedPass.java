@@ -6,6 +6,7 @@ import com.pullwise.api.application.service.config.ConfigurationResolver;
 import com.pullwise.api.application.service.integration.GitHubService;
 import com.pullwise.api.domain.constants.ConfigKeys;
 import com.pullwise.api.application.service.llm.router.MultiModelLLMRouter;
+import com.pullwise.api.application.service.review.pipeline.PromptPacker;
 import com.pullwise.api.domain.model.Issue;
 import com.pullwise.api.domain.model.PullRequest;
 import com.pullwise.api.domain.model.Review;
@@ -37,6 +38,9 @@ import java.util.*;
  *   <li>Logging and Monitoring Failures</li>
  *   <li>Server-Side Request Forgery (SSRF)</li>
  * </ol>
+ *
+ * <p>Os diffs vão empacotados no menor número de requisições que respeita o
+ * orçamento de tokens do modelo de segurança; PRs pequenos continuam numa só.
  */
 @Slf4j
 @Component
@@ -53,7 +57,8 @@ public class SecurityFocusedPass {
      * @param pullRequest  O PR a ser analisado
      * @param review       O review associado
      * @param sastResult   Resultados do SAST
-     * @param llmResult    Resultados da análise LLM primária
+     * @param llmResult    Resultados da análise LLM primária (null quando a passada
+     *                     roda em paralelo ao LLM primário)
      * @return PassResult com issues de segurança
      */
     public PassResult execute(PullRequest pullRequest, Review review,
@@ -120,38 +125,86 @@ public class SecurityFocusedPass {
     }
 
     /**
-     * Busca vulnerabilidades de segurança usando LLM especializado.
+     * Busca vulnerabilidades de segurança usando LLM especializado, uma
+     * requisição por lote de diffs.
      */
     private List<Issue> findSecurityVulnerabilities(PullRequest pullRequest, Review review,
                                                     List<Issue> existingIssues,
                                                     List<GitHubService.FileDiff> diffs) {
         List<Issue> issues = new ArrayList<>();
 
-        try {
-            // Resolver idioma do projeto
-            Long projectId = pullRequest.getProject() != null ? pullRequest.getProject().getId() : null;
-            String language = projectId != null
-                    ? configurationResolver.getConfig(projectId, ConfigKeys.REVIEW_LANGUAGE) : null;
+        // Resolver idioma do projeto
+        Long projectId = pullRequest.getProject() != null ? pullRequest.getProject().getId() : null;
+        String language = projectId != null
+                ? configurationResolver.getConfig(projectId, ConfigKeys.REVIEW_LANGUAGE) : null;
 
-            // Construir prompt focado em segurança
-            String systemPrompt = buildSecurityPrompt(language);
-            String userPrompt = buildSecurityAnalysisPrompt(pullRequest, existingIssues, diffs);
+        // Construir prompt focado em segurança
+        String systemPrompt = buildSecurityPrompt(language);
 
-            // Executar com modelo especializado em segurança
-            var response = llmRouter.execute(
-                    ReviewTaskType.SECURITY_ANALYSIS,
-                    systemPrompt,
-                    userPrompt
-            );
+        for (List<GitHubService.FileDiff> batch : packDiffs(diffs)) {
+            try {
+                issues.addAll(analyzeBatch(pullRequest, review, existingIssues, systemPrompt, batch));
+            } catch (Exception e) {
+                if (batch.size() == 1) {
+                    log.warn("Security LLM analysis failed for {}: {}", batch.get(0).filename(), e.getMessage());
+                    continue;
+                }
+                // Lote falhou (ex.: resposta truncada): refaz arquivo a arquivo
+                log.warn("Security LLM analysis failed for batch of {} files, retrying per file: {}",
+                        batch.size(), e.getMessage());
+                for (GitHubService.FileDiff diff : batch) {
+                    try {
+                        issues.addAll(analyzeBatch(pullRequest, review, existingIssues, systemPrompt, List.of(diff)));
+                    } catch (Exception perFile) {
+                        log.warn("Security LLM analysis failed for {}: {}", diff.filename(), perFile.getMessage());
+                    }
+                }
+            }
+        }
 
-            // Parse resposta
-            issues = parseSecurityResponse(response.content(), pullRequest, review);
+        return issues;
+    }
 
-        } catch (Exception e) {
-            log.warn("Security LLM analysis failed: {}", e.getMessage());
+    /**
+     * Uma requisição ao modelo de segurança para o lote de diffs.
+     */
+    private List<Issue> analyzeBatch(PullRequest pullRequest, Review review, List<Issue> existingIssues,
+                                     String systemPrompt, List<GitHubService.FileDiff> batch) {
+        String userPrompt = buildSecurityAnalysisPrompt(pullRequest, existingIssues, batch);
+
+        // Executar com modelo especializado em segurança
+        var response = llmRouter.execute(
+                ReviewTaskType.SECURITY_ANALYSIS,
+                systemPrompt,
+                userPrompt
+        );
+
+        // Parse resposta
+        return parseSecurityResponse(response.content(), pullRequest, review, batch);
+    }
+
+    /**
+     * Agrupa os diffs com patch em lotes dentro do orçamento de tokens do
+     * modelo de segurança. Sem orçamento configurado, tudo vai num lote só.
+     */
+    private List<List<GitHubService.FileDiff>> packDiffs(List<GitHubService.FileDiff> diffs) {
+        List<GitHubService.FileDiff> withPatch = diffs.stream()
+                .filter(d -> d.patch() != null && !d.patch().isBlank())
+                .toList();
+        if (withPatch.isEmpty()) {
+            return List.of();
+        }
+        int budget = llmRouter.getPromptTokenBudget(ReviewTaskType.SECURITY_ANALYSIS);
+        if (withPatch.size() < 2 || budget <= 0) {
+            return List.of(withPatch);
         }
 
-        return issues;
+        List<List<GitHubService.FileDiff>> batches = PromptPacker.pack(withPatch,
+                d -> PromptPacker.estimateTokens(d.filename()) + PromptPacker.estimateTokens(d.patch()),
+                budget, Integer.MAX_VALUE);
+        log.debug("Security pass packed {} files into {} requests (budget {} tokens)",
+                withPatch.size(), batches.size(), budget);
+        return batches;
     }
 
     /**
@@ -247,7 +300,8 @@ public class SecurityFocusedPass {
     /**
      * Parse resposta LLM de segurança.
      */
-    private List<Issue> parseSecurityResponse(String response, PullRequest pullRequest, Review review) {
+    private List<Issue> parseSecurityResponse(String response, PullRequest pullRequest, Review review,
+                                              List<GitHubService.FileDiff> batch) {
         List<Issue> issues = new ArrayList<>();
 
         try {
@@ -272,7 +326,7 @@ public class SecurityFocusedPass {
             if (parsed != null && parsed.issues() != null && !parsed.issues().isEmpty()) {
                 for (SecurityIssue secIssue : parsed.issues()) {
                     Severity severity = parseSeverity(secIssue.severity());
-                    String filePath = secIssue.file() != null ? secIssue.file() : pullRequest.getTargetBranch();
+                    String filePath = resolveFile(secIssue.file(), batch, pullRequest);
 
                     issues.add(Issue.builder()
                             .review(review)
@@ -302,6 +356,20 @@ public class SecurityFocusedPass {
         return issues;
     }
 
+    /**
+     * Arquivo do achado: o informado pelo LLM; sem ele, o único arquivo do
+     * lote; senão o branch alvo (comportamento anterior).
+     */
+    private String resolveFile(String reported, List<GitHubService.FileDiff> batch, PullRequest pullRequest) {
+        if (reported != null) {
+            return reported;
+        }
+        if (batch.size() == 1) {
+            return batch.get(0).filename();
+        }
+        return pullRequest.getTargetBranch();
+    }
+
     private String buildSecurityDescription(SecurityIssue issue) {
         StringBuilder sb = new StringBuilder();
         if (issue.description() != null) {
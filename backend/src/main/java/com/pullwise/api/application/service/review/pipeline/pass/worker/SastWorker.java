@@ -0,0 +1,179 @@
+package com.pullwise.api.application.service.review.pipeline.pass.worker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Um processo {@link SastWorkerMain} e o lado cliente do protocolo. Usado por
+ * uma execução de cada vez.
+ *
+ * <p>Timeout, interrupção ou resposta inválida matam o processo; o pool
+ * descarta workers que não estão mais vivos.
+ */
+final class SastWorker {
+
+    private final Process process;
+    private final BufferedWriter requests;
+    private final BufferedReader replies;
+    /** Threads que bloqueiam na leitura das respostas (para o timeout). */
+    private final Executor readers;
+    private long lastUsedNanos = System.nanoTime();
+    private int runs;
+    /** Marcado no destroy: o processo pode levar um instante para morrer de fato. */
+    private volatile boolean destroyed;
+
+    private SastWorker(Process process, Executor readers) {
+        this.process = process;
+        this.requests = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.replies = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        this.readers = readers;
+    }
+
+    /**
+     * Inicia o processo e espera o {@code READY}.
+     */
+    static SastWorker start(List<String> command, Executor readers, Duration startupTimeout)
+            throws IOException, InterruptedException, TimeoutException {
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        SastWorker worker = new SastWorker(process, readers);
+        String reply = worker.readReply(startupTimeout);
+        if (!"READY".equals(reply)) {
+            worker.destroy();
+            throw new IOException("Unexpected worker handshake: " + reply);
+        }
+        return worker;
+    }
+
+    /**
+     * Health check: o processo responde {@code PONG} dentro do prazo.
+     */
+    boolean ping(Duration timeout) throws InterruptedException {
+        try {
+            send("PING");
+            if ("PONG".equals(readReply(timeout))) {
+                lastUsedNanos = System.nanoTime();
+                return true;
+            }
+        } catch (IOException | TimeoutException e) {
+            // Cai no destroy abaixo
+        }
+        destroy();
+        return false;
+    }
+
+    /**
+     * Executa a ferramenta com estes argumentos; stdout e stderr dela vão para
+     * {@code outputFile}.
+     *
+     * @return exit code da ferramenta
+     * @throws IOException se o worker morreu ou respondeu fora do protocolo
+     */
+    int run(List<String> args, Path outputFile, Duration timeout)
+            throws IOException, InterruptedException, TimeoutException {
+        StringBuilder request = new StringBuilder("RUN ").append(encode(outputFile.toString()));
+        for (String arg : args) {
+            request.append(' ').append(encode(arg));
+        }
+        send(request.toString());
+        String reply = readReply(timeout);
+        runs++;
+        lastUsedNanos = System.nanoTime();
+        if (reply == null || !reply.startsWith("DONE ")) {
+            destroy();
+            throw new IOException("Worker died during run" + (reply == null ? "" : ": " + reply));
+        }
+        try {
+            return Integer.parseInt(reply.substring(5).trim());
+        } catch (NumberFormatException e) {
+            destroy();
+            throw new IOException("Unexpected worker reply: " + reply);
+        }
+    }
+
+    boolean isAlive() {
+        return !destroyed && process.isAlive();
+    }
+
+    long pid() {
+        return process.pid();
+    }
+
+    int runs() {
+        return runs;
+    }
+
+    Duration idleFor() {
+        return Duration.ofNanos(System.nanoTime() - lastUsedNanos);
+    }
+
+    /**
+     * Pede para o worker encerrar e, se ele não sair logo, mata o processo.
+     */
+    void stop() {
+        try {
+            send("QUIT");
+            if (process.waitFor(2, TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (IOException e) {
+            // Já morto ou com o stdin fechado
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        destroy();
+    }
+
+    void destroy() {
+        destroyed = true;
+        process.destroyForcibly();
+    }
+
+    private void send(String line) throws IOException {
+        requests.write(line);
+        requests.newLine();
+        requests.flush();
+    }
+
+    /**
+     * Próxima linha do worker, ou null se ele fechou o stdout (morreu).
+     */
+    private String readReply(Duration timeout) throws IOException, InterruptedException, TimeoutException {
+        CompletableFuture<String> reply = CompletableFuture.supplyAsync(() -> {
+            try {
+                return replies.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, readers);
+        try {
+            return reply.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            // Matar o processo também libera a thread presa no readLine
+            destroy();
+            throw e;
+        } catch (ExecutionException e) {
+            destroy();
+            throw new IOException("Failed to read from worker", e.getCause());
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,162 @@
+package com.pullwise.api.application.service.review.pipeline.pass.worker;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.Permission;
+
+/**
+ * Processo worker de uma ferramenta SAST em Java (Checkstyle, PMD, SpotBugs):
+ * carrega a ferramenta uma vez e atende várias execuções, sem pagar a partida
+ * da JVM e o carregamento das regras a cada review.
+ *
+ * <p>Roda numa JVM separada, com a ferramenta no classpath, e por isso só usa a
+ * JDK. Protocolo por linhas no stdin/stdout (argumentos codificados com
+ * {@link java.net.URLEncoder}):
+ * <ul>
+ *   <li>{@code READY} — enviado uma vez, com a classe principal carregada</li>
+ *   <li>{@code PING} → {@code PONG}</li>
+ *   <li>{@code RUN <arquivo-de-saída> <arg>...} → {@code DONE <exit code>}:
+ *       chama o {@code main} da ferramenta com stdout/stderr redirecionados
+ *       para o arquivo</li>
+ *   <li>{@code QUIT} ou fim do stdin — encerra</li>
+ * </ul>
+ *
+ * <p>{@code System.exit} da ferramenta vira o exit code da execução via
+ * {@link SecurityManager} — API depreciada, que requer
+ * {@code -Djava.security.manager=allow} e não funciona a partir da JDK 24; aí
+ * o worker encerra antes do {@code READY} e o pool nem chega a iniciá-lo. Um
+ * {@link Error} (ex.: falta de memória) derruba o worker, que é substituído
+ * pelo pool.
+ */
+public final class SastWorkerMain {
+
+    /** Exit code de uma execução que terminou com exceção. */
+    static final int EXIT_SOFTWARE = 70;
+
+    private SastWorkerMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("usage: SastWorkerMain <tool main class>");
+            Runtime.getRuntime().halt(2);
+        }
+        Method toolMain = Class.forName(args[0]).getMethod("main", String[].class);
+        // O stdout do processo é só do protocolo; fora das execuções a ferramenta escreve no stderr
+        PrintStream protocol = new PrintStream(new FileOutputStream(FileDescriptor.out), true,
+                StandardCharsets.UTF_8);
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true, StandardCharsets.UTF_8));
+        BufferedReader requests = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        try {
+            ExitTrap.install();
+        } catch (UnsupportedOperationException e) {
+            System.err.println("SecurityManager not supported by this JVM: " + e.getMessage());
+            Runtime.getRuntime().halt(2);
+        }
+
+        protocol.println("READY");
+        String line;
+        while ((line = requests.readLine()) != null) {
+            if (line.equals("PING")) {
+                protocol.println("PONG");
+            } else if (line.startsWith("RUN ")) {
+                String[] fields = line.substring(4).split(" ", -1);
+                String[] toolArgs = new String[fields.length - 1];
+                for (int i = 1; i < fields.length; i++) {
+                    toolArgs[i - 1] = URLDecoder.decode(fields[i], StandardCharsets.UTF_8);
+                }
+                int exitCode = run(toolMain, toolArgs, URLDecoder.decode(fields[0], StandardCharsets.UTF_8));
+                protocol.println("DONE " + exitCode);
+            } else if (line.equals("QUIT")) {
+                break;
+            }
+        }
+        ExitTrap.release();
+        System.exit(0);
+    }
+
+    private static int run(Method toolMain, String[] toolArgs, String outputFile) throws Exception {
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        try (PrintStream output = new PrintStream(new FileOutputStream(outputFile), true, StandardCharsets.UTF_8)) {
+            System.setOut(output);
+            System.setErr(output);
+            try {
+                toolMain.invoke(null, (Object) toolArgs);
+                return 0;
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof ExitTrap.ExitException exit) {
+                    return exit.status;
+                }
+                if (cause instanceof Error error) {
+                    // Estado da JVM incerto: o pool substitui o worker
+                    error.printStackTrace(output);
+                    output.flush();
+                    ExitTrap.release();
+                    Runtime.getRuntime().halt(EXIT_SOFTWARE);
+                }
+                cause.printStackTrace(output);
+                return EXIT_SOFTWARE;
+            }
+        } finally {
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }
+    }
+
+    /**
+     * Converte {@code System.exit} em exceção enquanto o worker atende
+     * execuções.
+     */
+    @SuppressWarnings("removal")
+    static final class ExitTrap extends SecurityManager {
+
+        private static volatile boolean trapping;
+
+        static void install() {
+            trapping = true;
+            System.setSecurityManager(new ExitTrap());
+        }
+
+        static void release() {
+            trapping = false;
+        }
+
+        @Override
+        public void checkExit(int status) {
+            if (trapping) {
+                throw new ExitException(status);
+            }
+        }
+
+        @Override
+        public void checkPermission(Permission perm) {
+            // Só o exit é interceptado
+        }
+
+        @Override
+        public void checkPermission(Permission perm, Object context) {
+            // Só o exit é interceptado
+        }
+
+        static final class ExitException extends SecurityException {
+
+            private static final long serialVersionUID = 1L;
+
+            private final int status;
+
+            ExitException(int status) {
+                super("System.exit(" + status + ") trapped by SAST worker");
+                this.status = status;
+            }
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.pullwise.api.application.service.review.pipeline.pass.worker;
+
+import com.pullwise.api.application.service.review.pipeline.pass.SastAggregatorPass.SastTool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Workers de longa duração para as ferramentas SAST em Java (Checkstyle, PMD,
+ * SpotBugs): em vez de uma JVM nova por ferramenta e por review — 2 a 5 s de
+ * partida e carregamento de regras antes de qualquer análise —, cada
+ * ferramenta configurada ganha até {@code pullwise.sast.workers.size}
+ * processos {@link SastWorkerMain} aquecidos.
+ *
+ * <p>Opcional ({@code pullwise.sast.workers.enabled}); uma ferramenta só usa o
+ * pool com o classpath dela configurado. Quando não há worker — todos ocupados,
+ * ferramenta sem classpath ou falha ao iniciar — {@link #run} devolve vazio e o
+ * chamador faz o fork de sempre.
+ *
+ * <ul>
+ *   <li><b>Health check:</b> worker ocioso há mais de
+ *       {@code health-check-interval} precisa responder a um ping antes de ser
+ *       usado.</li>
+ *   <li><b>Restart:</b> worker que morre, não responde ou estoura o timeout é
+ *       descartado e outro é iniciado na próxima execução; se a partida falha,
+ *       a ferramenta volta ao fork por {@value #RETRY_AFTER_SECONDS}s.</li>
+ *   <li><b>Reciclagem:</b> após {@code max-requests} execuções o worker é
+ *       encerrado, limitando vazamentos de estado das ferramentas.</li>
+ * </ul>
+ *
+ * <p>O worker intercepta o {@code System.exit} das ferramentas com um
+ * {@link SecurityManager}, API depreciada (JEP 411) e desativada a partir da
+ * JDK 24 (JEP 486): nessas versões o pool fica desligado, com um aviso na
+ * partida, e todas as ferramentas usam o fork.
+ *
+ * <p>Métricas: {@code pullwise.sast.worker.runs{tool,outcome}},
+ * {@code pullwise.sast.worker.restarts{tool}} e o gauge
+ * {@code pullwise.sast.worker.live{tool}}.
+ */
+@Slf4j
+@Component
+public class SastWorkerPool {
+
+    /** Classe principal (CLI) de cada ferramenta. */
+    static final Map<SastTool, String> MAIN_CLASSES = Map.of(
+            SastTool.CHECKSTYLE, "com.puppycrawl.tools.checkstyle.Main",
+            SastTool.PMD, "net.sourceforge.pmd.cli.PmdCli",
+            SastTool.SPOTBUGS, "edu.umd.cs.findbugs.FindBugs2");
+
+    static final long RETRY_AFTER_SECONDS = 60;
+    /** Primeira versão da JDK em que {@code System.setSecurityManager} sempre falha. */
+    static final int SECURITY_MANAGER_REMOVED_IN = 24;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration PING_TIMEOUT = Duration.ofSeconds(5);
+
+    /** Classes do worker, extraídas para um diretório próprio (o jar da aplicação não serve de classpath). */
+    private static final List<Class<?>> WORKER_CLASSES = List.of(
+            SastWorkerMain.class, SastWorkerMain.ExitTrap.class, SastWorkerMain.ExitTrap.ExitException.class);
+
+    /** Classpath e classe principal de uma ferramenta no pool. */
+    record WorkerSpec(String classpath, String mainClass) {}
+
+    private final Map<SastTool, ToolPool> pools = new EnumMap<>(SastTool.class);
+    private final List<String> jvmOptions;
+    private final int maxRequests;
+    private final Duration healthCheckInterval;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService readers = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "sast-worker-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Path workerClassesDir;
+
+    @Autowired
+    public SastWorkerPool(@Value("${pullwise.sast.workers.enabled:false}") boolean enabled,
+                          @Value("${pullwise.sast.workers.size:2}") int size,
+                          @Value("${pullwise.sast.workers.jvm-options:-Xmx1g -XX:+UseSerialGC}") String jvmOptions,
+                          @Value("${pullwise.sast.workers.max-requests:200}") int maxRequests,
+                          @Value("${pullwise.sast.workers.health-check-interval:30s}") Duration healthCheckInterval,
+                          @Value("${pullwise.sast.workers.checkstyle.classpath:}") String checkstyleClasspath,
+                          @Value("${pullwise.sast.workers.pmd.classpath:}") String pmdClasspath,
+                          @Value("${pullwise.sast.workers.spotbugs.classpath:}") String spotbugsClasspath,
+                          MeterRegistry meterRegistry) {
+        this(enabled ? supported(specs(checkstyleClasspath, pmdClasspath, spotbugsClasspath), Runtime.version())
+                        : Map.of(),
+                size, splitOptions(jvmOptions), maxRequests, healthCheckInterval, meterRegistry);
+    }
+
+    SastWorkerPool(Map<SastTool, WorkerSpec> specs, int size, List<String> jvmOptions, int maxRequests,
+                   Duration healthCheckInterval, MeterRegistry meterRegistry) {
+        this.jvmOptions = jvmOptions;
+        this.maxRequests = maxRequests;
+        this.healthCheckInterval = healthCheckInterval;
+        this.meterRegistry = meterRegistry;
+        specs.forEach((tool, spec) -> {
+            ToolPool pool = new ToolPool(tool, spec, size);
+            pools.put(tool, pool);
+            Gauge.builder("pullwise.sast.worker.live", pool.live, Set::size)
+                    .description("Live SAST worker processes")
+                    .tag("tool", pool.tag)
+                    .register(meterRegistry);
+            log.info("SAST worker pool enabled for {} ({} workers)", tool.getName(), size);
+        });
+    }
+
+    /**
+     * Se a ferramenta tem pool (e portanto não depende do executável no PATH).
+     */
+    public boolean handles(SastTool tool) {
+        return pools.containsKey(tool);
+    }
+
+    /**
+     * Identifica a instalação da ferramenta no pool — digest de nome, tamanho e
+     * data dos arquivos do classpath —, que muda quando ela é atualizada.
+     * Vazio se a ferramenta não tem pool.
+     */
+    public Optional<String> version(SastTool tool) {
+        ToolPool pool = pools.get(tool);
+        if (pool == null) {
+            return Optional.empty();
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (String entry : pool.spec.classpath().split(File.pathSeparator)) {
+            for (Path file : classpathFiles(entry)) {
+                String stamp;
+                try {
+                    stamp = file + ":" + Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+                } catch (IOException e) {
+                    stamp = file + ":missing";
+                }
+                digest.update(stamp.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+        }
+        return Optional.of("classpath:" + HexFormat.of().formatHex(digest.digest()).substring(0, 16));
+    }
+
+    /**
+     * Executa a ferramenta num worker aquecido.
+     *
+     * @param args argumentos da CLI da ferramenta (sem o executável)
+     * @return stdout + stderr da ferramenta, ou vazio se não há worker disponível
+     *         ou ele morreu durante a execução — o chamador deve fazer o fork
+     * @throws TimeoutException se a ferramenta passou do prazo (o worker é morto)
+     */
+    public Optional<String> run(SastTool tool, List<String> args, Duration timeout)
+            throws InterruptedException, TimeoutException {
+        ToolPool pool = pools.get(tool);
+        if (pool == null) {
+            return Optional.empty();
+        }
+        long unavailableUntil = pool.unavailableUntilNanos;
+        if (unavailableUntil != 0 && System.nanoTime() - unavailableUntil < 0) {
+            record(pool, "unavailable");
+            return Optional.empty();
+        }
+        if (!pool.permits.tryAcquire()) {
+            record(pool, "busy");
+            return Optional.empty();
+        }
+
+        SastWorker worker = null;
+        Path outputFile = null;
+        try {
+            worker = borrow(pool);
+            if (worker == null) {
+                record(pool, "unavailable");
+                return Optional.empty();
+            }
+            outputFile = Files.createTempFile("pullwise-sast-out-", ".log");
+            int exitCode = worker.run(args, outputFile, timeout);
+            String output = Files.readString(outputFile);
+            if (exitCode > 2) {
+                log.debug("{} worker run exited with code {} — output: {}", tool.getName(), exitCode,
+                        output.length() > 500 ? output.substring(0, 500) : output);
+            }
+            record(pool, "ok");
+            return Optional.of(output);
+        } catch (TimeoutException e) {
+            record(pool, "timeout");
+            throw new TimeoutException(tool.getName() + " worker timed out after " + timeout.toSeconds() + "s");
+        } catch (IOException e) {
+            log.warn("{} worker failed, falling back to a new process: {}", tool.getName(), e.getMessage());
+            record(pool, "crashed");
+            return Optional.empty();
+        } finally {
+            if (worker != null) {
+                giveBack(pool, worker);
+            }
+            deleteQuietly(outputFile);
+            pool.permits.release();
+        }
+    }
+
+    /**
+     * Encerra todos os workers.
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (ToolPool pool : pools.values()) {
+            pool.idle.clear();
+            pool.live.forEach(SastWorker::stop);
+            pool.live.clear();
+        }
+        readers.shutdownNow();
+        synchronized (this) {
+            deleteQuietly(workerClassesDir);
+        }
+    }
+
+    // ========== Ciclo de vida dos workers ==========
+
+    /**
+     * Worker ocioso e saudável, ou um novo; null se não foi possível iniciar.
+     */
+    private SastWorker borrow(ToolPool pool) throws InterruptedException {
+        SastWorker worker;
+        while ((worker = pool.idle.pollFirst()) != null) {
+            if (!worker.isAlive()
+                    || (worker.idleFor().compareTo(healthCheckInterval) > 0 && !worker.ping(PING_TIMEOUT))) {
+                log.warn("{} worker {} failed health check, restarting", pool.tool.getName(), worker.pid());
+                retire(pool, worker, true);
+                continue;
+            }
+            return worker;
+        }
+        return spawn(pool);
+    }
+
+    private SastWorker spawn(ToolPool pool) throws InterruptedException {
+        try {
+            SastWorker worker = SastWorker.start(command(pool.spec), readers, STARTUP_TIMEOUT);
+            pool.live.add(worker);
+            log.debug("Started {} worker {}", pool.tool.getName(), worker.pid());
+            return worker;
+        } catch (IOException | TimeoutException e) {
+            log.warn("Could not start {} worker, using a new process per run for {}s: {}",
+                    pool.tool.getName(), RETRY_AFTER_SECONDS, e.getMessage());
+            pool.unavailableUntilNanos = System.nanoTime() + Duration.ofSeconds(RETRY_AFTER_SECONDS).toNanos();
+            return null;
+        }
+    }
+
+    /**
+     * Devolve o worker ao pool (mais recente primeiro, para manter os quentes
+     * quentes), ou o descarta se morreu ou atingiu o limite de execuções.
+     */
+    private void giveBack(ToolPool pool, SastWorker worker) {
+        if (!worker.isAlive()) {
+            retire(pool, worker, true);
+        } else if (worker.runs() >= maxRequests) {
+            retire(pool, worker, false);
+        } else {
+            pool.idle.offerFirst(worker);
+        }
+    }
+
+    private void retire(ToolPool pool, SastWorker worker, boolean failed) {
+        pool.live.remove(worker);
+        if (failed) {
+            worker.destroy();
+            meterRegistry.counter("pullwise.sast.worker.restarts", "tool", pool.tag).increment();
+        } else {
+            worker.stop();
+        }
+    }
+
+    private void record(ToolPool pool, String outcome) {
+        meterRegistry.counter("pullwise.sast.worker.runs", "tool", pool.tag, "outcome", outcome).increment();
+    }
+
+    private List<String> command(WorkerSpec spec) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        // Necessário para interceptar System.exit das ferramentas (JDK 18+)
+        command.add("-Djava.security.manager=allow");
+        command.add("-Djava.awt.headless=true");
+        command.add("-cp");
+        command.add(workerClassesDir() + File.pathSeparator + spec.classpath());
+        command.add(SastWorkerMain.class.getName());
+        command.add(spec.mainClass());
+        return command;
+    }
+
+    private synchronized Path workerClassesDir() throws IOException {
+        if (workerClassesDir == null) {
+            Path dir = Files.createTempDirectory("pullwise-sast-worker-");
+            for (Class<?> type : WORKER_CLASSES) {
+                String resource = type.getName().replace('.', '/') + ".class";
+                Path target = dir.resolve(resource);
+                Files.createDirectories(target.getParent());
+                try (InputStream in = SastWorkerPool.class.getClassLoader().getResourceAsStream(resource)) {
+                    if (in == null) {
+                        throw new IOException("Worker class not found: " + resource);
+                    }
+                    Files.copy(in, target);
+                }
+            }
+            workerClassesDir = dir;
+        }
+        return workerClassesDir;
+    }
+
+    // ========== Configuração ==========
+
+    private static Map<SastTool, WorkerSpec> specs(String checkstyle, String pmd, String spotbugs) {
+        Map<SastTool, WorkerSpec> specs = new EnumMap<>(SastTool.class);
+        putIfConfigured(specs, SastTool.CHECKSTYLE, checkstyle);
+        putIfConfigured(specs, SastTool.PMD, pmd);
+        putIfConfigured(specs, SastTool.SPOTBUGS, spotbugs);
+        return specs;
+    }
+
+    /**
+     * As ferramentas configuradas, ou nenhuma se a JDK dos workers (a mesma da
+     * aplicação) não permite mais instalar um {@link SecurityManager} — sem
+     * ele o worker não sobe, e o pool só tentaria de novo a cada
+     * {@value #RETRY_AFTER_SECONDS}s.
+     */
+    static Map<SastTool, WorkerSpec> supported(Map<SastTool, WorkerSpec> specs, Runtime.Version javaVersion) {
+        if (specs.isEmpty() || javaVersion.feature() < SECURITY_MANAGER_REMOVED_IN) {
+            return specs;
+        }
+        log.warn("SAST worker pool disabled: Java {} no longer supports a SecurityManager, which the workers "
+                + "need to trap System.exit — using a new process per run", javaVersion.feature());
+        return Map.of();
+    }
+
+    private static void putIfConfigured(Map<SastTool, WorkerSpec> specs, SastTool tool, String classpath) {
+        if (classpath != null && !classpath.isBlank()) {
+            specs.put(tool, new WorkerSpec(classpath.trim(), MAIN_CLASSES.get(tool)));
+        }
+    }
+
+    /**
+     * Arquivos de uma entrada do classpath; {@code dir/*} são os jars do diretório.
+     */
+    private static List<Path> classpathFiles(String entry) {
+        if (!entry.endsWith("*")) {
+            return List.of(Path.of(entry));
+        }
+        Path dir = Path.of(entry.substring(0, entry.length() - 1));
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.toString().endsWith(".jar")).sorted().toList();
+        } catch (IOException e) {
+            return List.of(dir);
+        }
+    }
+
+    private static List<String> splitOptions(String options) {
+        return options == null || options.isBlank()
+                ? List.of()
+                : Arrays.asList(options.trim().split("\\s+"));
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            log.trace("Failed to delete {}", path);
+        }
+    }
+
+    // ========== Pool por ferramenta ==========
+
+    private static final class ToolPool {
+
+        private final SastTool tool;
+        private final String tag;
+        private final WorkerSpec spec;
+        /** Execuções simultâneas (= workers vivos no máximo). */
+        private final Semaphore permits;
+        private final Deque<SastWorker> idle = new ConcurrentLinkedDeque<>();
+        private final Set<SastWorker> live = ConcurrentHashMap.newKeySet();
+        /** Após falha ao iniciar, prazo (nanoTime) até tentar de novo; 0 = disponível. */
+        private volatile long unavailableUntilNanos;
+
+        private ToolPool(SastTool tool, WorkerSpec spec, int size) {
+            this.tool = tool;
+            this.tag = tool.name().toLowerCase();
+            this.spec = spec;
+            this.permits = new Semaphore(size);
+        }
+    }
+}
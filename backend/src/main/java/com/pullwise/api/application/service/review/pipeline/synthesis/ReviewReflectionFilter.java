@@ -3,6 +3,7 @@ package com.pullwise.api.application.service.review.pipeline.synthesis;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pullwise.api.application.service.integration.GitHubService;
 import com.pullwise.api.application.service.llm.router.MultiModelLLMRouter;
+import com.pullwise.api.application.service.review.pipeline.PromptPacker;
 import com.pullwise.api.domain.enums.IssueSource;
 import com.pullwise.api.domain.enums.ReviewTaskType;
 import com.pullwise.api.domain.model.Issue;
@@ -10,10 +11,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -34,6 +37,12 @@ import java.util.stream.Collectors;
  *
  * <p>Apenas issues de origem {@link IssueSource#LLM} são avaliados; achados de
  * ferramentas SAST são determinísticos e passam intactos.
+ *
+ * <p>Arquivos com poucos achados são empacotados numa mesma requisição, até o
+ * orçamento de tokens do modelo de QA e ao limite de arquivos configurado
+ * ({@code review.llm_batch_max_files}); os ids dos comentários são numerados
+ * em sequência dentro do lote. Se a requisição de um lote falha, os arquivos
+ * do lote são reavaliados um a um.
  */
 @Slf4j
 @Component
@@ -43,6 +52,9 @@ public class ReviewReflectionFilter {
     private final MultiModelLLMRouter llmRouter;
     private final ObjectMapper objectMapper;
 
+    /** Máximo de arquivos por requisição empacotada quando o projeto não configura. */
+    static final int DEFAULT_MAX_FILES_PER_REQUEST = 8;
+
     private static final String SYSTEM_PROMPT = """
             You are a fact-checker for code review comments.
 
@@ -72,6 +84,14 @@ public class ReviewReflectionFilter {
      * @return nova lista sem os achados rejeitados (a ordem dos demais é mantida)
      */
     public List<Issue> filter(List<Issue> issues, List<GitHubService.FileDiff> diffs) {
+        return filter(issues, diffs, DEFAULT_MAX_FILES_PER_REQUEST);
+    }
+
+    /**
+     * Como {@link #filter(List, List)}, com no máximo {@code maxFilesPerRequest}
+     * arquivos por requisição ao LLM.
+     */
+    public List<Issue> filter(List<Issue> issues, List<GitHubService.FileDiff> diffs, int maxFilesPerRequest) {
         if (issues == null || issues.isEmpty()) {
             return issues == null ? List.of() : issues;
         }
@@ -89,28 +109,36 @@ public class ReviewReflectionFilter {
         Map<String, List<Issue>> byFile = issues.stream()
                 .filter(i -> i.getSource() == IssueSource.LLM)
                 .filter(i -> i.getFilePath() != null && patchByPath.containsKey(i.getFilePath()))
-                .collect(Collectors.groupingBy(Issue::getFilePath));
+                .collect(Collectors.groupingBy(Issue::getFilePath, LinkedHashMap::new, Collectors.toList()));
 
         if (byFile.isEmpty()) {
             return issues;
         }
 
         Set<Issue> rejected = Collections.newSetFromMap(new IdentityHashMap<>());
-        for (Map.Entry<String, List<Issue>> entry : byFile.entrySet()) {
-            String path = entry.getKey();
-            List<Issue> fileIssues = entry.getValue();
+        int budget = llmRouter.getPromptTokenBudget(ReviewTaskType.QA);
+        List<List<String>> batches = PromptPacker.pack(new ArrayList<>(byFile.keySet()),
+                path -> estimateTokens(path, patchByPath.get(path), byFile.get(path)),
+                budget, Math.max(1, maxFilesPerRequest));
+
+        for (List<String> batch : batches) {
             try {
-                Set<Integer> toRemove = askLlm(path, patchByPath.get(path), fileIssues);
-                for (Integer idx : toRemove) {
-                    if (idx != null && idx >= 0 && idx < fileIssues.size()) {
-                        Issue bad = fileIssues.get(idx);
-                        bad.setIsFalsePositive(true);
-                        rejected.add(bad);
+                rejected.addAll(reflect(batch, patchByPath, byFile));
+            } catch (Exception e) {
+                if (batch.size() == 1) {
+                    // Resiliente: na falha, não descarta nada para aquele arquivo.
+                    log.warn("Reflection filter failed for {}: {}", batch.get(0), e.getMessage());
+                    continue;
+                }
+                log.warn("Reflection filter failed for batch of {} files, retrying per file: {}",
+                        batch.size(), e.getMessage());
+                for (String path : batch) {
+                    try {
+                        rejected.addAll(reflect(List.of(path), patchByPath, byFile));
+                    } catch (Exception perFile) {
+                        log.warn("Reflection filter failed for {}: {}", path, perFile.getMessage());
                     }
                 }
-            } catch (Exception e) {
-                // Resiliente: na falha, não descarta nada para aquele arquivo.
-                log.warn("Reflection filter failed for {}: {}", path, e.getMessage());
             }
         }
 
@@ -126,27 +154,63 @@ public class ReviewReflectionFilter {
         return kept;
     }
 
-    private Set<Integer> askLlm(String path, String patch, List<Issue> fileIssues) {
+    /**
+     * Avalia um lote e devolve os achados rejeitados, já marcados como
+     * falso-positivo.
+     */
+    private List<Issue> reflect(List<String> batch, Map<String, String> patchByPath,
+                                Map<String, List<Issue>> byFile) {
+        // Ids sequenciais no lote: a posição na lista é o id enviado ao LLM.
+        List<Issue> batchIssues = new ArrayList<>();
+        batch.forEach(path -> batchIssues.addAll(byFile.get(path)));
+
+        List<Issue> bad = new ArrayList<>();
+        for (Integer idx : askLlm(batch, patchByPath, byFile)) {
+            if (idx != null && idx >= 0 && idx < batchIssues.size()) {
+                Issue issue = batchIssues.get(idx);
+                issue.setIsFalsePositive(true);
+                bad.add(issue);
+            }
+        }
+        return bad;
+    }
+
+    private Set<Integer> askLlm(List<String> paths, Map<String, String> patchByPath,
+                                Map<String, List<Issue>> byFile) {
         StringBuilder up = new StringBuilder();
-        up.append("### Code diff for `").append(path).append("`\n");
-        up.append("```diff\n").append(patch).append("\n```\n\n");
-        up.append("### Review comments\n");
-        for (int i = 0; i < fileIssues.size(); i++) {
-            Issue is = fileIssues.get(i);
-            up.append("[id=").append(i).append("] ")
-                    .append(safe(is.getTitle()))
-                    .append(" — ").append(truncate(is.getDescription(), 400));
-            if (is.getCodeSnippet() != null && !is.getCodeSnippet().isBlank()) {
-                up.append(" (code: ").append(truncate(is.getCodeSnippet(), 200)).append(")");
+        int id = 0;
+        for (String path : paths) {
+            up.append("### Code diff for `").append(path).append("`\n");
+            up.append("```diff\n").append(patchByPath.get(path)).append("\n```\n\n");
+            up.append(paths.size() == 1 ? "### Review comments\n" : "### Review comments on `" + path + "`\n");
+            for (Issue is : byFile.get(path)) {
+                up.append("[id=").append(id++).append("] ")
+                        .append(safe(is.getTitle()))
+                        .append(" — ").append(truncate(is.getDescription(), 400));
+                if (is.getCodeSnippet() != null && !is.getCodeSnippet().isBlank()) {
+                    up.append(" (code: ").append(truncate(is.getCodeSnippet(), 200)).append(")");
+                }
+                up.append("\n");
             }
             up.append("\n");
         }
-        up.append("\nReturn the JSON array of ids to remove.");
+        up.append("Return the JSON array of ids to remove.");
 
         var response = llmRouter.execute(ReviewTaskType.QA, SYSTEM_PROMPT, up.toString());
         return parseIds(response.content());
     }
 
+    /** Custo aproximado de um arquivo no prompt: diff mais comentários truncados. */
+    private int estimateTokens(String path, String patch, List<Issue> fileIssues) {
+        int tokens = PromptPacker.estimateTokens(path) + PromptPacker.estimateTokens(patch);
+        for (Issue is : fileIssues) {
+            tokens += PromptPacker.estimateTokens(safe(is.getTitle())) + Math.min(
+                    PromptPacker.estimateTokens(is.getDescription()) + PromptPacker.estimateTokens(is.getCodeSnippet()),
+                    150);
+        }
+        return tokens;
+    }
+
     private Set<Integer> parseIds(String response) {
         Set<Integer> ids = new HashSet<>();
         if (response == null) {
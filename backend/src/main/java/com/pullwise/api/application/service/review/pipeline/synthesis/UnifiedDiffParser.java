@@ -16,6 +16,9 @@ import java.util.regex.Pattern;
  * <p>Inspirado no resolver determinístico do Open Code Review (Alibaba):
  * o LLM informa <em>qual</em> trecho está com problema; a engenharia decide
  * <em>onde</em> ele está.
+ *
+ * <p>Também delimita as linhas alteradas quando as ferramentas SAST analisam o
+ * arquivo completo ({@link #parseAdded}).
  */
 public final class UnifiedDiffParser {
 
@@ -47,7 +50,19 @@ public final class UnifiedDiffParser {
         return parse(patch, false);
     }
 
+    /**
+     * Só as linhas adicionadas ({@code +}), com os números de linha do arquivo
+     * novo.
+     */
+    public static List<LocatedLine> parseAdded(String patch) {
+        return parse(patch, true, true);
+    }
+
     private static List<LocatedLine> parse(String patch, boolean newSide) {
+        return parse(patch, newSide, false);
+    }
+
+    private static List<LocatedLine> parse(String patch, boolean newSide, boolean addedOnly) {
         List<LocatedLine> result = new ArrayList<>();
         if (patch == null || patch.isBlank()) {
             return result;
@@ -81,7 +96,7 @@ public final class UnifiedDiffParser {
                     oldLine++;
                 }
                 case ' ' -> {
-                    result.add(new LocatedLine(newSide ? newLine : oldLine, content));
+                    if (!addedOnly) result.add(new LocatedLine(newSide ? newLine : oldLine, content));
                     newLine++;
                     oldLine++;
                 }
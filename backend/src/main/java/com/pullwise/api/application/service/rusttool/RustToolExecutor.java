@@ -1,5 +1,7 @@
 package com.pullwise.api.application.service.rusttool;
 
+import com.pullwise.api.application.service.review.pipeline.pass.SastAggregatorPass.SastTool;
+import com.pullwise.api.application.service.review.pipeline.pass.SastToolRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,6 +29,8 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class RustToolExecutor {
 
+    private final SastToolRegistry toolRegistry;
+
     @Value("${rust-tools.biome.path:biome}")
     private String biomePath;
 
@@ -85,67 +89,31 @@ public class RustToolExecutor {
     }
 
     /**
-     * Verifica se Biome está disponível.
+     * Verifica se Biome está disponível (ver {@link SastToolRegistry}).
      */
     public boolean isBiomeAvailable() {
-        try {
-            ProcessResult result = executeCommand(
-                    List.of(biomePath, "--version"),
-                    ".",
-                    5
-            );
-            return result.exitCode() == 0;
-        } catch (Exception e) {
-            return false;
-        }
+        return toolRegistry.isAvailable(SastTool.BIOME);
     }
 
     /**
-     * Verifica se Ruff está disponível.
+     * Verifica se Ruff está disponível (ver {@link SastToolRegistry}).
      */
     public boolean isRuffAvailable() {
-        try {
-            ProcessResult result = executeCommand(
-                    List.of(ruffPath, "--version"),
-                    ".",
-                    5
-            );
-            return result.exitCode() == 0;
-        } catch (Exception e) {
-            return false;
-        }
+        return toolRegistry.isAvailable(SastTool.RUFF);
     }
 
     /**
      * Retorna versão do Biome.
      */
     public String getBiomeVersion() {
-        try {
-            ProcessResult result = executeCommand(
-                    List.of(biomePath, "--version"),
-                    ".",
-                    5
-            );
-            return result.stdout().trim();
-        } catch (Exception e) {
-            return "unknown";
-        }
+        return toolRegistry.version(SastTool.BIOME).orElse("unknown");
     }
 
     /**
      * Retorna versão do Ruff.
      */
     public String getRuffVersion() {
-        try {
-            ProcessResult result = executeCommand(
-                    List.of(ruffPath, "--version"),
-                    ".",
-                    5
-            );
-            return result.stdout().trim();
-        } catch (Exception e) {
-            return "unknown";
-        }
+        return toolRegistry.version(SastTool.RUFF).orElse("unknown");
     }
 
     // ========== Private Methods ==========
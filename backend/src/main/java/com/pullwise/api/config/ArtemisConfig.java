@@ -72,20 +72,27 @@ public class ArtemisConfig {
 
     /**
      * Factory dedicada para reviews (maior prioridade).
+     *
+     * <p>Cada consumidor roda um review inteiro, então a concorrência por nó
+     * ({@code pullwise.review-queue.concurrency}) limita quantos reviews o nó
+     * processa ao mesmo tempo. A sessão é transacionada para que o job seja
+     * reentregue se o nó cair no meio do processamento. Aplicado depois do
+     * configurer para não ser sobrescrito pelas propriedades globais de JMS.
      */
     @Bean("reviewListenerFactory")
     public DefaultJmsListenerContainerFactory reviewListenerFactory(
             ConnectionFactory connectionFactory,
-            DefaultJmsListenerContainerFactoryConfigurer configurer) {
+            DefaultJmsListenerContainerFactoryConfigurer configurer,
+            @Value("${pullwise.review-queue.concurrency:2-8}") String concurrency) {
 
         DefaultJmsListenerContainerFactory factory = new DefaultJmsListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(messageConverter());
-        factory.setConcurrency("5-15");
-        factory.setSessionTransacted(false);
+        factory.setConcurrency(concurrency);
+        factory.setSessionTransacted(true);
         factory.setAutoStartup(true);
-
-        configurer.configure(factory, connectionFactory);
         return factory;
     }
 
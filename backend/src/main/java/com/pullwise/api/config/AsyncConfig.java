@@ -1,34 +1,46 @@
 package com.pullwise.api.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuração para processamento assíncrono.
  * Usado para reviews, webhooks e outras tarefas de longa duração.
+ *
+ * <p>Todos os executors são nomeados e instrumentados ({@link MeteredExecutor}):
+ * fila, threads ativas, concluídas e rejeições ficam em
+ * {@code pullwise.executor.*{executor=<nome>}}. Os executors de I/O do pipeline
+ * (passadas, ferramentas SAST, fan-out LLM e integrações) podem usar virtual
+ * threads com {@code pullwise.executors.virtual-threads=true} (JDK 21+).
  */
+@Slf4j
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 public class AsyncConfig {
 
+    private final MeterRegistry meterRegistry;
+
+    @Value("${pullwise.executors.virtual-threads:false}")
+    private boolean virtualThreads;
+
     /**
      * Executor para processamento de reviews.
      * Threads separadas para não bloquear o main thread.
      */
     @Bean(name = "reviewExecutor")
     public Executor reviewExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("review-");
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
-        executor.initialize();
-        return executor;
+        return platformPool("review", 5, 20, 100);
     }
 
     /**
@@ -37,14 +49,7 @@ public class AsyncConfig {
      */
     @Bean(name = "webhookExecutor")
     public Executor webhookExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);
-        executor.setMaxPoolSize(50);
-        executor.setQueueCapacity(200);
-        executor.setThreadNamePrefix("webhook-");
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
-        executor.initialize();
-        return executor;
+        return platformPool("webhook", 10, 50, 200);
     }
 
     /**
@@ -52,14 +57,51 @@ public class AsyncConfig {
      */
     @Bean(name = "integrationExecutor")
     public Executor integrationExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(15);
-        executor.setQueueCapacity(50);
-        executor.setThreadNamePrefix("integration-");
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
-        executor.initialize();
-        return executor;
+        return ioPool("integration", 5, 15, 50);
+    }
+
+    /**
+     * Executor das passadas do pipeline multi-pass (SAST, LLM, Security, Impact).
+     * Substitui o {@code ForkJoinPool.commonPool()}, que é dimensionado pelo
+     * número de CPUs e compartilhado com parallel streams.
+     *
+     * <p>Fila limitada e sem {@code CallerRunsPolicy}: uma passada recusada não
+     * roda na thread que completou a passada anterior (o que serializaria o
+     * DAG e prenderia o chamador); a rejeição falha a passada e o
+     * {@code PassScheduler} aplica o fallback.
+     */
+    @Bean(name = "passExecutor")
+    public Executor passExecutor() {
+        return ioPool("pass", 8, 32, 100, false);
+    }
+
+    /**
+     * Executor do fan-out de ferramentas SAST (processos externos e SonarQube),
+     * isolado para que uma ferramenta lenta não segure as passadas.
+     */
+    @Bean(name = "sastExecutor")
+    public Executor sastExecutor() {
+        return ioPool("sast", 8, 32, 200);
+    }
+
+    /**
+     * Executor do fan-out por arquivo do LLM Primary. O paralelismo efetivo é
+     * limitado por projeto ({@code review.llm_parallelism}) e por provider
+     * ({@code LlmConcurrencyLimiter}); este pool só precisa comportar a soma.
+     */
+    @Bean(name = "llmFanoutExecutor")
+    public Executor llmFanoutExecutor() {
+        return ioPool("llm-file", 8, 32, 200);
+    }
+
+    /**
+     * Executor do parse de arquivos na indexação de repositórios (CPU-bound):
+     * uma thread por núcleo, cada uma com o seu parser.
+     */
+    @Bean(name = "graphIndexExecutor")
+    public Executor graphIndexExecutor() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return platformPool("graph-index", cores, cores, 1000);
     }
 
     /**
@@ -67,13 +109,64 @@ public class AsyncConfig {
      */
     @Bean(name = "scheduledExecutor")
     public Executor scheduledExecutor() {
+        return platformPool("scheduled", 2, 5, 20);
+    }
+
+    // ========== Private Methods ==========
+
+    /**
+     * Executor de I/O: virtual threads quando habilitado e suportado (com o
+     * mesmo teto de concorrência do pool), senão pool de plataforma.
+     */
+    private MeteredExecutor ioPool(String name, int corePoolSize, int maxPoolSize, int queueCapacity) {
+        return ioPool(name, corePoolSize, maxPoolSize, queueCapacity, true);
+    }
+
+    private MeteredExecutor ioPool(String name, int corePoolSize, int maxPoolSize, int queueCapacity,
+                                   boolean callerRunsOnRejection) {
+        if (virtualThreads) {
+            if (Runtime.version().feature() >= 21) {
+                SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(name + "-");
+                executor.setVirtualThreads(true);
+                executor.setConcurrencyLimit(maxPoolSize);
+                return new MeteredExecutor(name, executor, meterRegistry);
+            }
+            log.warn("Virtual threads requested for executor '{}' but JDK {} < 21; using platform threads",
+                    name, Runtime.version().feature());
+        }
+        return platformPool(name, corePoolSize, maxPoolSize, queueCapacity, callerRunsOnRejection);
+    }
+
+    private MeteredExecutor platformPool(String name, int corePoolSize, int maxPoolSize, int queueCapacity) {
+        return platformPool(name, corePoolSize, maxPoolSize, queueCapacity, true);
+    }
+
+    /**
+     * Pool de plataforma. Com {@code callerRunsOnRejection}, usa
+     * {@code CallerRunsPolicy} (rejeições são contadas antes de a tarefa rodar
+     * na thread chamadora); sem, a rejeição lança
+     * {@link java.util.concurrent.RejectedExecutionException} para o chamador.
+     */
+    private MeteredExecutor platformPool(String name, int corePoolSize, int maxPoolSize, int queueCapacity,
+                                         boolean callerRunsOnRejection) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(20);
-        executor.setThreadNamePrefix("scheduled-");
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(name + "-");
+
+        MeteredExecutor metered = new MeteredExecutor(name, executor, meterRegistry);
+        if (callerRunsOnRejection) {
+            ThreadPoolExecutor.CallerRunsPolicy callerRuns = new ThreadPoolExecutor.CallerRunsPolicy();
+            executor.setRejectedExecutionHandler((task, pool) -> {
+                metered.recordRejection();
+                callerRuns.rejectedExecution(task, pool);
+            });
+        } else {
+            // AbortPolicy: o MeteredExecutor conta a RejectedExecutionException
+            executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        }
         executor.initialize();
-        return executor;
+        return metered;
     }
 }
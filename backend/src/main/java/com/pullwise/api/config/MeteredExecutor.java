@@ -0,0 +1,105 @@
+package com.pullwise.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Executor} nomeado com métricas Micrometer, independente do tipo de
+ * thread por baixo (pool de plataforma ou virtual threads).
+ *
+ * <p>Métricas, todas com a tag {@code executor=<nome>}:
+ * <ul>
+ *   <li>{@code pullwise.executor.queued} — tarefas submetidas ainda não iniciadas</li>
+ *   <li>{@code pullwise.executor.active} — tarefas em execução</li>
+ *   <li>{@code pullwise.executor.completed} — tarefas finalizadas</li>
+ *   <li>{@code pullwise.executor.rejected} — tarefas recusadas pelo pool (inclusive
+ *       as que acabaram rodando na thread chamadora via {@code CallerRunsPolicy})</li>
+ * </ul>
+ */
+public class MeteredExecutor implements Executor, DisposableBean {
+
+    private final String name;
+    private final Executor delegate;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Counter completed;
+    private final Counter rejected;
+
+    public MeteredExecutor(String name, Executor delegate, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.delegate = delegate;
+
+        Gauge.builder("pullwise.executor.queued", queued, AtomicInteger::get)
+                .description("Tasks submitted but not yet started")
+                .tag("executor", name)
+                .register(meterRegistry);
+        Gauge.builder("pullwise.executor.active", active, AtomicInteger::get)
+                .description("Tasks currently running")
+                .tag("executor", name)
+                .register(meterRegistry);
+        this.completed = Counter.builder("pullwise.executor.completed")
+                .description("Tasks finished")
+                .tag("executor", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("pullwise.executor.rejected")
+                .description("Tasks rejected by the underlying pool")
+                .tag("executor", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        queued.incrementAndGet();
+        try {
+            delegate.execute(() -> {
+                queued.decrementAndGet();
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Registra uma rejeição tratada pelo próprio pool (ex.: {@code CallerRunsPolicy}),
+     * que não chega a lançar {@link RejectedExecutionException}.
+     */
+    void recordRejection() {
+        rejected.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean disposable) {
+            disposable.destroy();
+        } else if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.pullwise.api.config;
 
+import com.pullwise.api.application.service.llm.router.LlmResponseCache;
+import com.pullwise.api.application.service.review.RedisReviewEventRelay;
+import com.pullwise.api.application.service.review.pipeline.pass.SastResultCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,6 +12,8 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -15,7 +21,8 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 import java.time.Duration;
 
 /**
- * Configuração do Redis para caching. Inativa em profile {@code test} —
+ * Configuração do Redis para caching e para o relay dos eventos de review
+ * entre nós (pub/sub). Inativa em profile {@code test} —
  * tests de integração proveem um {@code ConcurrentMapCacheManager} via
  * {@code TestCacheConfig} para evitar dependência de Redis.
  */
@@ -26,7 +33,9 @@ public class RedisConfig {
 
     @Bean
     @Primary
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                          @Value("${llm.response-cache.ttl:24h}") Duration llmResponseTtl,
+                                          @Value("${pullwise.sast.result-cache.ttl:7d}") Duration sastResultTtl) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofHours(1))
                 .serializeKeysWith(
@@ -48,7 +57,21 @@ public class RedisConfig {
                 .withCacheConfiguration("reviews", config.entryTtl(Duration.ofHours(2)))
                 .withCacheConfiguration("configurations", config.entryTtl(Duration.ofMinutes(30)))
                 .withCacheConfiguration("blast-radius", config.entryTtl(Duration.ofMinutes(10)))
+                .withCacheConfiguration(LlmResponseCache.CACHE_NAME, config.entryTtl(llmResponseTtl))
+                .withCacheConfiguration(SastResultCache.CACHE_NAME, config.entryTtl(sastResultTtl))
                 .transactionAware()
                 .build();
     }
+
+    /**
+     * Assinatura do canal de eventos de review publicados pelos demais nós.
+     */
+    @Bean
+    public RedisMessageListenerContainer reviewEventListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                      RedisReviewEventRelay relay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(relay, new ChannelTopic(RedisReviewEventRelay.CHANNEL));
+        return container;
+    }
 }
@@ -68,8 +68,8 @@ public final class ConfigKeys {
 
     /**
      * Passo de reflexão que remove achados de LLM provados errados pelo diff
-     * (anti falso-positivo). Custa uma chamada LLM extra por arquivo com
-     * achados. Tipo: BOOLEAN. Default: "true".
+     * (anti falso-positivo). Custa uma chamada LLM extra por lote de arquivos
+     * com achados. Tipo: BOOLEAN. Default: "true".
      */
     public static final String REVIEW_REFLECTION_ENABLED = "review.reflection_enabled";
 
@@ -92,6 +92,40 @@ public final class ConfigKeys {
      */
     public static final String REVIEW_PLAN_LINE_THRESHOLD = "review.plan_line_threshold";
 
+    /**
+     * Quantos arquivos o LLM Primary analisa em paralelo para o projeto
+     * ("1" = sequencial). Limitado ainda pelo teto global por provider.
+     * Tipo: NUMBER. Default: 4.
+     */
+    public static final String REVIEW_LLM_PARALLELISM = "review.llm_parallelism";
+
+    /**
+     * Empacota diffs pequenos de vários arquivos numa única requisição do LLM
+     * Primary, até o orçamento de tokens do modelo. Tipo: BOOLEAN. Default: "true".
+     */
+    public static final String REVIEW_LLM_BATCHING_ENABLED = "review.llm_batching_enabled";
+
+    /**
+     * Máximo de arquivos por requisição empacotada do LLM Primary e do filtro
+     * de reflexão.
+     * Tipo: NUMBER. Default: 8.
+     */
+    public static final String REVIEW_LLM_BATCH_MAX_FILES = "review.llm_batch_max_files";
+
+    /**
+     * Re-review incremental: em novos pushes, analisa só os arquivos tocados
+     * desde o último head revisado e reaproveita os demais achados (GitHub).
+     * Tipo: BOOLEAN. Default: "true".
+     */
+    public static final String REVIEW_INCREMENTAL_ENABLED = "review.incremental_enabled";
+
+    /**
+     * Recebe a resposta do LLM Primary em streaming e publica cada issue assim
+     * que ele chega (WebSocket/SSE), antes do fim do review.
+     * Tipo: BOOLEAN. Default: "true".
+     */
+    public static final String REVIEW_LLM_STREAMING_ENABLED = "review.llm_streaming_enabled";
+
     // ===== Integration: SonarQube =====
 
     /** URL do servidor SonarQube. Tipo: STRING. */
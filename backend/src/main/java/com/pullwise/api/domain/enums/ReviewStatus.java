@@ -32,6 +32,11 @@ public enum ReviewStatus {
      */
     CANCELLED("cancelled", "Cancelado"),
 
+    /**
+     * Review descartado porque um push mais novo no mesmo PR iniciou outro.
+     */
+    SUPERSEDED("superseded", "Substituído"),
+
     /**
      * Review aguardando aprovação manual.
      */
@@ -46,7 +51,7 @@ public enum ReviewStatus {
     }
 
     public boolean isTerminal() {
-        return this == COMPLETED || this == FAILED || this == CANCELLED;
+        return this == COMPLETED || this == FAILED || this == CANCELLED || this == SUPERSEDED;
     }
 
     public boolean isActive() {
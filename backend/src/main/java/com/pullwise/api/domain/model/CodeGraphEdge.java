@@ -14,11 +14,13 @@ import java.time.LocalDateTime;
  * Aresta do grafo de código (Code Graph v2 / Blast-Radius).
  *
  * <p>Representa uma dependência direcional source → target (CALLS, IMPORTS_FROM,
- * INHERITS, etc). Única por (project_id, source_qualified, target_qualified, kind).
+ * INHERITS, etc). Origem e destino são {@link CodeGraphSymbol}s internados; a
+ * tabela é particionada por projeto. Única por (project_id, source_id,
+ * target_id, kind).
  */
 @Entity
 @Table(name = "code_graph_edges", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"project_id", "source_qualified", "target_qualified", "kind"})
+        @UniqueConstraint(columnNames = {"project_id", "source_id", "target_id", "kind"})
 })
 @Data
 @Builder
@@ -34,11 +36,13 @@ public class CodeGraphEdge {
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
-    @Column(name = "source_qualified", nullable = false, length = 512)
-    private String sourceQualified;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_id", nullable = false)
+    private CodeGraphSymbol source;
 
-    @Column(name = "target_qualified", nullable = false, length = 512)
-    private String targetQualified;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "target_id", nullable = false)
+    private CodeGraphSymbol target;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "kind", nullable = false, length = 20)
@@ -69,6 +73,14 @@ public class CodeGraphEdge {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    public String getSourceQualified() {
+        return source == null ? null : source.getQualifiedName();
+    }
+
+    public String getTargetQualified() {
+        return target == null ? null : target.getQualifiedName();
+    }
+
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
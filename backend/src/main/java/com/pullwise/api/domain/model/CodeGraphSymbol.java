@@ -0,0 +1,38 @@
+package com.pullwise.api.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Qualified name internado do grafo de código (Code Graph v2).
+ *
+ * <p>As arestas ({@link CodeGraphEdge}) referenciam origem e destino por este
+ * id em vez de repetir o nome. Cobre nós do grafo e alvos externos (ex.:
+ * classes de bibliotecas). Único por (project_id, qualified_name). Símbolos
+ * que deixam de ser referenciados por arestas são podados quando os arquivos
+ * que os usavam saem do grafo.
+ */
+@Entity
+@Table(name = "code_graph_symbols", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"project_id", "qualified_name"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeGraphSymbol {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @Column(name = "qualified_name", nullable = false, length = 512)
+    private String qualifiedName;
+}
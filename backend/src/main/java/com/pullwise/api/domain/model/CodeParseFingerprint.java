@@ -0,0 +1,72 @@
+package com.pullwise.api.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fingerprint do parse de um arquivo refletido no grafo de código.
+ *
+ * <p>Guarda o hash do conteúdo indexado, a versão do parse e o resumo da
+ * análise (classes e métodos), para pular o parse de arquivos inalterados. Único por
+ * (project_id, file_path).
+ */
+@Entity
+@Table(name = "code_parse_fingerprints", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"project_id", "file_path"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeParseFingerprint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @Column(name = "file_path", nullable = false, length = 512)
+    private String filePath;
+
+    /** SHA-256 (hex) do código-fonte analisado. */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    /** Versão do parse que gerou o resumo ({@code SourceExtractors#VERSION}; vazio se anterior à versão). */
+    @Column(name = "parser_version", nullable = false, length = 64)
+    private String parserVersion;
+
+    /** Último commit indexado com este conteúdo (null se indexado fora de um clone). */
+    @Column(name = "indexed_sha", length = 64)
+    private String indexedSha;
+
+    /** {@code CodeAnalysisResult} serializado em JSON. */
+    @Column(name = "summary", nullable = false, columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        createdAt = now;
+        updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
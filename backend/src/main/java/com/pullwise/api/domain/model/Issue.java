@@ -84,6 +84,10 @@ public class Issue {
     @Builder.Default
     private Boolean acknowledged = false;
 
+    @Column(name = "carried_over")
+    @Builder.Default
+    private Boolean carriedOver = false; // Copiado do review anterior (re-review incremental)
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
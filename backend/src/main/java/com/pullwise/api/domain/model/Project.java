@@ -61,6 +61,10 @@ public class Project {
     @Builder.Default
     private Boolean autoReviewEnabled = true;
 
+    /** Último commit do branch padrão refletido no code graph. */
+    @Column(name = "graph_indexed_sha", length = 64)
+    private String graphIndexedSha;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
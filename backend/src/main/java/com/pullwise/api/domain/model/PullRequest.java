@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -14,8 +15,12 @@ import java.util.Set;
 
 /**
  * Entidade que representa um Pull Request no sistema.
+ *
+ * <p>{@code @DynamicUpdate}: o sync do webhook não sobrescreve o
+ * {@code lastReviewedSha} gravado em paralelo pelo review.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "pull_requests")
 @Data
 @Builder
@@ -82,6 +87,12 @@ public class PullRequest {
     @Column(name = "review_url", length = 500)
     private String reviewUrl;
 
+    @Column(name = "head_sha", length = 64)
+    private String headSha; // Commit head atual do PR
+
+    @Column(name = "last_reviewed_sha", length = 64)
+    private String lastReviewedSha; // Head do último review concluído (base do incremental)
+
     @OneToMany(mappedBy = "pullRequest", cascade = CascadeType.ALL)
     @Builder.Default
     private Set<Review> reviews = new HashSet<>();
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -13,8 +14,12 @@ import java.util.Set;
 
 /**
  * Entidade que representa uma análise/review de um Pull Request.
+ *
+ * <p>{@code @DynamicUpdate}: o UPDATE grava só as colunas alteradas, para que
+ * um nó atualizando métricas não sobrescreva o status gravado por outro.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "reviews")
 @Data
 @Builder
@@ -80,6 +85,12 @@ public class Review {
     @Column(name = "review_comment_id", length = 100)
     private String reviewCommentId; // ID do comentário postado no PR
 
+    @Column(name = "head_sha", length = 64)
+    private String headSha; // Commit head do PR quando o review foi criado
+
+    @Column(name = "incremental_base_sha", length = 64)
+    private String incrementalBaseSha; // Head do review anterior, se incremental
+
     @OneToMany(mappedBy = "review", cascade = CascadeType.ALL)
     @Builder.Default
     private Set<Issue> issues = new HashSet<>();
@@ -132,6 +143,12 @@ public class Review {
         this.completedAt = LocalDateTime.now();
     }
 
+    public void supersede(String reason) {
+        this.status = ReviewStatus.SUPERSEDED;
+        this.errorMessage = reason;
+        this.completedAt = LocalDateTime.now();
+    }
+
     public long getCriticalIssuesCount() {
         return issues.stream().filter(i -> i.getSeverity() == com.pullwise.api.domain.enums.Severity.CRITICAL).count();
     }
@@ -17,13 +17,13 @@ import java.util.Optional;
 @Repository
 public interface CodeGraphEdgeRepository extends JpaRepository<CodeGraphEdge, Long> {
 
-    Optional<CodeGraphEdge> findByProjectIdAndSourceQualifiedAndTargetQualifiedAndKind(
+    Optional<CodeGraphEdge> findByProjectIdAndSource_QualifiedNameAndTarget_QualifiedNameAndKind(
             Long projectId, String sourceQualified, String targetQualified, EdgeKind kind
     );
 
-    List<CodeGraphEdge> findByProjectIdAndSourceQualified(Long projectId, String sourceQualified);
+    List<CodeGraphEdge> findByProjectIdAndSource_QualifiedName(Long projectId, String sourceQualified);
 
-    List<CodeGraphEdge> findByProjectIdAndTargetQualified(Long projectId, String targetQualified);
+    List<CodeGraphEdge> findByProjectIdAndTarget_QualifiedName(Long projectId, String targetQualified);
 
     @Query("SELECT COUNT(e) FROM CodeGraphEdge e WHERE e.project.id = :projectId")
     long countByProjectId(@Param("projectId") Long projectId);
@@ -35,28 +35,106 @@ public interface CodeGraphEdgeRepository extends JpaRepository<CodeGraphEdge, Lo
             @Param("filePaths") List<String> filePaths
     );
 
+    /**
+     * Ids de {@code code_graph_symbols} usados como origem ou destino pelas
+     * arestas de {@code filePaths}.
+     */
+    @Query(value = """
+            SELECT e.source_id FROM code_graph_edges e
+            WHERE e.project_id = :projectId AND e.source_file_path = ANY(CAST(:filePaths AS text[]))
+            UNION
+            SELECT e.target_id FROM code_graph_edges e
+            WHERE e.project_id = :projectId AND e.source_file_path = ANY(CAST(:filePaths AS text[]))
+            """, nativeQuery = true)
+    List<Long> findSymbolIdsBySourceFilePathIn(
+            @Param("projectId") Long projectId,
+            @Param("filePaths") String[] filePaths
+    );
+
+    /**
+     * Remove arestas que apontam para nós que deixaram de existir. Só considera
+     * os {@code targets} informados (nós removidos numa atualização incremental):
+     * alvos que nunca foram nós do grafo (ex.: classes externas) não são tocados.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM code_graph_edges e
+            USING code_graph_symbols t
+            WHERE e.project_id = :projectId
+              AND t.project_id = :projectId
+              AND t.qualified_name = ANY(CAST(:targets AS text[]))
+              AND e.target_id = t.id
+              AND NOT EXISTS (
+                  SELECT 1 FROM code_graph_nodes n
+                  WHERE n.project_id = t.project_id AND n.qualified_name = t.qualified_name
+              )
+            """, nativeQuery = true)
+    int deleteDanglingByTargets(
+            @Param("projectId") Long projectId,
+            @Param("targets") String[] targets
+    );
+
+    /**
+     * Arquivos com arestas para algum nó definido em {@code filePaths} (quem
+     * chama, importa ou estende o que esses arquivos declaram).
+     */
+    @Query(value = """
+            SELECT DISTINCT e.source_file_path
+            FROM code_graph_nodes n
+            JOIN code_graph_symbols t
+                ON t.project_id = n.project_id AND t.qualified_name = n.qualified_name
+            JOIN code_graph_edges e
+                ON e.project_id = t.project_id AND e.target_id = t.id
+            WHERE n.project_id = :projectId
+              AND n.file_path = ANY(CAST(:filePaths AS text[]))
+              AND e.source_file_path IS NOT NULL
+            """, nativeQuery = true)
+    List<String> findSourceFilesTargetingFiles(
+            @Param("projectId") Long projectId,
+            @Param("filePaths") String[] filePaths
+    );
+
     /**
      * BFS forward via CTE recursiva (Postgres). Retorna qualified names alcançados
      * a partir dos seeds, propagando o weight (multiplicação ao longo do caminho).
      *
+     * <p>Os seeds são traduzidos para ids de {@code code_graph_symbols} uma vez; a
+     * recursão junta só chaves inteiras na partição do projeto, pelo índice
+     * {@code uq_code_graph_edges_unique (project_id, source_id, ...)}, e os nomes
+     * voltam num único join no fim. Seeds sem aresta alguma saem na profundidade 0.
+     *
      * <p>Cada linha: [qualified_name, depth, propagated_weight]
      */
     @Query(value = """
-            WITH RECURSIVE impacted(qn, depth, weight_acc) AS (
-                SELECT seed AS qn, 0 AS depth, CAST(1.0 AS DOUBLE PRECISION) AS weight_acc
-                FROM unnest(CAST(:seeds AS text[])) AS seed
+            WITH RECURSIVE seed(qn, id) AS (
+                SELECT q.qn, s.id
+                FROM unnest(CAST(:seeds AS text[])) AS q(qn)
+                LEFT JOIN code_graph_symbols s
+                    ON s.project_id = :projectId AND s.qualified_name = q.qn
+            ),
+            impacted(id, depth, weight_acc) AS (
+                SELECT id, 0 AS depth, CAST(1.0 AS DOUBLE PRECISION) AS weight_acc
+                FROM seed
+                WHERE id IS NOT NULL
                 UNION
-                SELECT e.target_qualified, i.depth + 1, i.weight_acc * e.confidence_weight
+                SELECT e.target_id, i.depth + 1, i.weight_acc * e.confidence_weight
                 FROM impacted i
                 JOIN code_graph_edges e
-                    ON e.source_qualified = i.qn
+                    ON e.source_id = i.id
                     AND e.project_id = :projectId
                     AND e.kind = ANY(CAST(:kinds AS text[]))
                 WHERE i.depth < :maxDepth
+            ),
+            reached AS (
+                SELECT id, MIN(depth) AS depth, MAX(weight_acc) AS weight
+                FROM impacted
+                GROUP BY id
             )
-            SELECT qn, MIN(depth) AS depth, MAX(weight_acc) AS weight
-            FROM impacted
-            GROUP BY qn
+            SELECT s.qualified_name AS qn, r.depth, r.weight
+            FROM reached r
+            JOIN code_graph_symbols s ON s.id = r.id
+            UNION ALL
+            SELECT qn, 0, CAST(1.0 AS DOUBLE PRECISION) FROM seed WHERE id IS NULL
             LIMIT :maxNodes
             """, nativeQuery = true)
     List<Object[]> bfsForward(
@@ -66,4 +144,52 @@ public interface CodeGraphEdgeRepository extends JpaRepository<CodeGraphEdge, Lo
             @Param("maxDepth") int maxDepth,
             @Param("maxNodes") int maxNodes
     );
+
+    /**
+     * BFS reversa via CTE recursiva (Postgres): percorre as arestas de target para
+     * source, alcançando quem chama, importa ou estende os seeds. Como
+     * {@link #bfsForward}, recursão sobre ids, pelo índice
+     * {@code idx_cge_target_kind (project_id, target_id, kind)}.
+     *
+     * <p>Cada linha: [qualified_name, depth, propagated_weight]
+     */
+    @Query(value = """
+            WITH RECURSIVE seed(qn, id) AS (
+                SELECT q.qn, s.id
+                FROM unnest(CAST(:seeds AS text[])) AS q(qn)
+                LEFT JOIN code_graph_symbols s
+                    ON s.project_id = :projectId AND s.qualified_name = q.qn
+            ),
+            impacted(id, depth, weight_acc) AS (
+                SELECT id, 0 AS depth, CAST(1.0 AS DOUBLE PRECISION) AS weight_acc
+                FROM seed
+                WHERE id IS NOT NULL
+                UNION
+                SELECT e.source_id, i.depth + 1, i.weight_acc * e.confidence_weight
+                FROM impacted i
+                JOIN code_graph_edges e
+                    ON e.target_id = i.id
+                    AND e.project_id = :projectId
+                    AND e.kind = ANY(CAST(:kinds AS text[]))
+                WHERE i.depth < :maxDepth
+            ),
+            reached AS (
+                SELECT id, MIN(depth) AS depth, MAX(weight_acc) AS weight
+                FROM impacted
+                GROUP BY id
+            )
+            SELECT s.qualified_name AS qn, r.depth, r.weight
+            FROM reached r
+            JOIN code_graph_symbols s ON s.id = r.id
+            UNION ALL
+            SELECT qn, 0, CAST(1.0 AS DOUBLE PRECISION) FROM seed WHERE id IS NULL
+            LIMIT :maxNodes
+            """, nativeQuery = true)
+    List<Object[]> bfsReverse(
+            @Param("projectId") Long projectId,
+            @Param("seeds") String[] seeds,
+            @Param("kinds") String[] kinds,
+            @Param("maxDepth") int maxDepth,
+            @Param("maxNodes") int maxNodes
+    );
 }
@@ -29,6 +29,15 @@ public interface CodeGraphNodeRepository extends JpaRepository<CodeGraphNode, Lo
             @Param("qualifiedNames") List<String> qualifiedNames
     );
 
+    @Query("SELECT n.qualifiedName FROM CodeGraphNode n WHERE n.project.id = :projectId AND n.filePath IN :filePaths")
+    List<String> findQualifiedNamesByProjectIdAndFilePathIn(
+            @Param("projectId") Long projectId,
+            @Param("filePaths") List<String> filePaths
+    );
+
+    @Query("SELECT DISTINCT n.filePath FROM CodeGraphNode n WHERE n.project.id = :projectId")
+    List<String> findFilePathsByProjectId(@Param("projectId") Long projectId);
+
     @Query("SELECT COUNT(n) FROM CodeGraphNode n WHERE n.project.id = :projectId")
     long countByProjectId(@Param("projectId") Long projectId);
 
@@ -0,0 +1,57 @@
+package com.pullwise.api.domain.repository;
+
+import com.pullwise.api.domain.model.CodeGraphSymbol;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositório dos qualified names internados do grafo de código.
+ */
+@Repository
+public interface CodeGraphSymbolRepository extends JpaRepository<CodeGraphSymbol, Long> {
+
+    Optional<CodeGraphSymbol> findByProjectIdAndQualifiedName(Long projectId, String qualifiedName);
+
+    @Query(value = """
+            SELECT s.id FROM code_graph_symbols s
+            WHERE s.project_id = :projectId AND s.qualified_name = ANY(CAST(:qualifiedNames AS text[]))
+            """, nativeQuery = true)
+    List<Long> findIdsByProjectIdAndQualifiedNames(
+            @Param("projectId") Long projectId,
+            @Param("qualifiedNames") String[] qualifiedNames
+    );
+
+    /**
+     * Remove, entre os {@code ids} informados, os símbolos que nenhuma aresta
+     * referencia. Símbolos travados por uma gravação concorrente (que acabou
+     * de interná-los para uma aresta nova) são pulados.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM code_graph_symbols
+            WHERE id IN (
+                SELECT s.id FROM code_graph_symbols s
+                WHERE s.project_id = :projectId
+                  AND s.id = ANY(CAST(:ids AS bigint[]))
+                  AND NOT EXISTS (
+                      SELECT 1 FROM code_graph_edges e
+                      WHERE e.project_id = :projectId AND e.source_id = s.id
+                  )
+                  AND NOT EXISTS (
+                      SELECT 1 FROM code_graph_edges e
+                      WHERE e.project_id = :projectId AND e.target_id = s.id
+                  )
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteUnreferenced(
+            @Param("projectId") Long projectId,
+            @Param("ids") Long[] ids
+    );
+}
@@ -0,0 +1,79 @@
+package com.pullwise.api.domain.repository;
+
+import com.pullwise.api.domain.model.CodeParseFingerprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório de fingerprints de parse do grafo de código.
+ */
+@Repository
+public interface CodeParseFingerprintRepository extends JpaRepository<CodeParseFingerprint, Long> {
+
+    /**
+     * Hash do conteúdo indexado de cada arquivo do projeto.
+     *
+     * @return linhas {@code [file_path, content_hash]}
+     */
+    @Query("SELECT f.filePath, f.contentHash FROM CodeParseFingerprint f WHERE f.project.id = :projectId")
+    List<Object[]> findContentHashesByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Como {@link #findContentHashesByProjectId}, só dos arquivos indexados por
+     * uma das versões de parse informadas.
+     */
+    @Query("SELECT f.filePath, f.contentHash FROM CodeParseFingerprint f "
+            + "WHERE f.project.id = :projectId AND f.parserVersion IN :parserVersions")
+    List<Object[]> findContentHashesByProjectIdAndParserVersionIn(
+            @Param("projectId") Long projectId,
+            @Param("parserVersions") List<String> parserVersions
+    );
+
+    @Query("SELECT f FROM CodeParseFingerprint f WHERE f.project.id = :projectId "
+            + "AND f.parserVersion IN :parserVersions AND f.contentHash IN :contentHashes")
+    List<CodeParseFingerprint> findByProjectIdAndParserVersionInAndContentHashIn(
+            @Param("projectId") Long projectId,
+            @Param("parserVersions") List<String> parserVersions,
+            @Param("contentHashes") List<String> contentHashes
+    );
+
+    /**
+     * Arquivos com algum import (como escrito no fonte, campo {@code imports}
+     * do resumo) que casa com a expressão regular {@code pattern} (Postgres).
+     */
+    @Query(value = """
+            SELECT f.file_path
+            FROM code_parse_fingerprints f
+            WHERE f.project_id = :projectId
+              AND EXISTS (
+                  SELECT 1
+                  FROM jsonb_array_elements_text(CASE
+                      WHEN jsonb_typeof(CAST(f.summary AS jsonb) -> 'imports') = 'array'
+                      THEN CAST(f.summary AS jsonb) -> 'imports'
+                      ELSE CAST('[]' AS jsonb)
+                  END) AS i(spec)
+                  WHERE i.spec ~ :pattern
+              )
+            """, nativeQuery = true)
+    List<String> findFilePathsImportingMatching(
+            @Param("projectId") Long projectId,
+            @Param("pattern") String pattern
+    );
+
+    @Modifying
+    @Query("DELETE FROM CodeParseFingerprint f WHERE f.project.id = :projectId AND f.filePath IN :filePaths")
+    int deleteByProjectIdAndFilePathIn(
+            @Param("projectId") Long projectId,
+            @Param("filePaths") List<String> filePaths
+    );
+
+    @Modifying
+    @Query("UPDATE CodeParseFingerprint f SET f.indexedSha = :sha, f.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE f.project.id = :projectId")
+    int updateIndexedShaByProjectId(@Param("projectId") Long projectId, @Param("sha") String sha);
+}
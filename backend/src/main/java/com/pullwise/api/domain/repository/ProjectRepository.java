@@ -5,6 +5,7 @@ import com.pullwise.api.domain.enums.Platform;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -44,4 +45,15 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     @Query("SELECT p.organization.id, COUNT(p) FROM Project p WHERE p.organization.id IN :orgIds AND p.isActive = true GROUP BY p.organization.id")
     List<Object[]> countActiveByOrganizationIds(@Param("orgIds") List<Long> orgIds);
+
+    /**
+     * Avança o commit indexado no code graph só se ele ainda for {@code expectedSha}
+     * (null = nunca indexado). Retorna 0 se outra indexação chegou antes.
+     */
+    @Modifying
+    @Query("UPDATE Project p SET p.graphIndexedSha = :newSha WHERE p.id = :id "
+            + "AND ((:expectedSha IS NULL AND p.graphIndexedSha IS NULL) OR p.graphIndexedSha = :expectedSha)")
+    int advanceGraphIndexedSha(@Param("id") Long id,
+                               @Param("expectedSha") String expectedSha,
+                               @Param("newSha") String newSha);
 }
@@ -3,6 +3,7 @@ package com.pullwise.api.domain.repository;
 import com.pullwise.api.domain.model.PullRequest;
 import com.pullwise.api.domain.enums.Platform;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -43,4 +44,15 @@ public interface PullRequestRepository extends JpaRepository<PullRequest, Long>
 
     @Query("SELECT COUNT(pr) FROM PullRequest pr WHERE pr.project.organization.id = :orgId AND pr.createdAt >= :start AND pr.createdAt <= :end")
     long countByOrganizationIdAndCreatedAtBetween(@Param("orgId") Long orgId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Grava o head do último review concluído, só se ele ainda for o head do
+     * PR: um review que terminou depois de um push mais novo não faz a base
+     * do incremental voltar para um commit anterior.
+     *
+     * @return 1 se atualizou, 0 se o PR já avançou para outro head
+     */
+    @Modifying
+    @Query("UPDATE PullRequest pr SET pr.lastReviewedSha = :sha WHERE pr.id = :id AND pr.headSha = :sha")
+    int advanceLastReviewedSha(@Param("id") Long id, @Param("sha") String sha);
 }
@@ -3,6 +3,7 @@ package com.pullwise.api.domain.repository;
 import com.pullwise.api.domain.model.Review;
 import com.pullwise.api.domain.enums.ReviewStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -31,9 +32,44 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query(value = "SELECT * FROM reviews WHERE pull_request_id = :prId ORDER BY id DESC LIMIT 1", nativeQuery = true)
     Optional<Review> findLatestByPullRequestId(@Param("prId") Long prId);
 
+    Optional<Review> findFirstByPullRequestIdAndHeadShaAndStatusOrderByIdDesc(Long pullRequestId, String headSha,
+                                                                             ReviewStatus status);
+
     @Query(value = "SELECT r FROM Review r WHERE r.pullRequest.id = :prId AND r.status IN :statuses")
     List<Review> findByPullRequestIdAndStatusIn(@Param("prId") Long prId, @Param("statuses") List<ReviewStatus> statuses);
 
+    /**
+     * Reserva o review para processamento: passa de {@code pending} para
+     * {@code inProgress}, ou retoma um {@code inProgress} iniciado antes de
+     * {@code staleBefore} (worker que caiu).
+     *
+     * @return 1 se a reserva foi obtida, 0 caso contrário
+     */
+    @Modifying
+    @Query("UPDATE Review r SET r.status = :inProgress, r.startedAt = :now WHERE r.id = :id "
+            + "AND (r.status = :pending OR (r.status = :inProgress AND r.startedAt < :staleBefore))")
+    int claimForProcessing(@Param("id") Long id,
+                           @Param("pending") ReviewStatus pending,
+                           @Param("inProgress") ReviewStatus inProgress,
+                           @Param("now") LocalDateTime now,
+                           @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Troca o status do review só se ele ainda estiver num dos {@code expected}.
+     * O UPDATE trava a linha até o commit, então duas transições concorrentes
+     * (ex.: conclusão num nó, substituição em outro) não se sobrepõem.
+     *
+     * @return 1 se a transição ocorreu, 0 se o review já estava em outro status
+     */
+    @Modifying
+    @Query("UPDATE Review r SET r.status = :status WHERE r.id = :id AND r.status IN :expected")
+    int updateStatusIfIn(@Param("id") Long id,
+                         @Param("status") ReviewStatus status,
+                         @Param("expected") List<ReviewStatus> expected);
+
+    @Query("SELECT r.status FROM Review r WHERE r.id = :id")
+    Optional<ReviewStatus> findStatusById(@Param("id") Long id);
+
     @Query(value = "SELECT r FROM Review r WHERE r.status IN :statuses AND r.startedAt < :timeout")
     List<Review> findStalledReviews(@Param("statuses") List<ReviewStatus> statuses, @Param("timeout") LocalDateTime timeout);
 
@@ -1,5 +1,6 @@
 package com.pullwise.api.infrastructure.rest;
 
+import com.pullwise.api.application.service.graph.blast.BlastDirection;
 import com.pullwise.api.application.service.graph.blast.BlastRadiusOptions;
 import com.pullwise.api.application.service.graph.blast.BlastRadiusResult;
 import com.pullwise.api.application.service.graph.blast.BlastRadiusService;
@@ -39,7 +40,9 @@ public class BlastRadiusController {
     private final CodeGraphEdgeRepository edgeRepository;
 
     /**
-     * Calcula o blast-radius para um conjunto de arquivos alterados.
+     * Calcula o blast-radius para um conjunto de arquivos alterados. O campo
+     * {@code direction} escolhe entre dependências (DOWNSTREAM, default), quem
+     * depende dos arquivos (UPSTREAM) ou ambos (BOTH).
      */
     @PostMapping("/blast-radius")
     public ResponseEntity<BlastRadiusResult> computeBlastRadius(
@@ -86,7 +89,8 @@ public class BlastRadiusController {
             List<String> changedFiles,
             Integer maxDepth,
             Integer maxNodes,
-            Set<EdgeKind> kinds
+            Set<EdgeKind> kinds,
+            BlastDirection direction
     ) {
         public BlastRadiusOptions toOptions() {
             int depth = maxDepth == null ? BlastRadiusOptions.DEFAULT_DEPTH : maxDepth;
@@ -94,7 +98,7 @@ public class BlastRadiusController {
             Set<EdgeKind> resolvedKinds = (kinds == null || kinds.isEmpty())
                     ? BlastRadiusOptions.DEFAULT_KINDS
                     : EnumSet.copyOf(kinds);
-            return new BlastRadiusOptions(depth, nodes, new HashSet<>(resolvedKinds));
+            return new BlastRadiusOptions(depth, nodes, new HashSet<>(resolvedKinds), direction);
         }
     }
 }
@@ -9,6 +9,7 @@ import com.pullwise.api.application.service.graph.blast.BlastRadiusOptions;
 import com.pullwise.api.application.service.graph.blast.BlastRadiusResult;
 import com.pullwise.api.application.service.graph.blast.BlastRadiusService;
 import com.pullwise.api.application.service.review.CoverageTrackingService;
+import com.pullwise.api.application.service.review.ReviewJobQueue;
 import com.pullwise.api.application.service.review.ReviewOrchestrator;
 import com.pullwise.api.domain.enums.Severity;
 import com.pullwise.api.domain.model.Issue;
@@ -41,6 +42,7 @@ public class ReviewController {
     private final IssueRepository issueRepository;
     private final ProjectRepository projectRepository;
     private final ReviewOrchestrator reviewOrchestrator;
+    private final ReviewJobQueue reviewJobQueue;
     private final CoverageTrackingService coverageTrackingService;
     private final AttestationService attestationService;
     private final AuthorizationService authorizationService;
@@ -144,8 +146,8 @@ public class ReviewController {
                 request.ragEnabled()
         );
 
-        // Iniciar processamento assíncrono
-        reviewOrchestrator.startReview(review.getId());
+        // Enfileirar processamento
+        reviewJobQueue.submit(review, true);
 
         ReviewDTO dto = ReviewDTO.from(review, new ReviewDTO.ReviewStats(0, 0, 0, 0, 0, 0));
 
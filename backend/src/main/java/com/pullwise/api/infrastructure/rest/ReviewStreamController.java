@@ -1,23 +1,28 @@
 package com.pullwise.api.infrastructure.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pullwise.api.application.service.review.ReviewEvent;
+import com.pullwise.api.application.service.review.ReviewEventBus;
 import com.pullwise.api.domain.enums.ReviewStatus;
 import com.pullwise.api.domain.model.Review;
 import com.pullwise.api.domain.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.util.Map;
-import java.util.concurrent.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Controller SSE para streaming de progresso de review.
  * Permite que o CLI e outros HTTP clients recebam atualizações em tempo real
- * sem precisar de WebSocket.
+ * sem precisar de WebSocket. As atualizações vêm do {@link ReviewEventBus};
+ * o banco só é lido na conexão.
  */
 @Slf4j
 @RestController
@@ -31,8 +36,6 @@ public class ReviewStreamController {
     // Mapa de emitters ativos por reviewId
     private final Map<Long, CopyOnWriteArrayList<SseEmitter>> activeEmitters = new ConcurrentHashMap<>();
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
-
     /**
      * SSE endpoint para streaming de progresso de review.
      * O CLI se conecta aqui e recebe eventos em tempo real.
@@ -42,82 +45,45 @@ public class ReviewStreamController {
         // 5 minutos de timeout (reviews grandes podem demorar)
         SseEmitter emitter = new SseEmitter(300_000L);
 
-        // Verificar se review existe
+        // Registrar emitter antes de ler o status: um evento terminal
+        // publicado entre a leitura e o registro não se perde
+        activeEmitters.computeIfAbsent(id, k -> new CopyOnWriteArrayList<>()).add(emitter);
+
+        // Cleanup on completion/timeout
+        emitter.onCompletion(() -> removeEmitter(id, emitter));
+        emitter.onTimeout(() -> removeEmitter(id, emitter));
+        emitter.onError(e -> removeEmitter(id, emitter));
+
+        // Única leitura do banco: daqui em diante as atualizações chegam pelo ReviewEventBus
         Review review = reviewRepository.findById(id).orElse(null);
-        if (review == null) {
-            try {
+        try {
+            if (review == null) {
                 emitter.send(SseEmitter.event()
                         .name("error")
                         .data("{\"message\":\"Review not found\"}"));
                 emitter.complete();
-            } catch (IOException e) {
-                log.warn("Failed to send SSE event: {}", e.getMessage());
-            }
-            return emitter;
-        }
-
-        // Se já completou, enviar status final imediatamente
-        if (review.getStatus().isTerminal()) {
-            try {
+            } else if (review.getStatus().isTerminal()) {
+                // Se já terminou, enviar status final imediatamente
                 emitter.send(SseEmitter.event()
-                        .name("review.completed")
+                        .name(review.getStatus() == ReviewStatus.COMPLETED ? "review.completed" : "review.failed")
                         .data(buildStatusEvent(review)));
                 emitter.complete();
-            } catch (IOException e) {
-                log.warn("Failed to send SSE event: {}", e.getMessage());
+            } else {
+                emitter.send(SseEmitter.event()
+                        .name("review.status")
+                        .data(buildStatusEvent(review)));
             }
-            return emitter;
-        }
-
-        // Registrar emitter
-        activeEmitters.computeIfAbsent(id, k -> new CopyOnWriteArrayList<>()).add(emitter);
-
-        // Cleanup on completion/timeout
-        emitter.onCompletion(() -> removeEmitter(id, emitter));
-        emitter.onTimeout(() -> removeEmitter(id, emitter));
-        emitter.onError(e -> removeEmitter(id, emitter));
-
-        // Enviar status inicial
-        try {
-            emitter.send(SseEmitter.event()
-                    .name("review.status")
-                    .data(buildStatusEvent(review)));
         } catch (IOException e) {
-                log.warn("Failed to send SSE event: {}", e.getMessage());
-            }
-
-        // Iniciar polling do status do review (a cada 2 segundos)
-        ScheduledFuture<?> pollingTask = scheduler.scheduleAtFixedRate(() -> {
-            try {
-                Review current = reviewRepository.findById(id).orElse(null);
-                if (current == null || current.getStatus().isTerminal()) {
-                    String eventName = current != null && current.getStatus() == ReviewStatus.COMPLETED
-                            ? "review.completed" : "review.failed";
-                    emitter.send(SseEmitter.event()
-                            .name(eventName)
-                            .data(buildStatusEvent(current != null ? current : review)));
-                    emitter.complete();
-                } else {
-                    emitter.send(SseEmitter.event()
-                            .name("review.progress")
-                            .data(buildStatusEvent(current)));
-                }
-            } catch (Exception e) {
-                removeEmitter(id, emitter);
-            }
-        }, 2, 2, TimeUnit.SECONDS);
-
-        // Cancelar polling quando emitter terminar
-        emitter.onCompletion(() -> pollingTask.cancel(false));
-        emitter.onTimeout(() -> pollingTask.cancel(false));
-        emitter.onError(e -> pollingTask.cancel(false));
+            log.warn("Failed to send SSE event: {}", e.getMessage());
+            removeEmitter(id, emitter);
+        }
 
         return emitter;
     }
 
     /**
      * Envia evento SSE para todos os emitters de um review.
-     * Chamado pelo WebSocketService para bridge de eventos.
+     * Chamado a cada evento do {@link ReviewEventBus}.
      */
     public void sendEvent(Long reviewId, String eventName, Object data) {
         CopyOnWriteArrayList<SseEmitter> emitters = activeEmitters.get(reviewId);
@@ -141,6 +107,25 @@ public class ReviewStreamController {
         }
     }
 
+    /**
+     * Repassa aos streams do review os eventos do {@link ReviewEventBus}
+     * (locais ou vindos de outro nó). Após o evento terminal os streams são
+     * encerrados.
+     */
+    @EventListener
+    public void onReviewEvent(ReviewEvent event) {
+        if (!activeEmitters.containsKey(event.reviewId())) {
+            return;
+        }
+        sendEvent(event.reviewId(), event.type(), event.data());
+        if (event.isTerminal()) {
+            CopyOnWriteArrayList<SseEmitter> emitters = activeEmitters.remove(event.reviewId());
+            if (emitters != null) {
+                emitters.forEach(SseEmitter::complete);
+            }
+        }
+    }
+
     private void removeEmitter(Long reviewId, SseEmitter emitter) {
         CopyOnWriteArrayList<SseEmitter> emitters = activeEmitters.get(reviewId);
         if (emitters != null) {
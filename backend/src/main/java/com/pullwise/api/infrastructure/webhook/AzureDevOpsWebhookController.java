@@ -6,6 +6,7 @@ import com.pullwise.api.domain.constants.ConfigKeys;
 import com.pullwise.api.application.service.integration.AzureDevOpsService;
 import com.pullwise.api.application.service.integration.AzureDevOpsService.AzureDevOpsWebhookPayload;
 import com.pullwise.api.application.service.integration.SlashCommandService;
+import com.pullwise.api.application.service.review.ReviewJobQueue;
 import com.pullwise.api.application.service.review.ReviewOrchestrator;
 import com.pullwise.api.domain.enums.Platform;
 import com.pullwise.api.domain.model.Project;
@@ -36,6 +37,7 @@ public class AzureDevOpsWebhookController {
 
     private final AzureDevOpsService azureDevOpsService;
     private final ReviewOrchestrator reviewOrchestrator;
+    private final ReviewJobQueue reviewJobQueue;
     private final ConfigurationResolver configurationResolver;
     private final SlashCommandService slashCommandService;
     private final ProjectRepository projectRepository;
@@ -215,9 +217,9 @@ public class AzureDevOpsWebhookController {
             boolean ragEnabled = configurationResolver.isRAGEnabled(projectId);
 
             com.pullwise.api.domain.model.Review review =
-                    reviewOrchestrator.createReview(pr.getId(), sastEnabled, llmEnabled, ragEnabled);
+                    reviewOrchestrator.createSupersedingReview(pr.getId(), sastEnabled, llmEnabled, ragEnabled);
 
-            reviewOrchestrator.startReview(review.getId());
+            reviewJobQueue.submit(review, false);
 
             log.info("Started review {} for Azure DevOps PR #{}", review.getId(), pr.getPrNumber());
 
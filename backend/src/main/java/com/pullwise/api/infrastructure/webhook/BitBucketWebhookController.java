@@ -6,6 +6,7 @@ import com.pullwise.api.application.service.config.ConfigurationResolver;
 import com.pullwise.api.domain.constants.ConfigKeys;
 import com.pullwise.api.application.service.integration.BitBucketService;
 import com.pullwise.api.application.service.integration.SlashCommandService;
+import com.pullwise.api.application.service.review.ReviewJobQueue;
 import com.pullwise.api.application.service.review.ReviewOrchestrator;
 import com.pullwise.api.domain.enums.Platform;
 import com.pullwise.api.domain.model.Project;
@@ -40,6 +41,7 @@ public class BitBucketWebhookController {
     private final ProjectRepository projectRepository;
     private final PullRequestRepository pullRequestRepository;
     private final ReviewOrchestrator reviewOrchestrator;
+    private final ReviewJobQueue reviewJobQueue;
     private final ConfigurationResolver configurationResolver;
     private final SlashCommandService slashCommandService;
     private final ObjectMapper objectMapper;
@@ -234,10 +236,10 @@ public class BitBucketWebhookController {
             boolean ragEnabled = configurationResolver.isRAGEnabled(projectId);
 
             com.pullwise.api.domain.model.Review review =
-                    reviewOrchestrator.createReview(pr.getId(), sastEnabled, llmEnabled, ragEnabled);
+                    reviewOrchestrator.createSupersedingReview(pr.getId(), sastEnabled, llmEnabled, ragEnabled);
 
-            // Iniciar processamento assíncrono
-            reviewOrchestrator.startReview(review.getId());
+            // Enfileirar processamento
+            reviewJobQueue.submit(review, false);
 
             log.info("Started review {} for BitBucket PR #{}", review.getId(), pr.getPrNumber());
 
@@ -1,5 +1,7 @@
 package com.pullwise.api.infrastructure.webhook;
 
+import com.pullwise.api.application.service.graph.GraphDeltaIndexer;
+import com.pullwise.api.application.service.review.ReviewJobQueue;
 import com.pullwise.api.application.service.review.ReviewOrchestrator;
 import com.pullwise.api.application.service.integration.GitHubService;
 import com.pullwise.api.application.service.integration.SlashCommandService;
@@ -45,9 +47,11 @@ public class GitHubWebhookController {
     private final ProjectRepository projectRepository;
     private final PullRequestRepository pullRequestRepository;
     private final ReviewOrchestrator reviewOrchestrator;
+    private final ReviewJobQueue reviewJobQueue;
     private final ConfigurationResolver configurationResolver;
     private final SlashCommandService slashCommandService;
     private final RAGService ragService;
+    private final GraphDeltaIndexer graphDeltaIndexer;
     private final ObjectMapper objectMapper;
 
     @Value("${integrations.github.webhook-secret:}")
@@ -253,8 +257,8 @@ public class GitHubWebhookController {
 
     /**
      * Processa eventos de push.
-     * Triggers knowledge base (RAG) re-indexing for the affected project
-     * when pushes land on the default branch.
+     * Triggers knowledge base (RAG) re-indexing and the incremental code graph
+     * update for the affected project when pushes land on the default branch.
      */
     private void handlePushEvent(GitHubService.GitHubWebhookPayload payload) {
         if (payload.getRepository() == null) {
@@ -291,6 +295,24 @@ public class GitHubWebhookController {
 
         log.info("Triggering knowledge base re-indexing for project {} (id={})", project.getName(), project.getId());
         ragService.indexProjectDocuments(project.getId());
+
+        if (!payload.isDeleted() && payload.getAfter() != null) {
+            graphDeltaIndexer.onPush(project.getId(), payload.getAfter(), removedFiles(payload));
+        }
+    }
+
+    /**
+     * Arquivos removidos pelos commits do push (inclui o nome antigo de renames).
+     */
+    private List<String> removedFiles(GitHubService.GitHubWebhookPayload payload) {
+        if (payload.getCommits() == null) {
+            return List.of();
+        }
+        return payload.getCommits().stream()
+                .filter(commit -> commit.getRemoved() != null)
+                .flatMap(commit -> commit.getRemoved().stream())
+                .distinct()
+                .toList();
     }
 
     /**
@@ -360,10 +382,10 @@ public class GitHubWebhookController {
             boolean ragEnabled = configurationResolver.isRAGEnabled(projectId);
 
             com.pullwise.api.domain.model.Review review =
-                    reviewOrchestrator.createReview(pr.getId(), sastEnabled, llmEnabled, ragEnabled);
+                    reviewOrchestrator.createSupersedingReview(pr.getId(), sastEnabled, llmEnabled, ragEnabled);
 
-            // Iniciar processamento assíncrono
-            reviewOrchestrator.startReview(review.getId());
+            // Enfileirar processamento
+            reviewJobQueue.submit(review, false);
 
             log.info("Started review {} for PR #{}", review.getId(), pr.getPrNumber());
 
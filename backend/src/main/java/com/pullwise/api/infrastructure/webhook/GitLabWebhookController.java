@@ -6,6 +6,7 @@ import com.pullwise.api.domain.constants.ConfigKeys;
 import com.pullwise.api.application.service.integration.GitLabService;
 import com.pullwise.api.application.service.integration.GitLabService.GitLabWebhookPayload;
 import com.pullwise.api.application.service.integration.SlashCommandService;
+import com.pullwise.api.application.service.review.ReviewJobQueue;
 import com.pullwise.api.application.service.review.ReviewOrchestrator;
 import com.pullwise.api.domain.enums.Platform;
 import com.pullwise.api.domain.model.Project;
@@ -33,6 +34,7 @@ public class GitLabWebhookController {
 
     private final GitLabService gitLabService;
     private final ReviewOrchestrator reviewOrchestrator;
+    private final ReviewJobQueue reviewJobQueue;
     private final ConfigurationResolver configurationResolver;
     private final SlashCommandService slashCommandService;
     private final ProjectRepository projectRepository;
@@ -212,9 +214,9 @@ public class GitLabWebhookController {
             boolean ragEnabled = configurationResolver.isRAGEnabled(projectId);
 
             com.pullwise.api.domain.model.Review review =
-                    reviewOrchestrator.createReview(pr.getId(), sastEnabled, llmEnabled, ragEnabled);
+                    reviewOrchestrator.createSupersedingReview(pr.getId(), sastEnabled, llmEnabled, ragEnabled);
 
-            reviewOrchestrator.startReview(review.getId());
+            reviewJobQueue.submit(review, false);
 
             log.info("Started review {} for GitLab MR !{}", review.getId(), pr.getPrNumber());
 
@@ -1,14 +1,18 @@
 package com.pullwise.api.infrastructure.websocket;
 
+import com.pullwise.api.application.service.review.ReviewEvent;
+import com.pullwise.api.application.service.review.ReviewEventBus;
 import com.pullwise.api.infrastructure.websocket.dto.FixGeneratedMessage;
 import com.pullwise.api.infrastructure.websocket.dto.IssueDetectedMessage;
 import com.pullwise.api.infrastructure.websocket.dto.ReviewProgressMessage;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Set;
@@ -82,6 +86,23 @@ public class WebSocketService {
         sendToTopic("/review/" + reviewId, msg);
     }
 
+    /**
+     * Repassa aos inscritos do review os eventos do {@link ReviewEventBus}
+     * (locais ou vindos de outro nó), no mesmo formato das demais mensagens.
+     */
+    @EventListener
+    public void onReviewEvent(ReviewEvent event) {
+        String topic = "/review/" + event.reviewId();
+        if (!hasActiveSubscriptions(topic)) {
+            return;
+        }
+        Map<String, Object> msg = new LinkedHashMap<>();
+        msg.put("type", event.type());
+        msg.put("data", event.data());
+        msg.put("timestamp", java.time.Instant.now().toString());
+        sendToTopic(topic, msg);
+    }
+
     /**
      * Envia notificação de fix gerado.
      */
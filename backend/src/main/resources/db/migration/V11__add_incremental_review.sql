@@ -0,0 +1,14 @@
+-- Incremental re-review
+-- Tracks the head commit of each PR and the last one that finished a review,
+-- so later pushes only re-analyse the files touched since then.
+
+ALTER TABLE pull_requests ADD COLUMN head_sha VARCHAR(64);
+ALTER TABLE pull_requests ADD COLUMN last_reviewed_sha VARCHAR(64);
+
+ALTER TABLE reviews ADD COLUMN head_sha VARCHAR(64);
+ALTER TABLE reviews ADD COLUMN incremental_base_sha VARCHAR(64);
+
+-- Issues copied from the previous review (already posted, not re-analysed)
+ALTER TABLE issues ADD COLUMN carried_over BOOLEAN DEFAULT FALSE;
+
+CREATE INDEX idx_reviews_pr_head_sha ON reviews(pull_request_id, head_sha);
@@ -0,0 +1,5 @@
+-- Incremental code graph maintenance
+-- Last default-branch commit reflected in code_graph_nodes/code_graph_edges,
+-- so push webhooks only re-index the files changed since then.
+
+ALTER TABLE projects ADD COLUMN graph_indexed_sha VARCHAR(64);
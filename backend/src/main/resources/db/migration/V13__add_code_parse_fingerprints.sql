@@ -0,0 +1,19 @@
+-- Parse fingerprints do Code Graph
+-- Hash do conteúdo e resumo da análise (CodeAnalysisResult em JSON) de cada
+-- arquivo refletido em code_graph_nodes/code_graph_edges, para que reindexações
+-- pulem arquivos inalterados e os grafos de dependência reaproveitem o parse.
+
+CREATE TABLE code_parse_fingerprints (
+    id BIGSERIAL PRIMARY KEY,
+    project_id BIGINT NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    file_path VARCHAR(512) NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,  -- SHA-256 hex do código-fonte
+    indexed_sha VARCHAR(64),            -- último commit indexado com este conteúdo
+    summary TEXT NOT NULL,              -- CodeAnalysisResult serializado (JSON)
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_code_parse_fingerprints_project_path UNIQUE (project_id, file_path)
+);
+
+-- Reaproveitamento de resumos por conteúdo (DependencyGraphService)
+CREATE INDEX idx_cpf_project_hash ON code_parse_fingerprints(project_id, content_hash);
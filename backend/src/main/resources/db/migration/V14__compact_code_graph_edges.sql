@@ -0,0 +1,85 @@
+-- Code Graph: arestas compactas e particionadas por projeto
+--
+-- Em monorepos grandes code_graph_edges repetia os qualified names completos de
+-- origem e destino em toda linha (e no índice único), o que inflava a tabela e
+-- deixava lentos os joins da CTE recursiva de blast-radius. Os nomes passam a
+-- ser internados em code_graph_symbols e as arestas guardam só os ids (BIGINT),
+-- numa tabela particionada por hash de project_id.
+--
+-- Migra as arestas existentes (layout da V9) sem perda.
+
+-- ============================================
+-- Code Graph Symbols
+-- ============================================
+-- Todo nome que aparece como origem ou destino de aresta (nós do grafo e alvos
+-- externos, como classes de bibliotecas). Ao substituir arquivos, o indexador
+-- remove os nomes que deixaram de ser referenciados por alguma aresta (linhas
+-- travadas por outra escrita ficam para a próxima); os nomes de um projeto são
+-- removidos junto com ele.
+CREATE TABLE code_graph_symbols (
+    id BIGSERIAL PRIMARY KEY,
+    project_id BIGINT NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    qualified_name VARCHAR(512) NOT NULL,
+    CONSTRAINT uq_code_graph_symbols_project_qn UNIQUE (project_id, qualified_name)
+);
+
+INSERT INTO code_graph_symbols (project_id, qualified_name)
+SELECT project_id, source_qualified FROM code_graph_edges
+UNION
+SELECT project_id, target_qualified FROM code_graph_edges;
+
+-- ============================================
+-- Tabela da V9 sai do caminho
+-- ============================================
+ALTER TABLE code_graph_edges RENAME TO code_graph_edges_v9;
+ALTER SEQUENCE code_graph_edges_id_seq RENAME TO code_graph_edges_v9_id_seq;
+ALTER INDEX code_graph_edges_pkey RENAME TO code_graph_edges_v9_pkey;
+ALTER TABLE code_graph_edges_v9 RENAME CONSTRAINT uq_code_graph_edges_unique TO uq_code_graph_edges_v9_unique;
+DROP INDEX idx_cge_source_kind;
+DROP INDEX idx_cge_target_kind;
+
+-- ============================================
+-- Code Graph Edges (compacta, particionada)
+-- ============================================
+CREATE TABLE code_graph_edges (
+    id BIGSERIAL,
+    project_id BIGINT NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    source_id BIGINT NOT NULL REFERENCES code_graph_symbols(id),
+    target_id BIGINT NOT NULL REFERENCES code_graph_symbols(id),
+    kind VARCHAR(20) NOT NULL,           -- CALLS, IMPORTS_FROM, INHERITS, IMPLEMENTS, REFERENCES, CONTAINS
+    confidence_tier VARCHAR(15) NOT NULL DEFAULT 'EXTRACTED',
+    confidence_weight DOUBLE PRECISION NOT NULL DEFAULT 1.0,
+    source_file_path VARCHAR(512),
+    source_line INTEGER,
+    extra TEXT,                         -- JSON serializado
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- A chave de partição faz parte de toda constraint única; id na frente
+    -- para os UPDATE/DELETE por id do JPA
+    PRIMARY KEY (id, project_id),
+    -- Também serve a BFS forward (project_id, source_id, ...)
+    CONSTRAINT uq_code_graph_edges_unique UNIQUE (project_id, source_id, target_id, kind)
+) PARTITION BY HASH (project_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE code_graph_edges_p%s PARTITION OF code_graph_edges '
+                || 'FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            i, i);
+    END LOOP;
+END $$;
+
+-- Índice para BFS reverso (callers de um nó)
+CREATE INDEX idx_cge_target_kind ON code_graph_edges(project_id, target_id, kind);
+
+INSERT INTO code_graph_edges (project_id, source_id, target_id, kind, confidence_tier, confidence_weight,
+                              source_file_path, source_line, extra, created_at, updated_at)
+SELECT e.project_id, s.id, t.id, e.kind, e.confidence_tier, e.confidence_weight,
+       e.source_file_path, e.source_line, e.extra, e.created_at, e.updated_at
+FROM code_graph_edges_v9 e
+JOIN code_graph_symbols s ON s.project_id = e.project_id AND s.qualified_name = e.source_qualified
+JOIN code_graph_symbols t ON t.project_id = e.project_id AND t.qualified_name = e.target_qualified;
+
+DROP TABLE code_graph_edges_v9;
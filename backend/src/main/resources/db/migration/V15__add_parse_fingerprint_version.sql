@@ -0,0 +1,7 @@
+-- Versão do parse nos fingerprints do Code Graph
+-- O hash do conteúdo não muda quando a extração muda (novo extrator, outra
+-- resolução de nomes): a versão do parse que gerou o resumo entra no
+-- fingerprint e só pula o reparse quem foi indexado pela versão atual. As
+-- linhas existentes ficam sem versão e são reanalisadas na próxima indexação.
+
+ALTER TABLE code_parse_fingerprints ADD COLUMN parser_version VARCHAR(64) NOT NULL DEFAULT '';
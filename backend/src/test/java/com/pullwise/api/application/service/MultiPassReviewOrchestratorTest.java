@@ -5,6 +5,8 @@ import com.pullwise.api.application.service.integration.BitBucketService;
 import com.pullwise.api.application.service.integration.GitHubService;
 import com.pullwise.api.application.service.integration.GitLabService;
 import com.pullwise.api.application.service.llm.router.MultiModelLLMRouter;
+import com.pullwise.api.application.service.review.IncrementalReviewPlanner;
+import com.pullwise.api.application.service.review.ReviewEventBus;
 import com.pullwise.api.application.service.review.pipeline.MultiPassReviewOrchestrator;
 import com.pullwise.api.application.service.review.pipeline.MultiPassReviewOrchestrator.PassResult;
 import com.pullwise.api.application.service.review.pipeline.MultiPassReviewOrchestrator.ReviewResult;
@@ -19,6 +21,8 @@ import com.pullwise.api.application.service.review.pipeline.synthesis.ReviewRefl
 import com.pullwise.api.domain.model.*;
 import com.pullwise.api.domain.enums.*;
 import com.pullwise.api.domain.repository.IssueRepository;
+import com.pullwise.api.domain.repository.PullRequestRepository;
+import com.pullwise.api.domain.repository.ReviewRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -52,10 +56,13 @@ class MultiPassReviewOrchestratorTest {
     @Mock private ConfigurationResolver configurationResolver;
     @Mock private MultiModelLLMRouter llmRouter;
     @Mock private IssueRepository issueRepository;
+    @Mock private PullRequestRepository pullRequestRepository;
     @Mock private GitHubService gitHubService;
     @Mock private BitBucketService bitBucketService;
     @Mock private GitLabService gitLabService;
     @Mock private AzureDevOpsService azureDevOpsService;
+    @Mock private ReviewRepository reviewRepository;
+    @Mock private ReviewEventBus reviewEventBus;
 
     @BeforeEach
     void setUp() {
@@ -64,8 +71,10 @@ class MultiPassReviewOrchestratorTest {
                 codeGraphImpactPass, resultSynthesizer, duplicationDetector,
                 blastRadiusConsolidator, commentPositioner, reviewReflectionFilter,
                 issuePrioritizer, configurationResolver,
-                llmRouter, issueRepository, gitHubService,
-                bitBucketService, gitLabService, azureDevOpsService
+                llmRouter, issueRepository, pullRequestRepository, gitHubService,
+                bitBucketService, gitLabService, azureDevOpsService,
+                new IncrementalReviewPlanner(reviewRepository, issueRepository, gitHubService, configurationResolver),
+                reviewEventBus, Runnable::run
         );
     }
 
@@ -96,7 +105,8 @@ class MultiPassReviewOrchestratorTest {
         );
 
         // Mock external calls
-        when(gitHubService.fetchPullRequestDiffs(any(), eq(42))).thenReturn(diffs);
+        when(gitHubService.fetchPullRequestDiffsAtHead(any(), eq(42)))
+                .thenReturn(new GitHubService.PullRequestDiffs("abc1234", diffs));
 
         PassResult emptyResult = new PassResult();
         emptyResult.setPassName("test");
@@ -121,8 +131,12 @@ class MultiPassReviewOrchestratorTest {
         assertThat(result.getSecurityResult()).isNotNull();
         assertThat(result.getImpactResult()).isNotNull();
 
-        verify(gitHubService).fetchPullRequestDiffs(project, 42);
+        verify(gitHubService).fetchPullRequestDiffsAtHead(project, 42);
         verify(sastAggregatorPass).execute(eq(pr), eq(review), eq(diffs));
+
+        // O head analisado vira a base do próximo review incremental
+        assertThat(review.getHeadSha()).isEqualTo("abc1234");
+        verify(pullRequestRepository).advanceLastReviewedSha(1L, "abc1234");
     }
 
     @Test
@@ -140,7 +154,8 @@ class MultiPassReviewOrchestratorTest {
         review.setStatus(ReviewStatus.IN_PROGRESS);
         review.setPullRequest(pr);
 
-        when(gitHubService.fetchPullRequestDiffs(any(), anyInt())).thenReturn(List.of());
+        when(gitHubService.fetchPullRequestDiffsAtHead(any(), anyInt()))
+                .thenReturn(new GitHubService.PullRequestDiffs(null, List.of()));
 
         // SAST fails
         when(sastAggregatorPass.execute(any(), any(), any()))
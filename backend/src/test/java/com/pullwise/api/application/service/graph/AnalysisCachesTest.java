@@ -0,0 +1,113 @@
+package com.pullwise.api.application.service.graph;
+
+import com.pullwise.api.application.service.graph.model.ClassInfo;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Caches de análise ({@link JavaParserService}) e de grafos de dependência
+ * ({@link DependencyGraphService}) endereçados por conteúdo, incluindo o
+ * reaproveitamento de resumos persistidos ({@link ParseFingerprintStore}).
+ */
+class AnalysisCachesTest {
+
+    @TempDir Path repo;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JavaParserService parserService;
+    private DependencyGraphService graphService;
+
+    @BeforeEach
+    void setUp() {
+        parserService = new JavaParserService(JavaParserService.DEFAULT_CACHE_MAX_BYTES, meterRegistry);
+        graphService = new DependencyGraphService(parserService, 32L * 1024 * 1024, meterRegistry, null);
+    }
+
+    @Test
+    void analyzeFile_reusesAnalysisUntilContentChanges() throws IOException {
+        Path file = write("A.java", "package p; public class A { void a() {} }");
+
+        CodeAnalysisResult first = parserService.analyzeFile(file);
+        assertThat(parserService.analyzeFile(file)).isSameAs(first);
+
+        write("A.java", "package p; public class A { void a() {} void b() {} }");
+        CodeAnalysisResult changed = parserService.analyzeFile(file);
+
+        assertThat(changed).isNotSameAs(first);
+        assertThat(changed.getClasses().get(0).getMethods()).hasSize(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", JavaParserService.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("pullwise.graph.cache.bytes").tag("cache", JavaParserService.CACHE_NAME)
+                .gauge().value()).isPositive();
+    }
+
+    @Test
+    void clearCacheForFile_dropsOnlyThatFile() throws IOException {
+        Path a = write("A.java", "package p; public class A {}");
+        Path b = write("B.java", "package p; public class B {}");
+        parserService.analyzeFile(a);
+        parserService.analyzeFile(b);
+
+        parserService.clearCacheForFile(a.toFile().getAbsolutePath());
+
+        assertThat(parserService.getCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    void buildDependencyGraph_rebuildsWhenAFileChanges() throws IOException {
+        Path a = write("A.java", "package p; public class A { B b; }");
+        Path b = write("B.java", "package p; public class B {}");
+
+        Graph<String, DefaultEdge> first = graphService.buildDependencyGraph("repo", List.of(a, b));
+        assertThat(graphService.buildDependencyGraph("repo", List.of(a, b))).isSameAs(first);
+        assertThat(graphService.calculateBlastRadius("repo", "p.B")).isEqualTo(1);
+
+        write("A.java", "package p; public class A {}");
+        Graph<String, DefaultEdge> rebuilt = graphService.buildDependencyGraph("repo", List.of(a, b));
+
+        assertThat(rebuilt).isNotSameAs(first);
+        assertThat(rebuilt.edgeSet()).isEmpty();
+        assertThat(graphService.calculateBlastRadius("repo", "p.B")).isZero();
+    }
+
+    @Test
+    void buildDependencyGraph_reusesStoredSummaryOfIndexedContent() throws IOException {
+        String source = "package p; public class A {}";
+        Path a = write("A.java", source);
+        ParseFingerprintStore store = mock(ParseFingerprintStore.class);
+        CodeAnalysisResult stored = CodeAnalysisResult.builder()
+                .filePath("A.java")
+                .classes(List.of(ClassInfo.builder().qualifiedName("p.Stored").simpleName("Stored")
+                        .dependencies(List.of()).build()))
+                .build();
+        when(store.summariesByHash(eq(7L), anyCollection()))
+                .thenReturn(Map.of(GraphCaches.sha256Hex(source), stored));
+        DependencyGraphService service = new DependencyGraphService(parserService, 32L * 1024 * 1024, null, store);
+
+        Graph<String, DefaultEdge> graph = service.buildDependencyGraph("7", List.of(a));
+
+        assertThat(graph.vertexSet()).containsExactly("p.Stored");
+        assertThat(parserService.getCacheSize()).isZero();
+    }
+
+    private Path write(String name, String source) throws IOException {
+        return Files.writeString(repo.resolve(name), source);
+    }
+}
@@ -0,0 +1,224 @@
+package com.pullwise.api.application.service.graph;
+
+import com.pullwise.api.AbstractIntegrationTest;
+import com.pullwise.api.application.service.graph.blast.BlastRadiusOptions;
+import com.pullwise.api.domain.enums.EdgeKind;
+import com.pullwise.api.domain.enums.PlanType;
+import com.pullwise.api.domain.enums.Platform;
+import com.pullwise.api.domain.model.Organization;
+import com.pullwise.api.domain.model.Project;
+import com.pullwise.api.domain.repository.CodeGraphEdgeRepository;
+import com.pullwise.api.domain.repository.OrganizationRepository;
+import com.pullwise.api.domain.repository.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Benchmark do layout compacto de {@code code_graph_edges} (V14: ids internados
+ * em {@code code_graph_symbols}, tabela particionada por projeto) contra o
+ * layout da V9 (qualified names em toda aresta), com o mesmo grafo sintético
+ * de 20k nós em Postgres real.
+ *
+ * <p>Confere que a CTE sobre ids alcança os mesmos nós, com mesma profundidade
+ * e peso, que a CTE da V9, e loga o tamanho em disco (tabela + índices) e a
+ * latência média por consulta de cada layout.
+ */
+@Slf4j
+class CodeGraphCompactionBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int NODES = 20_000;
+    private static final int OUT_DEGREE = 4;
+    private static final int QUERIES = 50;
+    /** Nomes no tamanho típico de métodos Java em monorepos. */
+    private static final String PREFIX = "com.acme.platform.billing.invoicing.service.InvoiceService";
+
+    /** CTE da V9, sobre os qualified names. */
+    private static final String V9_BFS = """
+            WITH RECURSIVE impacted(qn, depth, weight_acc) AS (
+                SELECT seed AS qn, 0 AS depth, CAST(1.0 AS DOUBLE PRECISION) AS weight_acc
+                FROM unnest(CAST(? AS text[])) AS seed
+                UNION
+                SELECT e.target_qualified, i.depth + 1, i.weight_acc * e.confidence_weight
+                FROM impacted i
+                JOIN bench_edges_v9 e
+                    ON e.source_qualified = i.qn
+                    AND e.project_id = ?
+                    AND e.kind = ANY(CAST(? AS text[]))
+                WHERE i.depth < ?
+            )
+            SELECT qn, MIN(depth) AS depth, MAX(weight_acc) AS weight
+            FROM impacted
+            GROUP BY qn
+            LIMIT ?
+            """;
+
+    @Autowired private OrganizationRepository organizationRepository;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private CodeGraphEdgeRepository edgeRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        Organization org = organizationRepository.save(Organization.builder()
+                .name("compaction-bench-" + System.nanoTime())
+                .planType(PlanType.FREE)
+                .build());
+        project = projectRepository.save(Project.builder()
+                .name("compaction-bench")
+                .organization(org)
+                .platform(Platform.GITHUB)
+                .repositoryUrl("https://github.com/test/compaction-bench")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Arestas compactas ocupam menos espaço e alcançam os mesmos nós que o layout da V9")
+    void compactEdges_matchV9LayoutWithLessStorage() {
+        insertSyntheticGraph();
+        copyToV9Layout();
+        jdbcTemplate.execute("ANALYZE code_graph_symbols");
+        jdbcTemplate.execute("ANALYZE code_graph_edges");
+        jdbcTemplate.execute("ANALYZE bench_edges_v9");
+
+        String partition = jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM code_graph_edges WHERE project_id = ? LIMIT 1",
+                String.class, project.getId());
+        long compactBytes = relationSize(partition) + relationSize("code_graph_symbols");
+        long v9Bytes = relationSize("bench_edges_v9");
+        assertThat(compactBytes).isLessThan(v9Bytes);
+
+        String[] kinds = BlastRadiusOptions.DEFAULT_KINDS.stream().map(EdgeKind::name).toArray(String[]::new);
+        Random random = new Random(7);
+        long compactNs = 0;
+        long v9Ns = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            String seed = name(random.nextInt(NODES));
+
+            long start = System.nanoTime();
+            List<Object[]> compact = edgeRepository.bfsForward(project.getId(), new String[]{seed}, kinds, 3, 2000);
+            compactNs += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<Object[]> v9 = jdbcTemplate.query(V9_BFS, (rs, i) -> new Object[]{
+                    rs.getString(1), rs.getInt(2), rs.getDouble(3)
+            }, new String[]{seed}, project.getId(), kinds, 3, 2000);
+            v9Ns += System.nanoTime() - start;
+
+            assertSameReach(compact, v9);
+        }
+
+        log.info("Code graph edges, {} nodes / {} edges: V9 layout {} KiB, {} µs/query; "
+                        + "compact layout {} KiB (partition {}), {} µs/query",
+                NODES, NODES * OUT_DEGREE, v9Bytes / 1024, v9Ns / QUERIES / 1_000,
+                compactBytes / 1024, partition, compactNs / QUERIES / 1_000);
+    }
+
+    // ========== Helpers ==========
+
+    private static String name(int node) {
+        return PREFIX + node + "#process";
+    }
+
+    private long relationSize(String relation) {
+        Long bytes = jdbcTemplate.queryForObject("SELECT pg_total_relation_size(CAST(? AS regclass))",
+                Long.class, relation);
+        return bytes == null ? 0 : bytes;
+    }
+
+    private static void assertSameReach(List<Object[]> compact, List<Object[]> v9) {
+        assertThat(compact.size()).isLessThan(2000);
+        Map<String, Object[]> byName = new HashMap<>();
+        v9.forEach(row -> byName.put((String) row[0], row));
+        assertThat(byName).hasSameSizeAs(compact);
+        for (Object[] row : compact) {
+            Object[] expected = byName.get((String) row[0]);
+            assertThat(expected).as("node %s", row[0]).isNotNull();
+            assertThat(((Number) row[1]).intValue()).isEqualTo(((Number) expected[1]).intValue());
+            assertThat(((Number) row[2]).doubleValue())
+                    .isCloseTo(((Number) expected[2]).doubleValue(), within(1e-9));
+        }
+    }
+
+    /**
+     * Cada nó aponta para {@value #OUT_DEGREE} nós aleatórios, com tipos e pesos
+     * variados (inclui CONTAINS, que a BFS padrão não percorre).
+     */
+    private void insertSyntheticGraph() {
+        jdbcTemplate.update("""
+                INSERT INTO code_graph_symbols (project_id, qualified_name)
+                SELECT ?, ? || n || '#process' FROM generate_series(0, ?) AS n
+                """, project.getId(), PREFIX, NODES - 1);
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, qualified_name FROM code_graph_symbols WHERE project_id = ?",
+                rs -> {
+                    ids.put(rs.getString(2), rs.getLong(1));
+                }, project.getId());
+
+        EdgeKind[] kinds = {EdgeKind.CALLS, EdgeKind.IMPORTS_FROM, EdgeKind.INHERITS, EdgeKind.CONTAINS};
+        double[] weights = {1.0, 0.7, 0.4};
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(NODES * OUT_DEGREE);
+        for (int n = 0; n < NODES; n++) {
+            for (int e = 0; e < OUT_DEGREE; e++) {
+                // Alvo distinto por aresta do mesmo nó, respeitando a unique constraint
+                int target = (n + 1 + e * (NODES / OUT_DEGREE) + random.nextInt(NODES / OUT_DEGREE - 1)) % NODES;
+                rows.add(new Object[]{project.getId(), ids.get(name(n)), ids.get(name(target)),
+                        kinds[e].name(), weights[random.nextInt(weights.length)],
+                        "src/main/java/com/acme/platform/billing/InvoiceService" + n + ".java", 10 + e});
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO code_graph_edges (project_id, source_id, target_id, kind, confidence_weight,
+                                              source_file_path, source_line)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+    }
+
+    /** Mesmas arestas numa tabela temporária com o layout e os índices da V9. */
+    private void copyToV9Layout() {
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE bench_edges_v9 (
+                    id BIGSERIAL PRIMARY KEY,
+                    project_id BIGINT NOT NULL,
+                    source_qualified VARCHAR(512) NOT NULL,
+                    target_qualified VARCHAR(512) NOT NULL,
+                    kind VARCHAR(20) NOT NULL,
+                    confidence_tier VARCHAR(15) NOT NULL DEFAULT 'EXTRACTED',
+                    confidence_weight DOUBLE PRECISION NOT NULL DEFAULT 1.0,
+                    source_file_path VARCHAR(512),
+                    source_line INTEGER,
+                    extra TEXT,
+                    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                    UNIQUE (project_id, source_qualified, target_qualified, kind)
+                ) ON COMMIT DROP
+                """);
+        jdbcTemplate.execute("CREATE INDEX ON bench_edges_v9(project_id, source_qualified, kind)");
+        jdbcTemplate.execute("CREATE INDEX ON bench_edges_v9(project_id, target_qualified, kind)");
+        jdbcTemplate.update("""
+                INSERT INTO bench_edges_v9 (project_id, source_qualified, target_qualified, kind,
+                                            confidence_tier, confidence_weight, source_file_path, source_line)
+                SELECT e.project_id, s.qualified_name, t.qualified_name, e.kind,
+                       e.confidence_tier, e.confidence_weight, e.source_file_path, e.source_line
+                FROM code_graph_edges e
+                JOIN code_graph_symbols s ON s.id = e.source_id
+                JOIN code_graph_symbols t ON t.id = e.target_id
+                WHERE e.project_id = ?
+                """, project.getId());
+    }
+}
@@ -0,0 +1,191 @@
+package com.pullwise.api.application.service.graph;
+
+import com.pullwise.api.AbstractIntegrationTest;
+import com.pullwise.api.application.service.graph.GraphPersistenceService.PersistenceStats;
+import com.pullwise.api.application.service.graph.blast.EdgeConfidenceClassifier;
+import com.pullwise.api.application.service.graph.model.ClassInfo;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.application.service.graph.model.MethodInfo;
+import com.pullwise.api.config.JacksonConfig;
+import com.pullwise.api.domain.enums.PlanType;
+import com.pullwise.api.domain.enums.Platform;
+import com.pullwise.api.domain.model.Organization;
+import com.pullwise.api.domain.model.Project;
+import com.pullwise.api.domain.repository.CodeGraphEdgeRepository;
+import com.pullwise.api.domain.repository.CodeGraphNodeRepository;
+import com.pullwise.api.domain.repository.OrganizationRepository;
+import com.pullwise.api.domain.repository.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark do caminho em lote do {@link GraphPersistenceService} contra
+ * Postgres real: indexa um projeto sintético de 10k classes e confere que o
+ * grafo gravado é o mesmo do upsert arquivo a arquivo.
+ */
+@Slf4j
+@Import({GraphPersistenceService.class, GraphBatchWriter.class, ParseFingerprintStore.class,
+        EdgeConfidenceClassifier.class, JacksonConfig.class})
+class GraphBatchIndexingBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int CLASSES_PER_FILE = 5;
+    private static final int METHODS_PER_CLASS = 2;
+    /** CONTAINS + INHERITS + IMPLEMENTS + 3 IMPORTS_FROM + por método (CONTAINS + 2 CALLS). */
+    private static final int EDGES_PER_CLASS = 6 + METHODS_PER_CLASS * 3;
+
+    @Autowired private OrganizationRepository organizationRepository;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private CodeGraphNodeRepository nodeRepository;
+    @Autowired private CodeGraphEdgeRepository edgeRepository;
+    @Autowired private GraphPersistenceService persistenceService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        organization = organizationRepository.save(Organization.builder()
+                .name("bench-org-" + System.nanoTime())
+                .planType(PlanType.FREE)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Indexa 10k classes em lote, de forma idempotente")
+    void batchUpsert_indexesTenThousandClasses() {
+        Project project = project("bench-10k");
+        List<CodeAnalysisResult> results = syntheticProject(10_000);
+        int files = results.size();
+
+        long start = System.nanoTime();
+        PersistenceStats stats = persistenceService.upsertBatch(project.getId(), results);
+        long firstMs = (System.nanoTime() - start) / 1_000_000;
+
+        int expectedNodes = files + 10_000 + 10_000 * METHODS_PER_CLASS;
+        int expectedEdges = 10_000 * EDGES_PER_CLASS;
+        assertThat(stats.nodesProcessed()).isEqualTo(expectedNodes);
+        assertThat(stats.edgesProcessed()).isEqualTo(expectedEdges);
+        assertThat(nodeRepository.countByProjectId(project.getId())).isEqualTo(expectedNodes);
+        assertThat(edgeRepository.countByProjectId(project.getId())).isEqualTo(expectedEdges);
+
+        start = System.nanoTime();
+        PersistenceStats again = persistenceService.upsertBatch(project.getId(), results);
+        long secondMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(again).isEqualTo(stats);
+        assertThat(nodeRepository.countByProjectId(project.getId())).isEqualTo(expectedNodes);
+        assertThat(edgeRepository.countByProjectId(project.getId())).isEqualTo(expectedEdges);
+
+        log.info("Graph batch benchmark: {} files, {} nodes, {} edges — first run {} ms, re-index {} ms",
+                files, expectedNodes, expectedEdges, firstMs, secondMs);
+    }
+
+    @Test
+    @DisplayName("Lote e upsert por arquivo produzem o mesmo grafo")
+    void batchUpsert_matchesPerFileUpsert() {
+        List<CodeAnalysisResult> results = syntheticProject(200);
+        Project perFile = project("per-file");
+        Project batch = project("batch");
+
+        long start = System.nanoTime();
+        int perFileNodes = 0;
+        int perFileEdges = 0;
+        for (CodeAnalysisResult result : results) {
+            PersistenceStats stats = persistenceService.upsertFromAnalysis(perFile.getId(), result);
+            perFileNodes += stats.nodesProcessed();
+            perFileEdges += stats.edgesProcessed();
+        }
+        nodeRepository.flush();
+        edgeRepository.flush();
+        long perFileMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        PersistenceStats batchStats = persistenceService.upsertBatch(batch.getId(), results);
+        long batchMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(batchStats).isEqualTo(new PersistenceStats(perFileNodes, perFileEdges));
+        assertThat(nodeRows(batch)).isEqualTo(nodeRows(perFile));
+        assertThat(edgeRows(batch)).isEqualTo(edgeRows(perFile));
+
+        log.info("Graph upsert of 200 classes: per-file {} ms, batch {} ms", perFileMs, batchMs);
+    }
+
+    // ========== Helpers ==========
+
+    private Project project(String name) {
+        return projectRepository.save(Project.builder()
+                .name(name)
+                .organization(organization)
+                .platform(Platform.GITHUB)
+                .repositoryUrl("https://github.com/test/" + name)
+                .build());
+    }
+
+    private List<String> nodeRows(Project project) {
+        return jdbcTemplate.queryForList("""
+                SELECT qualified_name || '|' || simple_name || '|' || kind || '|' || file_path || '|'
+                       || language || '|' || COALESCE(line_start, -1) || '|' || is_test
+                FROM code_graph_nodes WHERE project_id = ? ORDER BY 1
+                """, String.class, project.getId());
+    }
+
+    private List<String> edgeRows(Project project) {
+        return jdbcTemplate.queryForList("""
+                SELECT s.qualified_name || '|' || t.qualified_name || '|' || e.kind || '|'
+                       || e.confidence_tier || '|' || e.confidence_weight || '|' || COALESCE(e.source_line, -1)
+                FROM code_graph_edges e
+                JOIN code_graph_symbols s ON s.id = e.source_id
+                JOIN code_graph_symbols t ON t.id = e.target_id
+                WHERE e.project_id = ? ORDER BY 1
+                """, String.class, project.getId());
+    }
+
+    /**
+     * Projeto sintético: {@value #CLASSES_PER_FILE} classes por arquivo em 100
+     * pacotes; cada classe herda de uma base qualificada, implementa uma
+     * interface por simple-name, importa as 3 classes seguintes do pacote e
+     * tem métodos que chamam 2 classes distintas.
+     */
+    private static List<CodeAnalysisResult> syntheticProject(int classCount) {
+        List<CodeAnalysisResult> results = new ArrayList<>();
+        for (int file = 0; file * CLASSES_PER_FILE < classCount; file++) {
+            String pkg = "com.bench.p" + (file % 100);
+            String path = "/src/main/java/" + pkg.replace('.', '/') + "/F" + file + ".java";
+
+            List<ClassInfo> classes = new ArrayList<>();
+            for (int c = 0; c < CLASSES_PER_FILE; c++) {
+                int id = file * CLASSES_PER_FILE + c;
+                List<MethodInfo> methods = new ArrayList<>();
+                for (int m = 0; m < METHODS_PER_CLASS; m++) {
+                    methods.add(MethodInfo.builder()
+                            .name("m" + m)
+                            .startLine(10 + m * 10).endLine(18 + m * 10)
+                            .calledClasses(List.of("C" + (id + m + 1), pkg + ".Helper" + m))
+                            .build());
+                }
+                classes.add(ClassInfo.builder()
+                        .qualifiedName(pkg + ".C" + id)
+                        .simpleName("C" + id)
+                        .packageName(pkg)
+                        .superClass(pkg + ".Base")
+                        .implementedInterfaces(List.of("Service"))
+                        .dependencies(List.of("C" + (id + 1), "C" + (id + 2), "C" + (id + 3)))
+                        .methods(methods)
+                        .startLine(1).endLine(40)
+                        .build());
+            }
+            results.add(CodeAnalysisResult.builder().filePath(path).classes(classes).build());
+        }
+        return results;
+    }
+}
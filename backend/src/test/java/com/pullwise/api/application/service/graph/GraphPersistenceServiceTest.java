@@ -9,9 +9,11 @@ import com.pullwise.api.domain.enums.EdgeKind;
 import com.pullwise.api.domain.enums.NodeKind;
 import com.pullwise.api.domain.model.CodeGraphEdge;
 import com.pullwise.api.domain.model.CodeGraphNode;
+import com.pullwise.api.domain.model.CodeGraphSymbol;
 import com.pullwise.api.domain.model.Project;
 import com.pullwise.api.domain.repository.CodeGraphEdgeRepository;
 import com.pullwise.api.domain.repository.CodeGraphNodeRepository;
+import com.pullwise.api.domain.repository.CodeGraphSymbolRepository;
 import com.pullwise.api.domain.repository.ProjectRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +23,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -30,10 +33,12 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -53,9 +58,21 @@ class GraphPersistenceServiceTest {
     @Mock
     private CodeGraphEdgeRepository edgeRepository;
 
+    @Mock
+    private CodeGraphSymbolRepository symbolRepository;
+
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private GraphBatchWriter batchWriter;
+
+    @Mock
+    private ParseFingerprintStore fingerprintStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Spy
     private EdgeConfidenceClassifier confidenceClassifier = new EdgeConfidenceClassifier();
 
@@ -90,7 +107,11 @@ class GraphPersistenceServiceTest {
             return n;
         });
 
-        lenient().when(edgeRepository.findByProjectIdAndSourceQualifiedAndTargetQualifiedAndKind(
+        lenient().when(symbolRepository.findByProjectIdAndQualifiedName(eq(PROJECT_ID), anyString()))
+                .thenAnswer(inv -> Optional.of(CodeGraphSymbol.builder()
+                        .project(project).qualifiedName(inv.getArgument(1)).build()));
+
+        lenient().when(edgeRepository.findByProjectIdAndSource_QualifiedNameAndTarget_QualifiedNameAndKind(
                 eq(PROJECT_ID), anyString(), anyString(), any(EdgeKind.class)))
                 .thenAnswer(inv -> Optional.ofNullable(edgeStore.get(edgeKey(
                         inv.getArgument(1), inv.getArgument(2), inv.getArgument(3)))));
@@ -196,6 +217,31 @@ class GraphPersistenceServiceTest {
         assertThat(ambiguousEdge.getConfidenceWeight()).isEqualTo(ConfidenceTier.AMBIGUOUS.getWeight());
     }
 
+    @Test
+    void nonJavaTargets_areKeptAsResolvedAndExtracted() {
+        ClassInfo module = ClassInfo.builder()
+                .simpleName("orders")
+                .packageName("web/src")
+                .qualifiedName("web/src/orders")
+                .startLine(1).endLine(20)
+                .dependencies(List.of("web/src/api"))
+                .methods(List.of(MethodInfo.builder().name("load").startLine(3).endLine(6)
+                        .calledClasses(List.of("web/src/api#fetchOrders")).build()))
+                .build();
+        CodeAnalysisResult result = CodeAnalysisResult.builder()
+                .filePath("web/src/orders.ts")
+                .classes(List.of(module))
+                .allMethods(module.getMethods())
+                .build();
+
+        service.upsertFromAnalysis(PROJECT_ID, result);
+
+        assertThat(edgeStore.get(edgeKey("web/src/orders", "web/src/api", EdgeKind.IMPORTS_FROM))
+                .getConfidenceTier()).isEqualTo(ConfidenceTier.EXTRACTED);
+        assertThat(edgeStore.get(edgeKey("web/src/orders#load", "web/src/api#fetchOrders", EdgeKind.CALLS))
+                .getConfidenceTier()).isEqualTo(ConfidenceTier.EXTRACTED);
+    }
+
     @Test
     void missingProject_throws() {
         when(projectRepository.findById(999L)).thenReturn(Optional.empty());
@@ -204,6 +250,95 @@ class GraphPersistenceServiceTest {
                 () -> service.upsertFromAnalysis(999L, sampleResult()));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void upsertBatch_writesDistinctRowsOnceWithPerFileCounts() {
+        var perFile = service.upsertFromAnalysis(PROJECT_ID, sampleResult());
+        int distinctNodes = nodeStore.size();
+        int distinctEdges = edgeStore.size();
+        when(projectRepository.existsById(PROJECT_ID)).thenReturn(true);
+
+        var stats = service.upsertBatch(PROJECT_ID, List.of(sampleResult(), sampleResult()));
+
+        assertThat(stats.nodesProcessed()).isEqualTo(2 * perFile.nodesProcessed());
+        assertThat(stats.edgesProcessed()).isEqualTo(2 * perFile.edgesProcessed());
+
+        ArgumentCaptor<java.util.Collection<GraphBatchWriter.NodeRow>> nodes = ArgumentCaptor.forClass(java.util.Collection.class);
+        ArgumentCaptor<java.util.Collection<GraphBatchWriter.EdgeRow>> edges = ArgumentCaptor.forClass(java.util.Collection.class);
+        verify(batchWriter).writeNodes(eq(PROJECT_ID), nodes.capture());
+        verify(batchWriter).writeEdges(eq(PROJECT_ID), edges.capture());
+        assertThat(nodes.getValue()).hasSize(distinctNodes)
+                .extracting(GraphBatchWriter.NodeRow::qualifiedName)
+                .containsAll(nodeStore.keySet());
+        assertThat(edges.getValue()).hasSize(distinctEdges);
+
+        // O caminho em lote não passa pelos repositórios JPA
+        verify(nodeRepository, times(distinctNodes)).save(any(CodeGraphNode.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void finishFullIndex_dropsStaleFilesAndFingerprints() {
+        when(nodeRepository.findFilePathsByProjectId(PROJECT_ID)).thenReturn(List.of("A.java", "Gone.java"));
+        when(fingerprintStore.contentHashes(PROJECT_ID))
+                .thenReturn(Map.of("A.java", "h1", "pkg/package-info.java", "h2"));
+
+        when(projectRepository.advanceGraphIndexedSha(PROJECT_ID, "old999", "abc123")).thenReturn(1);
+
+        Integer removed = service.finishFullIndex(PROJECT_ID, List.of("A.java"), "old999", "abc123");
+
+        assertThat(removed).isEqualTo(2);
+        ArgumentCaptor<java.util.Collection<String>> forgotten = ArgumentCaptor.forClass(java.util.Collection.class);
+        verify(fingerprintStore).forget(eq(PROJECT_ID), forgotten.capture());
+        assertThat(forgotten.getValue()).containsExactlyInAnyOrder("Gone.java", "pkg/package-info.java");
+        verify(fingerprintStore).markIndexed(PROJECT_ID, "abc123");
+    }
+
+    @Test
+    void singleClassWithMethods_internsSymbolsThroughTheBatchWriter() {
+        service.upsertFromAnalysis(PROJECT_ID, sampleResult());
+
+        verify(batchWriter, atLeastOnce()).writeSymbols(eq(PROJECT_ID), anyCollection());
+        verify(symbolRepository, never()).save(any(CodeGraphSymbol.class));
+    }
+
+    @Test
+    void applyDelta_prunesSymbolsNoLongerReferenced() {
+        when(projectRepository.advanceGraphIndexedSha(PROJECT_ID, "old999", "abc123")).thenReturn(1);
+        when(nodeRepository.findQualifiedNamesByProjectIdAndFilePathIn(PROJECT_ID, List.of("Gone.java")))
+                .thenReturn(List.of("com.example.Gone"));
+        when(edgeRepository.findSymbolIdsBySourceFilePathIn(PROJECT_ID, new String[]{"Gone.java"}))
+                .thenReturn(List.of(10L, 11L));
+        when(symbolRepository.findIdsByProjectIdAndQualifiedNames(PROJECT_ID, new String[]{"com.example.Gone"}))
+                .thenReturn(List.of(11L, 12L));
+
+        service.applyDelta(PROJECT_ID, "old999", "abc123", List.of("Gone.java"), List.of());
+
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        verify(symbolRepository).deleteUnreferenced(eq(PROJECT_ID), ids.capture());
+        assertThat(ids.getValue()).containsExactlyInAnyOrder(10L, 11L, 12L);
+    }
+
+    @Test
+    void finishFullIndex_afterConcurrentDelta_keepsNewerCommitAndFiles() {
+        // Um delta avançou o projeto de old999 para def456 durante a indexação
+        when(projectRepository.advanceGraphIndexedSha(PROJECT_ID, "old999", "abc123")).thenReturn(0);
+
+        Integer removed = service.finishFullIndex(PROJECT_ID, List.of("A.java"), "old999", "abc123");
+
+        assertThat(removed).isNull();
+        verify(nodeRepository, never()).deleteByProjectIdAndFilePathIn(any(), any());
+        verify(fingerprintStore, never()).markIndexed(any(), any());
+    }
+
+    @Test
+    void upsertBatch_missingProject_throws() {
+        when(projectRepository.existsById(999L)).thenReturn(false);
+
+        org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class,
+                () -> service.upsertBatch(999L, List.of(sampleResult())));
+    }
+
     private CodeAnalysisResult sampleResult() {
         MethodInfo m1 = MethodInfo.builder()
                 .name("findUser")
@@ -0,0 +1,91 @@
+package com.pullwise.api.application.service.graph;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pullwise.api.application.service.graph.GraphBatchWriter.FingerprintRow;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.domain.repository.CodeGraphEdgeRepository;
+import com.pullwise.api.domain.repository.CodeParseFingerprintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ParseFingerprintStoreTest {
+
+    private static final Long PROJECT_ID = 7L;
+
+    @Mock private CodeParseFingerprintRepository repository;
+    @Mock private CodeGraphEdgeRepository edgeRepository;
+    @Mock private GraphBatchWriter batchWriter;
+
+    private ParseFingerprintStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ParseFingerprintStore(repository, edgeRepository, batchWriter, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void reverseDependents_includesCallersOfChangedFiles() {
+        when(edgeRepository.findSourceFilesTargetingFiles(PROJECT_ID, new String[]{"svc/B.java"}))
+                .thenReturn(List.of("svc/A.java", "svc/B.java"));
+
+        Set<String> dependents = store.reverseDependents(PROJECT_ID, List.of("svc/B.java"), List.of(),
+                List.of("svc/A.java", "svc/B.java", "web/C.ts"));
+
+        assertThat(dependents).containsExactly("svc/A.java");
+    }
+
+    @Test
+    void reverseDependents_addedFileReparsesSiblingsAndImportersOfItsName() {
+        when(edgeRepository.findSourceFilesTargetingFiles(PROJECT_ID, new String[]{"app/pkg/util.py"}))
+                .thenReturn(List.of());
+        when(repository.findFilePathsImportingMatching(eq(PROJECT_ID), anyString()))
+                .thenReturn(List.of("app/main.py"));
+
+        Set<String> dependents = store.reverseDependents(PROJECT_ID, List.of("app/pkg/util.py"),
+                List.of("app/pkg/util.py"), List.of("app/main.py", "app/pkg/models.py", "app/other/x.py"));
+
+        assertThat(dependents).containsExactlyInAnyOrder("app/main.py", "app/pkg/models.py");
+        ArgumentCaptor<String> pattern = ArgumentCaptor.forClass(String.class);
+        verify(repository).findFilePathsImportingMatching(eq(PROJECT_ID), pattern.capture());
+        Pattern imports = Pattern.compile(pattern.getValue());
+        assertThat(imports.matcher("app.pkg.util").find()).isTrue();
+        assertThat(imports.matcher("../pkg").find()).isTrue();
+        assertThat(imports.matcher("utility").find()).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_skipsJavaAnalysesResolvedOnlyAgainstTheJdk() {
+        SourceExtractors extractors = new SourceExtractors(List.of(new JavaSourceExtractor(new JavaParserService())));
+        CodeAnalysisResult partial = extractors.extract("A.java", "package com.acme; public class A {}",
+                new ExtractionContext("7", Set.of("A.java"), ProjectTypeSolver.JDK_ONLY));
+        CodeAnalysisResult full = extractors.extract("B.java", "package com.acme; public class B {}",
+                new ExtractionContext("7", Set.of("B.java"), null));
+
+        store.record(PROJECT_ID, List.of(partial, full), "abc123");
+
+        ArgumentCaptor<Collection<FingerprintRow>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(batchWriter).writeFingerprints(eq(PROJECT_ID), rows.capture());
+        assertThat(rows.getValue()).singleElement().satisfies(row -> {
+            assertThat(row.filePath()).isEqualTo("B.java");
+            assertThat(row.parserVersion()).isEqualTo(SourceExtractors.javaParserVersion(null));
+        });
+    }
+}
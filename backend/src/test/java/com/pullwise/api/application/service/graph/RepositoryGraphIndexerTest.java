@@ -0,0 +1,280 @@
+package com.pullwise.api.application.service.graph;
+
+import com.pullwise.api.application.service.autofix.GitService;
+import com.pullwise.api.application.service.graph.GraphPersistenceService.PersistenceStats;
+import com.pullwise.api.application.service.graph.RepositoryGraphIndexer.IndexResult;
+import com.pullwise.api.application.service.graph.extract.PythonExtractor;
+import com.pullwise.api.application.service.graph.extract.TypeScriptExtractor;
+import com.pullwise.api.application.service.graph.model.ClassInfo;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.domain.model.Project;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryGraphIndexerTest {
+
+    private static final Long PROJECT_ID = 7L;
+    private static final List<String> PARSER_VERSIONS =
+            List.of(SourceExtractors.VERSION, SourceExtractors.javaParserVersion(null));
+
+    @Mock private GraphPersistenceService persistenceService;
+    @Mock private ParseFingerprintStore fingerprintStore;
+    @Mock private GitService gitService;
+
+    @TempDir Path repo;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutorService executor;
+    private RepositoryGraphIndexer indexer;
+
+    /** Lotes recebidos pelo persistence service, na ordem de gravação. */
+    private final List<List<CodeAnalysisResult>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        SourceExtractors extractors = new SourceExtractors(List.of(
+                new JavaSourceExtractor(new JavaParserService()), new TypeScriptExtractor(), new PythonExtractor()));
+        indexer = new RepositoryGraphIndexer(extractors, persistenceService, fingerprintStore,
+                new TypeSolverCache(8, Duration.ofMinutes(30), meterRegistry), gitService, meterRegistry, executor);
+        ReflectionTestUtils.setField(indexer, "batchFiles", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void indexRepository_parsesEveryJavaFileAndWritesInBatches() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            write("src/main/java/com/acme/C" + i + ".java",
+                    "package com.acme; public class C" + i + " { void run() { new Helper(); } }");
+        }
+        write("README.md", "# not java");
+        stubPersistence();
+
+        IndexResult result = indexer.indexRepository(PROJECT_ID, repo);
+
+        assertThat(result.filesIndexed()).isEqualTo(5);
+        assertThat(result.filesFailed()).isZero();
+        assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(batches.stream().flatMap(List::stream).map(CodeAnalysisResult::getFilePath))
+                .containsExactly(
+                        "src/main/java/com/acme/C0.java", "src/main/java/com/acme/C1.java",
+                        "src/main/java/com/acme/C2.java", "src/main/java/com/acme/C3.java",
+                        "src/main/java/com/acme/C4.java");
+        assertThat(batches.get(0).get(0).getClasses()).singleElement()
+                .satisfies(c -> assertThat(c.getQualifiedName()).isEqualTo("com.acme.C0"));
+        assertThat(result.nodes()).isEqualTo(5 * 3);
+        assertThat(meterRegistry.counter("pullwise.graph.index.files", "outcome", "indexed").count()).isEqualTo(5);
+    }
+
+    @Test
+    void indexRepository_skipsBuildAndVcsDirectories() throws IOException {
+        write("src/A.java", "class A {}");
+        write("target/generated-sources/B.java", "class B {}");
+        write("build/C.java", "class C {}");
+        write(".git/D.java", "class D {}");
+        stubPersistence();
+
+        IndexResult result = indexer.indexRepository(PROJECT_ID, repo);
+
+        assertThat(result.filesIndexed()).isEqualTo(1);
+        assertThat(batches.get(0)).extracting(CodeAnalysisResult::getFilePath).containsExactly("src/A.java");
+    }
+
+    @Test
+    void indexRepository_failedBatchIsCountedAndIndexingContinues() throws IOException {
+        write("A.java", "class A {}");
+        write("B.java", "class B {}");
+        write("C.java", "class C {}");
+        when(persistenceService.upsertBatch(eq(PROJECT_ID), anyCollection(), isNull()))
+                .thenThrow(new IllegalStateException("deadlock detected"))
+                .thenReturn(new PersistenceStats(2, 1));
+
+        IndexResult result = indexer.indexRepository(PROJECT_ID, repo);
+
+        assertThat(result.filesFailed()).isEqualTo(2);
+        assertThat(result.filesIndexed()).isEqualTo(1);
+        assertThat(meterRegistry.counter("pullwise.graph.index.files", "outcome", "failed").count()).isEqualTo(2);
+    }
+
+    @Test
+    void indexProject_recordsIndexedCommitAndCleansUpCheckout() throws IOException {
+        write("A.java", "class A {}");
+        stubPersistence();
+        Project project = Project.builder().id(PROJECT_ID).graphIndexedSha("old999").build();
+        when(gitService.cloneRepository(project))
+                .thenReturn(new GitService.GitCloneResult(repo.toString(), "main", "abc123"));
+
+        indexer.indexProject(project);
+
+        verify(persistenceService).upsertBatch(eq(PROJECT_ID), anyCollection(), eq("abc123"));
+        verify(persistenceService).finishFullIndex(PROJECT_ID, Set.of("A.java"), "old999", "abc123");
+        verify(gitService).cleanup(repo);
+    }
+
+    @Test
+    void indexRepository_skipsFilesMatchingTheirFingerprint() throws IOException {
+        String unchanged = "package com.acme; public class A {}";
+        write("A.java", unchanged);
+        write("B.java", "package com.acme; public class B {}");
+        Map<String, String> indexed = Map.of(
+                "A.java", GraphCaches.sha256Hex(unchanged),
+                "B.java", GraphCaches.sha256Hex("package com.acme; public class B { int old; }"));
+        when(fingerprintStore.contentHashes(PROJECT_ID, PARSER_VERSIONS)).thenReturn(indexed);
+        when(fingerprintStore.contentHashes(PROJECT_ID)).thenReturn(indexed);
+        stubPersistence();
+
+        IndexResult result = indexer.indexRepository(PROJECT_ID, repo);
+
+        assertThat(result.filesUnchanged()).isEqualTo(1);
+        assertThat(result.filesIndexed()).isEqualTo(1);
+        assertThat(batches).singleElement().satisfies(batch -> assertThat(batch)
+                .singleElement()
+                .satisfies(r -> {
+                    assertThat(r.getFilePath()).isEqualTo("B.java");
+                    assertThat(r.getContentHash()).isNotNull();
+                }));
+        assertThat(meterRegistry.counter("pullwise.graph.index.files", "outcome", "unchanged").count()).isEqualTo(1);
+    }
+
+    @Test
+    void indexRepository_reparsesFilesIndexedByAnotherParserVersion() throws IOException {
+        String source = "package com.acme; public class A {}";
+        write("A.java", source);
+        // Mesmo conteúdo, mas o fingerprint é de outra versão do parser: nenhum hash da versão atual
+        when(fingerprintStore.contentHashes(PROJECT_ID, PARSER_VERSIONS)).thenReturn(Map.of());
+        when(fingerprintStore.contentHashes(PROJECT_ID)).thenReturn(Map.of("A.java", GraphCaches.sha256Hex(source)));
+        stubPersistence();
+
+        IndexResult result = indexer.indexRepository(PROJECT_ID, repo);
+
+        assertThat(result.filesUnchanged()).isZero();
+        assertThat(batches).singleElement().satisfies(batch -> assertThat(batch).singleElement()
+                .satisfies(r -> assertThat(r.getParserVersion()).isEqualTo(SourceExtractors.javaParserVersion(null))));
+    }
+
+    @Test
+    void indexRepository_reparsesUnchangedDependentsOfChangedAndRemovedFiles() throws IOException {
+        String caller = "package com.acme; public class A { void run() { new B(); } }";
+        write("A.java", caller);
+        write("B.java", "package com.acme; public class B { int renamed; }");
+        write("C.java", "package com.acme; public class C {}");
+        Map<String, String> indexed = Map.of(
+                "A.java", GraphCaches.sha256Hex(caller),
+                "B.java", GraphCaches.sha256Hex("package com.acme; public class B {}"),
+                "C.java", GraphCaches.sha256Hex("package com.acme; public class C {}"),
+                "Gone.java", GraphCaches.sha256Hex("package com.acme; public class Gone {}"));
+        when(fingerprintStore.contentHashes(PROJECT_ID, PARSER_VERSIONS)).thenReturn(indexed);
+        when(fingerprintStore.contentHashes(PROJECT_ID)).thenReturn(indexed);
+        when(fingerprintStore.reverseDependents(PROJECT_ID, Set.of("B.java", "Gone.java"), Set.of("Gone.java"),
+                indexed.keySet())).thenReturn(Set.of("A.java"));
+        ReflectionTestUtils.setField(indexer, "batchFiles", 10);
+        stubPersistence();
+
+        IndexResult result = indexer.indexRepository(PROJECT_ID, repo);
+
+        assertThat(result.filesUnchanged()).isEqualTo(1);
+        assertThat(batches).singleElement().satisfies(batch -> assertThat(batch)
+                .extracting(CodeAnalysisResult::getFilePath)
+                .containsExactly("A.java", "B.java"));
+    }
+
+    @Test
+    void indexRepository_withSymbolSolverRecordsQualifiedNames() throws IOException {
+        write("src/main/java/com/acme/api/Order.java", "package com.acme.api; public class Order {}");
+        write("src/main/java/com/acme/service/OrderService.java",
+                "package com.acme.service; public class OrderService { public void place() {} }");
+        write("src/main/java/com/acme/api/OrderController.java", """
+                package com.acme.api;
+                import com.acme.service.OrderService;
+                import java.util.List;
+                public class OrderController {
+                    private OrderService service;
+                    private List<Order> orders;
+                    void run() { service.place(); new Helper(); }
+                }
+                """);
+        ReflectionTestUtils.setField(indexer, "symbolSolver", true);
+        ReflectionTestUtils.setField(indexer, "batchFiles", 10);
+        stubPersistence();
+
+        indexer.indexRepository(PROJECT_ID, repo);
+
+        ClassInfo controller = batches.get(0).stream()
+                .flatMap(r -> r.getClasses().stream())
+                .filter(c -> c.getSimpleName().equals("OrderController"))
+                .findFirst().orElseThrow();
+        assertThat(controller.getDependencies())
+                .containsExactlyInAnyOrder("com.acme.service.OrderService", "com.acme.api.Order");
+        assertThat(controller.getMethods()).singleElement().satisfies(m -> assertThat(m.getCalledClasses())
+                .containsExactlyInAnyOrder("com.acme.service.OrderService", "Helper"));
+    }
+
+    @Test
+    void indexRepository_extractsEverySupportedLanguage() throws IOException {
+        write("api/Order.java", "package api; public class Order {}");
+        write("web/src/orders.ts", "import { fetchOrders } from './api';\nexport function load() { fetchOrders(); }");
+        write("web/src/api.ts", "export function fetchOrders() {}");
+        write("jobs/sync.py", "def run():\n    pass\n");
+        write("web/node_modules/lib/index.js", "module.exports = {};");
+        write("docs/notes.txt", "not code");
+        ReflectionTestUtils.setField(indexer, "batchFiles", 10);
+        stubPersistence();
+
+        IndexResult result = indexer.indexRepository(PROJECT_ID, repo);
+
+        assertThat(result.filesIndexed()).isEqualTo(4);
+        CodeAnalysisResult orders = batches.get(0).stream()
+                .filter(r -> r.getFilePath().equals("web/src/orders.ts"))
+                .findFirst().orElseThrow();
+        assertThat(orders.getClasses().get(0).getDependencies()).containsExactly("web/src/api");
+        assertThat(orders.getContentHash()).isNotNull();
+    }
+
+    private void stubPersistence() {
+        when(persistenceService.upsertBatch(eq(PROJECT_ID), anyCollection(), any())).thenAnswer(inv -> {
+            Collection<CodeAnalysisResult> results = inv.getArgument(1);
+            batches.add(new ArrayList<>(results));
+            int classes = results.stream().mapToInt(r -> r.getClasses().size()).sum();
+            return new PersistenceStats(results.size() + classes * 2, classes);
+        });
+    }
+
+    private void write(String relative, String content) throws IOException {
+        Path file = repo.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
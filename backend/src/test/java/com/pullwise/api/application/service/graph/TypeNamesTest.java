@@ -0,0 +1,50 @@
+package com.pullwise.api.application.service.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeNamesTest {
+
+    private static final Set<String> KNOWN = Set.of(
+            "com.acme.api.Order", "com.acme.model.Customer", "com.acme.model.Order", "java.lang.String");
+
+    @Test
+    void resolve_followsJavaLookupOrder() {
+        List<String> imports = List.of("com.acme.service.OrderService", "com.acme.model.*");
+
+        assertThat(resolve("OrderController", imports)).isEqualTo("com.acme.api.OrderController");
+        assertThat(resolve("OrderService", imports)).isEqualTo("com.acme.service.OrderService");
+        // Mesmo pacote vence o wildcard
+        assertThat(resolve("Order", imports)).isEqualTo("com.acme.api.Order");
+        assertThat(resolve("Customer", imports)).isEqualTo("com.acme.model.Customer");
+        assertThat(resolve("String", imports)).isEqualTo("java.lang.String");
+        assertThat(resolve("Unknown", imports)).isNull();
+    }
+
+    @Test
+    void resolve_keepsQualifiedNamesAndNestedSuffixes() {
+        List<String> imports = List.of("com.acme.service.OrderService");
+
+        assertThat(resolve("com.other.Thing", imports)).isEqualTo("com.other.Thing");
+        assertThat(resolve("OrderService.Result", imports)).isEqualTo("com.acme.service.OrderService.Result");
+        assertThat(resolve("List<OrderService>[]", List.of("java.util.List"))).isEqualTo("java.util.List");
+    }
+
+    @Test
+    void baseName_stripsTypeArgumentsArraysAndVarargs() {
+        assertThat(TypeNames.baseName("Map<K, V>[]")).isEqualTo("Map");
+        assertThat(TypeNames.baseName("String...")).isEqualTo("String");
+        assertThat(TypeNames.isJdk("javax.sql.DataSource")).isTrue();
+        assertThat(TypeNames.isJdk("com.acme.Order")).isFalse();
+    }
+
+    private static String resolve(String typeName, List<String> imports) {
+        return TypeNames.resolve(typeName, "com.acme.api", imports,
+                Map.of("OrderController", "com.acme.api.OrderController"), KNOWN::contains);
+    }
+}
@@ -53,7 +53,7 @@ class BlastRadiusCacheTest {
         SecurityKeywordMatcher matcher = new SecurityKeywordMatcher();
         RiskScoringService risk = new RiskScoringService(matcher);
         service = new BlastRadiusService(nodeRepository, edgeRepository, risk,
-                cacheManager, meterRegistry);
+                cacheManager, meterRegistry, null);
 
         lenient().when(nodeRepository.findByProjectIdAndFilePath(eq(PROJECT_ID), eq("/src/A.java")))
                 .thenReturn(List.of(node("com.x.A", "/src/A.java")));
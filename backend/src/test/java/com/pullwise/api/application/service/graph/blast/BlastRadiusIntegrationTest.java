@@ -8,10 +8,12 @@ import com.pullwise.api.domain.enums.Platform;
 import com.pullwise.api.domain.enums.ProgrammingLanguage;
 import com.pullwise.api.domain.model.CodeGraphEdge;
 import com.pullwise.api.domain.model.CodeGraphNode;
+import com.pullwise.api.domain.model.CodeGraphSymbol;
 import com.pullwise.api.domain.model.Organization;
 import com.pullwise.api.domain.model.Project;
 import com.pullwise.api.domain.repository.CodeGraphEdgeRepository;
 import com.pullwise.api.domain.repository.CodeGraphNodeRepository;
+import com.pullwise.api.domain.repository.CodeGraphSymbolRepository;
 import com.pullwise.api.domain.repository.OrganizationRepository;
 import com.pullwise.api.domain.repository.ProjectRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +31,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Testes de integração reais (Postgres via Testcontainers) que validam:
  * <ul>
  *   <li>CTE recursiva forward em {@code CodeGraphEdgeRepository.bfsForward}</li>
+ *   <li>CTE recursiva reversa em {@code CodeGraphEdgeRepository.bfsReverse}</li>
  *   <li>Propagação multiplicativa de confidence ao longo do caminho</li>
  *   <li>Truncamento por {@code maxNodes}</li>
  *   <li>Risk scoring sobre dados reais</li>
@@ -42,6 +45,7 @@ class BlastRadiusIntegrationTest extends AbstractIntegrationTest {
     @Autowired private ProjectRepository projectRepository;
     @Autowired private CodeGraphNodeRepository nodeRepository;
     @Autowired private CodeGraphEdgeRepository edgeRepository;
+    @Autowired private CodeGraphSymbolRepository symbolRepository;
     @Autowired private BlastRadiusService blastRadiusService;
 
     private Project project;
@@ -139,6 +143,42 @@ class BlastRadiusIntegrationTest extends AbstractIntegrationTest {
         assertThat(result.truncated()).isTrue();
     }
 
+    /**
+     * Grafo:
+     * <pre>
+     *   Caller → Service → Repo
+     *   Sub ─INHERITS→ Service
+     * </pre>
+     * Seed em Service: upstream alcança Caller e Sub; BOTH inclui também Repo.
+     */
+    @Test
+    @DisplayName("BFS upstream alcança quem chama ou estende o seed")
+    void bfsReverse_reachesCallersAndSubclasses() {
+        node("com.x.Caller", "/Caller.java");
+        node("com.x.Service", "/Service.java");
+        node("com.x.Repo", "/Repo.java");
+        node("com.x.Sub", "/Sub.java");
+        edge("com.x.Caller", "com.x.Service", EdgeKind.CALLS, ConfidenceTier.EXTRACTED);
+        edge("com.x.Service", "com.x.Repo", EdgeKind.CALLS, ConfidenceTier.EXTRACTED);
+        edge("com.x.Sub", "com.x.Service", EdgeKind.INHERITS, ConfidenceTier.INFERRED);
+
+        BlastRadiusResult upstream = blastRadiusService.computeBlastRadius(
+                project.getId(), List.of("/Service.java"), BlastRadiusOptions.upstream());
+        BlastRadiusResult both = blastRadiusService.computeBlastRadius(
+                project.getId(), List.of("/Service.java"),
+                new BlastRadiusOptions(2, 500, BlastRadiusOptions.DEFAULT_KINDS, BlastDirection.BOTH));
+
+        assertThat(upstream.impactedNodes())
+                .extracting(ImpactedNode::qualifiedName)
+                .containsExactlyInAnyOrder("com.x.Caller", "com.x.Sub");
+        ImpactedNode sub = upstream.impactedNodes().stream()
+                .filter(n -> n.qualifiedName().equals("com.x.Sub")).findFirst().orElseThrow();
+        assertThat(sub.propagatedConfidence()).isEqualTo(ConfidenceTier.INFERRED.getWeight());
+        assertThat(both.impactedNodes())
+                .extracting(ImpactedNode::qualifiedName)
+                .containsExactlyInAnyOrder("com.x.Caller", "com.x.Sub", "com.x.Repo");
+    }
+
     @Test
     @DisplayName("Cache hit em segunda chamada idêntica")
     void cacheHitsOnSecondCall() {
@@ -192,11 +232,19 @@ class BlastRadiusIntegrationTest extends AbstractIntegrationTest {
     private void edge(String source, String target, EdgeKind kind, ConfidenceTier tier) {
         edgeRepository.save(CodeGraphEdge.builder()
                 .project(project)
-                .sourceQualified(source)
-                .targetQualified(target)
+                .source(symbol(source))
+                .target(symbol(target))
                 .kind(kind)
                 .confidenceTier(tier)
                 .confidenceWeight(tier.getWeight())
                 .build());
     }
+
+    private CodeGraphSymbol symbol(String qualifiedName) {
+        return symbolRepository.findByProjectIdAndQualifiedName(project.getId(), qualifiedName)
+                .orElseGet(() -> symbolRepository.save(CodeGraphSymbol.builder()
+                        .project(project)
+                        .qualifiedName(qualifiedName)
+                        .build()));
+    }
 }
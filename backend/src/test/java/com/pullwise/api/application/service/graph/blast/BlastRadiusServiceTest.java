@@ -1,5 +1,6 @@
 package com.pullwise.api.application.service.graph.blast;
 
+import com.pullwise.api.domain.enums.EdgeKind;
 import com.pullwise.api.domain.enums.NodeKind;
 import com.pullwise.api.domain.enums.ProgrammingLanguage;
 import com.pullwise.api.domain.model.CodeGraphNode;
@@ -16,10 +17,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -45,7 +49,7 @@ class BlastRadiusServiceTest {
         // tests focados em lógica e não em infraestrutura.
         SecurityKeywordMatcher matcher = new SecurityKeywordMatcher();
         RiskScoringService riskScoringService = new RiskScoringService(matcher);
-        service = new BlastRadiusService(nodeRepository, edgeRepository, riskScoringService, null, null);
+        service = new BlastRadiusService(nodeRepository, edgeRepository, riskScoringService, null, null, null);
 
         // Lookup default vazio
         lenient().when(nodeRepository.findByProjectIdAndQualifiedNameIn(eq(PROJECT_ID), any()))
@@ -104,6 +108,69 @@ class BlastRadiusServiceTest {
         assertThat(result.impactedNodes().get(0).propagatedConfidence()).isEqualTo(0.7);
     }
 
+    @Test
+    void upstream_usesReverseCte() {
+        when(nodeRepository.findByProjectIdAndFilePath(PROJECT_ID, "/src/A.java"))
+                .thenReturn(List.of(node("com.x.A", "/src/A.java")));
+        when(edgeRepository.bfsReverse(eq(PROJECT_ID), any(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(
+                        new Object[]{"com.x.A", 0, 1.0},
+                        new Object[]{"com.x.Caller", 1, 1.0}
+                ));
+
+        BlastRadiusResult result = service.computeBlastRadius(
+                PROJECT_ID, List.of("/src/A.java"), BlastRadiusOptions.upstream());
+
+        verify(edgeRepository, never()).bfsForward(any(), any(), any(), anyInt(), anyInt());
+        assertThat(result.impactedNodes()).extracting(ImpactedNode::qualifiedName).containsExactly("com.x.Caller");
+    }
+
+    @Test
+    void both_mergesDirectionsKeepingMinDepthAndMaxWeight() {
+        when(nodeRepository.findByProjectIdAndFilePath(PROJECT_ID, "/src/A.java"))
+                .thenReturn(List.of(node("com.x.A", "/src/A.java")));
+        when(edgeRepository.bfsForward(eq(PROJECT_ID), any(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(
+                        new Object[]{"com.x.A", 0, 1.0},
+                        new Object[]{"com.x.Dep", 1, 1.0},
+                        new Object[]{"com.x.Cycle", 2, 0.9}
+                ));
+        when(edgeRepository.bfsReverse(eq(PROJECT_ID), any(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(
+                        new Object[]{"com.x.A", 0, 1.0},
+                        new Object[]{"com.x.Cycle", 1, 0.4}
+                ));
+
+        BlastRadiusResult result = service.computeBlastRadius(PROJECT_ID, List.of("/src/A.java"),
+                new BlastRadiusOptions(2, 500, BlastRadiusOptions.DEFAULT_KINDS, BlastDirection.BOTH));
+
+        assertThat(result.impactedNodes()).extracting(ImpactedNode::qualifiedName)
+                .containsExactlyInAnyOrder("com.x.Dep", "com.x.Cycle");
+        ImpactedNode cycle = result.impactedNodes().stream()
+                .filter(n -> n.qualifiedName().equals("com.x.Cycle")).findFirst().orElseThrow();
+        assertThat(cycle.depth()).isEqualTo(1);
+        assertThat(cycle.propagatedConfidence()).isEqualTo(0.9);
+    }
+
+    @Test
+    void snapshotAvailable_skipsCte() {
+        GraphSnapshotCache snapshotCache = mock(GraphSnapshotCache.class);
+        when(snapshotCache.get(PROJECT_ID)).thenReturn(GraphSnapshot.builder()
+                .addEdge("com.x.A", "com.x.B", EdgeKind.CALLS, 0.7)
+                .build());
+        service = new BlastRadiusService(nodeRepository, edgeRepository,
+                new RiskScoringService(new SecurityKeywordMatcher()), null, null, snapshotCache);
+        when(nodeRepository.findByProjectIdAndFilePath(PROJECT_ID, "/src/A.java"))
+                .thenReturn(List.of(node("com.x.A", "/src/A.java")));
+
+        BlastRadiusResult result = service.computeBlastRadius(
+                PROJECT_ID, List.of("/src/A.java"), BlastRadiusOptions.defaults());
+
+        verify(edgeRepository, never()).bfsForward(any(), any(), any(), anyInt(), anyInt());
+        assertThat(result.impactedNodes()).extracting(ImpactedNode::qualifiedName).containsExactly("com.x.B");
+        assertThat(result.impactedNodes().get(0).propagatedConfidence()).isCloseTo(0.7, within(1e-6));
+    }
+
     @Test
     void resultsSortedByRiskScoreDescending() {
         when(nodeRepository.findByProjectIdAndFilePath(PROJECT_ID, "/src/A.java"))
@@ -75,4 +75,12 @@ class EdgeConfidenceClassifierTest {
         assertThat(classifier.classifyMethodCall("UserService", "com.example.UserService"))
                 .isEqualTo(ConfidenceTier.INFERRED);
     }
+
+    @Test
+    void methodCallOnResolvedQualifiedType_isExtracted() {
+        assertThat(classifier.classifyMethodCall("com.example.UserService", "com.example.UserService"))
+                .isEqualTo(ConfidenceTier.EXTRACTED);
+        assertThat(classifier.classifyMethodCall("order.getCustomer().Address", null))
+                .isEqualTo(ConfidenceTier.AMBIGUOUS);
+    }
 }
@@ -0,0 +1,120 @@
+package com.pullwise.api.application.service.graph.blast;
+
+import com.pullwise.api.application.service.graph.blast.GraphSnapshot.BfsHit;
+import com.pullwise.api.domain.enums.EdgeKind;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Testes do {@link GraphSnapshot}: a BFS em memória deve seguir a semântica das
+ * CTEs {@code bfsForward}/{@code bfsReverse} (menor profundidade, maior peso, filtro por tipo de
+ * aresta e limite de nós).
+ */
+class GraphSnapshotTest {
+
+    private static final Set<EdgeKind> DEFAULT_KINDS = BlastRadiusOptions.DEFAULT_KINDS;
+
+    @Test
+    void bfs_returnsMinDepthAndMaxPropagatedWeight() {
+        // A → B (0.5) → D (1.0) ; A → C (0.9) → D (0.9) ; A → D (0.3)
+        GraphSnapshot snapshot = GraphSnapshot.builder()
+                .addEdge("A", "B", EdgeKind.CALLS, 0.5)
+                .addEdge("B", "D", EdgeKind.CALLS, 1.0)
+                .addEdge("A", "C", EdgeKind.IMPORTS_FROM, 0.9)
+                .addEdge("C", "D", EdgeKind.INHERITS, 0.9)
+                .addEdge("A", "D", EdgeKind.CALLS, 0.3)
+                .build();
+
+        Map<String, BfsHit> hits = byName(snapshot.bfsForward(List.of("A"), DEFAULT_KINDS, 3, 100));
+
+        assertThat(hits).containsOnlyKeys("A", "B", "C", "D");
+        assertThat(hits.get("A").depth()).isZero();
+        assertThat(hits.get("D").depth()).isEqualTo(1);
+        assertThat(hits.get("D").weight()).isCloseTo(0.81, within(1e-6));
+    }
+
+    @Test
+    void bfs_respectsMaxDepthForWeights() {
+        // Caminho direto fraco; o caminho forte tem 2 arestas
+        GraphSnapshot snapshot = GraphSnapshot.builder()
+                .addEdge("A", "D", EdgeKind.CALLS, 0.3)
+                .addEdge("A", "B", EdgeKind.CALLS, 1.0)
+                .addEdge("B", "D", EdgeKind.CALLS, 1.0)
+                .build();
+
+        Map<String, BfsHit> hits = byName(snapshot.bfsForward(List.of("A"), DEFAULT_KINDS, 1, 100));
+
+        assertThat(hits.get("D").weight()).isCloseTo(0.3, within(1e-6));
+    }
+
+    @Test
+    void bfsReverse_walksFromTargetsToSources() {
+        GraphSnapshot snapshot = GraphSnapshot.builder()
+                .addEdge("Caller", "Service", EdgeKind.CALLS, 0.7)
+                .addEdge("Service", "Repo", EdgeKind.CALLS, 1.0)
+                .addEdge("Sub", "Service", EdgeKind.INHERITS, 1.0)
+                .addEdge("Main", "Caller", EdgeKind.IMPORTS_FROM, 0.4)
+                .build();
+
+        Map<String, BfsHit> hits = byName(snapshot.bfsReverse(List.of("Service"), DEFAULT_KINDS, 2, 100));
+
+        assertThat(hits).containsOnlyKeys("Service", "Caller", "Sub", "Main");
+        assertThat(hits.get("Main").depth()).isEqualTo(2);
+        assertThat(hits.get("Main").weight()).isCloseTo(0.28, within(1e-6));
+    }
+
+    @Test
+    void bfs_followsOnlyRequestedKinds() {
+        GraphSnapshot snapshot = GraphSnapshot.builder()
+                .addEdge("A", "B", EdgeKind.CALLS, 1.0)
+                .addEdge("A", "C", EdgeKind.CONTAINS, 1.0)
+                .build();
+
+        List<BfsHit> hits = snapshot.bfsForward(List.of("A"), EnumSet.of(EdgeKind.CALLS), 2, 100);
+
+        assertThat(hits).extracting(BfsHit::qualifiedName).containsExactlyInAnyOrder("A", "B");
+    }
+
+    @Test
+    void bfs_keepsShallowestNodesWhenTruncated() {
+        GraphSnapshot.Builder builder = GraphSnapshot.builder();
+        for (int i = 0; i < 10; i++) {
+            builder.addEdge("A", "L1-" + i, EdgeKind.CALLS, 1.0);
+            builder.addEdge("L1-" + i, "L2-" + i, EdgeKind.CALLS, 1.0);
+        }
+        GraphSnapshot snapshot = builder.build();
+
+        List<BfsHit> hits = snapshot.bfsForward(List.of("A"), DEFAULT_KINDS, 5, 8);
+
+        assertThat(hits).hasSize(8);
+        assertThat(hits).allMatch(hit -> hit.depth() <= 1);
+    }
+
+    @Test
+    void bfs_returnsUnknownSeedsAtDepthZero_andIsReusableAcrossCalls() {
+        GraphSnapshot snapshot = GraphSnapshot.builder()
+                .addEdge("A", "B", EdgeKind.CALLS, 1.0)
+                .addEdge("B", "A", EdgeKind.CALLS, 1.0)
+                .build();
+
+        List<BfsHit> first = snapshot.bfsForward(List.of("A", "Z"), DEFAULT_KINDS, 4, 100);
+        List<BfsHit> second = snapshot.bfsForward(List.of("B"), DEFAULT_KINDS, 4, 100);
+
+        assertThat(byName(first)).containsOnlyKeys("A", "B", "Z");
+        assertThat(byName(first).get("Z").depth()).isZero();
+        assertThat(byName(second).get("B").depth()).isZero();
+        assertThat(byName(second).get("A").depth()).isEqualTo(1);
+    }
+
+    private static Map<String, BfsHit> byName(List<BfsHit> hits) {
+        return hits.stream().collect(Collectors.toMap(BfsHit::qualifiedName, hit -> hit));
+    }
+}
@@ -0,0 +1,98 @@
+package com.pullwise.api.application.service.graph.extract;
+
+import com.pullwise.api.application.service.graph.ExtractionContext;
+import com.pullwise.api.application.service.graph.model.ClassInfo;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GoExtractorTest {
+
+    private static final Set<String> FILES = Set.of(
+            "go.mod", "services/orders/orders.go", "pkg/db/db.go", "pkg/db/tx.go", "pkg/db/db_test.go",
+            "internal/errors/errors.go");
+
+    private final GoExtractor extractor = new GoExtractor();
+
+    @Test
+    void extract_resolvesModuleImportsToPackageFiles() {
+        String source = """
+                package orders
+
+                import (
+                    "context"
+                    "github.com/acme/shop/pkg/db"
+                )
+
+                type Service struct {
+                    store db.Store
+                }
+
+                func (s *Service) Place(ctx context.Context,
+                    id string) error {
+                    if id == "" {
+                        return nil
+                    }
+                    return db.Save(ctx, id)
+                }
+                """;
+
+        CodeAnalysisResult result = extractor.extract("services/orders/orders.go", source, context());
+
+        ClassInfo module = result.getClasses().get(0);
+        assertThat(module.getQualifiedName()).isEqualTo("services/orders/orders");
+        assertThat(module.getDependencies()).containsExactly("pkg/db/db", "pkg/db/tx");
+        assertThat(result.getImports()).containsExactly("context", "github.com/acme/shop/pkg/db");
+        assertThat(module.getMethods()).singleElement().satisfies(m -> {
+            assertThat(m.getName()).isEqualTo("Service.Place");
+            assertThat(m.getStartLine()).isEqualTo(12);
+            assertThat(m.getEndLine()).isEqualTo(18);
+            assertThat(m.getComplexity()).isEqualTo(2);
+            assertThat(m.getCalledClasses()).containsExactly("pkg/db/db", "pkg/db/tx");
+            assertThat(m.getCalledMethods()).containsExactly("Save");
+        });
+
+        ClassInfo service = result.getClasses().get(1);
+        assertThat(service.getQualifiedName()).isEqualTo("services/orders/orders.Service");
+        assertThat(service.getEndLine()).isEqualTo(10);
+    }
+
+    @Test
+    void extract_leavesImportsOutsideTheModuleExternal() {
+        String source = """
+                package orders
+
+                import (
+                    "github.com/pkg/errors"
+                    "github.com/acme/shop/internal/errors"
+                )
+                """;
+
+        CodeAnalysisResult result = extractor.extract("services/orders/orders.go", source, context());
+
+        assertThat(result.getClasses().get(0).getDependencies()).containsExactly("internal/errors/errors");
+    }
+
+    @Test
+    void extract_withoutGoModResolvesNothing() {
+        String source = """
+                package orders
+
+                import "github.com/acme/shop/pkg/db"
+                """;
+
+        CodeAnalysisResult result = extractor.extract("services/orders/orders.go", source,
+                new ExtractionContext("repo", FILES, null));
+
+        assertThat(result.getClasses().get(0).getDependencies()).isEmpty();
+        assertThat(result.getImports()).containsExactly("github.com/acme/shop/pkg/db");
+    }
+
+    private static ExtractionContext context() {
+        return new ExtractionContext("repo", FILES, null,
+                path -> path.equals("go.mod") ? "module github.com/acme/shop\n\ngo 1.22\n" : null);
+    }
+}
@@ -0,0 +1,124 @@
+package com.pullwise.api.application.service.graph.extract;
+
+import com.pullwise.api.application.service.graph.ExtractionContext;
+import com.pullwise.api.application.service.graph.model.ClassInfo;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PythonExtractorTest {
+
+    private static final Set<String> FILES = Set.of(
+            "svc/app/__init__.py", "svc/app/models.py", "svc/app/util.py",
+            "svc/app/services/__init__.py", "svc/app/services/orders.py", "svc/app/services/repo.py",
+            "svc/app/json.py", "svc/app/typing.py", "scripts/tool.py", "scripts/helpers.py");
+
+    private final PythonExtractor extractor = new PythonExtractor();
+
+    @Test
+    void extract_resolvesAbsoluteAndRelativeImports() {
+        String source = """
+                import requests
+                from app.models import Order, BaseService
+                from . import repo
+                import app.util as util
+
+
+                class OrderService(BaseService):
+                    def place(self, data):
+                        order = Order(data)
+                        if data:
+                            repo.save(order)
+                        return util.fmt(order)
+                """;
+
+        CodeAnalysisResult result = extractor.extract("svc/app/services/orders.py", source, context());
+
+        ClassInfo module = result.getClasses().get(0);
+        assertThat(module.getQualifiedName()).isEqualTo("svc.app.services.orders");
+        assertThat(module.getDependencies()).containsExactlyInAnyOrder(
+                "svc.app.models", "svc.app.services", "svc.app.services.repo", "svc.app.util");
+
+        ClassInfo service = result.getClasses().get(1);
+        assertThat(service.getQualifiedName()).isEqualTo("svc.app.services.orders.OrderService");
+        assertThat(service.getSuperClass()).isEqualTo("svc.app.models.BaseService");
+        assertThat(service.getMethods()).singleElement().satisfies(m -> {
+            assertThat(m.getName()).isEqualTo("place");
+            assertThat(m.getStartLine()).isEqualTo(8);
+            assertThat(m.getEndLine()).isEqualTo(12);
+            assertThat(m.getComplexity()).isEqualTo(2);
+            assertThat(m.getCalledClasses()).containsExactly(
+                    "svc.app.models.Order", "svc.app.services.repo#save", "svc.app.util#fmt");
+        });
+    }
+
+    @Test
+    void extract_joinsContinuationLinesAndSkipsDocstrings() {
+        String source = """
+                from app.util import (
+                    fmt,
+                    parse,
+                )
+
+
+                def run():
+                    \"""Chama fmt(x) só no docstring.\"""
+                    return parse(
+                        "x")
+                """;
+
+        CodeAnalysisResult result = extractor.extract("svc/app/services/repo.py", source, context());
+
+        assertThat(result.getClasses().get(0).getMethods()).singleElement().satisfies(m -> {
+            assertThat(m.getStartLine()).isEqualTo(7);
+            assertThat(m.getEndLine()).isEqualTo(10);
+            assertThat(m.getCalledClasses()).containsExactly("svc.app.util#parse");
+        });
+    }
+
+    @Test
+    void extract_doesNotResolveLibrariesToLocalModulesOfTheSameName() {
+        String source = """
+                import json
+                from typing import Optional
+                from app import json as app_json
+
+
+                def load(raw):
+                    return json.loads(raw)
+                """;
+
+        CodeAnalysisResult result = extractor.extract("svc/app/services/orders.py", source, context());
+
+        ClassInfo module = result.getClasses().get(0);
+        assertThat(module.getDependencies()).containsExactlyInAnyOrder("svc.app", "svc.app.json");
+        assertThat(module.getMethods()).singleElement()
+                .satisfies(m -> assertThat(m.getCalledClasses()).isEmpty());
+    }
+
+    @Test
+    void extract_scriptOutsidePackagesImportsSiblingModules() {
+        CodeAnalysisResult result = extractor.extract("scripts/tool.py", "import helpers\nimport json\n", context());
+
+        assertThat(result.getClasses().get(0).getDependencies()).containsExactly("scripts.helpers");
+    }
+
+    @Test
+    void supports_skipsRootInit() {
+        assertThat(extractor.supports("__init__.py")).isFalse();
+        assertThat(extractor.supports("svc/app/__init__.py")).isTrue();
+    }
+
+    @Test
+    void moduleName_mapsPackagesToTheirInit() {
+        assertThat(PythonExtractor.moduleName("svc/app/models.py")).isEqualTo("svc.app.models");
+        assertThat(PythonExtractor.moduleName("svc/app/__init__.py")).isEqualTo("svc.app");
+    }
+
+    private static ExtractionContext context() {
+        return new ExtractionContext("repo", FILES, null);
+    }
+}
@@ -0,0 +1,91 @@
+package com.pullwise.api.application.service.graph.extract;
+
+import com.pullwise.api.application.service.graph.ExtractionContext;
+import com.pullwise.api.application.service.graph.model.ClassInfo;
+import com.pullwise.api.application.service.graph.model.CodeAnalysisResult;
+import com.pullwise.api.application.service.graph.model.MethodInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeScriptExtractorTest {
+
+    private static final Set<String> FILES = Set.of(
+            "web/src/app.tsx", "web/src/api/index.ts", "web/src/base.ts", "web/src/components/Button.tsx");
+
+    private final TypeScriptExtractor extractor = new TypeScriptExtractor();
+
+    @Test
+    void extract_resolvesRelativeImportsAndCalls() {
+        String source = """
+                import React from 'react';
+                import { fetchOrders as load } from './api';
+                import * as base from './base';
+                import Button from './components/Button';
+
+                export class OrdersPage extends base.Page {
+                  async refresh() {
+                    const orders = await load();
+                    if (orders.length > 0) {
+                      base.track('refresh');
+                    }
+                    return <Button label="ok" />;
+                  }
+                }
+
+                export const format = (value: string) => value.trim();
+                """;
+
+        CodeAnalysisResult result = extractor.extract("web/src/app.tsx", source, context());
+
+        ClassInfo module = result.getClasses().get(0);
+        assertThat(module.getQualifiedName()).isEqualTo("web/src/app");
+        assertThat(module.getDependencies())
+                .containsExactly("web/src/api/index", "web/src/base", "web/src/components/Button");
+        assertThat(module.getMethods()).extracting(MethodInfo::getName).containsExactly("format");
+        assertThat(result.getImports()).contains("react", "./api");
+
+        ClassInfo page = result.getClasses().get(1);
+        assertThat(page.getQualifiedName()).isEqualTo("web/src/app.OrdersPage");
+        assertThat(page.getSuperClass()).isEqualTo("web/src/base.Page");
+        assertThat(page.getEndLine()).isEqualTo(14);
+        assertThat(page.getMethods()).singleElement().satisfies(m -> {
+            assertThat(m.getName()).isEqualTo("refresh");
+            assertThat(m.getStartLine()).isEqualTo(7);
+            assertThat(m.getEndLine()).isEqualTo(13);
+            assertThat(m.getComplexity()).isEqualTo(2);
+            assertThat(m.getCalledClasses()).containsExactly(
+                    "web/src/api/index#fetchOrders", "web/src/base#track", "web/src/components/Button");
+        });
+        assertThat(result.getContentHash()).isNotNull();
+    }
+
+    @Test
+    void extract_ignoresImportsInComments() {
+        String source = """
+                // import { a } from './api';
+                /* import b from './base'; */
+                """;
+
+        CodeAnalysisResult result = extractor.extract("web/src/app.tsx", source, context());
+
+        assertThat(result.getClasses().get(0).getDependencies()).isEmpty();
+    }
+
+    @Test
+    void resolve_followsBundlerLookup() {
+        Set<String> files = Set.of("web/src/b.ts", "web/src/lib/index.js", "web/src/c.jsx");
+
+        assertThat(TypeScriptExtractor.resolve("web/src/a.ts", "./b.js", files)).isEqualTo("web/src/b.ts");
+        assertThat(TypeScriptExtractor.resolve("web/src/a.ts", "./lib", files)).isEqualTo("web/src/lib/index.js");
+        assertThat(TypeScriptExtractor.resolve("web/src/lib/x.ts", "../c", files)).isEqualTo("web/src/c.jsx");
+        assertThat(TypeScriptExtractor.resolve("web/src/a.ts", "lodash", files)).isNull();
+        assertThat(TypeScriptExtractor.resolve("a.ts", "../outside", files)).isNull();
+    }
+
+    private static ExtractionContext context() {
+        return new ExtractionContext("repo", FILES, null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.pullwise.api.application.service.llm.router;
+
+import com.pullwise.api.application.service.llm.model.LLMModelConfig;
+import com.pullwise.api.domain.enums.ReviewTaskType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LlmResponseCacheTest {
+
+    private LLMModelConfig config;
+    private CacheManager cacheManager;
+    private MeterRegistry meterRegistry;
+    private LlmResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        config = new LLMModelConfig();
+        cacheManager = new ConcurrentMapCacheManager(LlmResponseCache.CACHE_NAME);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new LlmResponseCache(config, cacheManager, meterRegistry);
+    }
+
+    @Test
+    void key_dependsOnModelTaskAndBothPrompts() {
+        String key = LlmResponseCache.buildKey("m", ReviewTaskType.QA, "sys", "user");
+
+        assertThat(LlmResponseCache.buildKey("m", ReviewTaskType.QA, "sys", "user")).isEqualTo(key);
+        assertThat(LlmResponseCache.buildKey("other", ReviewTaskType.QA, "sys", "user")).isNotEqualTo(key);
+        assertThat(LlmResponseCache.buildKey("m", ReviewTaskType.BUG_DETECTION, "sys", "user")).isNotEqualTo(key);
+        assertThat(LlmResponseCache.buildKey("m", ReviewTaskType.QA, "sys2", "user")).isNotEqualTo(key);
+        // Separador evita colisão por concatenação
+        assertThat(LlmResponseCache.buildKey("m", ReviewTaskType.QA, "sy", "suser")).isNotEqualTo(key);
+    }
+
+    @Test
+    void missThenHitFromLocal() {
+        assertThat(cache.get("k")).isEmpty();
+
+        cache.put("k", "response");
+
+        assertThat(cache.get("k")).contains("response");
+        assertThat(meterRegistry.counter("pullwise.llm.cache.misses").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("pullwise.llm.cache.hits", "level", "l1").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("pullwise.llm.cache.bytes_served").count()).isEqualTo(8.0);
+    }
+
+    @Test
+    void sharedRemoteEntry_isServedToAnotherNode() {
+        cache.put("k", "response");
+
+        // Outro nó: L1 vazio, mesmo L2
+        LlmResponseCache otherNode = new LlmResponseCache(config, cacheManager, new SimpleMeterRegistry());
+
+        assertThat(otherNode.get("k")).contains("response");
+    }
+
+    @Test
+    void oversizedResponse_isNotCached() {
+        config.getResponseCache().setMaxEntryBytes(4);
+        LlmResponseCache small = new LlmResponseCache(config, cacheManager, new SimpleMeterRegistry());
+
+        small.put("k", "too large");
+
+        assertThat(small.get("k")).isEmpty();
+        assertThat(cacheManager.getCache(LlmResponseCache.CACHE_NAME).get("k")).isNull();
+    }
+
+    @Test
+    void disabled_neverHits() {
+        config.getResponseCache().setEnabled(false);
+        LlmResponseCache disabled = new LlmResponseCache(config, cacheManager, new SimpleMeterRegistry());
+
+        disabled.put("k", "response");
+
+        assertThat(disabled.get("k")).isEmpty();
+    }
+}
@@ -0,0 +1,151 @@
+package com.pullwise.api.application.service.review;
+
+import com.pullwise.api.application.service.config.ConfigurationResolver;
+import com.pullwise.api.application.service.integration.GitHubService;
+import com.pullwise.api.application.service.review.IncrementalReviewPlanner.IncrementalPlan;
+import com.pullwise.api.domain.constants.ConfigKeys;
+import com.pullwise.api.domain.enums.Platform;
+import com.pullwise.api.domain.enums.ReviewStatus;
+import com.pullwise.api.domain.enums.Severity;
+import com.pullwise.api.domain.model.Issue;
+import com.pullwise.api.domain.model.Project;
+import com.pullwise.api.domain.model.PullRequest;
+import com.pullwise.api.domain.model.Review;
+import com.pullwise.api.domain.repository.IssueRepository;
+import com.pullwise.api.domain.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IncrementalReviewPlannerTest {
+
+    @Mock private ReviewRepository reviewRepository;
+    @Mock private IssueRepository issueRepository;
+    @Mock private GitHubService gitHubService;
+    @Mock private ConfigurationResolver configurationResolver;
+
+    private IncrementalReviewPlanner planner;
+    private Project project;
+    private PullRequest pr;
+    private Review review;
+
+    @BeforeEach
+    void setUp() {
+        planner = new IncrementalReviewPlanner(reviewRepository, issueRepository, gitHubService, configurationResolver);
+
+        project = Project.builder().id(7L).name("repo").build();
+        pr = PullRequest.builder().id(1L).prNumber(42).project(project)
+                .platform(Platform.GITHUB).headSha("bbbbbbb").lastReviewedSha("aaaaaaa").build();
+        review = Review.builder().id(2L).pullRequest(pr).headSha("bbbbbbb").build();
+    }
+
+    @Test
+    void remapLine_shiftsLinesBelowInsertedHunk() {
+        String patch = "@@ -10,3 +10,5 @@\n ctx\n+new1\n+new2\n ctx\n ctx";
+
+        assertThat(IncrementalReviewPlanner.remapLine(patch, 5)).isEqualTo(5);
+        assertThat(IncrementalReviewPlanner.remapLine(patch, 11)).isEqualTo(13);
+        assertThat(IncrementalReviewPlanner.remapLine(patch, 20)).isEqualTo(22);
+    }
+
+    @Test
+    void remapLine_returnsNullForRemovedLine() {
+        String patch = "@@ -4,3 +4,2 @@\n ctx\n-gone\n ctx";
+
+        assertThat(IncrementalReviewPlanner.remapLine(patch, 5)).isNull();
+        assertThat(IncrementalReviewPlanner.remapLine(patch, 6)).isEqualTo(5);
+        assertThat(IncrementalReviewPlanner.remapLine(patch, 30)).isEqualTo(29);
+    }
+
+    @Test
+    void remapLine_handlesPureInsertionHunk() {
+        String patch = "@@ -5,0 +6,2 @@\n+a\n+b";
+
+        assertThat(IncrementalReviewPlanner.remapLine(patch, 5)).isEqualTo(5);
+        assertThat(IncrementalReviewPlanner.remapLine(patch, 6)).isEqualTo(8);
+    }
+
+    @Test
+    void plan_fullWhenNoPreviousReviewedHead() {
+        pr.setLastReviewedSha(null);
+        List<GitHubService.FileDiff> diffs = List.of(diff("A.java", "@@ -1,1 +1,1 @@\n-a\n+b"));
+
+        IncrementalPlan plan = planner.plan(pr, review, diffs);
+
+        assertThat(plan.isIncremental()).isFalse();
+        assertThat(plan.diffsToAnalyze()).isSameAs(diffs);
+        verifyNoInteractions(gitHubService, reviewRepository);
+    }
+
+    @Test
+    void plan_analysesOnlyTouchedFilesAndCarriesStillValidIssues() {
+        when(configurationResolver.getConfig(7L, ConfigKeys.REVIEW_INCREMENTAL_ENABLED)).thenReturn("true");
+        Review previous = Review.builder().id(1L).status(ReviewStatus.COMPLETED).headSha("aaaaaaa").build();
+        when(reviewRepository.findFirstByPullRequestIdAndHeadShaAndStatusOrderByIdDesc(1L, "aaaaaaa", ReviewStatus.COMPLETED))
+                .thenReturn(Optional.of(previous));
+        when(gitHubService.fetchCompareDiffs(project, "aaaaaaa", "bbbbbbb")).thenReturn(List.of(
+                diff("B.java", "@@ -2,2 +2,3 @@\n-old\n+new\n+added\n ctx")));
+        when(issueRepository.findByReviewId(1L)).thenReturn(List.of(
+                issue("A.java", 3, "untouched"),
+                issue("B.java", 2, "on changed line"),
+                issue("B.java", 10, "below change"),
+                issue("Gone.java", 1, "file left the PR")));
+
+        List<GitHubService.FileDiff> prDiffs = List.of(diff("A.java", "p"), diff("B.java", "p"));
+        IncrementalPlan plan = planner.plan(pr, review, prDiffs);
+
+        assertThat(plan.baseSha()).isEqualTo("aaaaaaa");
+        assertThat(plan.diffsToAnalyze()).extracting(GitHubService.FileDiff::filename).containsExactly("B.java");
+        assertThat(plan.carriedIssues()).extracting(Issue::getTitle).containsExactly("untouched", "below change");
+        assertThat(plan.carriedIssues()).extracting(Issue::getLineStart).containsExactly(3, 11);
+        assertThat(plan.carriedIssues()).allMatch(Issue::getCarriedOver);
+        assertThat(plan.carriedIssues()).allMatch(i -> i.getReview() == review);
+    }
+
+    @Test
+    void plan_fullWhenCompareMayBeTruncated() {
+        when(configurationResolver.getConfig(7L, ConfigKeys.REVIEW_INCREMENTAL_ENABLED)).thenReturn("true");
+        Review previous = Review.builder().id(1L).status(ReviewStatus.COMPLETED).headSha("aaaaaaa").build();
+        when(reviewRepository.findFirstByPullRequestIdAndHeadShaAndStatusOrderByIdDesc(1L, "aaaaaaa", ReviewStatus.COMPLETED))
+                .thenReturn(Optional.of(previous));
+        when(gitHubService.fetchCompareDiffs(project, "aaaaaaa", "bbbbbbb")).thenReturn(
+                IntStream.range(0, GitHubService.COMPARE_FILE_LIMIT).mapToObj(i -> diff("F" + i + ".java", "p")).toList());
+
+        List<GitHubService.FileDiff> prDiffs = List.of(diff("A.java", "p"), diff("F0.java", "p"));
+        IncrementalPlan plan = planner.plan(pr, review, prDiffs);
+
+        assertThat(plan.isIncremental()).isFalse();
+        assertThat(plan.diffsToAnalyze()).isSameAs(prDiffs);
+        verifyNoInteractions(issueRepository);
+    }
+
+    @Test
+    void merge_dropsCarriedIssuesFoundAgain() {
+        Issue carriedDup = issue("B.java", 11, "Null check");
+        Issue carriedKept = issue("A.java", 3, "Other");
+        IncrementalPlan plan = new IncrementalPlan("aaaaaaa", List.of(), List.of(carriedDup, carriedKept));
+
+        List<Issue> merged = planner.merge(List.of(issue("B.java", 12, "null check ")), plan);
+
+        assertThat(merged).extracting(Issue::getTitle).containsExactly("null check ", "Other");
+    }
+
+    private static GitHubService.FileDiff diff(String filename, String patch) {
+        return new GitHubService.FileDiff(filename, "modified", 1, 1, patch);
+    }
+
+    private static Issue issue(String file, int line, String title) {
+        return Issue.builder().filePath(file).lineStart(line).title(title).severity(Severity.HIGH).build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.pullwise.api.application.service.review;
+
+import com.pullwise.api.domain.enums.ReviewStatus;
+import com.pullwise.api.domain.enums.Severity;
+import com.pullwise.api.domain.model.Issue;
+import com.pullwise.api.domain.model.Review;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewEventBusTest {
+
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private ReviewEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new ReviewEventBus(eventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void progress_publishesStageAndOrigin() {
+        Review review = Review.builder().id(3L).status(ReviewStatus.IN_PROGRESS).build();
+
+        bus.progress(review, "llm", 50);
+
+        ReviewEvent event = captureEvent();
+        assertThat(event.type()).isEqualTo(ReviewEvent.PROGRESS);
+        assertThat(event.origin()).isEqualTo(bus.nodeId());
+        assertThat(event.data()).containsEntry("stage", "llm").containsEntry("progress", 50)
+                .containsEntry("status", "IN_PROGRESS");
+        assertThat(event.isTerminal()).isFalse();
+    }
+
+    @Test
+    void statusChanged_mapsSupersededToFailedWithReason() {
+        Review review = Review.builder().id(3L).build();
+        review.supersede("Superseded by push bbbbbbb");
+
+        bus.statusChanged(review);
+
+        ReviewEvent event = captureEvent();
+        assertThat(event.type()).isEqualTo(ReviewEvent.FAILED);
+        assertThat(event.data()).containsEntry("status", "SUPERSEDED")
+                .containsEntry("message", "Superseded by push bbbbbbb");
+    }
+
+    @Test
+    void issueDetectedEvent_isConvertedToBusEvent() {
+        Issue issue = Issue.builder().title("Null deref").severity(Severity.HIGH).filePath("A.java").lineStart(4).build();
+
+        bus.onIssueDetected(new IssueDetectedEvent(3L, issue));
+
+        ReviewEvent event = captureEvent();
+        assertThat(event.type()).isEqualTo(ReviewEvent.ISSUE_DETECTED);
+        assertThat(event.data()).containsEntry("title", "Null deref").containsEntry("severity", "HIGH")
+                .containsEntry("lineStart", 4).containsEntry("issueType", null);
+    }
+
+    @Test
+    void terminalEvent_insideTransaction_waitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        Review review = Review.builder().id(3L).build();
+        review.complete();
+
+        bus.statusChanged(review);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(captureEvent().type()).isEqualTo(ReviewEvent.COMPLETED);
+    }
+
+    @Test
+    void deliverRemote_ignoresEchoOfLocalEvents() {
+        bus.deliverRemote(new ReviewEvent(3L, ReviewEvent.PROGRESS, Map.of(), bus.nodeId()));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        ReviewEvent remote = new ReviewEvent(3L, ReviewEvent.PROGRESS, Map.of(), "other-node");
+        bus.deliverRemote(remote);
+        assertThat(captureEvent()).isSameAs(remote);
+    }
+
+    private ReviewEvent captureEvent() {
+        ArgumentCaptor<ReviewEvent> captor = ArgumentCaptor.forClass(ReviewEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+}
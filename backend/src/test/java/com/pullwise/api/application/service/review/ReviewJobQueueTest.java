@@ -0,0 +1,168 @@
+package com.pullwise.api.application.service.review;
+
+import com.pullwise.api.config.ArtemisConfig;
+import com.pullwise.api.domain.enums.PlanType;
+import com.pullwise.api.domain.enums.ReviewStatus;
+import com.pullwise.api.domain.model.Organization;
+import com.pullwise.api.domain.model.Project;
+import com.pullwise.api.domain.model.PullRequest;
+import com.pullwise.api.domain.model.Review;
+import com.pullwise.api.domain.repository.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.ProducerCallback;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewJobQueueTest {
+
+    @Mock private JmsTemplate jmsTemplate;
+    @Mock private ReviewOrchestrator reviewOrchestrator;
+    @Mock private ReviewRepository reviewRepository;
+
+    private ReviewJobQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new ReviewJobQueue(jmsTemplate, reviewOrchestrator, reviewRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(queue, "enabled", true);
+        ReflectionTestUtils.setField(queue, "backoff", Duration.ofSeconds(30));
+    }
+
+    @Test
+    void lane_prefersManualThenPaidThenIncremental() {
+        PullRequest pr = pullRequest(PlanType.FREE);
+        assertThat(ReviewLane.of(pr, false)).isEqualTo(ReviewLane.STANDARD);
+        assertThat(ReviewLane.of(pr, true)).isEqualTo(ReviewLane.MANUAL);
+
+        pr.setLastReviewedSha("aaaaaaa");
+        assertThat(ReviewLane.of(pr, false)).isEqualTo(ReviewLane.INCREMENTAL);
+        assertThat(ReviewLane.of(pullRequest(PlanType.PRO), false)).isEqualTo(ReviewLane.PAID);
+    }
+
+    @Test
+    void submit_queueDisabled_runsOnLocalExecutor() {
+        ReflectionTestUtils.setField(queue, "enabled", false);
+
+        queue.submit(review(), false);
+
+        verify(reviewOrchestrator).startReview(1L);
+        verifyNoInteractions(jmsTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void submit_brokerUnavailable_fallsBackToLocalExecutor() {
+        doThrow(new UncategorizedJmsException("connection refused"))
+                .when(jmsTemplate).execute(eq(ArtemisConfig.REVIEW_QUEUE), any(ProducerCallback.class));
+
+        queue.submit(review(), false);
+
+        verify(reviewOrchestrator).startReview(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retry_sendsNextAttemptWithExponentialDelayAndLanePriority() throws Exception {
+        ReviewJob job = new ReviewJob(1L, 10L, "bbbbbbb", ReviewLane.PAID, 2);
+
+        queue.retry(job);
+
+        ArgumentCaptor<ProducerCallback<Object>> callback = ArgumentCaptor.forClass(ProducerCallback.class);
+        verify(jmsTemplate).execute(eq(ArtemisConfig.REVIEW_QUEUE), callback.capture());
+
+        Session session = mock(Session.class);
+        MessageProducer producer = mock(MessageProducer.class);
+        MessageConverter converter = mock(MessageConverter.class);
+        Message message = mock(Message.class);
+        when(jmsTemplate.getMessageConverter()).thenReturn(converter);
+        when(converter.toMessage(job.nextAttempt(), session)).thenReturn(message);
+
+        callback.getValue().doInJms(session, producer);
+
+        verify(producer).setDeliveryDelay(60_000L);
+        verify(producer).send(message, DeliveryMode.PERSISTENT, ReviewLane.PAID.getPriority(), 0);
+    }
+
+    @Test
+    void claim_automaticJobForAlreadyReviewedHead_supersedesDuplicate() {
+        Review done = Review.builder().id(9L).status(ReviewStatus.COMPLETED).build();
+        Review pending = review();
+        when(reviewRepository.findFirstByPullRequestIdAndHeadShaAndStatusOrderByIdDesc(10L, "bbbbbbb", ReviewStatus.COMPLETED))
+                .thenReturn(Optional.of(done));
+        when(reviewRepository.findById(1L)).thenReturn(Optional.of(pending));
+
+        boolean claimed = queue.claim(new ReviewJob(1L, 10L, "bbbbbbb", ReviewLane.STANDARD, 1));
+
+        assertThat(claimed).isFalse();
+        assertThat(pending.getStatus()).isEqualTo(ReviewStatus.SUPERSEDED);
+        verify(reviewRepository, never()).claimForProcessing(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void claim_redeliveryOfClaimedJob_isSkipped() {
+        when(reviewRepository.claimForProcessing(eq(1L), eq(ReviewStatus.PENDING), eq(ReviewStatus.IN_PROGRESS), any(), any()))
+                .thenReturn(0);
+
+        assertThat(queue.claim(new ReviewJob(1L, 10L, "bbbbbbb", ReviewLane.MANUAL, 1))).isFalse();
+    }
+
+    @Test
+    void claim_pendingReview_isClaimed() {
+        when(reviewRepository.findFirstByPullRequestIdAndHeadShaAndStatusOrderByIdDesc(10L, "bbbbbbb", ReviewStatus.COMPLETED))
+                .thenReturn(Optional.empty());
+        when(reviewRepository.claimForProcessing(eq(1L), eq(ReviewStatus.PENDING), eq(ReviewStatus.IN_PROGRESS), any(), any()))
+                .thenReturn(1);
+
+        assertThat(queue.claim(new ReviewJob(1L, 10L, "bbbbbbb", ReviewLane.STANDARD, 1))).isTrue();
+    }
+
+    private static PullRequest pullRequest(PlanType plan) {
+        Organization org = new Organization();
+        org.setId(1L);
+        org.setPlanType(plan);
+
+        Project project = new Project();
+        project.setId(1L);
+        project.setOrganization(org);
+
+        PullRequest pr = new PullRequest();
+        pr.setId(10L);
+        pr.setProject(project);
+        return pr;
+    }
+
+    private static Review review() {
+        return Review.builder()
+                .id(1L)
+                .status(ReviewStatus.PENDING)
+                .headSha("bbbbbbb")
+                .pullRequest(pullRequest(PlanType.FREE))
+                .build();
+    }
+}
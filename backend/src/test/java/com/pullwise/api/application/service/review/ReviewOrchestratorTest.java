@@ -19,8 +19,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -50,16 +53,23 @@ class ReviewOrchestratorTest {
     @Mock private RiskAssessmentService riskAssessmentService;
     @Mock private CoverageTrackingService coverageTrackingService;
     @Mock private AttestationService attestationService;
+    @Mock private ReviewEventBus reviewEventBus;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ReviewCancellationRegistry cancellationRegistry;
 
     @BeforeEach
     void setUp() {
+        cancellationRegistry = new ReviewCancellationRegistry();
         orchestrator = new ReviewOrchestrator(
                 reviewRepository, issueRepository, pullRequestRepository,
                 sastAnalysisService, llmReviewService, consolidationService,
                 postingService, gitHubService, bitBucketService,
                 gitLabService, azureDevOpsService, usageRecordRepository, rateLimitingService,
                 notificationService, configurationResolver, riskAssessmentService,
-                coverageTrackingService, attestationService
+                coverageTrackingService, attestationService,
+                new IncrementalReviewPlanner(reviewRepository, issueRepository, gitHubService, configurationResolver),
+                cancellationRegistry, reviewEventBus, new TransactionTemplate(transactionManager)
         );
     }
 
@@ -125,6 +135,183 @@ class ReviewOrchestratorTest {
                 .hasMessageContaining("Review already in progress");
     }
 
+    @Test
+    void createSupersedingReview_supersedesAndCancelsActiveReviews() {
+        PullRequest pr = new PullRequest();
+        pr.setId(1L);
+        pr.setPrNumber(42);
+        pr.setHeadSha("bbbbbbbbbb");
+
+        Review stale = new Review();
+        stale.setId(5L);
+        stale.setStatus(ReviewStatus.IN_PROGRESS);
+        stale.setHeadSha("aaaaaaaaaa");
+        CancellationToken staleToken = cancellationRegistry.register(5L);
+
+        when(pullRequestRepository.findById(1L)).thenReturn(Optional.of(pr));
+        when(reviewRepository.findByPullRequestIdAndStatusIn(eq(1L), anyList())).thenReturn(List.of(stale));
+        when(reviewRepository.updateStatusIfIn(eq(5L), eq(ReviewStatus.SUPERSEDED), anyList())).thenReturn(1);
+        when(reviewRepository.save(any(Review.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Review review = orchestrator.createSupersedingReview(1L, true, true, false);
+
+        assertThat(stale.getStatus()).isEqualTo(ReviewStatus.SUPERSEDED);
+        assertThat(staleToken.isCancelled()).isTrue();
+        assertThat(staleToken.getReason()).contains("bbbbbbb");
+        verify(reviewEventBus).statusChanged(stale);
+        assertThat(review.getStatus()).isEqualTo(ReviewStatus.PENDING);
+        assertThat(review.getHeadSha()).isEqualTo("bbbbbbbbbb");
+    }
+
+    @Test
+    void createSupersedingReview_reviewCompletedElsewhere_isLeftAlone() {
+        PullRequest pr = new PullRequest();
+        pr.setId(1L);
+        pr.setHeadSha("bbbbbbbbbb");
+
+        Review finished = new Review();
+        finished.setId(5L);
+        finished.setStatus(ReviewStatus.IN_PROGRESS);
+        finished.setHeadSha("aaaaaaaaaa");
+        CancellationToken token = cancellationRegistry.register(5L);
+
+        when(pullRequestRepository.findById(1L)).thenReturn(Optional.of(pr));
+        when(reviewRepository.findByPullRequestIdAndStatusIn(eq(1L), anyList())).thenReturn(List.of(finished));
+        // Outro nó concluiu o review entre a leitura e o UPDATE condicional
+        when(reviewRepository.updateStatusIfIn(eq(5L), eq(ReviewStatus.SUPERSEDED), anyList())).thenReturn(0);
+        when(reviewRepository.save(any(Review.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        orchestrator.createSupersedingReview(1L, true, true, false);
+
+        assertThat(finished.getStatus()).isEqualTo(ReviewStatus.IN_PROGRESS);
+        assertThat(token.isCancelled()).isFalse();
+        verify(reviewRepository, never()).save(finished);
+    }
+
+    @Test
+    void createSupersedingReview_sameHeadInProgress_shouldThrow() {
+        PullRequest pr = new PullRequest();
+        pr.setId(1L);
+        pr.setHeadSha("bbbbbbbbbb");
+
+        Review active = new Review();
+        active.setId(5L);
+        active.setStatus(ReviewStatus.IN_PROGRESS);
+        active.setHeadSha("bbbbbbbbbb");
+
+        when(pullRequestRepository.findById(1L)).thenReturn(Optional.of(pr));
+        when(reviewRepository.findByPullRequestIdAndStatusIn(eq(1L), anyList())).thenReturn(List.of(active));
+
+        assertThatThrownBy(() -> orchestrator.createSupersedingReview(1L, true, true, false))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(active.getStatus()).isEqualTo(ReviewStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void startReview_supersededWhileQueued_shouldSkip() {
+        Review review = new Review();
+        review.setId(1L);
+        review.setStatus(ReviewStatus.SUPERSEDED);
+
+        when(reviewRepository.findById(1L)).thenReturn(Optional.of(review));
+
+        orchestrator.startReview(1L);
+
+        assertThat(cancellationRegistry.inFlight()).isZero();
+        verify(reviewRepository, never()).save(any());
+        verifyNoInteractions(gitHubService, sastAnalysisService, llmReviewService);
+    }
+
+    @Test
+    void runReview_cancelledWhileLoading_isSuperseded() {
+        Review review = reviewForPullRequest();
+        // O cancelamento chega entre o registro do token e a leitura do review
+        when(reviewRepository.findById(1L)).thenAnswer(inv -> {
+            cancellationRegistry.cancel(1L, "Superseded by push bbbbbbb");
+            return Optional.of(review);
+        });
+        when(reviewRepository.updateStatusIfIn(eq(1L), eq(ReviewStatus.IN_PROGRESS), anyList())).thenReturn(1);
+        when(gitHubService.fetchPullRequestDiffsAtHead(review.getPullRequest().getProject(), 7))
+                .thenReturn(new GitHubService.PullRequestDiffs("aaaaaaa", List.of()));
+        when(reviewRepository.updateStatusIfIn(eq(1L), eq(ReviewStatus.SUPERSEDED), anyList())).thenReturn(1);
+
+        ReviewStatus status = orchestrator.runReview(1L, false);
+
+        assertThat(status).isEqualTo(ReviewStatus.SUPERSEDED);
+        assertThat(cancellationRegistry.inFlight()).isZero();
+        verifyNoInteractions(sastAnalysisService, llmReviewService, postingService);
+    }
+
+    @Test
+    void supersededEventFromAnotherNode_cancelsLocalToken() {
+        CancellationToken token = cancellationRegistry.register(5L);
+
+        cancellationRegistry.onReviewEvent(new ReviewEvent(5L, ReviewEvent.FAILED,
+                Map.of("status", "SUPERSEDED", "message", "Superseded by push bbbbbbb"), "other-node"));
+        cancellationRegistry.onReviewEvent(new ReviewEvent(6L, ReviewEvent.FAILED,
+                Map.of("status", "SUPERSEDED"), "other-node"));
+
+        assertThat(token.isCancelled()).isTrue();
+        assertThat(token.getReason()).contains("bbbbbbb");
+    }
+
+    @Test
+    void runReview_supersededOnAnotherNode_discardsResultsBeforePosting() {
+        Review review = reviewForPullRequest();
+        review.setSastEnabled(true);
+        review.setLlmEnabled(true);
+        when(reviewRepository.findById(1L)).thenReturn(Optional.of(review));
+        when(gitHubService.fetchPullRequestDiffsAtHead(review.getPullRequest().getProject(), 7))
+                .thenReturn(new GitHubService.PullRequestDiffs("aaaaaaa", List.of()));
+        // O cancelamento local não chegou: só o banco sabe da substituição
+        when(reviewRepository.updateStatusIfIn(eq(1L), eq(ReviewStatus.IN_PROGRESS), anyList())).thenReturn(1, 0);
+        when(reviewRepository.findStatusById(1L)).thenReturn(Optional.of(ReviewStatus.SUPERSEDED));
+
+        ReviewStatus status = orchestrator.runReview(1L, false);
+
+        assertThat(status).isEqualTo(ReviewStatus.SUPERSEDED);
+        assertThat(cancellationRegistry.inFlight()).isZero();
+        verify(issueRepository, never()).save(any());
+        verifyNoInteractions(postingService, attestationService);
+        verify(pullRequestRepository, never()).advanceLastReviewedSha(any(), any());
+    }
+
+    @Test
+    void runReview_failureBeforePersisting_returnsReviewToPendingForRetry() {
+        Review review = reviewForPullRequest();
+        when(reviewRepository.findById(1L)).thenReturn(Optional.of(review));
+        when(gitHubService.fetchPullRequestDiffsAtHead(review.getPullRequest().getProject(), 7))
+                .thenThrow(new RuntimeException("GitHub 502"));
+        when(reviewRepository.updateStatusIfIn(eq(1L), eq(ReviewStatus.IN_PROGRESS), anyList())).thenReturn(1);
+        when(reviewRepository.updateStatusIfIn(eq(1L), eq(ReviewStatus.PENDING), anyList())).thenReturn(1);
+
+        ReviewStatus status = orchestrator.runReview(1L, false);
+
+        assertThat(status).isEqualTo(ReviewStatus.PENDING);
+        assertThat(review.getStatus()).isEqualTo(ReviewStatus.PENDING);
+        assertThat(review.getErrorMessage()).isEqualTo("GitHub 502");
+        assertThat(cancellationRegistry.inFlight()).isZero();
+        verify(reviewEventBus).progress(review, "retrying", 0);
+        // Início e volta para PENDING em transações curtas, sem nenhuma aberta durante as análises
+        verify(transactionManager, never()).rollback(any());
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    void runReview_failureOnLastAttempt_marksReviewFailed() {
+        Review review = reviewForPullRequest();
+        when(reviewRepository.findById(1L)).thenReturn(Optional.of(review));
+        when(gitHubService.fetchPullRequestDiffsAtHead(review.getPullRequest().getProject(), 7))
+                .thenThrow(new RuntimeException("GitHub 502"));
+        when(reviewRepository.updateStatusIfIn(eq(1L), eq(ReviewStatus.IN_PROGRESS), anyList())).thenReturn(1);
+        when(reviewRepository.updateStatusIfIn(eq(1L), eq(ReviewStatus.FAILED), anyList())).thenReturn(1);
+
+        ReviewStatus status = orchestrator.runReview(1L, true);
+
+        assertThat(status).isEqualTo(ReviewStatus.FAILED);
+        verify(reviewEventBus, never()).progress(any(), eq("retrying"), anyInt());
+    }
+
     @Test
     void createReview_pullRequestNotFound_shouldThrow() {
         when(pullRequestRepository.findById(999L)).thenReturn(Optional.empty());
@@ -145,6 +332,7 @@ class ReviewOrchestratorTest {
 
         assertThat(review.getStatus()).isEqualTo(ReviewStatus.CANCELLED);
         verify(reviewRepository).save(review);
+        verify(reviewEventBus).statusChanged(review);
     }
 
     @Test
@@ -162,4 +350,21 @@ class ReviewOrchestratorTest {
         assertThat(stats.get().totalIssues()).isEqualTo(0);
         assertThat(stats.get().status()).isEqualTo(ReviewStatus.COMPLETED);
     }
+
+    private static Review reviewForPullRequest() {
+        Project project = new Project();
+        project.setId(1L);
+
+        PullRequest pr = new PullRequest();
+        pr.setId(1L);
+        pr.setPrNumber(7);
+        pr.setProject(project);
+        pr.setPlatform(Platform.GITHUB);
+
+        Review review = new Review();
+        review.setId(1L);
+        review.setStatus(ReviewStatus.PENDING);
+        review.setPullRequest(pr);
+        return review;
+    }
 }
@@ -0,0 +1,162 @@
+package com.pullwise.api.application.service.review;
+
+import com.pullwise.api.AbstractIntegrationTest;
+import com.pullwise.api.application.service.attestation.AttestationService;
+import com.pullwise.api.application.service.billing.RateLimitingService;
+import com.pullwise.api.application.service.config.ConfigurationResolver;
+import com.pullwise.api.application.service.integration.AzureDevOpsService;
+import com.pullwise.api.application.service.integration.BitBucketService;
+import com.pullwise.api.application.service.integration.GitHubService;
+import com.pullwise.api.application.service.integration.GitLabService;
+import com.pullwise.api.application.service.notification.NotificationService;
+import com.pullwise.api.domain.enums.PlanType;
+import com.pullwise.api.domain.enums.Platform;
+import com.pullwise.api.domain.enums.ReviewStatus;
+import com.pullwise.api.domain.model.Organization;
+import com.pullwise.api.domain.model.Project;
+import com.pullwise.api.domain.model.PullRequest;
+import com.pullwise.api.domain.model.Review;
+import com.pullwise.api.domain.repository.IssueRepository;
+import com.pullwise.api.domain.repository.OrganizationRepository;
+import com.pullwise.api.domain.repository.ProjectRepository;
+import com.pullwise.api.domain.repository.PullRequestRepository;
+import com.pullwise.api.domain.repository.ReviewRepository;
+import com.pullwise.api.domain.repository.UsageRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Substituição de um review em andamento com transações reais (Postgres via
+ * Testcontainers): o review roda numa thread, a substituição noutra, cada uma
+ * com suas transações. A substituição não pode esperar o review terminar — a
+ * linha do review não fica travada durante as análises — e deve cancelá-lo.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReviewSupersedeIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired private OrganizationRepository organizationRepository;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private PullRequestRepository pullRequestRepository;
+    @Autowired private ReviewRepository reviewRepository;
+    @Autowired private IssueRepository issueRepository;
+    @Autowired private UsageRecordRepository usageRecordRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private final GitHubService gitHubService = mock(GitHubService.class);
+    private final PostingService postingService = mock(PostingService.class);
+    private final ReviewCancellationRegistry cancellationRegistry = new ReviewCancellationRegistry();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private ReviewOrchestrator orchestrator;
+    private TransactionTemplate transactionTemplate;
+    private Project project;
+    private PullRequest pr;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        orchestrator = new ReviewOrchestrator(
+                reviewRepository, issueRepository, pullRequestRepository,
+                mock(SastAnalysisService.class), mock(LLMReviewService.class), mock(ConsolidationService.class),
+                postingService, gitHubService, mock(BitBucketService.class),
+                mock(GitLabService.class), mock(AzureDevOpsService.class), usageRecordRepository,
+                mock(RateLimitingService.class), mock(NotificationService.class),
+                mock(ConfigurationResolver.class), mock(RiskAssessmentService.class),
+                mock(CoverageTrackingService.class), mock(AttestationService.class),
+                mock(IncrementalReviewPlanner.class), cancellationRegistry, mock(ReviewEventBus.class),
+                transactionTemplate);
+
+        Organization org = organizationRepository.save(Organization.builder()
+                .name("test-org-" + System.nanoTime())
+                .planType(PlanType.FREE)
+                .build());
+        project = projectRepository.save(Project.builder()
+                .name("test-project")
+                .organization(org)
+                .platform(Platform.GITHUB)
+                .repositoryUrl("https://github.com/test/project")
+                .build());
+        pr = pullRequestRepository.save(PullRequest.builder()
+                .project(project)
+                .platform(Platform.GITHUB)
+                .prId(1007L)
+                .prNumber(7)
+                .title("Supersede test")
+                .sourceBranch("feature")
+                .targetBranch("main")
+                .headSha("aaaaaaa")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        reviewRepository.deleteAll(reviewRepository.findByPullRequestIdAndStatusIn(
+                pr.getId(), List.of(ReviewStatus.values())));
+        pullRequestRepository.delete(pr);
+        projectRepository.delete(project);
+        organizationRepository.delete(project.getOrganization());
+    }
+
+    @Test
+    @DisplayName("Push novo cancela o review em andamento sem esperar a linha do review")
+    void createSupersedingReview_cancelsRunningReviewWithoutWaitingForIt() throws Exception {
+        Review running = reviewRepository.save(Review.builder()
+                .pullRequest(pr)
+                .headSha("aaaaaaa")
+                .sastEnabled(false)
+                .llmEnabled(false)
+                .build());
+
+        // O review fica "analisando" (buscando diffs) até o teste liberar
+        CountDownLatch analyzing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(gitHubService.fetchPullRequestDiffsAtHead(any(), anyInt())).thenAnswer(inv -> {
+            analyzing.countDown();
+            release.await(30, TimeUnit.SECONDS);
+            return new GitHubService.PullRequestDiffs("aaaaaaa", List.of());
+        });
+        Future<ReviewStatus> review = executor.submit(() -> orchestrator.runReview(running.getId(), true));
+        assertThat(analyzing.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(reviewRepository.findStatusById(running.getId())).contains(ReviewStatus.IN_PROGRESS);
+
+        // Novo push, noutra transação: não pode bloquear no UPDATE condicional
+        pr.setHeadSha("bbbbbbb");
+        pullRequestRepository.save(pr);
+        Review superseding = CompletableFuture
+                .supplyAsync(() -> transactionTemplate.execute(tx ->
+                        orchestrator.createSupersedingReview(pr.getId(), false, false, false)))
+                .get(10, TimeUnit.SECONDS);
+
+        assertThat(superseding.getStatus()).isEqualTo(ReviewStatus.PENDING);
+        assertThat(reviewRepository.findStatusById(running.getId())).contains(ReviewStatus.SUPERSEDED);
+
+        release.countDown();
+        assertThat(review.get(30, TimeUnit.SECONDS)).isEqualTo(ReviewStatus.SUPERSEDED);
+        assertThat(reviewRepository.findStatusById(running.getId())).contains(ReviewStatus.SUPERSEDED);
+        assertThat(cancellationRegistry.inFlight()).isZero();
+        verifyNoInteractions(postingService);
+    }
+}
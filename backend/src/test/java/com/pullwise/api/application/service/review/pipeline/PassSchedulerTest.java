@@ -0,0 +1,191 @@
+package com.pullwise.api.application.service.review.pipeline;
+
+import com.pullwise.api.application.service.review.CancellationToken;
+import com.pullwise.api.application.service.review.pipeline.MultiPassReviewOrchestrator.PassResult;
+import com.pullwise.api.application.service.review.pipeline.MultiPassReviewOrchestrator.PassSpan;
+import com.pullwise.api.application.service.review.pipeline.MultiPassReviewOrchestrator.ReviewResult;
+import com.pullwise.api.application.service.review.pipeline.PassScheduler.PassNode;
+import com.pullwise.api.application.service.review.pipeline.PassScheduler.PassOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PassSchedulerTest {
+
+    private ExecutorService executor;
+    private PassScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        scheduler = new PassScheduler(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void siblingPasses_runConcurrentlyAfterSharedInput() {
+        // llm e security só terminam se estiverem rodando ao mesmo tempo
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        PassScheduler.PassTask waitForSibling = inputs -> {
+            bothStarted.countDown();
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(inputs).containsKey("sast");
+            return named("sibling");
+        };
+
+        Map<String, PassOutcome> outcomes = scheduler.run(List.of(
+                node("llm", Set.of("sast"), null, waitForSibling),
+                node("security", Set.of("sast"), null, waitForSibling),
+                node("sast", Set.of(), null, inputs -> named("sast"))
+        ));
+
+        assertThat(outcomes.keySet()).containsExactly("sast", "llm", "security");
+        assertThat(outcomes.values()).allMatch(o -> o.span().status() == PassSpan.Status.COMPLETED);
+        assertThat(outcomes.get("llm").span().startedAt())
+                .isAfterOrEqualTo(outcomes.get("sast").span().endedAt());
+    }
+
+    @Test
+    void timedOutPass_usesFallbackAndDependentsStillRun() {
+        Map<String, PassOutcome> outcomes = scheduler.run(List.of(
+                node("slow", Set.of(), Duration.ofMillis(50), inputs -> {
+                    Thread.sleep(2_000);
+                    return named("slow");
+                }),
+                node("next", Set.of("slow"), null, inputs -> {
+                    assertThat(inputs.get("slow").isSuccess()).isFalse();
+                    return named("next");
+                })
+        ));
+
+        assertThat(outcomes.get("slow").span().status()).isEqualTo(PassSpan.Status.TIMED_OUT);
+        assertThat(outcomes.get("slow").result().getErrorMessage()).isEqualTo("fallback");
+        assertThat(outcomes.get("next").span().status()).isEqualTo(PassSpan.Status.COMPLETED);
+    }
+
+    @Test
+    void timedOutPass_isInterrupted() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        scheduler.run(List.of(
+                node("stuck", Set.of(), Duration.ofMillis(50), inputs -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                    return named("stuck");
+                })
+        ));
+
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void cancelledToken_interruptsRunningPassAndSkipsDependents() {
+        CancellationToken token = new CancellationToken();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean dependentRan = new AtomicBoolean();
+        executor.execute(() -> {
+            try {
+                started.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                return;
+            }
+            token.cancel("superseded");
+        });
+
+        Map<String, PassOutcome> outcomes;
+        try (CancellationToken.Scope ignored = token.bind()) {
+            outcomes = scheduler.run(List.of(
+                    node("slow", Set.of(), null, inputs -> {
+                        started.countDown();
+                        Thread.sleep(10_000);
+                        return named("slow");
+                    }),
+                    node("next", Set.of("slow"), null, inputs -> {
+                        dependentRan.set(true);
+                        return named("next");
+                    })
+            ));
+        }
+
+        assertThat(outcomes.get("slow").span().status()).isEqualTo(PassSpan.Status.FAILED);
+        assertThat(outcomes.get("next").span().status()).isEqualTo(PassSpan.Status.FAILED);
+        assertThat(dependentRan).isFalse();
+    }
+
+    @Test
+    void failingPass_isRecordedAsFailed() {
+        Map<String, PassOutcome> outcomes = scheduler.run(List.of(
+                node("broken", Set.of(), null, inputs -> {
+                    throw new IllegalStateException("boom");
+                })
+        ));
+
+        PassOutcome outcome = outcomes.get("broken");
+        assertThat(outcome.span().status()).isEqualTo(PassSpan.Status.FAILED);
+        assertThat(outcome.span().error()).isEqualTo("boom");
+        assertThat(outcome.result().isSuccess()).isFalse();
+    }
+
+    @Test
+    void cycle_isRejected() {
+        assertThatThrownBy(() -> scheduler.run(List.of(
+                node("a", Set.of("b"), null, inputs -> named("a")),
+                node("b", Set.of("a"), null, inputs -> named("b"))
+        ))).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("cycle");
+    }
+
+    @Test
+    void unknownInput_isRejected() {
+        assertThatThrownBy(() -> scheduler.run(List.of(
+                node("a", Set.of("missing"), null, inputs -> named("a"))
+        ))).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("missing");
+    }
+
+    @Test
+    void criticalPath_followsLatestFinishingInput() {
+        Map<String, PassOutcome> outcomes = scheduler.run(List.of(
+                node("sast", Set.of(), null, inputs -> named("sast")),
+                node("llm", Set.of("sast"), null, inputs -> {
+                    Thread.sleep(100);
+                    return named("llm");
+                }),
+                node("impact", Set.of(), null, inputs -> named("impact"))
+        ));
+
+        ReviewResult result = new ReviewResult();
+        result.setPassSpans(outcomes.values().stream().map(PassOutcome::span).toList());
+
+        assertThat(result.getCriticalPath()).containsExactly("sast", "llm");
+    }
+
+    private static PassNode node(String id, Set<String> inputs, Duration timeout, PassScheduler.PassTask task) {
+        return new PassNode(id, inputs, timeout, task, e -> PassResult.empty("fallback"));
+    }
+
+    private static PassResult named(String name) {
+        PassResult result = new PassResult();
+        result.setPassName(name);
+        return result;
+    }
+}
@@ -0,0 +1,38 @@
+package com.pullwise.api.application.service.review.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptPackerTest {
+
+    @Test
+    void firstFit_keepsInputOrderWithinBatches() {
+        List<List<Integer>> batches = PromptPacker.pack(List.of(60, 50, 30, 10), Integer::intValue, 100, 10);
+
+        assertThat(batches).containsExactly(List.of(60, 30, 10), List.of(50));
+    }
+
+    @Test
+    void itemOverBudget_goesAlone() {
+        List<List<Integer>> batches = PromptPacker.pack(List.of(10, 500, 10), Integer::intValue, 100, 10);
+
+        assertThat(batches).containsExactly(List.of(10, 10), List.of(500));
+    }
+
+    @Test
+    void maxItems_capsBatchSize() {
+        List<List<Integer>> batches = PromptPacker.pack(List.of(1, 1, 1, 1, 1), Integer::intValue, 100, 2);
+
+        assertThat(batches).containsExactly(List.of(1, 1), List.of(1, 1), List.of(1));
+    }
+
+    @Test
+    void nonPositiveBudget_disablesPacking() {
+        List<List<Integer>> batches = PromptPacker.pack(List.of(1, 2), Integer::intValue, 0, 10);
+
+        assertThat(batches).containsExactly(List.of(1), List.of(2));
+    }
+}
@@ -0,0 +1,67 @@
+package com.pullwise.api.application.service.review.pipeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingIssueParserTest {
+
+    private final List<JsonNode> issues = new ArrayList<>();
+    private final StreamingIssueParser parser = new StreamingIssueParser(new ObjectMapper(), issues::add);
+
+    @Test
+    void emitsEachIssueAsSoonAsItsObjectCloses() {
+        parser.accept("```json\n{\"summary\": \"ok\", \"iss");
+        parser.accept("ues\": [ {\"title\": \"A\", \"line");
+        assertThat(issues).isEmpty();
+
+        parser.accept("\": 3}, {\"title\": \"B\"");
+        assertThat(issues).extracting(n -> n.get("title").asText()).containsExactly("A");
+
+        parser.accept(", \"line\": 9} ]}\n```");
+        assertThat(issues).extracting(n -> n.get("title").asText()).containsExactly("A", "B");
+        assertThat(parser.emitted()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresBracesAndEscapedQuotesInsideStrings() {
+        parser.accept("{\"issues\": [{\"title\": \"Use \\\"}\\\" carefully\", \"fixedCode\": \"if (x) { y[0]; }\"}]}");
+
+        assertThat(issues).hasSize(1);
+        assertThat(issues.get(0).get("title").asText()).isEqualTo("Use \"}\" carefully");
+        assertThat(issues.get(0).get("fixedCode").asText()).isEqualTo("if (x) { y[0]; }");
+    }
+
+    @Test
+    void stopsAtTheEndOfTheIssuesArray() {
+        parser.accept("{\"issues\": [{\"title\": \"A\"}], \"extra\": [{\"title\": \"not an issue\"}]}");
+
+        assertThat(issues).extracting(n -> n.get("title").asText()).containsExactly("A");
+    }
+
+    @Test
+    void skipsIssuesKeyThatIsNotFollowedByAnArray() {
+        parser.accept("{\"summary\": \"no \\\"issues\\\" found\", \"issues\": []}");
+        parser.accept("{\"title\": \"after\"}");
+
+        assertThat(issues).isEmpty();
+    }
+
+    @Test
+    void handlerFailureDoesNotBreakTheStream() {
+        List<String> titles = new ArrayList<>();
+        StreamingIssueParser failing = new StreamingIssueParser(new ObjectMapper(), node -> {
+            titles.add(node.get("title").asText());
+            throw new IllegalStateException("boom");
+        });
+
+        failing.accept("{\"issues\": [{\"title\": \"A\"}, {\"title\": \"B\"}]}");
+
+        assertThat(titles).containsExactly("A", "B");
+    }
+}
@@ -1,5 +1,6 @@
 package com.pullwise.api.application.service.review.pipeline.pass;
 
+import com.pullwise.api.application.service.graph.blast.BlastDirection;
 import com.pullwise.api.application.service.graph.blast.BlastRadiusOptions;
 import com.pullwise.api.application.service.graph.blast.BlastRadiusResult;
 import com.pullwise.api.application.service.graph.blast.BlastRadiusService;
@@ -24,6 +25,7 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -76,6 +78,17 @@ class CodeGraphImpactPassTest {
         assertThat(result.getMetadata()).containsKey(CodeGraphImpactPass.METADATA_BLAST_RADIUS);
     }
 
+    @Test
+    void analysesCallersOfChangedCode() {
+        when(blastRadiusService.computeBlastRadius(eq(7L), anyList(), any(BlastRadiusOptions.class)))
+                .thenReturn(blast(0.30, "/src/B.java"));
+
+        pass.execute(pullRequest, review, null, null, List.of(diff("/src/A.java")));
+
+        verify(blastRadiusService).computeBlastRadius(eq(7L), eq(List.of("/src/A.java")),
+                argThat(opts -> opts.direction() == BlastDirection.UPSTREAM));
+    }
+
     @Test
     void highRiskNodes_createsAggregatedIssue() {
         when(blastRadiusService.computeBlastRadius(eq(7L), anyList(), any(BlastRadiusOptions.class)))
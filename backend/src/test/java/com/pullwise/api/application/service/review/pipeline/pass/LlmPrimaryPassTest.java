@@ -0,0 +1,204 @@
+package com.pullwise.api.application.service.review.pipeline.pass;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pullwise.api.application.service.config.ConfigurationResolver;
+import com.pullwise.api.application.service.integration.GitHubService;
+import com.pullwise.api.application.service.llm.router.MultiModelLLMRouter;
+import com.pullwise.api.application.service.llm.router.MultiModelLLMRouter.LLMResponse;
+import com.pullwise.api.application.service.review.IssueDetectedEvent;
+import com.pullwise.api.application.service.review.pipeline.MultiPassReviewOrchestrator.PassResult;
+import com.pullwise.api.application.service.review.pipeline.rules.ReviewRuleResolver;
+import com.pullwise.api.domain.constants.ConfigKeys;
+import com.pullwise.api.domain.enums.LLMProvider;
+import com.pullwise.api.domain.enums.ReviewTaskType;
+import com.pullwise.api.domain.model.Issue;
+import com.pullwise.api.domain.model.Project;
+import com.pullwise.api.domain.model.PullRequest;
+import com.pullwise.api.domain.model.Review;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LlmPrimaryPassTest {
+
+    @Mock private MultiModelLLMRouter llmRouter;
+    @Mock private ConfigurationResolver configurationResolver;
+    @Mock private ReviewRuleResolver ruleResolver;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private ExecutorService executor;
+    private LlmPrimaryPass pass;
+    private PullRequest pullRequest;
+    private Review review;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        pass = new LlmPrimaryPass(llmRouter, new ObjectMapper(), configurationResolver,
+                ruleResolver, new SimpleMeterRegistry(), eventPublisher, executor);
+        pass.registerMetrics();
+
+        Project project = Project.builder().id(7L).name("repo").build();
+        pullRequest = PullRequest.builder().id(1L).prNumber(42).project(project).build();
+        review = Review.builder().id(1L).pullRequest(pullRequest).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelMode_mergesIssuesInDiffOrderRegardlessOfCompletionOrder() {
+        when(configurationResolver.getConfig(anyLong(), eq(ConfigKeys.REVIEW_LLM_PARALLELISM))).thenReturn("3");
+        // O primeiro arquivo é o mais lento: termina por último.
+        when(llmRouter.execute(eq(ReviewTaskType.BUG_DETECTION), anyString(), anyString()))
+                .thenAnswer(inv -> {
+                    String prompt = inv.getArgument(2);
+                    String file = prompt.contains("A.java") ? "A" : prompt.contains("B.java") ? "B" : "C";
+                    Thread.sleep(file.equals("A") ? 200 : file.equals("B") ? 100 : 0);
+                    return response("{\"issues\":[{\"title\":\"" + file + "\",\"line\":1}]}");
+                });
+
+        PassResult result = pass.execute(pullRequest, review, null,
+                List.of(diff("A.java"), diff("B.java"), diff("C.java")));
+
+        assertThat(result.getIssues()).extracting(Issue::getTitle).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    void parallelMode_neverExceedsProjectParallelism() {
+        when(configurationResolver.getConfig(anyLong(), eq(ConfigKeys.REVIEW_LLM_PARALLELISM))).thenReturn("2");
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(llmRouter.execute(eq(ReviewTaskType.BUG_DETECTION), anyString(), anyString()))
+                .thenAnswer(inv -> {
+                    peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    Thread.sleep(50);
+                    active.decrementAndGet();
+                    return response("{\"issues\":[]}");
+                });
+
+        pass.execute(pullRequest, review, null,
+                List.of(diff("A.java"), diff("B.java"), diff("C.java"), diff("D.java"), diff("E.java")));
+
+        assertThat(peak.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void failingFile_doesNotDropOtherFiles() {
+        when(configurationResolver.getConfig(anyLong(), eq(ConfigKeys.REVIEW_LLM_PARALLELISM))).thenReturn("4");
+        when(llmRouter.execute(eq(ReviewTaskType.BUG_DETECTION), anyString(), anyString()))
+                .thenAnswer(inv -> {
+                    String prompt = inv.getArgument(2);
+                    if (prompt.contains("A.java")) {
+                        throw new IllegalStateException("provider down");
+                    }
+                    return response("{\"issues\":[{\"title\":\"B\",\"line\":1}]}");
+                });
+
+        PassResult result = pass.execute(pullRequest, review, null,
+                List.of(diff("A.java"), diff("B.java")));
+
+        assertThat(result.getIssues()).extracting(Issue::getTitle).containsExactly("B");
+    }
+
+    @Test
+    void batching_packsSmallFilesIntoOneRequestAndSplitsIssuesByFile() {
+        when(configurationResolver.getConfig(anyLong(), eq(ConfigKeys.REVIEW_LLM_BATCHING_ENABLED))).thenReturn("true");
+        when(llmRouter.getPromptTokenBudget(ReviewTaskType.BUG_DETECTION)).thenReturn(6000);
+        when(llmRouter.execute(eq(ReviewTaskType.BUG_DETECTION), anyString(), anyString()))
+                .thenReturn(response("{\"issues\":["
+                        + "{\"title\":\"in B\",\"line\":2,\"file\":\"B.java\"},"
+                        + "{\"title\":\"in A\",\"line\":1,\"file\":\"./A.java\"},"
+                        + "{\"title\":\"ghost\",\"line\":1,\"file\":\"Z.java\"}]}"));
+
+        PassResult result = pass.execute(pullRequest, review, null,
+                List.of(diff("A.java"), diff("B.java"), diff("C.java")));
+
+        verify(llmRouter, times(1)).execute(eq(ReviewTaskType.BUG_DETECTION), anyString(), anyString());
+        assertThat(result.getIssues()).extracting(Issue::getTitle).containsExactly("in A", "in B");
+        assertThat(result.getIssues()).extracting(Issue::getFilePath).containsExactly("A.java", "B.java");
+    }
+
+    @Test
+    void batching_fallsBackToPerFileWhenResponseCannotBeSplit() {
+        when(configurationResolver.getConfig(anyLong(), eq(ConfigKeys.REVIEW_LLM_BATCHING_ENABLED))).thenReturn("true");
+        when(llmRouter.getPromptTokenBudget(ReviewTaskType.BUG_DETECTION)).thenReturn(6000);
+        when(llmRouter.execute(eq(ReviewTaskType.BUG_DETECTION), anyString(), anyString()))
+                .thenAnswer(inv -> {
+                    String prompt = inv.getArgument(2);
+                    if (prompt.contains("span 2 files")) {
+                        return response("Looks fine overall.");
+                    }
+                    String file = prompt.contains("A.java") ? "A" : "B";
+                    return response("{\"issues\":[{\"title\":\"" + file + "\",\"line\":1}]}");
+                });
+
+        PassResult result = pass.execute(pullRequest, review, null,
+                List.of(diff("A.java"), diff("B.java")));
+
+        verify(llmRouter, times(3)).execute(eq(ReviewTaskType.BUG_DETECTION), anyString(), anyString());
+        assertThat(result.getIssues()).extracting(Issue::getTitle).containsExactly("A", "B");
+    }
+
+    @Test
+    void streaming_publishesEachIssueAsSoonAsItsJsonCloses() {
+        when(configurationResolver.getConfig(anyLong(), eq(ConfigKeys.REVIEW_LLM_STREAMING_ENABLED))).thenReturn("true");
+        AtomicInteger publishedMidStream = new AtomicInteger(-1);
+        when(llmRouter.executeStreaming(eq(ReviewTaskType.BUG_DETECTION), anyString(), anyString(), any()))
+                .thenAnswer(inv -> {
+                    Consumer<String> onDelta = inv.getArgument(3);
+                    onDelta.accept("```json\n{\"issues\":[{\"title\":\"First\",\"li");
+                    onDelta.accept("ne\":3},{\"title\":\"Sec");
+                    publishedMidStream.set(mockingDetails(eventPublisher).getInvocations().size());
+                    onDelta.accept("ond\",\"line\":5}]}\n```");
+                    return response("```json\n{\"issues\":[{\"title\":\"First\",\"line\":3},"
+                            + "{\"title\":\"Second\",\"line\":5}]}\n```");
+                });
+
+        PassResult result = pass.execute(pullRequest, review, null, List.of(diff("A.java")));
+
+        ArgumentCaptor<IssueDetectedEvent> events = ArgumentCaptor.forClass(IssueDetectedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(publishedMidStream.get()).isEqualTo(1);
+        assertThat(events.getAllValues()).extracting(e -> e.issue().getTitle()).containsExactly("First", "Second");
+        assertThat(events.getAllValues()).extracting(e -> e.issue().getFilePath()).containsOnly("A.java");
+        assertThat(result.getIssues()).extracting(Issue::getTitle).containsExactly("First", "Second");
+    }
+
+    private static GitHubService.FileDiff diff(String filename) {
+        return new GitHubService.FileDiff(filename, "modified", 1, 0, "@@ -1,1 +1,2 @@\n+int x = 1;");
+    }
+
+    private static LLMResponse response(String content) {
+        return new LLMResponse(content, "test-model", LLMProvider.OPENROUTER, 1L, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,124 @@
+package com.pullwise.api.application.service.review.pipeline.pass;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pullwise.api.application.service.review.pipeline.pass.SastAggregatorPass.SastTool;
+import com.pullwise.api.application.service.review.pipeline.pass.SastAggregatorPass.ToolIssue;
+import com.pullwise.api.domain.enums.Severity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SastResultCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private SastResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(SastResultCache.CACHE_NAME);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = cache(true, 1 << 16, meterRegistry);
+    }
+
+    private SastResultCache cache(boolean enabled, int maxEntryBytes, SimpleMeterRegistry registry) {
+        return new SastResultCache(cacheManager, objectMapper, registry, enabled, Duration.ofHours(1),
+                1 << 20, maxEntryBytes);
+    }
+
+    private static ToolIssue issue(String rule) {
+        return ToolIssue.builder()
+                .filePath("src/A.java")
+                .line(3)
+                .severity(Severity.MEDIUM)
+                .title("t")
+                .rule(rule)
+                .category("style")
+                .build();
+    }
+
+    @Test
+    void key_dependsOnToolFingerprintPathAndContent() {
+        String key = SastResultCache.buildKey(SastTool.PMD, "7.0|-R q", "src/A.java", "h1");
+
+        assertThat(SastResultCache.buildKey(SastTool.PMD, "7.0|-R q", "src/A.java", "h1")).isEqualTo(key);
+        assertThat(SastResultCache.buildKey(SastTool.CHECKSTYLE, "7.0|-R q", "src/A.java", "h1")).isNotEqualTo(key);
+        assertThat(SastResultCache.buildKey(SastTool.PMD, "7.1|-R q", "src/A.java", "h1")).isNotEqualTo(key);
+        assertThat(SastResultCache.buildKey(SastTool.PMD, "7.0|-R other", "src/A.java", "h1")).isNotEqualTo(key);
+        assertThat(SastResultCache.buildKey(SastTool.PMD, "7.0|-R q", "src/B.java", "h1")).isNotEqualTo(key);
+        assertThat(SastResultCache.buildKey(SastTool.PMD, "7.0|-R q", "src/A.java", "h2")).isNotEqualTo(key);
+    }
+
+    @Test
+    void missThenHitFromLocal_returnsEqualCopies() {
+        assertThat(cache.get(SastTool.PMD, "k")).isEmpty();
+
+        cache.put(SastTool.PMD, "k", List.of(issue("r1")));
+
+        List<ToolIssue> first = cache.get(SastTool.PMD, "k").orElseThrow();
+        List<ToolIssue> second = cache.get(SastTool.PMD, "k").orElseThrow();
+        assertThat(first).containsExactly(issue("r1"));
+        assertThat(second).isEqualTo(first);
+        assertThat(second.get(0)).isNotSameAs(first.get(0));
+        assertThat(meterRegistry.counter("pullwise.sast.cache.misses", "tool", "pmd").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("pullwise.sast.cache.hits", "tool", "pmd", "level", "l1").count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("pullwise.sast.cache.hit_ratio").tag("tool", "pmd").gauge().value())
+                .isEqualTo(2.0 / 3.0);
+    }
+
+    @Test
+    void fileWithoutFindings_isCachedToo() {
+        cache.put(SastTool.RUFF, "k", List.of());
+
+        assertThat(cache.get(SastTool.RUFF, "k")).contains(List.of());
+    }
+
+    @Test
+    void sharedRemoteEntry_isServedToAnotherNode() {
+        cache.put(SastTool.ESLINT, "k", List.of(issue("no-unused-vars")));
+
+        // Outro nó: L1 vazio, mesmo L2
+        SimpleMeterRegistry otherRegistry = new SimpleMeterRegistry();
+        SastResultCache otherNode = cache(true, 1 << 16, otherRegistry);
+
+        assertThat(otherNode.get(SastTool.ESLINT, "k")).contains(List.of(issue("no-unused-vars")));
+        assertThat(otherRegistry.counter("pullwise.sast.cache.hits", "tool", "eslint", "level", "l2").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void unreadableEntry_isAMiss() {
+        cacheManager.getCache(SastResultCache.CACHE_NAME).put("k", "not json");
+
+        assertThat(cache.get(SastTool.PMD, "k")).isEmpty();
+    }
+
+    @Test
+    void oversizedResult_isNotCached() {
+        SastResultCache small = cache(true, 8, new SimpleMeterRegistry());
+
+        small.put(SastTool.PMD, "k", List.of(issue("r1")));
+
+        assertThat(small.get(SastTool.PMD, "k")).isEmpty();
+        assertThat(cacheManager.getCache(SastResultCache.CACHE_NAME).get("k")).isNull();
+    }
+
+    @Test
+    void disabled_neverHits() {
+        SastResultCache disabled = cache(false, 1 << 16, new SimpleMeterRegistry());
+
+        disabled.put(SastTool.PMD, "k", List.of(issue("r1")));
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.get(SastTool.PMD, "k")).isEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+package com.pullwise.api.application.service.review.pipeline.pass;
+
+import com.pullwise.api.application.service.integration.GitHubService;
+import com.pullwise.api.domain.enums.Platform;
+import com.pullwise.api.domain.model.Project;
+import com.pullwise.api.domain.model.PullRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SastSourceFetcherTest {
+
+    @Mock
+    private GitHubService gitHubService;
+
+    private Project project;
+    private PullRequest pullRequest;
+
+    @BeforeEach
+    void setUp() {
+        project = Project.builder()
+                .id(7L)
+                .name("repo")
+                .platform(Platform.GITHUB)
+                .repositoryUrl("https://github.com/acme/repo")
+                .build();
+        pullRequest = new PullRequest();
+        pullRequest.setProject(project);
+        pullRequest.setPrNumber(42);
+        pullRequest.setHeadSha("abc123");
+    }
+
+    private SastSourceFetcher fetcher(boolean enabled) {
+        return new SastSourceFetcher(gitHubService, Runnable::run, enabled, 1 << 20, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void fetchHead_fetchesEachBlobOnceAndSkipsFailures() {
+        when(gitHubService.fetchFileContent(project, "src/A.java", "abc123")).thenReturn("class A {}\n");
+        when(gitHubService.fetchFileContent(project, "src/B.java", "abc123")).thenReturn(null);
+        SastSourceFetcher fetcher = fetcher(true);
+
+        Map<String, String> first = fetcher.fetchHead(pullRequest, List.of("src/A.java", "src/B.java"));
+        Map<String, String> second = fetcher.fetchHead(pullRequest, List.of("src/A.java", "src/B.java"));
+
+        assertThat(first).containsExactly(entry("src/A.java", "class A {}\n"));
+        assertThat(second).isEqualTo(first);
+        verify(gitHubService, times(1)).fetchFileContent(project, "src/A.java", "abc123");
+        // Falhas não ficam no cache
+        verify(gitHubService, times(2)).fetchFileContent(project, "src/B.java", "abc123");
+    }
+
+    @Test
+    void fetchHead_disabledOrUnsupported_returnsEmpty() {
+        assertThat(fetcher(false).fetchHead(pullRequest, List.of("src/A.java"))).isEmpty();
+
+        project.setPlatform(Platform.BITBUCKET);
+        assertThat(fetcher(true).fetchHead(pullRequest, List.of("src/A.java"))).isEmpty();
+
+        project.setPlatform(Platform.GITHUB);
+        pullRequest.setHeadSha(null);
+        assertThat(fetcher(true).fetchHead(pullRequest, List.of("src/A.java"))).isEmpty();
+
+        verify(gitHubService, never()).fetchFileContent(any(), any(), any());
+    }
+}
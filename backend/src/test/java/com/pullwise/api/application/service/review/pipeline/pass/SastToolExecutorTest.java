@@ -3,20 +3,31 @@ package com.pullwise.api.application.service.review.pipeline.pass;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pullwise.api.application.service.integration.GitHubService;
 import com.pullwise.api.application.service.integration.SonarQubeService;
+import com.pullwise.api.application.service.review.pipeline.pass.worker.SastWorkerPool;
 import com.pullwise.api.domain.enums.Severity;
 import com.pullwise.api.domain.model.PullRequest;
 import com.pullwise.api.domain.model.Review;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class SastToolExecutorTest {
@@ -26,11 +37,22 @@ class SastToolExecutorTest {
     @Mock
     private SonarQubeService sonarQubeService;
 
+    @Mock
+    private SastSourceFetcher sourceFetcher;
+
+    @Mock
+    private SastWorkerPool workerPool;
+
+    @Mock
+    private SastResultCache resultCache;
+
     private ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
     void setUp() {
-        executor = new SastToolExecutor(sonarQubeService, objectMapper);
+        executor = new SastToolExecutor(sonarQubeService, objectMapper,
+                new SastWorkspaces("", new SimpleMeterRegistry()), sourceFetcher, workerPool, resultCache,
+                toolRegistry());
         ReflectionTestUtils.setField(executor, "timeoutSeconds", 30);
     }
 
@@ -125,4 +147,223 @@ class SastToolExecutorTest {
 
         assertThat(result).isEmpty();
     }
+
+    @Test
+    void prepareWorkspace_usesHeadContentWhenFetched_andPatchOtherwise() throws Exception {
+        PullRequest pr = new PullRequest();
+        when(sourceFetcher.fetchHead(any(), any())).thenReturn(Map.of("src/A.java", "class A {\n  int x;\n}\n"));
+
+        List<GitHubService.FileDiff> diffs = List.of(
+                new GitHubService.FileDiff("src/A.java", "modified", 1, 0, "@@ -1,2 +1,3 @@\n class A {\n+  int x;\n }"),
+                new GitHubService.FileDiff("src/B.java", "modified", 1, 0, "@@ -5,1 +5,2 @@\n  void b() {}\n+ void c() {}"),
+                new GitHubService.FileDiff("src/Gone.java", "removed", 0, 3, "@@ -1,3 +0,0 @@\n-class Gone {}"));
+
+        try (SastWorkspaces.Lease workspace = executor.prepareWorkspace(pr, diffs)) {
+            assertThat(workspace.isComplete("src/A.java")).isTrue();
+            assertThat(workspace.isComplete("src/B.java")).isFalse();
+            assertThat(workspace.paths(List.of("src/A.java", "src/B.java", "src/Gone.java"))).hasSize(2);
+            assertThat(Files.readString(workspace.root().resolve("src/A.java"))).isEqualTo("class A {\n  int x;\n}\n");
+            assertThat(Files.readString(workspace.root().resolve("src/B.java"))).isEqualTo(" void b() {}\n void c() {}\n");
+        }
+    }
+
+    @Test
+    void onChangedLines_keepsIssuesTouchingAddedLinesOfCompleteFiles() {
+        List<GitHubService.FileDiff> diffs = List.of(
+                new GitHubService.FileDiff("src/A.java", "modified", 2, 0, "@@ -1,2 +1,4 @@\n a\n+b\n+c\n d"),
+                new GitHubService.FileDiff("src/B.java", "modified", 1, 0, "@@ -1,1 +1,2 @@\n a\n+b"));
+        SastWorkspaces workspaces = new SastWorkspaces("", new SimpleMeterRegistry());
+
+        try (SastWorkspaces.Lease workspace = workspaces.acquire(
+                Map.of("src/A.java", "a\nb\nc\nd\n", "src/B.java", "a\nb\n"), Set.of("src/A.java"))) {
+            List<SastAggregatorPass.ToolIssue> result = executor.onChangedLines(List.of(
+                    issue("src/A.java", 1, null, "untouched"),
+                    issue("src/A.java", 2, null, "added"),
+                    issue("src/A.java", 4, null, "context"),
+                    issue("src/A.java", 1, 3, "spans-added"),
+                    issue("src/A.java", null, null, "file-level"),
+                    issue("src/B.java", 1, null, "reconstructed")), diffs, workspace);
+
+            assertThat(result).extracting(SastAggregatorPass.ToolIssue::getRule)
+                    .containsExactly("added", "spans-added", "file-level", "reconstructed");
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void execute_cachedTool_analyzesOnlyFilesWithoutCachedResults() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SastResultCache cache = new SastResultCache(new ConcurrentMapCacheManager(SastResultCache.CACHE_NAME),
+                objectMapper, meterRegistry, true, Duration.ofHours(1), 1 << 20, 1 << 16);
+        SastToolExecutor cachedExecutor = new SastToolExecutor(sonarQubeService, objectMapper,
+                new SastWorkspaces("", new SimpleMeterRegistry()), sourceFetcher, workerPool, cache, toolRegistry());
+        ReflectionTestUtils.setField(cachedExecutor, "timeoutSeconds", 30);
+        when(workerPool.handles(any())).thenAnswer(inv -> inv.getArgument(0) == SastAggregatorPass.SastTool.CHECKSTYLE);
+        when(workerPool.version(SastAggregatorPass.SastTool.CHECKSTYLE)).thenReturn(Optional.of("10.0"));
+        // Checkstyle falso: um achado em A.java, nenhum nos demais
+        when(workerPool.run(eq(SastAggregatorPass.SastTool.CHECKSTYLE), anyList(), any())).thenAnswer(inv -> {
+            StringBuilder xml = new StringBuilder("<?xml version=\"1.0\"?>\n<checkstyle version=\"10.0\">\n");
+            for (String arg : (List<String>) inv.getArgument(1)) {
+                if (!arg.endsWith(".java")) continue;
+                xml.append("<file name=\"").append(arg).append("\">\n");
+                if (arg.endsWith("A.java")) {
+                    xml.append("<error line=\"1\" severity=\"warning\" message=\"bad\" source=\"Rule\"/>\n");
+                }
+                xml.append("</file>\n");
+            }
+            return Optional.of(xml.append("</checkstyle>\n").toString());
+        });
+        PullRequest pr = new PullRequest();
+        Review review = new Review();
+        GitHubService.FileDiff a = new GitHubService.FileDiff("src/A.java", "added", 1, 0, "@@ -0,0 +1,1 @@\n+class A {}");
+        GitHubService.FileDiff b1 = new GitHubService.FileDiff("src/B.java", "added", 1, 0, "@@ -0,0 +1,1 @@\n+class B {}");
+        GitHubService.FileDiff b2 = new GitHubService.FileDiff("src/B.java", "added", 1, 0, "@@ -0,0 +1,1 @@\n+class B { }");
+
+        List<SastAggregatorPass.ToolIssue> first = cachedExecutor.execute(
+                SastAggregatorPass.SastTool.CHECKSTYLE, pr, review, List.of(a, b1));
+        List<SastAggregatorPass.ToolIssue> second = cachedExecutor.execute(
+                SastAggregatorPass.SastTool.CHECKSTYLE, pr, review, List.of(a, b2));
+        List<SastAggregatorPass.ToolIssue> third = cachedExecutor.execute(
+                SastAggregatorPass.SastTool.CHECKSTYLE, pr, review, List.of(a, b2));
+
+        assertThat(first).extracting(SastAggregatorPass.ToolIssue::getFilePath).containsExactly("src/A.java");
+        assertThat(second).isEqualTo(first);
+        assertThat(third).isEqualTo(first);
+        // 1ª: A e B; 2ª: só o B alterado; 3ª: nada
+        verify(workerPool, times(2)).run(eq(SastAggregatorPass.SastTool.CHECKSTYLE), anyList(), any());
+        verify(workerPool).run(eq(SastAggregatorPass.SastTool.CHECKSTYLE),
+                argThat((List<String> args) -> args.stream().noneMatch(arg -> arg.endsWith("A.java"))
+                        && args.stream().anyMatch(arg -> arg.endsWith("B.java"))), any());
+        assertThat(meterRegistry.get("pullwise.sast.cache.hit_ratio").tag("tool", "checkstyle").gauge().value())
+                .isEqualTo(3.0 / 6.0);
+    }
+
+    @Test
+    void execute_failedToolRun_isNotCached() throws Exception {
+        SastResultCache cache = new SastResultCache(new ConcurrentMapCacheManager(SastResultCache.CACHE_NAME),
+                objectMapper, new SimpleMeterRegistry(), true, Duration.ofHours(1), 1 << 20, 1 << 16);
+        SastToolExecutor cachedExecutor = new SastToolExecutor(sonarQubeService, objectMapper,
+                new SastWorkspaces("", new SimpleMeterRegistry()), sourceFetcher, workerPool, cache, toolRegistry());
+        ReflectionTestUtils.setField(cachedExecutor, "timeoutSeconds", 30);
+        when(workerPool.handles(any())).thenAnswer(inv -> inv.getArgument(0) == SastAggregatorPass.SastTool.CHECKSTYLE);
+        when(workerPool.version(SastAggregatorPass.SastTool.CHECKSTYLE)).thenReturn(Optional.of("10.0"));
+        when(workerPool.run(eq(SastAggregatorPass.SastTool.CHECKSTYLE), anyList(), any()))
+                .thenReturn(Optional.of("Checkstyle ends with 1 errors: unable to parse configuration"));
+        List<GitHubService.FileDiff> diffs = List.of(
+                new GitHubService.FileDiff("src/A.java", "added", 1, 0, "@@ -0,0 +1,1 @@\n+class A {}"));
+
+        assertThat(cachedExecutor.execute(SastAggregatorPass.SastTool.CHECKSTYLE, new PullRequest(), new Review(), diffs))
+                .isEmpty();
+        cachedExecutor.execute(SastAggregatorPass.SastTool.CHECKSTYLE, new PullRequest(), new Review(), diffs);
+
+        verify(workerPool, times(2)).run(eq(SastAggregatorPass.SastTool.CHECKSTYLE), anyList(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void execute_cachedTool_attributesFindingsByPathInTheWorkspace() throws Exception {
+        SastToolExecutor cachedExecutor = cachedExecutor();
+        // Checkstyle falso: reporta caminhos absolutos; um achado só em b/Foo.java
+        when(workerPool.run(eq(SastAggregatorPass.SastTool.CHECKSTYLE), anyList(), any())).thenAnswer(inv ->
+                Optional.of(checkstyleXml((List<String>) inv.getArgument(1), "/b/Foo.java")));
+        List<GitHubService.FileDiff> diffs = List.of(
+                new GitHubService.FileDiff("src/a/Foo.java", "added", 1, 0, "@@ -0,0 +1,1 @@\n+class Foo {}"),
+                new GitHubService.FileDiff("src/b/Foo.java", "added", 1, 0, "@@ -0,0 +1,1 @@\n+class Foo { }"));
+
+        List<SastAggregatorPass.ToolIssue> first = cachedExecutor.execute(
+                SastAggregatorPass.SastTool.CHECKSTYLE, new PullRequest(), new Review(), diffs);
+        List<SastAggregatorPass.ToolIssue> second = cachedExecutor.execute(
+                SastAggregatorPass.SastTool.CHECKSTYLE, new PullRequest(), new Review(), diffs);
+
+        assertThat(first).extracting(SastAggregatorPass.ToolIssue::getFilePath).containsExactly("src/b/Foo.java");
+        assertThat(second).isEqualTo(first);
+        verify(workerPool, times(1)).run(eq(SastAggregatorPass.SastTool.CHECKSTYLE), anyList(), any());
+    }
+
+    @Test
+    void execute_cachedTool_findingWithAmbiguousPathIsNotCached() throws Exception {
+        SastToolExecutor cachedExecutor = cachedExecutor();
+        when(workerPool.run(eq(SastAggregatorPass.SastTool.CHECKSTYLE), anyList(), any())).thenReturn(Optional.of(
+                checkstyleXml(List.of("Foo.java"), "Foo.java")));
+        List<GitHubService.FileDiff> diffs = List.of(
+                new GitHubService.FileDiff("src/a/Foo.java", "added", 1, 0, "@@ -0,0 +1,1 @@\n+class Foo {}"),
+                new GitHubService.FileDiff("src/b/Foo.java", "added", 1, 0, "@@ -0,0 +1,1 @@\n+class Foo { }"));
+
+        List<SastAggregatorPass.ToolIssue> first = cachedExecutor.execute(
+                SastAggregatorPass.SastTool.CHECKSTYLE, new PullRequest(), new Review(), diffs);
+        cachedExecutor.execute(SastAggregatorPass.SastTool.CHECKSTYLE, new PullRequest(), new Review(), diffs);
+
+        assertThat(first).extracting(SastAggregatorPass.ToolIssue::getFilePath).containsExactly("Foo.java");
+        verify(workerPool, times(2)).run(eq(SastAggregatorPass.SastTool.CHECKSTYLE), anyList(), any());
+    }
+
+    @Test
+    void execute_cachedToolThatDidNotRun_isNotCached() {
+        SastToolRegistry registry = mock(SastToolRegistry.class);
+        when(registry.version(SastAggregatorPass.SastTool.CHECKSTYLE)).thenReturn(Optional.of("10.0"));
+        when(registry.isAvailable(SastAggregatorPass.SastTool.CHECKSTYLE)).thenReturn(false);
+        when(resultCache.isEnabled()).thenReturn(true);
+        when(resultCache.get(any(), any())).thenReturn(Optional.empty());
+        SastToolExecutor cachedExecutor = new SastToolExecutor(sonarQubeService, objectMapper,
+                new SastWorkspaces("", new SimpleMeterRegistry()), sourceFetcher, workerPool, resultCache, registry);
+        List<GitHubService.FileDiff> diffs = List.of(
+                new GitHubService.FileDiff("src/A.java", "added", 1, 0, "@@ -0,0 +1,1 @@\n+class A {}"));
+
+        assertThat(cachedExecutor.execute(SastAggregatorPass.SastTool.CHECKSTYLE, new PullRequest(), new Review(), diffs))
+                .isEmpty();
+
+        verify(resultCache, never()).put(any(), any(), anyList());
+    }
+
+    private SastToolExecutor cachedExecutor() {
+        SastResultCache cache = new SastResultCache(new ConcurrentMapCacheManager(SastResultCache.CACHE_NAME),
+                objectMapper, new SimpleMeterRegistry(), true, Duration.ofHours(1), 1 << 20, 1 << 16);
+        SastToolExecutor cachedExecutor = new SastToolExecutor(sonarQubeService, objectMapper,
+                new SastWorkspaces("", new SimpleMeterRegistry()), sourceFetcher, workerPool, cache, toolRegistry());
+        ReflectionTestUtils.setField(cachedExecutor, "timeoutSeconds", 30);
+        when(workerPool.handles(any())).thenAnswer(inv -> inv.getArgument(0) == SastAggregatorPass.SastTool.CHECKSTYLE);
+        when(workerPool.version(SastAggregatorPass.SastTool.CHECKSTYLE)).thenReturn(Optional.of("10.0"));
+        return cachedExecutor;
+    }
+
+    /** Saída XML do Checkstyle com um achado em cada arquivo terminado em {@code withFinding}. */
+    private static String checkstyleXml(List<String> args, String withFinding) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\"?>\n<checkstyle version=\"10.0\">\n");
+        for (String arg : args) {
+            if (!arg.endsWith(".java")) continue;
+            xml.append("<file name=\"").append(arg).append("\">\n");
+            if (arg.endsWith(withFinding)) {
+                xml.append("<error line=\"1\" severity=\"warning\" message=\"bad\" source=\"Rule\"/>\n");
+            }
+            xml.append("</file>\n");
+        }
+        return xml.append("</checkstyle>\n").toString();
+    }
+
+    /** Sem nada no PATH: só as ferramentas com worker ficam disponíveis. */
+    private SastToolRegistry toolRegistry() {
+        return new SastToolRegistry(workerPool, sonarQubeService, new SimpleMeterRegistry(), Duration.ZERO,
+                Map.of(), "");
+    }
+
+    @Test
+    void execute_toolNotInstalled_returnsEmptyWithoutRunningIt() throws Exception {
+        List<GitHubService.FileDiff> diffs = List.of(
+                new GitHubService.FileDiff("src/A.java", "added", 1, 0, "@@ -0,0 +1,1 @@\n+class A {}"));
+
+        assertThat(executor.execute(SastAggregatorPass.SastTool.PMD, new PullRequest(), new Review(), diffs))
+                .isEmpty();
+
+        verify(workerPool, never()).run(any(), anyList(), any());
+    }
+
+    private static SastAggregatorPass.ToolIssue issue(String path, Integer line, Integer endLine, String rule) {
+        return SastAggregatorPass.ToolIssue.builder()
+                .filePath(path)
+                .line(line)
+                .endLine(endLine)
+                .severity(Severity.MEDIUM)
+                .rule(rule)
+                .build();
+    }
 }
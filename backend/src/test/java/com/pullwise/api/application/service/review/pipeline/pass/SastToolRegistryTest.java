@@ -0,0 +1,167 @@
+package com.pullwise.api.application.service.review.pipeline.pass;
+
+import com.pullwise.api.application.service.integration.SonarQubeService;
+import com.pullwise.api.application.service.review.pipeline.pass.SastAggregatorPass.SastTool;
+import com.pullwise.api.application.service.review.pipeline.pass.SastToolRegistry.Source;
+import com.pullwise.api.application.service.review.pipeline.pass.SastToolRegistry.ToolStatus;
+import com.pullwise.api.application.service.review.pipeline.pass.worker.SastWorkerPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Usa scripts de shell como ferramentas falsas num diretório que faz as vezes
+ * do {@code PATH}.
+ */
+@DisabledOnOs(OS.WINDOWS)
+@ExtendWith(MockitoExtension.class)
+class SastToolRegistryTest {
+
+    @TempDir
+    Path bin;
+
+    @Mock
+    private SastWorkerPool workerPool;
+
+    @Mock
+    private SonarQubeService sonarQubeService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SastToolRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new SastToolRegistry(workerPool, sonarQubeService, meterRegistry, Duration.ZERO,
+                SastToolRegistry.withOverrides(Map.of()), bin.toString());
+    }
+
+    private Path tool(String name, String script) throws Exception {
+        Path file = bin.resolve(name);
+        Files.writeString(file, "#!/bin/sh\n" + script + "\n");
+        Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rwxr-xr-x"));
+        return file;
+    }
+
+    private int invocations(Path counter) throws Exception {
+        return Files.exists(counter) ? Files.readAllLines(counter).size() : 0;
+    }
+
+    @Test
+    void executableOnPath_isAvailableWithResolvedPathAndVersion() throws Exception {
+        Path ruff = tool("ruff", "echo 'ruff 0.4.1'");
+
+        ToolStatus status = registry.status(SastTool.RUFF);
+
+        assertThat(status.available()).isTrue();
+        assertThat(status.source()).isEqualTo(Source.PATH);
+        assertThat(status.path()).isEqualTo(ruff.toString());
+        assertThat(status.version()).isEqualTo("ruff 0.4.1");
+        assertThat(registry.isAvailable(SastTool.PYLINT)).isFalse();
+        assertThat(registry.status(SastTool.PYLINT).source()).isEqualTo(Source.NONE);
+        assertThat(registry.version(SastTool.PYLINT)).isEmpty();
+    }
+
+    @Test
+    void refresh_runsVersionAgainOnlyWhenTheExecutableChanged() throws Exception {
+        Path counter = bin.resolve("calls");
+        tool("pylint", "echo x >> " + counter + "\necho 'pylint 3.0.0'");
+
+        registry.refresh();
+        registry.refresh();
+        registry.isAvailable(SastTool.PYLINT);
+        assertThat(invocations(counter)).isEqualTo(1);
+
+        tool("pylint", "echo x >> " + counter + "\necho 'pylint 3.1.0 (upgraded)'");
+        registry.refresh();
+
+        assertThat(invocations(counter)).isEqualTo(2);
+        assertThat(registry.version(SastTool.PYLINT)).contains("pylint 3.1.0 (upgraded)");
+    }
+
+    @Test
+    void toolInstalledLater_isPickedUpOnRefresh() throws Exception {
+        assertThat(registry.isAvailable(SastTool.BIOME)).isFalse();
+        assertThat(meterRegistry.get("pullwise.sast.tool.available").tag("tool", "biome").gauge().value())
+                .isZero();
+
+        tool("biome", "echo 'Version: 1.8.3'");
+        registry.refresh();
+
+        assertThat(registry.isAvailable(SastTool.BIOME)).isTrue();
+        assertThat(meterRegistry.get("pullwise.sast.tool.available").tag("tool", "biome").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void failingVersionCommand_keepsToolAvailableWithoutVersion() throws Exception {
+        tool("pmd", "echo 'broken install' >&2\nexit 3");
+
+        ToolStatus status = registry.status(SastTool.PMD);
+
+        assertThat(status.available()).isTrue();
+        assertThat(status.version()).isNull();
+    }
+
+    @Test
+    void workerTool_isAvailableWithThePoolVersion() {
+        when(workerPool.handles(any())).thenAnswer(inv -> inv.getArgument(0) == SastTool.CHECKSTYLE);
+        when(workerPool.version(SastTool.CHECKSTYLE)).thenReturn(Optional.of("classpath:0123456789abcdef"));
+
+        ToolStatus status = registry.status(SastTool.CHECKSTYLE);
+
+        assertThat(status.available()).isTrue();
+        assertThat(status.source()).isEqualTo(Source.WORKER);
+        assertThat(status.path()).isNull();
+        assertThat(status.version()).isEqualTo("classpath:0123456789abcdef");
+    }
+
+    @Test
+    void eslintWithoutExecutable_fallsBackToNpxWithoutVersion() throws Exception {
+        Path npx = tool("npx", "echo 'npx must not be probed'\nexit 1");
+
+        ToolStatus status = registry.status(SastTool.ESLINT);
+
+        assertThat(status.available()).isTrue();
+        assertThat(status.source()).isEqualTo(Source.NPX);
+        assertThat(status.path()).isEqualTo(npx.toString());
+        assertThat(status.version()).isNull();
+    }
+
+    @Test
+    void configuredCommandPath_isUsedAsIs() throws Exception {
+        Path biome = tool("biome-linux-x64", "echo 'Version: 1.9.0'");
+        SastToolRegistry custom = new SastToolRegistry(workerPool, sonarQubeService, new SimpleMeterRegistry(),
+                Duration.ZERO, SastToolRegistry.withOverrides(Map.of(SastTool.BIOME, biome.toString())), "");
+
+        assertThat(custom.status(SastTool.BIOME).path()).isEqualTo(biome.toString());
+        assertThat(custom.version(SastTool.BIOME)).contains("Version: 1.9.0");
+    }
+
+    @Test
+    void sonarQube_isAvailableWhenConfigured() {
+        when(sonarQubeService.isConfigured()).thenReturn(true);
+
+        ToolStatus status = registry.status(SastTool.SONARQUBE);
+
+        assertThat(status.available()).isTrue();
+        assertThat(status.source()).isEqualTo(Source.SERVER);
+    }
+}
@@ -0,0 +1,114 @@
+package com.pullwise.api.application.service.review.pipeline.pass;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SastWorkspacesTest {
+
+    @TempDir
+    Path baseDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SastWorkspaces workspaces;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        workspaces = new SastWorkspaces(baseDir.toString(), meterRegistry);
+    }
+
+    @Test
+    void acquire_isLazy_andMaterializesOnceForAllLeases() throws Exception {
+        try (SastWorkspaces.Lease review = workspaces.acquire(Map.of("src/Main.java", "class Main {}\n"))) {
+            assertThat(listBaseDir()).isEmpty();
+
+            try (SastWorkspaces.Lease checkstyle = review.retain();
+                 SastWorkspaces.Lease pmd = review.retain()) {
+                Path root = checkstyle.root();
+                assertThat(pmd.root()).isEqualTo(root);
+                assertThat(root.getParent()).isEqualTo(baseDir);
+                assertThat(Files.readString(root.resolve("src/Main.java"))).isEqualTo("class Main {}\n");
+                assertThat(Files.getPosixFilePermissions(root.resolve("src/Main.java")))
+                        .doesNotContain(PosixFilePermission.OWNER_WRITE);
+            }
+            assertThat(listBaseDir()).hasSize(1);
+        }
+
+        assertThat(listBaseDir()).isEmpty();
+        assertThat(workspaces.activeCount()).isZero();
+        assertThat(meterRegistry.counter("pullwise.sast.workspace", "outcome", "materialized").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void acquire_sameContent_reusesWorkspaceUntilLastRelease() throws Exception {
+        SastWorkspaces.Lease first = workspaces.acquire(Map.of("a.py", "x = 1\n", "b.py", "y = 2\n"));
+        SastWorkspaces.Lease second = workspaces.acquire(Map.of("b.py", "y = 2\n", "a.py", "x = 1\n"));
+        SastWorkspaces.Lease other = workspaces.acquire(Map.of("a.py", "x = 3\n"));
+
+        Path root = first.root();
+        assertThat(second.root()).isEqualTo(root);
+        assertThat(other.root()).isNotEqualTo(root);
+        assertThat(workspaces.activeCount()).isEqualTo(2);
+        assertThat(meterRegistry.counter("pullwise.sast.workspace", "outcome", "reused").count())
+                .isEqualTo(1.0);
+
+        first.close();
+        first.close(); // idempotente
+        assertThat(root).exists();
+
+        second.close();
+        assertThat(root).doesNotExist();
+        other.close();
+        assertThat(workspaces.activeCount()).isZero();
+    }
+
+    @Test
+    void paths_skipsEmptyFilesAndPathsOutsideWorkspace() throws Exception {
+        try (SastWorkspaces.Lease lease = workspaces.acquire(Map.of(
+                "ok/App.ts", "export const x = 1;\n",
+                "empty.ts", "",
+                "../escape.ts", "boom"))) {
+            List<String> paths = lease.paths(List.of("ok/App.ts", "empty.ts", "../escape.ts", "missing.ts"));
+
+            assertThat(paths).containsExactly(lease.root().resolve("ok/App.ts").toString());
+            assertThat(baseDir.resolveSibling("escape.ts")).doesNotExist();
+        }
+    }
+
+    @Test
+    void contentHash_dependsOnlyOnTheFileContent() {
+        try (SastWorkspaces.Lease first = workspaces.acquire(Map.of("A.java", "class A {}\n", "B.java", "b"));
+             SastWorkspaces.Lease second = workspaces.acquire(Map.of("A.java", "class A {}\n", "B.java", "c"))) {
+            assertThat(first.contentHash("A.java")).isEqualTo(second.contentHash("A.java")).hasSize(64);
+            assertThat(first.contentHash("B.java")).isNotEqualTo(second.contentHash("B.java"));
+            assertThat(first.contentHash("missing.java")).isNull();
+        }
+    }
+
+    @Test
+    void closedLease_cannotBeUsedOrRetained() {
+        SastWorkspaces.Lease lease = workspaces.acquire(Map.of("Main.java", "class Main {}\n"));
+        lease.close();
+
+        assertThatThrownBy(lease::root).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(lease::retain).isInstanceOf(IllegalStateException.class);
+    }
+
+    private List<Path> listBaseDir() throws Exception {
+        try (Stream<Path> entries = Files.list(baseDir)) {
+            return entries.toList();
+        }
+    }
+}
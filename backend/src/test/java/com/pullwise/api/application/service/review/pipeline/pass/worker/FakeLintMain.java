@@ -0,0 +1,47 @@
+package com.pullwise.api.application.service.review.pipeline.pass.worker;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+/**
+ * Ferramenta falsa para os testes do pool: "carrega regras" (compila padrões),
+ * analisa os arquivos recebidos e imprime o pid do processo e os achados.
+ *
+ * <p>Argumentos especiais: {@code --exit=N} chama {@code System.exit(N)},
+ * {@code --sleep=MS} dorme e {@code --oom} lança {@link OutOfMemoryError}.
+ */
+public final class FakeLintMain {
+
+    private static final int RULES = 200;
+
+    private FakeLintMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Pattern[] rules = new Pattern[RULES];
+        for (int i = 0; i < RULES; i++) {
+            rules[i] = Pattern.compile("\\b(?:TODO|FIXME|rule" + i + ")\\b");
+        }
+        System.out.println("pid=" + ProcessHandle.current().pid());
+        for (String arg : args) {
+            if (arg.startsWith("--exit=")) {
+                System.exit(Integer.parseInt(arg.substring(7)));
+            } else if (arg.startsWith("--sleep=")) {
+                Thread.sleep(Long.parseLong(arg.substring(8)));
+            } else if (arg.equals("--oom")) {
+                throw new OutOfMemoryError("fake");
+            } else if (Files.isRegularFile(Path.of(arg))) {
+                String content = Files.readString(Path.of(arg));
+                for (Pattern rule : rules) {
+                    if (rule.matcher(content).find()) {
+                        System.out.println(arg + ": " + rule.pattern());
+                        break;
+                    }
+                }
+            } else {
+                System.out.println("arg=" + arg);
+            }
+        }
+    }
+}
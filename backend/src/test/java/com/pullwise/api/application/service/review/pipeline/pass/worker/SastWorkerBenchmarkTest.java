@@ -0,0 +1,126 @@
+package com.pullwise.api.application.service.review.pipeline.pass.worker;
+
+import com.pullwise.api.application.service.review.pipeline.pass.SastAggregatorPass.SastTool;
+import com.pullwise.api.application.service.review.pipeline.pass.worker.SastWorkerPool.WorkerSpec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Benchmark de latência do pool de workers contra o fork por execução (o
+ * caminho de {@code SastToolExecutor.executeCommand}) com a mesma ferramenta e
+ * os mesmos arquivos: confere que as saídas batem e loga a média de cada um.
+ *
+ * <p>Usa {@link FakeLintMain} por padrão, sem comparar os tempos (ruidosos numa
+ * máquina de CI carregada); com {@code PULLWISE_BENCH_CHECKSTYLE_CLASSPATH}
+ * (classpath do checkstyle-all) roda também com o Checkstyle de verdade e exige
+ * que o worker seja mais rápido.
+ */
+@Slf4j
+class SastWorkerBenchmarkTest {
+
+    private static final int RUNS = 10;
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    @TempDir
+    Path sources;
+
+    @Test
+    @DisplayName("Worker aquecido dá a mesma saída que uma JVM nova por execução")
+    void warmWorker_matchesForkPerRun() throws Exception {
+        String classpath = Path.of(FakeLintMain.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .toString();
+        List<String> args = sourceFiles();
+
+        Result result = benchmark(classpath, FakeLintMain.class.getName(), args);
+
+        assertThat(result.pooledOutput()).isEqualTo(result.forkedOutput());
+    }
+
+    @Test
+    @DisplayName("Checkstyle real: worker aquecido contra fork por execução")
+    void checkstyle_warmWorker_beatsForkPerRun() throws Exception {
+        String classpath = System.getenv("PULLWISE_BENCH_CHECKSTYLE_CLASSPATH");
+        assumeTrue(classpath != null && !classpath.isBlank(), "PULLWISE_BENCH_CHECKSTYLE_CLASSPATH not set");
+        List<String> args = new ArrayList<>(List.of("-c", "/sun_checks.xml", "-f", "plain"));
+        args.addAll(sourceFiles());
+
+        Result result = benchmark(classpath, SastWorkerPool.MAIN_CLASSES.get(SastTool.CHECKSTYLE), args);
+
+        assertThat(result.pooledMs()).isLessThan(result.forkedMs());
+    }
+
+    private Result benchmark(String classpath, String mainClass, List<String> args) throws Exception {
+        List<String> forkCommand = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-XX:+UseSerialGC", "-cp", classpath, mainClass));
+        forkCommand.addAll(args);
+
+        SastWorkerPool pool = new SastWorkerPool(Map.of(SastTool.CHECKSTYLE, new WorkerSpec(classpath, mainClass)),
+                1, List.of("-XX:+UseSerialGC"), 1_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        try {
+            // Aquecimento: partida do worker e JIT fora da medição, como em produção
+            String pooledOutput = pool.run(SastTool.CHECKSTYLE, args, TIMEOUT).orElseThrow();
+            String forkedOutput = fork(forkCommand);
+
+            long pooledNs = 0;
+            long forkedNs = 0;
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                pool.run(SastTool.CHECKSTYLE, args, TIMEOUT).orElseThrow();
+                pooledNs += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                fork(forkCommand);
+                forkedNs += System.nanoTime() - start;
+            }
+
+            double pooledMs = pooledNs / 1e6 / RUNS;
+            double forkedMs = forkedNs / 1e6 / RUNS;
+            log.info("SAST {} over {} runs: fork-per-run {} ms, warm worker {} ms ({}x)", mainClass, RUNS,
+                    String.format("%.1f", forkedMs), String.format("%.1f", pooledMs),
+                    String.format("%.1f", forkedMs / pooledMs));
+            return new Result(withoutPid(pooledOutput), withoutPid(forkedOutput), pooledMs, forkedMs);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<String> sourceFiles() throws Exception {
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Path file = sources.resolve("Source" + i + ".java");
+            Files.writeString(file, "public class Source" + i + " {\n"
+                    + "    // " + (i % 3 == 0 ? "TODO rule" + i : "nothing here") + "\n"
+                    + "    public int value() {\n        return " + i + ";\n    }\n}\n");
+            files.add(file.toString());
+        }
+        return files;
+    }
+
+    private static String fork(List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes());
+        assertThat(process.waitFor(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+        return output;
+    }
+
+    private static String withoutPid(String output) {
+        return output.replaceAll("(?m)^pid=\\d+\\R", "");
+    }
+
+    private record Result(String pooledOutput, String forkedOutput, double pooledMs, double forkedMs) {}
+}
@@ -0,0 +1,160 @@
+package com.pullwise.api.application.service.review.pipeline.pass.worker;
+
+import com.pullwise.api.application.service.review.pipeline.pass.SastAggregatorPass.SastTool;
+import com.pullwise.api.application.service.review.pipeline.pass.worker.SastWorkerPool.WorkerSpec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SastWorkerPoolTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    private SimpleMeterRegistry meterRegistry;
+    private SastWorkerPool pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        pool = pool(Duration.ofMinutes(5), 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private SastWorkerPool pool(Duration healthCheckInterval, int maxRequests) throws Exception {
+        String classpath = Path.of(FakeLintMain.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .toString();
+        return new SastWorkerPool(
+                Map.of(SastTool.CHECKSTYLE, new WorkerSpec(classpath, FakeLintMain.class.getName())),
+                1, List.of("-Xmx128m", "-XX:+UseSerialGC"), maxRequests, healthCheckInterval, meterRegistry);
+    }
+
+    private static String pid(Optional<String> output) {
+        assertThat(output).isPresent();
+        return output.get().lines().filter(l -> l.startsWith("pid=")).findFirst().orElseThrow();
+    }
+
+    private double runs(String outcome) {
+        return meterRegistry.counter("pullwise.sast.worker.runs", "tool", "checkstyle", "outcome", outcome).count();
+    }
+
+    private double restarts() {
+        return meterRegistry.counter("pullwise.sast.worker.restarts", "tool", "checkstyle").count();
+    }
+
+    @Test
+    void run_reusesTheSameWarmProcess() throws Exception {
+        Optional<String> first = pool.run(SastTool.CHECKSTYLE, List.of("a b"), TIMEOUT);
+        Optional<String> second = pool.run(SastTool.CHECKSTYLE, List.of("c"), TIMEOUT);
+
+        assertThat(first.orElseThrow()).contains("arg=a b");
+        assertThat(second.orElseThrow()).contains("arg=c").doesNotContain("arg=a b");
+        assertThat(pid(second)).isEqualTo(pid(first));
+        assertThat(meterRegistry.get("pullwise.sast.worker.live").tag("tool", "checkstyle").gauge().value())
+                .isEqualTo(1.0);
+        assertThat(runs("ok")).isEqualTo(2.0);
+    }
+
+    @Test
+    void run_systemExitOfTheTool_keepsTheWorker() throws Exception {
+        Optional<String> exited = pool.run(SastTool.CHECKSTYLE, List.of("--exit=1", "never"), TIMEOUT);
+        Optional<String> next = pool.run(SastTool.CHECKSTYLE, List.of(), TIMEOUT);
+
+        assertThat(exited.orElseThrow()).doesNotContain("arg=never");
+        assertThat(pid(next)).isEqualTo(pid(exited));
+        assertThat(restarts()).isZero();
+    }
+
+    @Test
+    void run_crashedWorker_fallsBackAndIsRestarted() throws Exception {
+        String before = pid(pool.run(SastTool.CHECKSTYLE, List.of(), TIMEOUT));
+
+        assertThat(pool.run(SastTool.CHECKSTYLE, List.of("--oom"), TIMEOUT)).isEmpty();
+        String after = pid(pool.run(SastTool.CHECKSTYLE, List.of(), TIMEOUT));
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(runs("crashed")).isEqualTo(1.0);
+        assertThat(restarts()).isEqualTo(1.0);
+    }
+
+    @Test
+    void run_timeout_killsTheWorker() throws Exception {
+        String before = pid(pool.run(SastTool.CHECKSTYLE, List.of(), TIMEOUT));
+
+        assertThatThrownBy(() -> pool.run(SastTool.CHECKSTYLE, List.of("--sleep=10000"), Duration.ofMillis(300)))
+                .isInstanceOf(TimeoutException.class);
+        String after = pid(pool.run(SastTool.CHECKSTYLE, List.of(), TIMEOUT));
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(runs("timeout")).isEqualTo(1.0);
+    }
+
+    @Test
+    void run_idleWorkerKilledExternally_isReplacedOnHealthCheck() throws Exception {
+        pool.shutdown();
+        pool = pool(Duration.ZERO, 200);
+        String before = pid(pool.run(SastTool.CHECKSTYLE, List.of(), TIMEOUT));
+        ProcessHandle worker = ProcessHandle.of(Long.parseLong(before.substring(4))).orElseThrow();
+        worker.destroyForcibly();
+        worker.onExit().get();
+
+        String after = pid(pool.run(SastTool.CHECKSTYLE, List.of(), TIMEOUT));
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(restarts()).isEqualTo(1.0);
+    }
+
+    @Test
+    void run_recyclesWorkerAfterMaxRequests() throws Exception {
+        pool.shutdown();
+        pool = pool(Duration.ofMinutes(5), 2);
+        String first = pid(pool.run(SastTool.CHECKSTYLE, List.of(), TIMEOUT));
+        String second = pid(pool.run(SastTool.CHECKSTYLE, List.of(), TIMEOUT));
+        String third = pid(pool.run(SastTool.CHECKSTYLE, List.of(), TIMEOUT));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(third).isNotEqualTo(first);
+        assertThat(restarts()).isZero();
+    }
+
+    @Test
+    void run_toolWithoutPool_returnsEmpty() throws Exception {
+        assertThat(pool.handles(SastTool.PMD)).isFalse();
+        assertThat(pool.run(SastTool.PMD, List.of(), TIMEOUT)).isEmpty();
+    }
+
+    @Test
+    void run_workerThatCannotStart_fallsBackToFork() throws Exception {
+        pool.shutdown();
+        pool = new SastWorkerPool(Map.of(SastTool.PMD, new WorkerSpec("/nonexistent", "com.example.Missing")),
+                1, List.of(), 200, Duration.ofMinutes(5), meterRegistry);
+
+        assertThat(pool.handles(SastTool.PMD)).isTrue();
+        assertThat(pool.run(SastTool.PMD, List.of(), TIMEOUT)).isEmpty();
+        // Dentro do backoff nem tenta iniciar de novo
+        assertThat(pool.run(SastTool.PMD, List.of(), TIMEOUT)).isEmpty();
+        assertThat(meterRegistry.counter("pullwise.sast.worker.runs", "tool", "pmd", "outcome", "unavailable")
+                .count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void supported_disablesThePoolOnJdksWithoutSecurityManager() {
+        Map<SastTool, WorkerSpec> specs = Map.of(SastTool.PMD, new WorkerSpec("/opt/pmd/lib/*", "Main"));
+
+        assertThat(SastWorkerPool.supported(specs, Runtime.Version.parse("21.0.3"))).isEqualTo(specs);
+        assertThat(SastWorkerPool.supported(specs, Runtime.Version.parse("24"))).isEmpty();
+    }
+}
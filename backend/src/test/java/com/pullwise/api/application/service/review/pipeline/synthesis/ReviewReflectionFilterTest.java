@@ -22,6 +22,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -92,6 +94,62 @@ class ReviewReflectionFilterTest {
         assertThat(result).containsExactly(a);
     }
 
+    @Test
+    void packsFilesIntoOneRequestWithSequentialIds() {
+        Issue a = llmIssue("Foo.java", "Issue A");
+        Issue b = llmIssue("Bar.java", "Issue B");
+        Issue c = llmIssue("Bar.java", "Issue C");
+
+        when(llmRouter.getPromptTokenBudget(ReviewTaskType.QA)).thenReturn(6000);
+        // ids: Foo.java -> 0; Bar.java -> 1, 2
+        when(llmRouter.execute(eq(ReviewTaskType.QA), anyString(), anyString()))
+                .thenReturn(response("[2]"));
+
+        List<GitHubService.FileDiff> diffs = List.of(
+                diffs("Foo.java").get(0), diffs("Bar.java").get(0));
+        List<Issue> result = filter.filter(List.of(a, b, c), diffs);
+
+        verify(llmRouter, times(1)).execute(eq(ReviewTaskType.QA), anyString(), anyString());
+        assertThat(result).containsExactly(a, b);
+        assertThat(c.getIsFalsePositive()).isTrue();
+    }
+
+    @Test
+    void failedBatchIsRetriedPerFile() {
+        Issue a = llmIssue("Foo.java", "Issue A");
+        Issue b = llmIssue("Bar.java", "Issue B");
+
+        when(llmRouter.getPromptTokenBudget(ReviewTaskType.QA)).thenReturn(6000);
+        when(llmRouter.execute(eq(ReviewTaskType.QA), anyString(), anyString()))
+                .thenThrow(new RuntimeException("truncated response"))
+                .thenReturn(response("[]"))
+                .thenReturn(response("[0]"));
+
+        List<GitHubService.FileDiff> diffs = List.of(
+                diffs("Foo.java").get(0), diffs("Bar.java").get(0));
+        List<Issue> result = filter.filter(List.of(a, b), diffs);
+
+        verify(llmRouter, times(3)).execute(eq(ReviewTaskType.QA), anyString(), anyString());
+        assertThat(result).containsExactly(a);
+        assertThat(b.getIsFalsePositive()).isTrue();
+    }
+
+    @Test
+    void respectsConfiguredMaxFilesPerRequest() {
+        Issue a = llmIssue("Foo.java", "Issue A");
+        Issue b = llmIssue("Bar.java", "Issue B");
+
+        when(llmRouter.getPromptTokenBudget(ReviewTaskType.QA)).thenReturn(6000);
+        when(llmRouter.execute(eq(ReviewTaskType.QA), anyString(), anyString()))
+                .thenReturn(response("[]"));
+
+        List<GitHubService.FileDiff> diffs = List.of(
+                diffs("Foo.java").get(0), diffs("Bar.java").get(0));
+        filter.filter(List.of(a, b), diffs, 1);
+
+        verify(llmRouter, times(2)).execute(eq(ReviewTaskType.QA), anyString(), anyString());
+    }
+
     @Test
     void returnsInputWhenNoDiffs() {
         Issue a = llmIssue("Foo.java", "Issue A");
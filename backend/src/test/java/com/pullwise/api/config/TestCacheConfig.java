@@ -1,6 +1,8 @@
 package com.pullwise.api.config;
 
 import com.pullwise.api.application.service.graph.blast.BlastRadiusService;
+import com.pullwise.api.application.service.llm.router.LlmResponseCache;
+import com.pullwise.api.application.service.review.pipeline.pass.SastResultCache;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -22,6 +24,7 @@ public class TestCacheConfig {
     @Bean
     @Primary
     public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager(BlastRadiusService.CACHE_NAME);
+        return new ConcurrentMapCacheManager(BlastRadiusService.CACHE_NAME, LlmResponseCache.CACHE_NAME,
+                SastResultCache.CACHE_NAME);
     }
 }
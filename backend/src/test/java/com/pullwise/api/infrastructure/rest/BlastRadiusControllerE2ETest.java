@@ -9,10 +9,12 @@ import com.pullwise.api.domain.enums.Platform;
 import com.pullwise.api.domain.enums.ProgrammingLanguage;
 import com.pullwise.api.domain.model.CodeGraphEdge;
 import com.pullwise.api.domain.model.CodeGraphNode;
+import com.pullwise.api.domain.model.CodeGraphSymbol;
 import com.pullwise.api.domain.model.Organization;
 import com.pullwise.api.domain.model.Project;
 import com.pullwise.api.domain.repository.CodeGraphEdgeRepository;
 import com.pullwise.api.domain.repository.CodeGraphNodeRepository;
+import com.pullwise.api.domain.repository.CodeGraphSymbolRepository;
 import com.pullwise.api.domain.repository.OrganizationRepository;
 import com.pullwise.api.domain.repository.ProjectRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -80,6 +82,7 @@ class BlastRadiusControllerE2ETest {
     @Autowired private ProjectRepository projectRepository;
     @Autowired private CodeGraphNodeRepository nodeRepository;
     @Autowired private CodeGraphEdgeRepository edgeRepository;
+    @Autowired private CodeGraphSymbolRepository symbolRepository;
 
     private Project project;
 
@@ -126,6 +129,24 @@ class BlastRadiusControllerE2ETest {
         assertThat(impactedNodes.get(0).get("qualifiedName")).isEqualTo("com.x.B");
     }
 
+    @Test
+    @WithMockUser
+    void postBlastRadius_upstreamReturnsCallers() {
+        Map<String, Object> body = Map.of("changedFiles", List.of("/B.java"), "direction", "UPSTREAM");
+
+        ResponseEntity<Map> response = restTemplate.exchange(
+                "/api/projects/" + project.getId() + "/blast-radius",
+                HttpMethod.POST,
+                new HttpEntity<>(body),
+                Map.class);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> impactedNodes = (List<Map<String, Object>>) response.getBody().get("impactedNodes");
+        assertThat(impactedNodes).hasSize(1);
+        assertThat(impactedNodes.get(0).get("qualifiedName")).isEqualTo("com.x.A");
+    }
+
     @Test
     @WithMockUser
     void getCodeGraphStats_returnsCounts() {
@@ -154,11 +175,19 @@ class BlastRadiusControllerE2ETest {
     private void seedEdge(String source, String target, EdgeKind kind, ConfidenceTier tier) {
         edgeRepository.save(CodeGraphEdge.builder()
                 .project(project)
-                .sourceQualified(source)
-                .targetQualified(target)
+                .source(symbol(source))
+                .target(symbol(target))
                 .kind(kind)
                 .confidenceTier(tier)
                 .confidenceWeight(tier.getWeight())
                 .build());
     }
+
+    private CodeGraphSymbol symbol(String qualifiedName) {
+        return symbolRepository.findByProjectIdAndQualifiedName(project.getId(), qualifiedName)
+                .orElseGet(() -> symbolRepository.save(CodeGraphSymbol.builder()
+                        .project(project)
+                        .qualifiedName(qualifiedName)
+                        .build()));
+    }
 }
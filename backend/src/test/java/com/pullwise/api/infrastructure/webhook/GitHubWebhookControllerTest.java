@@ -2,10 +2,14 @@ package com.pullwise.api.infrastructure.webhook;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pullwise.api.application.service.config.ConfigurationResolver;
+import com.pullwise.api.application.service.graph.GraphDeltaIndexer;
 import com.pullwise.api.application.service.integration.GitHubService;
 import com.pullwise.api.application.service.integration.SlashCommandService;
+import com.pullwise.api.application.service.review.ReviewJobQueue;
 import com.pullwise.api.application.service.review.ReviewOrchestrator;
 import com.pullwise.api.application.service.config.RAGService;
+import com.pullwise.api.domain.enums.Platform;
+import com.pullwise.api.domain.model.Project;
 import com.pullwise.api.domain.repository.OrganizationRepository;
 import com.pullwise.api.domain.repository.ProjectRepository;
 import com.pullwise.api.domain.repository.PullRequestRepository;
@@ -22,8 +26,13 @@ import javax.crypto.spec.SecretKeySpec;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 /**
  * Testes de segurança do webhook do GitHub: secret obrigatório (fail-closed),
@@ -45,11 +54,15 @@ class GitHubWebhookControllerTest {
     @Mock
     private ReviewOrchestrator reviewOrchestrator;
     @Mock
+    private ReviewJobQueue reviewJobQueue;
+    @Mock
     private ConfigurationResolver configurationResolver;
     @Mock
     private SlashCommandService slashCommandService;
     @Mock
     private RAGService ragService;
+    @Mock
+    private GraphDeltaIndexer graphDeltaIndexer;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     private GitHubWebhookController controller;
@@ -58,7 +71,7 @@ class GitHubWebhookControllerTest {
     void setUp() throws Exception {
         controller = new GitHubWebhookController(
                 gitHubService, organizationRepository, projectRepository, pullRequestRepository,
-                reviewOrchestrator, configurationResolver, slashCommandService, ragService, objectMapper);
+                reviewOrchestrator, reviewJobQueue, configurationResolver, slashCommandService, ragService, graphDeltaIndexer, objectMapper);
         setWebhookSecret(SECRET);
     }
 
@@ -88,6 +101,32 @@ class GitHubWebhookControllerTest {
         assertThat(response.getStatusCode().value()).isEqualTo(202);
     }
 
+    @Test
+    void pushToDefaultBranch_updatesCodeGraphIncrementally() throws Exception {
+        Project project = Project.builder().id(1L).name("repo").isActive(true).build();
+        when(projectRepository.findByRepositoryIdAndPlatform("5", Platform.GITHUB)).thenReturn(Optional.of(project));
+        String payload = """
+                {"ref": "refs/heads/main", "before": "aaaaaaa", "after": "bbbbbbb",
+                 "repository": {"id": 5},
+                 "commits": [{"id": "bbbbbbb", "added": ["src/New.java"], "removed": ["src/Old.java"], "modified": []}]}
+                """;
+
+        controller.handleWebhook(payload, "push", "sha256=" + hmac(payload), new MockHttpServletRequest());
+
+        verify(graphDeltaIndexer).onPush(1L, "bbbbbbb", List.of("src/Old.java"));
+    }
+
+    @Test
+    void pushToFeatureBranch_leavesCodeGraphAlone() throws Exception {
+        String payload = """
+                {"ref": "refs/heads/feature/x", "after": "bbbbbbb", "repository": {"id": 5}}
+                """;
+
+        controller.handleWebhook(payload, "push", "sha256=" + hmac(payload), new MockHttpServletRequest());
+
+        verifyNoInteractions(graphDeltaIndexer);
+    }
+
     private void setWebhookSecret(String secret) throws Exception {
         Field field = GitHubWebhookController.class.getDeclaredField("webhookSecret");
         field.setAccessible(true);
@@ -103,7 +103,7 @@ export interface Issue {
 export interface Review {
   id: number
   pullRequestId: number
-  status: 'PENDING' | 'IN_PROGRESS' | 'COMPLETED' | 'FAILED' | 'CANCELLED'
+  status: 'PENDING' | 'IN_PROGRESS' | 'COMPLETED' | 'FAILED' | 'CANCELLED' | 'SUPERSEDED'
   sastEnabled: boolean
   llmEnabled: boolean
   ragEnabled: boolean